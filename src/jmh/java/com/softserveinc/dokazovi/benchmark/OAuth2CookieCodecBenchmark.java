@@ -0,0 +1,92 @@
+package com.softserveinc.dokazovi.benchmark;
+
+import com.softserveinc.dokazovi.config.AppProperties;
+import com.softserveinc.dokazovi.security.oauth2.OAuth2CookieCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.util.SerializationUtils;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Compares the signed compact OAuth2 authorization request cookie with the Java-serialized one it replaced.
+ *
+ * <p>Run with {@code ./gradlew jmh}. The cookie size is reported as the {@code chars} secondary result of the
+ * encode benchmarks.</p>
+ */
+@State(Scope.Benchmark)
+public class OAuth2CookieCodecBenchmark {
+
+	private OAuth2CookieCodec codec;
+	private OAuth2AuthorizationRequest authorizationRequest;
+	private String compactCookie;
+	private String javaSerializedCookie;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		AppProperties appProperties = new AppProperties();
+		appProperties.getAuth().setTokenSecret("926D96C90030DD58429D2751AC1BDBBC");
+		codec = new OAuth2CookieCodec(appProperties);
+
+		authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+				.authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+				.clientId("123456789012-abcdefghijklmnopqrstuvwxyz012345.apps.googleusercontent.com")
+				.redirectUri("https://dokazovi-be.herokuapp.com/login/oauth2/code/google")
+				.scopes(Set.of("openid", "email", "profile"))
+				.state("d3Ny0qfZB0y5GF8DwJzVqPA0kS0_tsQ0AqrZQ6AJnTk=")
+				.additionalParameters(Map.of("nonce", "Vq3ZJ1lFbXxyiQ2kzC0mYx4w7ePqjV1vRz4QW8m9ZxE"))
+				.attributes(Map.of("registration_id", "google",
+						"nonce", "qXlc8dH2yx1f5jCZsA0vGxF0S3t-5r7tZbq1lYQJ0sE"))
+				.build();
+
+		compactCookie = codec.encodeAuthorizationRequest(authorizationRequest);
+		javaSerializedCookie = javaSerialize();
+	}
+
+	@Benchmark
+	public String compactEncode(CookieSize size) {
+		return size.record(codec.encodeAuthorizationRequest(authorizationRequest));
+	}
+
+	@Benchmark
+	public Optional<OAuth2AuthorizationRequest> compactDecode() {
+		return codec.decodeAuthorizationRequest(compactCookie);
+	}
+
+	@Benchmark
+	public String javaSerializationEncode(CookieSize size) {
+		return size.record(javaSerialize());
+	}
+
+	@Benchmark
+	public Object javaSerializationDecode() {
+		return SerializationUtils.deserialize(Base64.getUrlDecoder().decode(javaSerializedCookie));
+	}
+
+	private String javaSerialize() {
+		return Base64.getUrlEncoder().encodeToString(SerializationUtils.serialize(authorizationRequest));
+	}
+
+	/**
+	 * Reports the length of the last encoded cookie next to the score.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class CookieSize {
+
+		public long chars;
+
+		private String record(String cookie) {
+			chars = cookie.length();
+			return cookie;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.softserveinc.dokazovi.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.origin.OriginDTO;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserDTO;
+import com.softserveinc.dokazovi.dto.tag.TagDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares JSON, CBOR and Smile serialization of a page of 12 posts, as returned by the post list endpoints.
+ *
+ * <p>Run with {@code ./gradlew jmh}. The payload size is reported as the {@code bytes} secondary result.</p>
+ */
+@State(Scope.Benchmark)
+public class PostPageSerializationBenchmark {
+
+	private static final int PAGE_SIZE = 12;
+	private static final String CONTENT_SENTENCE = "Доказова медицина спирається на результати клінічних досліджень. ";
+
+	private Page<PostDTO> page;
+	private ObjectMapper jsonMapper;
+	private ObjectMapper cborMapper;
+	private ObjectMapper smileMapper;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+		cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+		smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+		List<PostDTO> posts = new ArrayList<>();
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			posts.add(post(i));
+		}
+		page = new PageImpl<>(posts, PageRequest.of(0, PAGE_SIZE), 120);
+	}
+
+	@Benchmark
+	public byte[] json(PayloadSize size) throws JsonProcessingException {
+		return size.record(jsonMapper.writeValueAsBytes(page));
+	}
+
+	@Benchmark
+	public byte[] cbor(PayloadSize size) throws JsonProcessingException {
+		return size.record(cborMapper.writeValueAsBytes(page));
+	}
+
+	@Benchmark
+	public byte[] smile(PayloadSize size) throws JsonProcessingException {
+		return size.record(smileMapper.writeValueAsBytes(page));
+	}
+
+	/**
+	 * Reports the size of the last serialized page next to the score.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class PayloadSize {
+
+		public long bytes;
+
+		private byte[] record(byte[] payload) {
+			bytes = payload.length;
+			return payload;
+		}
+	}
+
+	private PostDTO post(int id) {
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		return PostDTO.builder()
+				.id(id)
+				.title("Вакцинація від COVID-19: що потрібно знати " + id)
+				.preview("Коротко про головне: хто може вакцинуватися, які є протипоказання та побічні ефекти.")
+				.content("<p>" + CONTENT_SENTENCE.repeat(60) + "</p>")
+				.previewImageUrl("/assets/images/ab/ab12cd34ef56.jpg")
+				.author(PostUserDTO.builder()
+						.id(id % 4)
+						.firstName("Олена")
+						.lastName("Коваленко")
+						.avatar("/assets/images/cd/cd34ef56ab12.png")
+						.build())
+				.type(PostTypeDTO.builder().id(1).name("Стаття").build())
+				.directions(Set.of(
+						DirectionDTO.builder().id(1).name("covid-19").label("Covid-19").color("#ef5350").build(),
+						DirectionDTO.builder().id(2).name("therapy").label("Терапія").color("#7986cb").build()))
+				.tags(Set.of(
+						TagDTO.builder().id(1).tag("вакцина").build(),
+						TagDTO.builder().id(2).tag("імунітет").build()))
+				.origins(Set.of(OriginDTO.builder().id(1).name("Думка експерта").build()))
+				.createdAt(now)
+				.modifiedAt(now)
+				.publishedAt(now)
+				.build();
+	}
+}
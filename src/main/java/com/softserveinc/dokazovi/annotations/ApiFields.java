@@ -0,0 +1,17 @@
+package com.softserveinc.dokazovi.annotations;
+
+import io.swagger.annotations.ApiImplicitParam;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ApiImplicitParam(name = "fields", dataType = "java.lang.String", paramType = "query",
+		value = "Multiple comma-separated top-level fields to return, e.g. ?fields=id,title,author. "
+				+ "All fields are returned if not specified.")
+public @interface ApiFields {
+
+}
@@ -9,6 +9,7 @@ import java.util.List;
 public class AppProperties {
     private final Auth auth = new Auth();
     private final OAuth2 oauth2 = new OAuth2();
+    private final Replica replica = new Replica();
 
     public static class Auth {
         private String tokenSecret;
@@ -44,6 +45,63 @@ public class AppProperties {
         }
     }
 
+    public static class Replica {
+        private boolean enabled;
+        private List<String> urls = new ArrayList<>();
+        private String username;
+        private String password;
+        private long stickyWindowMsec;
+        private long maxLagMsec;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getUrls() {
+            return urls;
+        }
+
+        public void setUrls(List<String> urls) {
+            this.urls = urls;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public long getStickyWindowMsec() {
+            return stickyWindowMsec;
+        }
+
+        public void setStickyWindowMsec(long stickyWindowMsec) {
+            this.stickyWindowMsec = stickyWindowMsec;
+        }
+
+        public long getMaxLagMsec() {
+            return maxLagMsec;
+        }
+
+        public void setMaxLagMsec(long maxLagMsec) {
+            this.maxLagMsec = maxLagMsec;
+        }
+    }
+
     public Auth getAuth() {
         return auth;
     }
@@ -51,5 +109,9 @@ public class AppProperties {
     public OAuth2 getOauth2() {
         return oauth2;
     }
+
+    public Replica getReplica() {
+        return replica;
+    }
 }
 
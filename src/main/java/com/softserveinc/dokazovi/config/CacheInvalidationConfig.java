@@ -0,0 +1,28 @@
+package com.softserveinc.dokazovi.config;
+
+import com.softserveinc.dokazovi.service.CacheInvalidationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Starts listening for the cache evictions of the other nodes when {@code cache.invalidation.enabled} is on.
+ * The listener connects to {@code spring.datasource.url}, the primary, where the evictions are sent.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true")
+public class CacheInvalidationConfig {
+
+	@Bean
+	public CacheInvalidationListener cacheInvalidationListener(DataSourceProperties dataSourceProperties,
+			CacheInvalidationService cacheInvalidationService,
+			@Value("${cache.invalidation.channel:cache_invalidation}") String channel,
+			@Value("${cache.invalidation.poll-ms:10000}") int pollMs,
+			@Value("${cache.invalidation.reconnect-ms:5000}") long reconnectMs) {
+		return new CacheInvalidationListener(dataSourceProperties.determineUrl(),
+				dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(),
+				channel, pollMs, reconnectMs, cacheInvalidationService);
+	}
+}
@@ -0,0 +1,128 @@
+package com.softserveinc.dokazovi.config;
+
+import com.softserveinc.dokazovi.service.CacheInvalidationService;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Listens for the cache evictions sent by the other nodes and applies them to the local caches.
+ *
+ * <p>The listener holds a connection of its own outside the pool, since {@code LISTEN} belongs to the
+ * session. It waits for the notifications up to {@code cache.invalidation.poll-ms} and checks the connection
+ * when none come, so a broken connection is noticed. The evictions sent while the node is not listening are
+ * lost, so after every connect, once listening, the local caches are cleared. Until the connection is back
+ * the node may serve stale entries, the reconnect is tried every {@code cache.invalidation.reconnect-ms}.</p>
+ */
+public class CacheInvalidationListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+	private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+	private final String url;
+	private final String username;
+	private final String password;
+	private final String channel;
+	private final int pollMs;
+	private final long reconnectMs;
+	private final CacheInvalidationService cacheInvalidationService;
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "cache-invalidation-listener");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private volatile boolean running;
+	private volatile Connection connection;
+
+	public CacheInvalidationListener(String url, String username, String password, String channel, int pollMs,
+			long reconnectMs, CacheInvalidationService cacheInvalidationService) {
+		if (!CHANNEL_PATTERN.matcher(channel).matches()) {
+			throw new IllegalArgumentException("Cache invalidation channel must be a lowercase identifier");
+		}
+		this.url = url;
+		this.username = username;
+		this.password = password;
+		this.channel = channel;
+		this.pollMs = pollMs;
+		this.reconnectMs = reconnectMs;
+		this.cacheInvalidationService = cacheInvalidationService;
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		executor.execute(this::listen);
+	}
+
+	@PreDestroy
+	public void stop() {
+		running = false;
+		executor.shutdownNow();
+		Connection current = connection;
+		if (current != null) {
+			try {
+				current.close();
+			} catch (SQLException e) {
+				logger.debug("Failed to close the cache invalidation connection", e);
+			}
+		}
+	}
+
+	private void listen() {
+		while (running) {
+			try (Connection current = DriverManager.getConnection(url, username, password)) {
+				connection = current;
+				try (Statement statement = current.createStatement()) {
+					statement.execute("LISTEN " + channel);
+				}
+				cacheInvalidationService.clearLocalCaches();
+				logger.info("Listening for cache invalidations on {}", channel);
+				receive(current);
+			} catch (SQLException e) {
+				if (running) {
+					logger.warn("Cache invalidation connection failed, retrying in {} ms", reconnectMs, e);
+					sleep();
+				}
+			} finally {
+				connection = null;
+			}
+		}
+	}
+
+	private void receive(Connection current) throws SQLException {
+		PGConnection pgConnection = current.unwrap(PGConnection.class);
+		while (running) {
+			PGNotification[] notifications = pgConnection.getNotifications(pollMs);
+			if (notifications == null || notifications.length == 0) {
+				try (Statement statement = current.createStatement()) {
+					statement.execute("SELECT 1");
+				}
+				continue;
+			}
+			for (PGNotification notification : notifications) {
+				cacheInvalidationService.applyRemote(notification.getParameter());
+			}
+		}
+	}
+
+	private void sleep() {
+		try {
+			Thread.sleep(reconnectMs);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			running = false;
+		}
+	}
+}
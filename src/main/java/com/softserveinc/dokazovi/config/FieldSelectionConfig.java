@@ -0,0 +1,45 @@
+package com.softserveinc.dokazovi.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
+import com.softserveinc.dokazovi.dto.user.UserDTO;
+import com.softserveinc.dokazovi.pojo.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import static com.softserveinc.dokazovi.controller.EndPoints.POST;
+import static com.softserveinc.dokazovi.controller.EndPoints.USER;
+import static com.softserveinc.dokazovi.controller.EndPoints.openApi;
+
+/**
+ * Sparse fieldsets for post and expert responses.
+ *
+ * <p>The DTOs are bound to the field selection filter through a mix-in rather than an annotation,
+ * so object mappers that are not built by Spring serialize them as before. Without requested fields
+ * the filter is not registered and every field is written.</p>
+ */
+@Configuration
+public class FieldSelectionConfig implements WebMvcConfigurer {
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new FieldSelectionInterceptor())
+				.addPathPatterns(POST, openApi(POST), USER, openApi(USER));
+	}
+
+	@Bean
+	public Jackson2ObjectMapperBuilderCustomizer fieldSelectionCustomizer() {
+		return builder -> builder
+				.mixIn(PostDTO.class, FieldSelectionMixIn.class)
+				.mixIn(UserDTO.class, FieldSelectionMixIn.class)
+				.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+	}
+
+	@JsonFilter(FieldSelection.FILTER_ID)
+	public interface FieldSelectionMixIn {
+	}
+}
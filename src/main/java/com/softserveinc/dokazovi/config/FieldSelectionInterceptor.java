@@ -0,0 +1,26 @@
+package com.softserveinc.dokazovi.config;
+
+import com.softserveinc.dokazovi.pojo.FieldSelection;
+import com.softserveinc.dokazovi.util.FieldSelectionHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Binds the {@code fields} request parameter to the request thread for the time of the request.
+ */
+public class FieldSelectionInterceptor implements HandlerInterceptor {
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		FieldSelectionHolder.set(FieldSelection.parse(request.getParameter(FieldSelection.PARAMETER)));
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		FieldSelectionHolder.reset();
+	}
+}
@@ -0,0 +1,27 @@
+package com.softserveinc.dokazovi.config;
+
+import com.softserveinc.dokazovi.pojo.FieldSelection;
+import com.softserveinc.dokazovi.util.FieldSelectionHolder;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Drops the fields the client did not ask for from the serialized post and expert responses.
+ */
+@RestControllerAdvice
+public class FieldSelectionResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+	@Override
+	protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+			MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+		FieldSelection fields = FieldSelectionHolder.get();
+		if (!fields.isAll()) {
+			bodyContainer.setFilters(fields.toFilterProvider());
+		}
+	}
+}
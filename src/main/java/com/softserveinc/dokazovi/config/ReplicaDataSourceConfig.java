@@ -0,0 +1,73 @@
+package com.softserveinc.dokazovi.config;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single data source with a routing one when read replicas are configured.
+ *
+ * <p>Read-only transactions go to the replicas listed in {@code app.replica.urls}, the rest goes to
+ * {@code spring.datasource.url}. Replicas use the primary credentials unless their own are set.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.replica.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReplicaDataSourceConfig {
+
+	private final AppProperties appProperties;
+
+	@Bean
+	public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties) {
+		AppProperties.Replica replica = appProperties.getReplica();
+		DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+		List<String> urls = replica.getUrls();
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		for (int i = 0; i < urls.size(); i++) {
+			replicas.put("replica-" + i, DataSourceBuilder.create()
+					.driverClassName(dataSourceProperties.determineDriverClassName())
+					.url(urls.get(i))
+					.username(replica.getUsername() != null
+							? replica.getUsername() : dataSourceProperties.determineUsername())
+					.password(replica.getPassword() != null
+							? replica.getPassword() : dataSourceProperties.determinePassword())
+					.build());
+		}
+		return new ReplicaRoutingDataSource(primary, replicas, replica.getStickyWindowMsec());
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new ReplicaLagMonitor(replicaRoutingDataSource, appProperties.getReplica().getMaxLagMsec());
+	}
+
+	/**
+	 * Hibernate holds the connection until the session is closed by default. With open session in view
+	 * a replica connection taken by a read-only transaction would then be reused by a later write in the
+	 * same request, so the connection is released after every transaction instead.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+		return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+				PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+	}
+}
@@ -0,0 +1,58 @@
+package com.softserveinc.dokazovi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Periodically measures the replication lag of every replica and takes the lagging
+ * or unreachable ones out of the read rotation.
+ */
+public class ReplicaLagMonitor {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+	/**
+	 * Lag is zero when everything received has been replayed, otherwise it is the age of the last
+	 * replayed transaction. Returns zero on a server that is not in recovery.
+	 */
+	private static final String LAG_QUERY = "SELECT CASE "
+			+ "    WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+			+ "    ELSE COALESCE(EXTRACT(EPOCH FROM (NOW() - pg_last_xact_replay_timestamp())) * 1000, 0) "
+			+ " END";
+
+	private final ReplicaRoutingDataSource routingDataSource;
+	private final long maxLagMsec;
+
+	public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, long maxLagMsec) {
+		this.routingDataSource = routingDataSource;
+		this.maxLagMsec = maxLagMsec;
+	}
+
+	@Scheduled(fixedDelayString = "${app.replica.lagCheckMsec:5000}")
+	public void checkReplicas() {
+		for (Map.Entry<String, DataSource> replica : routingDataSource.getReplicas().entrySet()) {
+			routingDataSource.markLagging(replica.getKey(), isLagging(replica.getKey(), replica.getValue()));
+		}
+		routingDataSource.purgeExpiredStickiness();
+	}
+
+	private boolean isLagging(String name, DataSource replica) {
+		try {
+			Double lag = new JdbcTemplate(replica).queryForObject(LAG_QUERY, Double.class);
+			if (lag != null && lag > maxLagMsec) {
+				logger.warn("Replica {} is {} ms behind the primary, reads go to the primary", name, lag.longValue());
+				return true;
+			}
+			return false;
+		} catch (DataAccessException e) {
+			logger.error("Replica {} is unavailable, reads go to the primary", name, e);
+			return true;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.softserveinc.dokazovi.config;
+
+import com.softserveinc.dokazovi.security.UserPrincipal;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections of read-only transactions to replica pools and everything else to the primary.
+ *
+ * <p>A user who has just run a read-write transaction keeps reading from the primary for the sticky
+ * window, so they always see their own writes. Replicas reported as lagging are skipped, and when
+ * none is available the primary serves the reads.</p>
+ *
+ * <p>Must be wrapped into {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * otherwise the connection is taken before the transaction is marked as read-only.</p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+	public static final String PRIMARY = "primary";
+
+	private final DataSource primary;
+	private final Map<String, DataSource> replicas;
+	private final long stickyWindowMsec;
+	private final Set<String> laggingReplicas = ConcurrentHashMap.newKeySet();
+	private final Map<Integer, Long> stickyUsers = new ConcurrentHashMap<>();
+	private final AtomicInteger counter = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long stickyWindowMsec) {
+		this.primary = primary;
+		this.replicas = replicas;
+		this.stickyWindowMsec = stickyWindowMsec;
+		Map<Object, Object> targets = new HashMap<>(replicas);
+		targets.put(PRIMARY, primary);
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		Integer userId = getCurrentUserId();
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+				stickyUsers.put(userId, System.currentTimeMillis() + stickyWindowMsec);
+			}
+			return PRIMARY;
+		}
+		if (userId != null && isSticky(userId)) {
+			return PRIMARY;
+		}
+		List<String> available = getAvailableReplicas();
+		if (available.isEmpty()) {
+			return PRIMARY;
+		}
+		return available.get(Math.floorMod(counter.getAndIncrement(), available.size()));
+	}
+
+	public Map<String, DataSource> getReplicas() {
+		return Collections.unmodifiableMap(replicas);
+	}
+
+	public void markLagging(String replica, boolean lagging) {
+		if (lagging) {
+			laggingReplicas.add(replica);
+		} else {
+			laggingReplicas.remove(replica);
+		}
+	}
+
+	public List<String> getAvailableReplicas() {
+		List<String> available = new ArrayList<>();
+		for (String replica : replicas.keySet()) {
+			if (!laggingReplicas.contains(replica)) {
+				available.add(replica);
+			}
+		}
+		return available;
+	}
+
+	public void purgeExpiredStickiness() {
+		long now = System.currentTimeMillis();
+		stickyUsers.values().removeIf(expiresAt -> expiresAt < now);
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		for (DataSource replica : replicas.values()) {
+			close(replica);
+		}
+		close(primary);
+	}
+
+	private boolean isSticky(Integer userId) {
+		Long expiresAt = stickyUsers.get(userId);
+		if (expiresAt == null) {
+			return false;
+		}
+		if (expiresAt < System.currentTimeMillis()) {
+			stickyUsers.remove(userId, expiresAt);
+			return false;
+		}
+		return true;
+	}
+
+	private Integer getCurrentUserId() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal) {
+			return ((UserPrincipal) authentication.getPrincipal()).getId();
+		}
+		return null;
+	}
+
+	private void close(DataSource dataSource) throws Exception {
+		if (dataSource instanceof AutoCloseable) {
+			((AutoCloseable) dataSource).close();
+		}
+	}
+}
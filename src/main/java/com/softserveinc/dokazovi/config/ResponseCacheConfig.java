@@ -0,0 +1,25 @@
+package com.softserveinc.dokazovi.config;
+
+import com.softserveinc.dokazovi.util.OffHeapCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class ResponseCacheConfig {
+
+	private static final int PAGE_SIZE = 4096;
+
+	/**
+	 * Cache of gzip-compressed post JSON keyed by post id, versioned by the post modification time.
+	 *
+	 * @param capacity off-heap memory reserved for the cache
+	 * @return post response cache
+	 */
+	@Bean
+	public OffHeapCache<Integer> postResponseCache(
+			@Value("${post.response-cache.capacity:64MB}") DataSize capacity) {
+		return new OffHeapCache<>(capacity.toBytes(), PAGE_SIZE);
+	}
+}
@@ -1,5 +1,6 @@
 package com.softserveinc.dokazovi.config;
 
+import com.softserveinc.dokazovi.security.BoundedPasswordEncoder;
 import com.softserveinc.dokazovi.security.CustomUserDetailsService;
 import com.softserveinc.dokazovi.security.RestAuthenticationEntryPoint;
 import com.softserveinc.dokazovi.security.TokenAuthenticationFilter;
@@ -17,8 +18,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import static com.softserveinc.dokazovi.controller.EndPoints.DIRECTION;
@@ -52,26 +51,40 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
 	private final OAuth2AuthenticationFailureHandler oauth2AuthenticationFailureHandler;
 
+
+	private final HttpCookieOAuth2AuthorizationRequestRepository cookieAuthorizationRequestRepository;
+
+
+	private final BoundedPasswordEncoder passwordEncoder;
+
 	@Autowired
 	public WebSecurityConfig(CustomUserDetailsService customUserDetailsService,
 			CustomOAuth2UserService customOAuth2UserService,
 			OAuth2AuthenticationSuccessHandler oauth2AuthenticationSuccessHandler,
-			OAuth2AuthenticationFailureHandler oauth2AuthenticationFailureHandler) {
+			OAuth2AuthenticationFailureHandler oauth2AuthenticationFailureHandler,
+			HttpCookieOAuth2AuthorizationRequestRepository cookieAuthorizationRequestRepository,
+			BoundedPasswordEncoder passwordEncoder) {
 		this.customUserDetailsService = customUserDetailsService;
 		this.customOAuth2UserService = customOAuth2UserService;
 		this.oauth2AuthenticationSuccessHandler = oauth2AuthenticationSuccessHandler;
 		this.oauth2AuthenticationFailureHandler = oauth2AuthenticationFailureHandler;
+		this.cookieAuthorizationRequestRepository = cookieAuthorizationRequestRepository;
+		this.passwordEncoder = passwordEncoder;
 	}
 
 	public WebSecurityConfig(boolean disableDefaults, CustomUserDetailsService customUserDetailsService,
 			CustomOAuth2UserService customOAuth2UserService,
 			OAuth2AuthenticationSuccessHandler oauth2AuthenticationSuccessHandler,
-			OAuth2AuthenticationFailureHandler oauth2AuthenticationFailureHandler) {
+			OAuth2AuthenticationFailureHandler oauth2AuthenticationFailureHandler,
+			HttpCookieOAuth2AuthorizationRequestRepository cookieAuthorizationRequestRepository,
+			BoundedPasswordEncoder passwordEncoder) {
 		super(disableDefaults);
 		this.customUserDetailsService = customUserDetailsService;
 		this.customOAuth2UserService = customOAuth2UserService;
 		this.oauth2AuthenticationSuccessHandler = oauth2AuthenticationSuccessHandler;
 		this.oauth2AuthenticationFailureHandler = oauth2AuthenticationFailureHandler;
+		this.cookieAuthorizationRequestRepository = cookieAuthorizationRequestRepository;
+		this.passwordEncoder = passwordEncoder;
 	}
 
 	@Bean
@@ -79,16 +92,6 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 		return new TokenAuthenticationFilter();
 	}
 
-	@Bean
-	public HttpCookieOAuth2AuthorizationRequestRepository cookieAuthorizationRequestRepository() {
-		return new HttpCookieOAuth2AuthorizationRequestRepository();
-	}
-
-	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
-	}
-
 	@Bean(BeanIds.AUTHENTICATION_MANAGER)
 	@Override
 	public AuthenticationManager authenticationManagerBean() throws Exception {
@@ -124,7 +127,7 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 				.oauth2Login()
 					.authorizationEndpoint()
 						.baseUri("/oauth2/authorize")
-						.authorizationRequestRepository(cookieAuthorizationRequestRepository())
+						.authorizationRequestRepository(cookieAuthorizationRequestRepository)
 					.and()
 						.redirectionEndpoint()
 						.baseUri("/login/oauth2/code/*")
@@ -142,6 +145,6 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 	public void configure(AuthenticationManagerBuilder authenticationManagerBuilder) throws Exception {
 		authenticationManagerBuilder
 				.userDetailsService(customUserDetailsService)
-				.passwordEncoder(passwordEncoder());
+				.passwordEncoder(passwordEncoder);
 	}
 }
@@ -0,0 +1,299 @@
+package com.softserveinc.dokazovi.controller;
+
+import com.softserveinc.dokazovi.dto.profiling.ProfilingRecordingDTO;
+import com.softserveinc.dokazovi.dto.profiling.ProfilingSummaryDTO;
+import com.softserveinc.dokazovi.dto.scheduling.ScheduledJobStatusDTO;
+import com.softserveinc.dokazovi.dto.statistics.AsyncAppenderStatisticsDTO;
+import com.softserveinc.dokazovi.dto.statistics.CacheRegionStatisticsDTO;
+import com.softserveinc.dokazovi.dto.statistics.PasswordVerificationStatisticsDTO;
+import com.softserveinc.dokazovi.security.BoundedPasswordEncoder;
+import com.softserveinc.dokazovi.service.CacheStatisticsService;
+import com.softserveinc.dokazovi.service.LoggingStatisticsService;
+import com.softserveinc.dokazovi.service.ProfilingService;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
+import com.softserveinc.dokazovi.service.TokenRevocationService;
+import com.softserveinc.dokazovi.service.UserService;
+import com.softserveinc.dokazovi.util.FileResponseUtils;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.Authorization;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_CACHE_STATISTICS;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_EXPERT_RANKING_REFRESH;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_LOGGING_STATISTICS;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_PASSWORD_VERIFICATION_STATISTICS;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_PROFILING_RECORDINGS;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_PROFILING_RECORDING_FILE;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_PROFILING_RECORDING_STOP;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_PROFILING_RECORDING_SUMMARY;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_REVOKE_TOKEN;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_REVOKE_USER_TOKENS;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_SCHEDULED_JOBS;
+
+/**
+ * The Admin controller is responsible for handling server maintenance requests.
+ */
+@RestController
+@RequestMapping(ADMIN)
+@RequiredArgsConstructor
+public class AdminController {
+
+	private final CacheStatisticsService cacheStatisticsService;
+	private final BoundedPasswordEncoder boundedPasswordEncoder;
+	private final TokenRevocationService tokenRevocationService;
+	private final UserService userService;
+	private final ProfilingService profilingService;
+	private final LoggingStatisticsService loggingStatisticsService;
+	private final ScheduledLockService scheduledLockService;
+
+	/**
+	 * Gets hit and miss counters of the Hibernate second-level cache regions.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @return statistics of every cache region and 'OK' httpStatus
+	 */
+	@GetMapping(ADMIN_CACHE_STATISTICS)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Get second-level cache statistics per region",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<List<CacheRegionStatisticsDTO>> getCacheStatistics() {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(cacheStatisticsService.findSecondLevelCacheStatistics());
+	}
+
+	/**
+	 * Gets the state of the BCrypt pool that checks passwords at login and the time the checks wait in its queue.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @return password verification statistics and 'OK' httpStatus
+	 */
+	@GetMapping(ADMIN_PASSWORD_VERIFICATION_STATISTICS)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Get BCrypt pool and queueing time statistics",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<PasswordVerificationStatisticsDTO> getPasswordVerificationStatistics() {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(boundedPasswordEncoder.getStatistics());
+	}
+
+	/**
+	 * Gets the queues of the asynchronous log appenders and the number of the log events they discarded
+	 * or dropped because the queue was full.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @return statistics of every asynchronous appender and 'OK' httpStatus
+	 */
+	@GetMapping(ADMIN_LOGGING_STATISTICS)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Get asynchronous logging queue and dropped event statistics",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<List<AsyncAppenderStatisticsDTO>> getLoggingStatistics() {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(loggingStatisticsService.findAsyncAppenderStatistics());
+	}
+
+	/**
+	 * Gets the scheduled jobs run on one node of the cluster at a time, the node that holds or held the job
+	 * and the duration, the number of the updated rows or the error of its last run.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @return statuses of the scheduled jobs and 'OK' httpStatus
+	 */
+	@GetMapping(ADMIN_SCHEDULED_JOBS)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Get the locks and the last runs of the scheduled jobs",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<List<ScheduledJobStatusDTO>> getScheduledJobs() {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(scheduledLockService.findJobStatuses());
+	}
+
+	/**
+	 * Revokes the access token with the given id, for example of a compromised account.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @param tokenId id ('jti' claim) of the token
+	 * @return 'NO CONTENT' httpStatus
+	 */
+	@PostMapping(ADMIN_REVOKE_TOKEN)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Revoke access token by its id",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<Void> revokeToken(@PathVariable("tokenId") String tokenId) {
+		tokenRevocationService.revokeTokenId(tokenId);
+		return ResponseEntity
+				.status(HttpStatus.NO_CONTENT)
+				.build();
+	}
+
+	/**
+	 * Revokes all the access tokens issued to the user until now, for example of a compromised account.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @param userId id of the user
+	 * @return 'NO CONTENT' httpStatus
+	 */
+	@PostMapping(ADMIN_REVOKE_USER_TOKENS)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Revoke all access tokens of the user",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<Void> revokeUserTokens(@PathVariable("userId") Integer userId) {
+		tokenRevocationService.revokeUserTokens(userId);
+		return ResponseEntity
+				.status(HttpStatus.NO_CONTENT)
+				.build();
+	}
+
+	/**
+	 * Renumbers the default order of the expert directory at once, for example after doctors were edited
+	 * in the database, instead of waiting for the scheduled refresh.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @return 'NO CONTENT' httpStatus
+	 */
+	@PostMapping(ADMIN_EXPERT_RANKING_REFRESH)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Refresh the default order of the expert directory",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<Void> refreshExpertRanking() {
+		userService.refreshExpertRanking();
+		return ResponseEntity
+				.status(HttpStatus.NO_CONTENT)
+				.build();
+	}
+
+	/**
+	 * Starts a Java Flight Recorder recording of this node, for example while the latency is high.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @param settings        JFR settings, "default" for the low overhead or "profile" for more detail
+	 * @param durationSeconds the recording stops by itself after this time
+	 * @return the started recording and 'CREATED' httpStatus
+	 */
+	@PostMapping(ADMIN_PROFILING_RECORDINGS)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Start a flight recording of this node",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<ProfilingRecordingDTO> startProfilingRecording(
+			@RequestParam(defaultValue = "profile") String settings,
+			@RequestParam(defaultValue = "60") Integer durationSeconds) {
+		return ResponseEntity
+				.status(HttpStatus.CREATED)
+				.body(profilingService.startRecording(settings, durationSeconds));
+	}
+
+	/**
+	 * Gets the recordings kept on this node.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @return the recordings and 'OK' httpStatus
+	 */
+	@GetMapping(ADMIN_PROFILING_RECORDINGS)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Get flight recordings of this node",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<List<ProfilingRecordingDTO>> getProfilingRecordings() {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(profilingService.findRecordings());
+	}
+
+	/**
+	 * Stops the recording before its duration is over.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @param recordingId id of the recording
+	 * @return the stopped recording and 'OK' httpStatus
+	 */
+	@PostMapping(ADMIN_PROFILING_RECORDING_STOP)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Stop the flight recording",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<ProfilingRecordingDTO> stopProfilingRecording(@PathVariable("recordingId") Long recordingId) {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(profilingService.stopRecording(recordingId));
+	}
+
+	/**
+	 * Downloads the finished recording as a .jfr file to open in JDK Mission Control.
+	 *
+	 * <p>Checks if user has authority to manage the server. The file is kept until it is written out, even
+	 * if newer recordings evict it meanwhile.</p>
+	 *
+	 * @param recordingId id of the recording
+	 * @param response    response the file is written to
+	 * @throws IOException if the file cannot be sent
+	 */
+	@GetMapping(ADMIN_PROFILING_RECORDING_FILE)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Download the flight recording file",
+			authorizations = {@Authorization(value = "Authorization")})
+	public void getProfilingRecordingFile(@PathVariable("recordingId") Long recordingId,
+			HttpServletResponse response) throws IOException {
+		Path file = profilingService.getRecordingFile(recordingId);
+		try {
+			response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+			response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+					.filename(file.getFileName().toString())
+					.build()
+					.toString());
+			FileResponseUtils.copyFile(response, file);
+		} finally {
+			profilingService.releaseRecordingFile(recordingId);
+		}
+	}
+
+	/**
+	 * Gets the hottest methods and the biggest allocation sites of the finished recording.
+	 *
+	 * <p>Checks if user has authority to manage the server.</p>
+	 *
+	 * @param recordingId id of the recording
+	 * @param top         number of the methods and the allocation sites
+	 * @return the summary of the recording and 'OK' httpStatus
+	 */
+	@GetMapping(ADMIN_PROFILING_RECORDING_SUMMARY)
+	@PreAuthorize("hasAuthority('MANAGE_SERVER')")
+	@ApiOperation(value = "Get hot methods and allocation sites of the flight recording",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<ProfilingSummaryDTO> getProfilingRecordingSummary(
+			@PathVariable("recordingId") Long recordingId,
+			@RequestParam(defaultValue = "20") Integer top) {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(profilingService.summarizeRecording(recordingId, top));
+	}
+}
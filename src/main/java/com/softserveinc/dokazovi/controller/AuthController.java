@@ -2,13 +2,15 @@ package com.softserveinc.dokazovi.controller;
 
 import com.softserveinc.dokazovi.dto.payload.AuthResponse;
 import com.softserveinc.dokazovi.dto.payload.LoginRequest;
-import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.security.TokenProvider;
+import com.softserveinc.dokazovi.security.UserPrincipal;
 import com.softserveinc.dokazovi.service.ProviderService;
+import com.softserveinc.dokazovi.service.TokenRevocationService;
 import com.softserveinc.dokazovi.service.UserService;
 import com.softserveinc.dokazovi.util.MailSenderUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,6 +18,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,6 +26,7 @@ import javax.validation.Valid;
 
 import static com.softserveinc.dokazovi.controller.EndPoints.AUTH;
 import static com.softserveinc.dokazovi.controller.EndPoints.AUTH_LOGIN;
+import static com.softserveinc.dokazovi.controller.EndPoints.AUTH_LOGOUT;
 
 /**
  * The Auth controller responsible for handling requests for authentication.
@@ -32,17 +36,22 @@ import static com.softserveinc.dokazovi.controller.EndPoints.AUTH_LOGIN;
 @RequiredArgsConstructor
 public class AuthController {
 
+	private static final String BEARER_PREFIX = "Bearer ";
+
 	private final AuthenticationManager authenticationManager;
 	private final TokenProvider tokenProvider;
 	private final MailSenderUtil mailSenderUtil;
 	private final UserService userService;
 	private final ProviderService providerService;
+	private final TokenRevocationService tokenRevocationService;
 
 	/**
 	 * Authenticates user using email and password.
 	 *
 	 * <p>Creates new authentication token for user. Checks if user has confirmed email (enabled == true),
-	 * if not - throws BadRequestException to confirm it.</p>
+	 * if not - throws BadRequestException to confirm it. The user is looked up once, by the authentication,
+	 * and the password is checked on the bounded BCrypt pool. When the pool is saturated the login fails
+	 * at once with 'TOO MANY REQUESTS'.</p>
 	 *
 	 * @param loginRequest data class that stores user email and password
 	 * @return authorizes user and sets access token
@@ -57,8 +66,8 @@ public class AuthController {
 		);
 		SecurityContextHolder.getContext().setAuthentication(authentication);
 		String token = tokenProvider.createToken(authentication);
-		UserEntity userEntity = userService.findByEmail(loginRequest.getEmail());
-		if (!userEntity.getEnabled()) {
+		UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+		if (!userPrincipal.isEmailVerified()) {
 			throw new BadRequestException("Please confirm your email!");
 		} else {
 			AuthResponse authResponse = new AuthResponse(token);
@@ -66,4 +75,22 @@ public class AuthController {
 			return ResponseEntity.ok(authResponse);
 		}
 	}
+
+	/**
+	 * Logs the user out by revoking the access token sent in the 'Authorization' header.
+	 *
+	 * <p>The token is rejected by every server node within the denylist sync delay. If the header does not hold
+	 * a valid bearer token - throws BadRequestException.</p>
+	 *
+	 * @param authorization the 'Authorization' header with the bearer token
+	 * @return 'NO CONTENT' httpStatus
+	 */
+	@PostMapping(AUTH_LOGOUT)
+	public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+		if (!authorization.startsWith(BEARER_PREFIX)) {
+			throw new BadRequestException("Bearer token is required");
+		}
+		tokenRevocationService.revokeToken(authorization.substring(BEARER_PREFIX.length()));
+		return ResponseEntity.noContent().build();
+	}
 }
@@ -18,12 +18,20 @@ public final class EndPoints {
 	public static final String POST_SET_IMPORTANT = "/set-important";
 	public static final String POST_SET_UNIMPORTANT = "/set-unimportant";
 	public static final String POST_GET_POST_BY_ID = "/{postId}";
+	public static final String POST_BATCH = "/batch";
 	public static final String POST_GET_POST_BY_AUTHOR_ID_AND_DIRECTIONS = "/by-authorid-and-directions";
 	public static final String POST_ALL_POSTS = "/all-posts";
+	public static final String POST_STREAM = "/stream";
+	public static final String POST_CHANGES = "/changes";
+	public static final String POST_FEED = "/feed";
 	public static final String USER = "/user";
 	public static final String USER_RANDOM_EXPERTS = "/random-experts";
 	public static final String USER_ALL_EXPERTS = "/all-experts";
+	public static final String USER_ALL_EXPERTS_SLICE = "/all-experts/slice";
+	public static final String USER_EXPERTS_NEAR = "/experts-near";
 	public static final String USER_GET_USER_BY_ID = "/{userId}";
+	public static final String USER_BATCH = "/batch";
+	public static final String USER_PROFILE = "/{userId}/profile";
 	public static final String POST_GET_USER_BY_ID = "/{userId}";
 	public static final String USER_GET_CURRENT_USER = "/me";
 	public static final String TAG = "/tag";
@@ -38,8 +46,23 @@ public final class EndPoints {
 	public static final String AUTH_VERIFICATION = "/verification";
 	public static final String AUTH_LOGIN = "/login";
 	public static final String AUTH_SIGNUP = "/signup";
+	public static final String AUTH_LOGOUT = "/logout";
 	public static final String POST_TYPES = "/post-types";
 	public static final String POST_TYPES_ALL_TYPES_BY_USER = "/{userId}";
+	public static final String ADMIN = "/admin";
+	public static final String ADMIN_CACHE_STATISTICS = "/cache-statistics";
+	public static final String ADMIN_PASSWORD_VERIFICATION_STATISTICS = "/password-verification-statistics";
+	public static final String ADMIN_LOGGING_STATISTICS = "/logging-statistics";
+	public static final String ADMIN_SCHEDULED_JOBS = "/scheduled-jobs";
+	public static final String ADMIN_REVOKE_TOKEN = "/revoked-tokens/{tokenId}";
+	public static final String ADMIN_REVOKE_USER_TOKENS = "/users/{userId}/revoke-tokens";
+	public static final String ADMIN_EXPERT_RANKING_REFRESH = "/expert-ranking/refresh";
+	public static final String ADMIN_PROFILING_RECORDINGS = "/profiling/recordings";
+	public static final String ADMIN_PROFILING_RECORDING_STOP = "/profiling/recordings/{recordingId}/stop";
+	public static final String ADMIN_PROFILING_RECORDING_FILE = "/profiling/recordings/{recordingId}/file";
+	public static final String ADMIN_PROFILING_RECORDING_SUMMARY = "/profiling/recordings/{recordingId}/summary";
+	public static final String ASSETS_IMAGE = "/${url.assets.path}/img";
+	public static final String ASSETS_IMAGE_DERIVATIVE = "/{width:\\d+}x{height:\\d+}/**";
 
 	/**
 	 * Method that adds slash after each endpoint while calling
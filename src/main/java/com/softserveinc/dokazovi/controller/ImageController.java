@@ -0,0 +1,98 @@
+package com.softserveinc.dokazovi.controller;
+
+import com.softserveinc.dokazovi.dto.image.ImageDTO;
+import com.softserveinc.dokazovi.service.ImageService;
+import com.softserveinc.dokazovi.util.FileResponseUtils;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.Authorization;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.softserveinc.dokazovi.controller.EndPoints.ASSETS_IMAGE;
+import static com.softserveinc.dokazovi.controller.EndPoints.ASSETS_IMAGE_DERIVATIVE;
+
+/**
+ * The Image controller is responsible for uploading images and serving their resized copies.
+ */
+@RestController
+@RequestMapping(ASSETS_IMAGE)
+@RequiredArgsConstructor
+public class ImageController {
+
+	private final ImageService imageService;
+
+	@Value("${image.derivative.max-age-seconds:86400}")
+	private long derivativeMaxAgeSeconds;
+
+	/**
+	 * Uploads an image.
+	 *
+	 * <p>The multipart body is parsed only after the user is authenticated and is written to disk,
+	 * never kept in memory. Payloads over {@code spring.servlet.multipart.max-file-size} are rejected.</p>
+	 *
+	 * @param file jpeg, png, gif or webp image
+	 * @return url of the stored image and 'CREATED' httpStatus
+	 */
+	@PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	@ApiOperation(value = "Upload image",
+			authorizations = {@Authorization(value = "Authorization")})
+	public ResponseEntity<ImageDTO> uploadImage(@RequestParam("file") MultipartFile file) {
+		return ResponseEntity
+				.status(HttpStatus.CREATED)
+				.body(imageService.upload(file));
+	}
+
+	/**
+	 * Gets the image resized to the requested size, e.g. /assets/img/250x250/images/avatar.png.
+	 *
+	 * <p>The url holds the path of the original, which may be replaced, so the response is cached for
+	 * {@code image.derivative.max-age-seconds} and then revalidated. The ETag is the name of the derivative,
+	 * which holds the content hash of the original, so an unchanged image is answered with 304.</p>
+	 *
+	 * @param width    width of the image
+	 * @param height   height of the image
+	 * @param request  current request, holds the image path
+	 * @param response response the image is written to
+	 * @throws IOException if the image cannot be sent
+	 */
+	@GetMapping(ASSETS_IMAGE_DERIVATIVE)
+	@ApiOperation(value = "Get image resized to the given size, e.g. /assets/img/250x250/images/avatar.png")
+	public void getImageDerivative(@PathVariable("width") Integer width, @PathVariable("height") Integer height,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		String imagePath = new AntPathMatcher().extractPathWithinPattern(
+				(String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+				(String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE));
+		Path derivative = imageService.getDerivative(imagePath, width, height);
+
+		String fileName = derivative.getFileName().toString();
+		response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(derivativeMaxAgeSeconds, TimeUnit.SECONDS)
+				.cachePublic()
+				.getHeaderValue());
+		if (new ServletWebRequest(request, response).checkNotModified("\"" + fileName + "\"")) {
+			return;
+		}
+		response.setContentType(fileName.endsWith(".png") ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE);
+		FileResponseUtils.sendFile(request, response, derivative);
+	}
+}
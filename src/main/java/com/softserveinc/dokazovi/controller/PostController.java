@@ -1,17 +1,26 @@
 package com.softserveinc.dokazovi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserveinc.dokazovi.annotations.ApiFields;
 import com.softserveinc.dokazovi.annotations.ApiPageable;
+import com.softserveinc.dokazovi.dto.batch.BatchDTO;
 import com.softserveinc.dokazovi.dto.payload.ApiResponseMessage;
+import com.softserveinc.dokazovi.dto.post.PostChangesDTO;
 import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
 import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.dto.slice.SliceDTO;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.exception.ForbiddenPermissionsException;
+import com.softserveinc.dokazovi.pojo.FieldSelection;
 import com.softserveinc.dokazovi.security.UserPrincipal;
 import com.softserveinc.dokazovi.service.PostService;
+import com.softserveinc.dokazovi.service.PostStreamService;
 import com.softserveinc.dokazovi.service.PostTypeService;
+import com.softserveinc.dokazovi.util.FieldSelectionHolder;
+import com.softserveinc.dokazovi.util.OffHeapCache;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
@@ -22,8 +31,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -35,14 +53,28 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static com.softserveinc.dokazovi.controller.EndPoints.POST;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_ALL_POSTS;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_BATCH;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_CHANGES;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_FEED;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_GET_POST_BY_AUTHOR_ID_AND_DIRECTIONS;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_GET_POST_BY_ID;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_IMPORTANT;
@@ -52,6 +84,7 @@ import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_EXPE
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_POST_TYPES_AND_ORIGINS;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_SET_IMPORTANT;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_SET_UNIMPORTANT;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_STREAM;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_TYPE;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_VIEW_COUNT;
 
@@ -65,6 +98,11 @@ public class PostController {
 
 	private final PostService postService;
 	private final PostTypeService postTypeService;
+	private final PostStreamService postStreamService;
+	private final OffHeapCache<Integer> postResponseCache;
+	private final ObjectMapper objectMapper;
+	private final MappingJackson2CborHttpMessageConverter cborConverter;
+	private final MappingJackson2SmileHttpMessageConverter smileConverter;
 
 	/**
 	 * Saves(creates) new post.
@@ -97,6 +135,7 @@ public class PostController {
 	 * @return page with found posts and 'OK' httpStatus
 	 */
 	@GetMapping(POST_LATEST)
+	@ApiFields
 	@ApiPageable
 	@ApiOperation(value = "Find latest published posts")
 	public ResponseEntity<Page<PostDTO>> findLatestPublished(
@@ -106,6 +145,27 @@ public class PostController {
 				.body(postService.findAllByStatus(PostStatus.PUBLISHED, pageable));
 	}
 
+	/**
+	 * Opens the stream of the post changes as server-sent events.
+	 *
+	 * <p>Every published, updated or archived post is sent as a "post" event with the post id, the kind of
+	 * the change and its time, so the client reloads only the affected posts instead of polling the latest
+	 * ones. A client that does not read the events fast enough is disconnected and has to reconnect.</p>
+	 *
+	 * @return the event stream and 'OK' httpStatus, or 'TOO_MANY_REQUESTS' if the stream is at its capacity
+	 */
+	@GetMapping(value = POST_STREAM, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ApiOperation(value = "Stream the post changes")
+	@ApiResponses(value = {
+			@ApiResponse(code = 200, message = HttpStatuses.OK),
+			@ApiResponse(code = 429, message = HttpStatuses.TOO_MANY_REQUESTS)
+	})
+	public ResponseEntity<SseEmitter> streamPostChanges() {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(postStreamService.subscribe());
+	}
+
 	/**
 	 * Finds important posts.
 	 *
@@ -113,6 +173,7 @@ public class PostController {
 	 * @return page with all posts with important status and HttpStatus 'OK'
 	 */
 	@GetMapping(POST_IMPORTANT)
+	@ApiFields
 	@ApiPageable
 	@ApiOperation(value = "Find important posts")
 	public ResponseEntity<Page<PostDTO>> findImportant(
@@ -174,6 +235,7 @@ public class PostController {
 	 * @return page with found latest posts and HttpStatus 'OK'
 	 */
 	@GetMapping(POST_LATEST_BY_DIRECTION)
+	@ApiFields
 	@ApiPageable
 	@ApiOperation(value = "Find latest posts by direction")
 	public ResponseEntity<Page<PostDTO>> findLatestByDirection(
@@ -198,6 +260,7 @@ public class PostController {
 	 * @return page with found posts and HttpStatus 'OK'
 	 */
 	@GetMapping(POST_LATEST_BY_EXPERT)
+	@ApiFields
 	@ApiPageable
 	@ApiOperation(value = "Find latest posts by some expert")
 	public ResponseEntity<Page<PostDTO>> findLatestByExpert(
@@ -231,16 +294,218 @@ public class PostController {
 	 *
 	 * <p> Checks if found post exists, if no - returns HttpStatus 'NOT FOUND'.</p>
 	 *
-	 * @param postId id of post that we want to get
-	 * @return found post and HttpStatus 'OK'
+	 * <p>The serialized post is kept gzip-compressed in the off-heap cache until the post is modified,
+	 * so repeated reads neither load nor map the post. Clients that accept gzip get the cached bytes
+	 * as they are. Responses limited to the requested {@code fields} are not cached.</p>
+	 *
+	 * @param postId   id of post that we want to get
+	 * @param request  current request
+	 * @param response response the post JSON is written to with HttpStatus 'OK'
+	 * @throws IOException if the response cannot be written
 	 */
 	@GetMapping(POST_GET_POST_BY_ID)
-	@ApiOperation(value = "Get post by Id, as a path variable.")
-	public ResponseEntity<PostDTO> getPostById(@PathVariable("postId") Integer postId) {
+	@ApiFields
+	@ApiOperation(value = "Get post by Id, as a path variable.", response = PostDTO.class)
+	public void getPostById(@PathVariable("postId") Integer postId,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		FieldSelection fields = FieldSelectionHolder.get();
+		AbstractJackson2HttpMessageConverter binaryConverter = findAcceptedBinaryConverter(request);
+		if (binaryConverter != null || !fields.isAll()) {
+			PostDTO postDTO = postService.findPostById(postId);
+			if (postDTO == null) {
+				response.setStatus(HttpStatus.NOT_FOUND.value());
+				return;
+			}
+			MappingJacksonValue body = new MappingJacksonValue(postDTO);
+			body.setFilters(fields.toFilterProvider());
+			AbstractJackson2HttpMessageConverter converter = binaryConverter != null
+					? binaryConverter
+					: new MappingJackson2HttpMessageConverter(objectMapper);
+			converter.write(body, null, new ServletServerHttpResponse(response));
+			return;
+		}
+
+		long version = toVersion(postService.findPostModifiedAt(postId));
+		try (OffHeapCache<Integer>.Lease cached = postResponseCache.get(postId, version)) {
+			if (cached != null) {
+				writeGzippedJson(request, response, cached.openStream(), cached.getLength());
+				return;
+			}
+		}
+
 		PostDTO postDTO = postService.findPostById(postId);
+		if (postDTO == null) {
+			response.setStatus(HttpStatus.NOT_FOUND.value());
+			return;
+		}
+		byte[] body = gzip(objectMapper.writeValueAsBytes(postDTO));
+		postResponseCache.put(postId, toVersion(postDTO.getModifiedAt()), body);
+		writeGzippedJson(request, response, new ByteArrayInputStream(body), body.length);
+	}
+
+	/**
+	 * Gets posts by their ids in one call.
+	 *
+	 * @param ids ids of the posts in the order the client wants them
+	 * @return found posts in the requested order with not found ids listed, and HttpStatus 'OK'
+	 */
+	@GetMapping(POST_BATCH)
+	@ApiFields
+	@ApiOperation(value = "Get posts by ids. Not found ids have null items and are listed in missingIds.")
+	public ResponseEntity<BatchDTO<PostDTO>> getPostsByIds(
+			@ApiParam(value = "Multiple comma-separated post IDs, e.g. ?ids=1,2,3,4", type = "string")
+			@RequestParam List<Integer> ids) {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(postService.findPostsByIds(ids));
+	}
+
+	/**
+	 * Gets the post changes made after the cursor, in the order they were made.
+	 *
+	 * <p>The first request is made without the cursor and returns the current one. The following requests
+	 * pass the cursor of the previous response and repeat at once while it has more changes. If the cursor
+	 * is older than the kept changes the response asks to load the posts again.</p>
+	 *
+	 * @param since the cursor of the previous response
+	 * @param limit maximum number of the changes
+	 * @return the changes with the cursor to continue from, and HttpStatus 'OK'
+	 */
+	@GetMapping(POST_CHANGES)
+	@ApiOperation(value = "Get post changes made after the cursor")
+	@ApiResponses(value = {
+			@ApiResponse(code = 200, message = HttpStatuses.OK, response = PostChangesDTO.class),
+			@ApiResponse(code = 400, message = HttpStatuses.BAD_REQUEST)
+	})
+	public ResponseEntity<PostChangesDTO> findPostChanges(
+			@RequestParam(required = false) Long since,
+			@RequestParam(defaultValue = "100") Integer limit) {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(postService.findChanges(since, limit));
+	}
+
+	/**
+	 * Gets the latest posts of several directions as one feed, the latest published first.
+	 *
+	 * <p>A post in several of the directions is returned once. The feed tells only whether there is a next
+	 * page, and it is as deep as the latest posts kept in memory for each direction.</p>
+	 *
+	 * @param pageable   interface for pagination information, the sort is ignored
+	 * @param directions direction ids
+	 * @param types      post type ids
+	 * @return slice with found posts and HttpStatus 'OK'
+	 */
+	@GetMapping(POST_FEED)
+	@ApiFields
+	@ApiPageable
+	@ApiOperation(value = "Find latest posts of several directions")
+	@ApiResponses(value = {
+			@ApiResponse(code = 200, message = HttpStatuses.OK),
+			@ApiResponse(code = 400, message = HttpStatuses.BAD_REQUEST)
+	})
+	public ResponseEntity<SliceDTO<PostDTO>> findFeed(
+			@PageableDefault(size = 6) Pageable pageable,
+			@ApiParam(value = "Multiple comma-separated direction IDs, e.g. ?directions=1,2,3", type = "string")
+			@RequestParam Set<Integer> directions,
+			@ApiParam(value = "You can use multiple comma-separated type IDs, e.g. ?types=1,2,3", type = "string")
+			@RequestParam(required = false) Set<Integer> types) {
 		return ResponseEntity
-				.status((postDTO != null) ? HttpStatus.OK : HttpStatus.NOT_FOUND)
-				.body(postDTO);
+				.status(HttpStatus.OK)
+				.body(postService.findFeed(directions, types, pageable));
+	}
+
+	/**
+	 * Finds the CBOR or Smile converter if the client prefers it to JSON. Cached responses are JSON only,
+	 * so binary representations are serialized on every request.
+	 */
+	private AbstractJackson2HttpMessageConverter findAcceptedBinaryConverter(HttpServletRequest request) {
+		String accept = request.getHeader(HttpHeaders.ACCEPT);
+		if (accept == null) {
+			return null;
+		}
+		List<MediaType> mediaTypes;
+		try {
+			mediaTypes = MediaType.parseMediaTypes(accept);
+		} catch (InvalidMediaTypeException e) {
+			return null;
+		}
+		MediaType.sortBySpecificityAndQuality(mediaTypes);
+		for (MediaType mediaType : mediaTypes) {
+			for (AbstractJackson2HttpMessageConverter converter : List.of(cborConverter, smileConverter)) {
+				if (converter.getSupportedMediaTypes().stream().anyMatch(mediaType::equalsTypeAndSubtype)) {
+					return converter;
+				}
+			}
+			if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	private long toVersion(Timestamp modifiedAt) {
+		return modifiedAt != null ? modifiedAt.getTime() : 0;
+	}
+
+	private byte[] gzip(byte[] json) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(json);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Checks whether the Accept-Encoding header allows gzip: gzip or x-gzip is listed with a non-zero quality,
+	 * or it is not listed and the wildcard is.
+	 */
+	private static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		Double gzipQuality = null;
+		Double wildcardQuality = null;
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.split(";");
+			String name = parts[0].trim().toLowerCase(Locale.ROOT);
+			double quality = 1;
+			for (int i = 1; i < parts.length; i++) {
+				String parameter = parts[i].trim();
+				if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+					try {
+						quality = Double.parseDouble(parameter.substring(2).trim());
+					} catch (NumberFormatException e) {
+						quality = 0;
+					}
+				}
+			}
+			if ("gzip".equals(name) || "x-gzip".equals(name)) {
+				gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+			} else if ("*".equals(name)) {
+				wildcardQuality = quality;
+			}
+		}
+		if (gzipQuality != null) {
+			return gzipQuality > 0;
+		}
+		return wildcardQuality != null && wildcardQuality > 0;
+	}
+
+	private void writeGzippedJson(HttpServletRequest request, HttpServletResponse response,
+			InputStream gzipped, int length) throws IOException {
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+			response.setContentLength(length);
+			gzipped.transferTo(response.getOutputStream());
+		} else {
+			try (InputStream json = new GZIPInputStream(gzipped)) {
+				json.transferTo(response.getOutputStream());
+			}
+		}
 	}
 
 	/**
@@ -255,6 +520,7 @@ public class PostController {
 	 * @return page with all posts filtered by directions, by post types and by origins and HttpStatus 'OK'
 	 */
 	@GetMapping(POST_ALL_POSTS)
+	@ApiFields
 	@ApiOperation(value = "Get posts, filtered by directions, post types and origins.")
 	public ResponseEntity<Page<PostDTO>> getAllPostsByDirectionsByPostTypesAndByOrigins(
 			@PageableDefault Pageable pageable,
@@ -353,6 +619,7 @@ public class PostController {
 	 * @return found posts filtered by author id and directions and HttpStatus 'OK'
 	 */
 	@GetMapping(POST_GET_POST_BY_AUTHOR_ID_AND_DIRECTIONS)
+	@ApiFields
 	@ApiOperation(value = "Get post by author Id, as a path variable, and directions.")
 	public ResponseEntity<Page<PostDTO>> getPostsByAuthorIdAndDirections(
 			@PageableDefault(size = 12) Pageable pageable, @NotNull Integer authorId,
@@ -372,6 +639,7 @@ public class PostController {
 	 * @return found posts filtered by Post Types and origins with names of main page fields and HttpStatus 'OK'
 	 */
 	@GetMapping(POST_LATEST_BY_POST_TYPES_AND_ORIGINS)
+	@ApiFields
 	@ApiPageable
 	@ApiOperation(value = "Find latest published posts by post types and origins")
 	public ResponseEntity<Page<PostMainPageDTO>> findLatestByPostTypesAndOrigins(
@@ -1,9 +1,15 @@
 package com.softserveinc.dokazovi.controller;
 
+import com.softserveinc.dokazovi.annotations.ApiFields;
 import com.softserveinc.dokazovi.annotations.ApiPageable;
+import com.softserveinc.dokazovi.dto.batch.BatchDTO;
+import com.softserveinc.dokazovi.dto.slice.SliceDTO;
+import com.softserveinc.dokazovi.dto.user.ExpertProfileDTO;
+import com.softserveinc.dokazovi.dto.user.NearbyExpertDTO;
 import com.softserveinc.dokazovi.dto.user.UserDTO;
 import com.softserveinc.dokazovi.pojo.UserSearchCriteria;
 import com.softserveinc.dokazovi.security.UserPrincipal;
+import com.softserveinc.dokazovi.service.ExpertProfileService;
 import com.softserveinc.dokazovi.service.UserService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -21,12 +27,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
 import java.util.Set;
 
 import static com.softserveinc.dokazovi.controller.EndPoints.USER;
 import static com.softserveinc.dokazovi.controller.EndPoints.USER_ALL_EXPERTS;
+import static com.softserveinc.dokazovi.controller.EndPoints.USER_ALL_EXPERTS_SLICE;
+import static com.softserveinc.dokazovi.controller.EndPoints.USER_BATCH;
+import static com.softserveinc.dokazovi.controller.EndPoints.USER_EXPERTS_NEAR;
 import static com.softserveinc.dokazovi.controller.EndPoints.USER_GET_CURRENT_USER;
 import static com.softserveinc.dokazovi.controller.EndPoints.USER_GET_USER_BY_ID;
+import static com.softserveinc.dokazovi.controller.EndPoints.USER_PROFILE;
 import static com.softserveinc.dokazovi.controller.EndPoints.USER_RANDOM_EXPERTS;
 
 /**
@@ -39,6 +50,7 @@ import static com.softserveinc.dokazovi.controller.EndPoints.USER_RANDOM_EXPERTS
 public class UserController {
 
 	private final UserService userService;
+	private final ExpertProfileService expertProfileService;
 
 	/**
 	 * Gets preview of random experts,
@@ -50,6 +62,7 @@ public class UserController {
 	 * @return page with found posts and 'OK' httpStatus
 	 */
 	@GetMapping(USER_RANDOM_EXPERTS)
+	@ApiFields
 	@ApiPageable
 	@ApiOperation(value = "Get preview of random experts, filtered by directions. Default 12 max per page.")
 	public ResponseEntity<Page<UserDTO>> getRandomExpertPreview(
@@ -71,6 +84,7 @@ public class UserController {
 	 * @return page with found experts and 'OK' httpStatus
 	 */
 	@GetMapping(USER_ALL_EXPERTS)
+	@ApiFields
 	@ApiPageable
 	@ApiOperation(value = "Get experts ordered by name, then filtered by directions and/or regions."
 			+ " Default 6 per page.")
@@ -81,6 +95,55 @@ public class UserController {
 				.body(userService.findAllExperts(userSearchCriteria, pageable));
 	}
 
+	/**
+	 * Gets the slice of experts depending on the parameters coming through the request,
+	 * ordered by relevance, without counting all of them.
+	 * Default 6 max per page.
+	 *
+	 * @param pageable           interface for pagination information
+	 * @param userSearchCriteria binds request parameters to an object
+	 * @param approximateTotal   whether to add the cached number of the found experts
+	 * @return slice with found experts and 'OK' httpStatus
+	 */
+	@GetMapping(USER_ALL_EXPERTS_SLICE)
+	@ApiFields
+	@ApiPageable
+	@ApiOperation(value = "Get experts the same way as all-experts, but tell only whether there is a next page"
+			+ " instead of the total. Default 6 per page.")
+	public ResponseEntity<SliceDTO<UserDTO>> getAllExpertsSlice(
+			@PageableDefault(size = 6) Pageable pageable, UserSearchCriteria userSearchCriteria,
+			@ApiParam(value = "Add the approximate number of found experts, refreshed every few minutes")
+			@RequestParam(defaultValue = "false") boolean approximateTotal) {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(userService.findAllExpertsSlice(userSearchCriteria, pageable, approximateTotal));
+	}
+
+	/**
+	 * Gets the experts nearest to the point, optionally filtered by directions.
+	 * The location of an expert is the city of the main institution.
+	 * Default 10 max experts within 50 kilometers.
+	 *
+	 * @param lat        latitude of the point, in degrees
+	 * @param lon        longitude of the point, in degrees
+	 * @param radiusKm   maximum distance to the expert, in kilometers
+	 * @param directions direction ids
+	 * @param limit      maximum number of the experts
+	 * @return found experts with distances, from the nearest, and 'OK' httpStatus
+	 */
+	@GetMapping(USER_EXPERTS_NEAR)
+	@ApiOperation(value = "Get experts nearest to the point, filtered by directions. Default 10 within 50 km.")
+	public ResponseEntity<List<NearbyExpertDTO>> getExpertsNear(
+			@RequestParam double lat, @RequestParam double lon,
+			@RequestParam(defaultValue = "50") double radiusKm,
+			@ApiParam(value = "Multiple comma-separated direction IDs, e.g. ?directions=1,2,3,4", type = "string")
+			@RequestParam(required = false) Set<Integer> directions,
+			@RequestParam(defaultValue = "10") int limit) {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(userService.findExpertsNear(lat, lon, radiusKm, directions, limit));
+	}
+
 	/**
 	 * Gets the user by its id.
 	 * Checks if the user exists. If no - returns HttpStatus 'NOT FOUND'.
@@ -89,6 +152,7 @@ public class UserController {
 	 * @return found user and HttpStatus 'OK'
 	 */
 	@GetMapping(USER_GET_USER_BY_ID)
+	@ApiFields
 	@ApiOperation(value = "Get expert by Id, as a path variable.")
 	public ResponseEntity<UserDTO> getExpertById(@PathVariable("userId") Integer userId) {
 		UserDTO userDTO = userService.findExpertById(userId);
@@ -97,6 +161,43 @@ public class UserController {
 				.body(userDTO);
 	}
 
+	/**
+	 * Gets everything the expert page shows: the expert, the directions and the types
+	 * of the expert posts and the latest expert posts.
+	 * Checks if the user exists. If no - returns HttpStatus 'NOT FOUND'.
+	 *
+	 * @param userId   id of the expert
+	 * @param pageable interface for pagination information of the latest posts
+	 * @return found expert profile and HttpStatus 'OK'
+	 */
+	@GetMapping(USER_PROFILE)
+	@ApiPageable
+	@ApiOperation(value = "Get expert page data by expert Id, as a path variable.")
+	public ResponseEntity<ExpertProfileDTO> getExpertProfile(@PathVariable("userId") Integer userId,
+			@PageableDefault Pageable pageable) {
+		ExpertProfileDTO expertProfileDTO = expertProfileService.findExpertProfile(userId, pageable);
+		return ResponseEntity
+				.status((expertProfileDTO != null) ? HttpStatus.OK : HttpStatus.NOT_FOUND)
+				.body(expertProfileDTO);
+	}
+
+	/**
+	 * Gets experts by their ids in one call.
+	 *
+	 * @param ids ids of the experts in the order the client wants them
+	 * @return found experts in the requested order with not found ids listed, and HttpStatus 'OK'
+	 */
+	@GetMapping(USER_BATCH)
+	@ApiFields
+	@ApiOperation(value = "Get experts by ids. Not found ids have null items and are listed in missingIds.")
+	public ResponseEntity<BatchDTO<UserDTO>> getExpertsByIds(
+			@ApiParam(value = "Multiple comma-separated user IDs, e.g. ?ids=1,2,3,4", type = "string")
+			@RequestParam List<Integer> ids) {
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(userService.findExpertsByIds(ids));
+	}
+
 	/**
 	 * Gets current user.
 	 * Checks if userPrincipal exists via findExpertById method.
@@ -106,6 +207,7 @@ public class UserController {
 	 * @return found user and HttpStatus 'OK'
 	 */
 	@GetMapping(USER_GET_CURRENT_USER)
+	@ApiFields
 	@ApiOperation(value = "Get current user",
 			authorizations = {@Authorization(value = "Authorization")})
 	public ResponseEntity<UserDTO> getCurrentUser(@AuthenticationPrincipal UserPrincipal userPrincipal) {
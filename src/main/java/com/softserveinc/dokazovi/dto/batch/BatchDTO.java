@@ -0,0 +1,50 @@
+package com.softserveinc.dokazovi.dto.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The Batch DTO is responsible for passing the items requested by ids in one call.
+ *
+ * <p>Items follow the order of the requested ids. An id that was not found has a null item
+ * and is listed in {@code missingIds}.</p>
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDTO<T> {
+
+	private List<T> items;
+	private Set<Integer> missingIds;
+
+	/**
+	 * Arranges the found items in the order of the requested ids.
+	 *
+	 * @param ids   requested ids
+	 * @param found found items by their ids
+	 * @param <T>   type of the items
+	 * @return the batch with the misses marked
+	 */
+	public static <T> BatchDTO<T> inRequestOrder(List<Integer> ids, Map<Integer, T> found) {
+		List<T> items = new ArrayList<>(ids.size());
+		Set<Integer> missingIds = new LinkedHashSet<>();
+		for (Integer id : ids) {
+			T item = found.get(id);
+			items.add(item);
+			if (item == null) {
+				missingIds.add(id);
+			}
+		}
+		return new BatchDTO<>(items, missingIds);
+	}
+}
@@ -0,0 +1,24 @@
+package com.softserveinc.dokazovi.dto.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Cache Invalidation DTO is responsible for passing an eviction from the cache of one node to the
+ * caches of the other nodes. Without the key the whole cache is cleared.
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CacheInvalidationDTO {
+
+	private String node;
+	private String cache;
+	private String key;
+}
@@ -1,5 +1,6 @@
 package com.softserveinc.dokazovi.dto.direction;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,4 +34,7 @@ public class DirectionDTO {
 	private Boolean hasDoctors;
 
 	private Boolean hasPosts;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Integer postCount;
 }
@@ -0,0 +1,15 @@
+package com.softserveinc.dokazovi.dto.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageDTO {
+
+	private String url;
+}
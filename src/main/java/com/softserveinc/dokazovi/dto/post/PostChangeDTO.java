@@ -0,0 +1,21 @@
+package com.softserveinc.dokazovi.dto.post;
+
+import com.softserveinc.dokazovi.entity.enumerations.PostChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostChangeDTO {
+
+	private Long sequence;
+	private Integer postId;
+	private PostChangeType type;
+	private Timestamp changedAt;
+}
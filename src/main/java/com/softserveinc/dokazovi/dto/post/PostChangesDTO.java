@@ -0,0 +1,20 @@
+package com.softserveinc.dokazovi.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostChangesDTO {
+
+	private List<PostChangeDTO> changes;
+	private Long cursor;
+	private boolean hasMore;
+	private boolean resyncRequired;
+}
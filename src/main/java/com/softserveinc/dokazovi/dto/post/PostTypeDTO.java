@@ -1,5 +1,6 @@
 package com.softserveinc.dokazovi.dto.post;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,4 +20,7 @@ public class PostTypeDTO {
 
 	@NotBlank(message = "PostType name cannot be empty")
 	private String name;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Integer postCount;
 }
@@ -0,0 +1,17 @@
+package com.softserveinc.dokazovi.dto.profiling;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfilingHotSpotDTO {
+
+	private String location;
+	private long samples;
+	private long bytes;
+}
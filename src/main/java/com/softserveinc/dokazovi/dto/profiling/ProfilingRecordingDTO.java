@@ -0,0 +1,23 @@
+package com.softserveinc.dokazovi.dto.profiling;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfilingRecordingDTO {
+
+	private Long id;
+	private String name;
+	private String settings;
+	private String state;
+	private Timestamp startedAt;
+	private Long durationSeconds;
+	private Long fileSize;
+}
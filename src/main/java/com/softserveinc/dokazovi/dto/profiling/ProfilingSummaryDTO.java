@@ -0,0 +1,20 @@
+package com.softserveinc.dokazovi.dto.profiling;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfilingSummaryDTO {
+
+	private long executionSampleCount;
+	private long allocationSampleCount;
+	private List<ProfilingHotSpotDTO> hotMethods;
+	private List<ProfilingHotSpotDTO> allocationSites;
+}
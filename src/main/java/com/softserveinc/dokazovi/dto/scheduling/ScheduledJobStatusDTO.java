@@ -0,0 +1,25 @@
+package com.softserveinc.dokazovi.dto.scheduling;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledJobStatusDTO {
+
+	private String jobName;
+	private boolean running;
+	private String lockedBy;
+	private Timestamp lockedAt;
+	private Timestamp lockedUntil;
+	private Timestamp lastFinishedAt;
+	private Long lastDurationMs;
+	private Integer lastRowCount;
+	private String lastError;
+}
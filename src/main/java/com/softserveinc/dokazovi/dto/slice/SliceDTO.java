@@ -0,0 +1,45 @@
+package com.softserveinc.dokazovi.dto.slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * The Slice DTO is responsible for passing one page of items without the total number of them.
+ *
+ * <p>{@code hasNext} tells whether the following page has any items. {@code approximateTotal} is present
+ * only when it was requested and may lag behind the data for a few minutes.</p>
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceDTO<T> {
+
+	private List<T> content;
+	private int number;
+	private int size;
+	private boolean hasNext;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Long approximateTotal;
+
+	/**
+	 * Copies the slice.
+	 *
+	 * @param slice            the slice of the items
+	 * @param approximateTotal cached number of all items, or null
+	 * @param <T>              type of the items
+	 * @return the slice DTO
+	 */
+	public static <T> SliceDTO<T> of(Slice<T> slice, Long approximateTotal) {
+		return new SliceDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(),
+				approximateTotal);
+	}
+}
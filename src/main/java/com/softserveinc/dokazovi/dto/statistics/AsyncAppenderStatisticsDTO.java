@@ -0,0 +1,19 @@
+package com.softserveinc.dokazovi.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsyncAppenderStatisticsDTO {
+
+	private String appender;
+	private int queueSize;
+	private int queuedCount;
+	private long discardedCount;
+	private long droppedCount;
+}
@@ -0,0 +1,19 @@
+package com.softserveinc.dokazovi.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatisticsDTO {
+
+	private String region;
+	private long hitCount;
+	private long missCount;
+	private long putCount;
+	private long elementCountInMemory;
+}
@@ -0,0 +1,21 @@
+package com.softserveinc.dokazovi.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordVerificationStatisticsDTO {
+
+	private int poolSize;
+	private int activeCount;
+	private int queueSize;
+	private long completedCount;
+	private long rejectedCount;
+	private double averageQueueWaitMs;
+	private double maxQueueWaitMs;
+}
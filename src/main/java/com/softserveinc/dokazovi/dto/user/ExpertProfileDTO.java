@@ -0,0 +1,31 @@
+package com.softserveinc.dokazovi.dto.user;
+
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * The Expert Profile DTO is responsible for passing everything the expert page shows in one response.
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpertProfileDTO {
+
+	private UserDTO expert;
+
+	private List<DirectionDTO> directions;
+
+	private List<PostTypeDTO> postTypes;
+
+	private Page<PostDTO> latestPosts;
+}
@@ -0,0 +1,22 @@
+package com.softserveinc.dokazovi.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Nearby Expert DTO is responsible for passing the expert found near a point together with the distance
+ * from the point to the city of the expert's main institution.
+ */
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyExpertDTO {
+
+	private UserDTO expert;
+
+	private Double distanceKm;
+}
@@ -0,0 +1,49 @@
+package com.softserveinc.dokazovi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+/**
+ * The Author Facet Entity is responsible for correlating with Author Facets table in the database.
+ * Each row counts the published posts of an author in one direction or of one post type.
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "author_facet_entity")
+@Table(name = "author_facets")
+public class AuthorFacetEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "author_facet_id")
+	private Integer id;
+
+	@Column(name = "author_id", nullable = false)
+	private Integer authorId;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "direction_id")
+	private DirectionEntity direction;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "type_id")
+	private PostTypeEntity type;
+
+	@Column(name = "post_count", nullable = false)
+	private Integer postCount;
+}
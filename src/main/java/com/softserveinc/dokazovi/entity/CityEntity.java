@@ -6,7 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -22,6 +25,8 @@ import javax.persistence.Table;
 @NoArgsConstructor
 @Entity(name = "city_entity")
 @Table(name = "cities")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 public class CityEntity {
 
 	@Id
@@ -31,6 +36,10 @@ public class CityEntity {
 
 	private String name;
 
+	private Double latitude;
+
+	private Double longitude;
+
 	@ManyToOne
 	@JoinColumn(name = "region_id", nullable = false)
 	@JsonIdentityInfo(
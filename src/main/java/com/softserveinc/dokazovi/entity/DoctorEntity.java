@@ -11,6 +11,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.CascadeType;
@@ -96,6 +97,7 @@ public class DoctorEntity {
 			joinColumns = {@JoinColumn(name = "doctor_id")},
 			inverseJoinColumns = {@JoinColumn(name = "institution_id")}
 	)
+	@BatchSize(size = PostEntity.BATCH_SIZE)
 	@EqualsAndHashCode.Exclude
 	@ToString.Exclude
 	@JsonIdentityInfo(
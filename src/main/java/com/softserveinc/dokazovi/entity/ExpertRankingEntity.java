@@ -0,0 +1,31 @@
+package com.softserveinc.dokazovi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The Expert Ranking Entity is responsible for correlating with Expert Ranking table in the database.
+ * Each row is the position of an expert in the default order of the expert directory.
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "expert_ranking_entity")
+@Table(name = "expert_ranking")
+public class ExpertRankingEntity {
+
+	@Id
+	private Integer position;
+
+	@Column(name = "user_id", nullable = false, unique = true)
+	private Integer userId;
+}
@@ -0,0 +1,62 @@
+package com.softserveinc.dokazovi.entity;
+
+import com.softserveinc.dokazovi.entity.enumerations.MailStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.sql.Timestamp;
+
+/**
+ * The Mail Outbox Entity is responsible for correlating with Mail Outbox table in the database.
+ * Each row is an outgoing message that is written together with the business data and delivered later
+ * by the mail dispatcher.
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "mail_outbox_entity")
+@Table(name = "mail_outbox")
+public class MailOutboxEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "mail_id")
+	private Integer id;
+
+	@Column(nullable = false)
+	private String recipient;
+
+	private String subject;
+
+	@Column(columnDefinition = "TEXT")
+	private String body;
+
+	@Enumerated(EnumType.STRING)
+	private MailStatus status;
+
+	private Integer attempts;
+
+	private Timestamp nextAttemptAt;
+
+	private String lastError;
+
+	private String claimToken;
+
+	@CreationTimestamp
+	private Timestamp createdAt;
+
+	private Timestamp sentAt;
+}
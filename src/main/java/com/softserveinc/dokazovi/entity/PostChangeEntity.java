@@ -0,0 +1,53 @@
+package com.softserveinc.dokazovi.entity;
+
+import com.softserveinc.dokazovi.entity.enumerations.PostChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.sql.Timestamp;
+
+/**
+ * The Post Change Entity is responsible for correlating with Post Changes table in the database.
+ * Each row is a change of a post, written in the same transaction as the change itself. The position of
+ * the change in the feed is given by the database once the transaction that wrote it is over.
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "post_change_entity")
+@Table(name = "post_changes")
+public class PostChangeEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "change_id")
+	private Long id;
+
+	@Column(nullable = false)
+	private Integer postId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "change_type", nullable = false)
+	private PostChangeType type;
+
+	@Column(nullable = false)
+	private Timestamp changedAt;
+
+	@Column(insertable = false, updatable = false)
+	private Long txId;
+
+	@Column(insertable = false, updatable = false)
+	private Long feedPosition;
+}
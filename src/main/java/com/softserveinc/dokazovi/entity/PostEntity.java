@@ -7,6 +7,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -36,6 +39,11 @@ import java.util.Set;
 @Table(name = "posts")
 public class PostEntity {
 
+	/**
+	 * Associations are lazy and are loaded for a page of posts at once when mapped.
+	 */
+	public static final int BATCH_SIZE = 20;
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	@Column(name = "post_id")
@@ -58,43 +66,49 @@ public class PostEntity {
 	@ColumnDefault("false")
 	private Boolean important;
 
-	@ManyToOne(cascade = {CascadeType.REFRESH, CascadeType.MERGE})
+	@ManyToOne(cascade = {CascadeType.REFRESH, CascadeType.MERGE}, fetch = FetchType.LAZY)
 	@JoinColumn(name = "author_id")
 	private UserEntity author;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "type_id")
 	private PostTypeEntity type;
 
 	@Enumerated(EnumType.STRING)
 	private PostStatus status;
 
-	@ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.EAGER)
+	@ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.LAZY)
 	@JoinTable(
 			name = "posts_directions",
 			joinColumns = {@JoinColumn(name = "post_id")},
 			inverseJoinColumns = {@JoinColumn(name = "direction_id")}
 	)
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+	@BatchSize(size = BATCH_SIZE)
 	@EqualsAndHashCode.Exclude
 	@ToString.Exclude
 	private Set<DirectionEntity> directions;
 
-	@ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.EAGER)
+	@ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.LAZY)
 	@JoinTable(
 			name = "posts_tags",
 			joinColumns = {@JoinColumn(name = "post_id")},
 			inverseJoinColumns = {@JoinColumn(name = "tag_id")}
 	)
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+	@BatchSize(size = BATCH_SIZE)
 	@EqualsAndHashCode.Exclude
 	@ToString.Exclude
 	private Set<TagEntity> tags;
 
-	@ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.EAGER)
+	@ManyToMany(cascade = {CascadeType.REFRESH}, fetch = FetchType.LAZY)
 	@JoinTable(
 			name = "posts_origins",
 			joinColumns = {@JoinColumn(name = "post_id")},
 			inverseJoinColumns = {@JoinColumn(name = "origin_id")}
 	)
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+	@BatchSize(size = BATCH_SIZE)
 	@EqualsAndHashCode.Exclude
 	@ToString.Exclude
 	private Set<OriginEntity> origins;
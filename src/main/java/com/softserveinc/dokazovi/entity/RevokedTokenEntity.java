@@ -0,0 +1,38 @@
+package com.softserveinc.dokazovi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.sql.Timestamp;
+
+/**
+ * The Revoked Token Entity is responsible for correlating with Revoked Tokens table in the database.
+ * Each row is the id of an access token that must not be accepted any more, kept until the token expires.
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "revoked_token_entity")
+@Table(name = "revoked_tokens")
+public class RevokedTokenEntity {
+
+	@Id
+	@Column(name = "jti", length = 36)
+	private String tokenId;
+
+	private Integer userId;
+
+	@Column(nullable = false)
+	private Timestamp revokedAt;
+
+	@Column(nullable = false)
+	private Timestamp expiresAt;
+}
@@ -5,7 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CollectionTable;
 import javax.persistence.Column;
 import javax.persistence.ElementCollection;
@@ -26,6 +29,8 @@ import java.util.Set;
 @NoArgsConstructor
 @Entity(name = "role_entity")
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class RoleEntity {
 
 	@Id
@@ -39,5 +44,6 @@ public class RoleEntity {
 	@ElementCollection(targetClass = RolePermission.class, fetch = FetchType.EAGER)
 	@CollectionTable(name = "role_permission", joinColumns = @JoinColumn(name = "role_id"))
 	@Enumerated(EnumType.STRING)
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 	private Set<RolePermission> permissions;
 }
@@ -0,0 +1,47 @@
+package com.softserveinc.dokazovi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.sql.Timestamp;
+
+/**
+ * The Scheduled Lock Entity is responsible for correlating with Scheduled Locks table in the database.
+ * Each row is the lease of a scheduled job, the node holding it runs the job while the other nodes skip it,
+ * and the outcome of the last run of the job.
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "scheduled_lock_entity")
+@Table(name = "scheduled_locks")
+public class ScheduledLockEntity {
+
+	@Id
+	private String jobName;
+
+	@Column(nullable = false)
+	private Timestamp lockedUntil;
+
+	@Column(nullable = false)
+	private Timestamp lockedAt;
+
+	@Column(nullable = false)
+	private String lockedBy;
+
+	private Timestamp lastFinishedAt;
+
+	private Long lastDurationMs;
+
+	private Integer lastRowCount;
+
+	private String lastError;
+}
@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import javax.persistence.CascadeType;
@@ -38,6 +39,7 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "user_entity")
+@BatchSize(size = PostEntity.BATCH_SIZE)
 @Table(name = "users")
 public class UserEntity {
 
@@ -56,6 +58,7 @@ public class UserEntity {
 	private UserStatus status;
 
 	@OneToMany(mappedBy = "author")
+	@BatchSize(size = PostEntity.BATCH_SIZE)
 	@EqualsAndHashCode.Exclude
 	@ToString.Exclude
 	private Set<PostEntity> posts;
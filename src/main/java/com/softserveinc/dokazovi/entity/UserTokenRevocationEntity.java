@@ -0,0 +1,36 @@
+package com.softserveinc.dokazovi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.sql.Timestamp;
+
+/**
+ * The User Token Revocation Entity is responsible for correlating with User Token Revocations table in the
+ * database. Each row makes the access tokens of the user issued before the given time unacceptable, kept
+ * until the last of them expires.
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "user_token_revocation_entity")
+@Table(name = "user_token_revocations")
+public class UserTokenRevocationEntity {
+
+	@Id
+	private Integer userId;
+
+	@Column(nullable = false)
+	private Timestamp revokedBefore;
+
+	@Column(nullable = false)
+	private Timestamp expiresAt;
+}
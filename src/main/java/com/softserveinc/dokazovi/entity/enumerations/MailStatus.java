@@ -0,0 +1,5 @@
+package com.softserveinc.dokazovi.entity.enumerations;
+
+public enum MailStatus {
+	PENDING, SENT, FAILED
+}
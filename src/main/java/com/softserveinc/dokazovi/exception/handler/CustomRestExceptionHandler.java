@@ -1,15 +1,22 @@
 package com.softserveinc.dokazovi.exception.handler;
 
 import com.softserveinc.dokazovi.exception.DtoException;
+import com.softserveinc.dokazovi.exception.TooManyRequestsException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,6 +24,8 @@ import java.util.stream.Collectors;
 @ControllerAdvice
 public class CustomRestExceptionHandler extends ResponseEntityExceptionHandler {
 
+	private static final String RETRY_AFTER_SECONDS = "1";
+
 	// 400
 
 	@Override
@@ -45,4 +54,53 @@ public class CustomRestExceptionHandler extends ResponseEntityExceptionHandler {
 				.build();
 		return new ResponseEntity<>(apiError, new HttpHeaders(), apiError.getStatus());
 	}
+
+	// 413
+
+	@ExceptionHandler({MaxUploadSizeExceededException.class})
+	public ResponseEntity<Object> handleMaxUploadSizeExceeded(final MaxUploadSizeExceededException ex) {
+		logger.info(ex.getClass().getName());
+		final ApiError apiError = ApiError.builder()
+				.status(HttpStatus.PAYLOAD_TOO_LARGE)
+				.errors(Collections.singletonList("File is larger than " + ex.getMaxUploadSize() + " bytes"))
+				.build();
+		return new ResponseEntity<>(apiError, new HttpHeaders(), apiError.getStatus());
+	}
+
+	// 429
+
+	@ExceptionHandler({TooManyRequestsException.class})
+	public ResponseEntity<Object> handleTooManyRequests(final TooManyRequestsException ex,
+			final HttpServletRequest request) {
+		logger.info(ex.getClass().getName());
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+		if (!acceptsJson(request)) {
+			return new ResponseEntity<>(headers, HttpStatus.TOO_MANY_REQUESTS);
+		}
+		final ApiError apiError = ApiError.builder()
+				.status(HttpStatus.TOO_MANY_REQUESTS)
+				.errors(Collections.singletonList(ex.getLocalizedMessage()))
+				.build();
+		return new ResponseEntity<>(apiError, headers, apiError.getStatus());
+	}
+
+	/**
+	 * Checks whether the error can be written as JSON. An endpoint mapped to other media types only, such as
+	 * the event stream, or a client that does not accept JSON gets the status and the headers without the body.
+	 */
+	private static boolean acceptsJson(HttpServletRequest request) {
+		Object producible = request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+		if (producible instanceof Collection && ((Collection<?>) producible).stream()
+				.noneMatch(mediaType -> ((MediaType) mediaType).isCompatibleWith(MediaType.APPLICATION_JSON))) {
+			return false;
+		}
+		String accept = request.getHeader(HttpHeaders.ACCEPT);
+		try {
+			return accept == null || MediaType.parseMediaTypes(accept).stream()
+					.anyMatch(mediaType -> mediaType.isCompatibleWith(MediaType.APPLICATION_JSON));
+		} catch (InvalidMediaTypeException e) {
+			return false;
+		}
+	}
 }
@@ -0,0 +1,72 @@
+package com.softserveinc.dokazovi.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Writes one access log record per request with the route, the status, the latency, the number of SQL
+ * statements and the id of the authenticated user.
+ *
+ * <p>The record goes to the {@code access-log} logger as MDC fields, which the JSON encoder writes as
+ * separate keys, and the asynchronous appender takes the writing off the request thread. The filter is the
+ * outermost one, so the requests rejected by the security filters are logged too. The route is the matched
+ * pattern, e.g. {@code /post/{postId}}, so the records of one endpoint group together.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+	public static final String USER_ID_ATTRIBUTE = AccessLogFilter.class.getName() + ".userId";
+
+	private static final Logger accessLogger = LoggerFactory.getLogger("access-log");
+	private static final String[] FIELDS = {"method", "route", "status", "latencyMs", "sqlCount", "userId"};
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (!accessLogger.isInfoEnabled()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		long startedAt = System.nanoTime();
+		SqlStatementCounter.reset();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			log(request, response, (System.nanoTime() - startedAt) / 1_000_000);
+		}
+	}
+
+	private void log(HttpServletRequest request, HttpServletResponse response, long latencyMs) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String route = pattern != null ? pattern.toString() : request.getRequestURI();
+		Object userId = request.getAttribute(USER_ID_ATTRIBUTE);
+		try {
+			MDC.put("method", request.getMethod());
+			MDC.put("route", route);
+			MDC.put("status", String.valueOf(response.getStatus()));
+			MDC.put("latencyMs", String.valueOf(latencyMs));
+			MDC.put("sqlCount", String.valueOf(SqlStatementCounter.get()));
+			if (userId != null) {
+				MDC.put("userId", userId.toString());
+			}
+			accessLogger.info("{} {} {} {} ms", request.getMethod(), route, response.getStatus(), latencyMs);
+		} finally {
+			for (String field : FIELDS) {
+				MDC.remove(field);
+			}
+		}
+	}
+}
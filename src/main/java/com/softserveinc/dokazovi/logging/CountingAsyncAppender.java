@@ -0,0 +1,40 @@
+package com.softserveinc.dokazovi.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The logback {@link AsyncAppender} that counts the events it does not deliver.
+ *
+ * <p>The events are put to a bounded queue and written by the appender thread, so the logging thread never
+ * waits for the disk or the console. When the queue is nearly full the events below WARN are discarded, and
+ * with {@code neverBlock} the events that find the queue full are dropped instead of blocking the caller.
+ * Both are counted here, the counts are taken before the event is queued, so under contention they are
+ * approximate.</p>
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+	private final LongAdder discardedCount = new LongAdder();
+	private final LongAdder droppedCount = new LongAdder();
+
+	@Override
+	protected void append(ILoggingEvent event) {
+		int remainingCapacity = getRemainingCapacity();
+		if (remainingCapacity < getDiscardingThreshold() && isDiscardable(event)) {
+			discardedCount.increment();
+		} else if (remainingCapacity == 0 && isNeverBlock()) {
+			droppedCount.increment();
+		}
+		super.append(event);
+	}
+
+	public long getDiscardedCount() {
+		return discardedCount.sum();
+	}
+
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+}
@@ -0,0 +1,63 @@
+package com.softserveinc.dokazovi.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Writes every log event as one line of JSON.
+ *
+ * <p>Only the fields the event already holds are written: the time, the level, the thread, the logger, the
+ * message, the MDC entries and the stack trace of the exception. The caller class and line are never asked
+ * for, since finding them walks the stack of the logging thread on every event.</p>
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final byte[] NO_BYTES = new byte[0];
+	private static final int INITIAL_BUFFER_SIZE = 256;
+
+	@Override
+	public byte[] headerBytes() {
+		return NO_BYTES;
+	}
+
+	@Override
+	public byte[] encode(ILoggingEvent event) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+		try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+			json.writeStartObject();
+			json.writeStringField("@timestamp", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+			json.writeStringField("level", event.getLevel().toString());
+			json.writeStringField("thread", event.getThreadName());
+			json.writeStringField("logger", event.getLoggerName());
+			json.writeStringField("message", event.getFormattedMessage());
+			for (Map.Entry<String, String> entry : event.getMDCPropertyMap().entrySet()) {
+				json.writeStringField(entry.getKey(), entry.getValue());
+			}
+			IThrowableProxy throwable = event.getThrowableProxy();
+			if (throwable != null) {
+				json.writeStringField("stack_trace", ThrowableProxyUtil.asString(throwable));
+			}
+			json.writeEndObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		out.write('\n');
+		return out.toByteArray();
+	}
+
+	@Override
+	public byte[] footerBytes() {
+		return NO_BYTES;
+	}
+}
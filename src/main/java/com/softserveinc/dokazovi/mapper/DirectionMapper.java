@@ -1,8 +1,10 @@
 package com.softserveinc.dokazovi.mapper;
 
 import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.entity.AuthorFacetEntity;
 import com.softserveinc.dokazovi.entity.DirectionEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 /**
  * The Direction Mapper is responsible for conversions
@@ -13,4 +15,13 @@ import org.mapstruct.Mapper;
 public interface DirectionMapper {
 
 	DirectionDTO toDirectionDTO(DirectionEntity directionEntity);
+
+	@Mapping(target = "id", source = "direction.id")
+	@Mapping(target = "name", source = "direction.name")
+	@Mapping(target = "label", source = "direction.label")
+	@Mapping(target = "color", source = "direction.color")
+	@Mapping(target = "hasDoctors", source = "direction.hasDoctors")
+	@Mapping(target = "hasPosts", source = "direction.hasPosts")
+	@Mapping(target = "postCount", source = "postCount")
+	DirectionDTO toAuthorDirectionDTO(AuthorFacetEntity authorFacetEntity);
 }
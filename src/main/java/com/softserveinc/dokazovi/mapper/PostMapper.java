@@ -1,14 +1,27 @@
 package com.softserveinc.dokazovi.mapper;
 
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.origin.OriginDTO;
 import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserDTO;
+import com.softserveinc.dokazovi.dto.tag.TagDTO;
 import com.softserveinc.dokazovi.dto.user.LatestUserPostDTO;
+import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.entity.OriginEntity;
 import com.softserveinc.dokazovi.entity.PostEntity;
+import com.softserveinc.dokazovi.entity.PostTypeEntity;
+import com.softserveinc.dokazovi.entity.TagEntity;
+import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.pojo.FieldSelection;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.ReportingPolicy;
 
+import java.util.Set;
+
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface PostMapper {
 
@@ -16,6 +29,66 @@ public interface PostMapper {
 	@Mapping(target = "author.bio", source = "author.doctor.bio")
 	PostDTO toPostDTO(PostEntity postEntity);
 
+	@Mapping(target = "content", ignore = true)
+	@Mapping(target = "author", ignore = true)
+	@Mapping(target = "directions", ignore = true)
+	@Mapping(target = "tags", ignore = true)
+	@Mapping(target = "type", ignore = true)
+	@Mapping(target = "origins", ignore = true)
+	PostDTO toPostSummaryDTO(PostEntity postEntity);
+
+	@Mapping(target = "mainInstitution", source = "doctor.mainInstitution")
+	@Mapping(target = "bio", source = "doctor.bio")
+	PostUserDTO toPostUserDTO(UserEntity userEntity);
+
+	PostTypeDTO toPostTypeDTO(PostTypeEntity postTypeEntity);
+
+	DirectionDTO toDirectionDTO(DirectionEntity directionEntity);
+
+	Set<DirectionDTO> toDirectionDTOs(Set<DirectionEntity> directionEntities);
+
+	TagDTO toTagDTO(TagEntity tagEntity);
+
+	Set<TagDTO> toTagDTOs(Set<TagEntity> tagEntities);
+
+	OriginDTO toOriginDTO(OriginEntity originEntity);
+
+	Set<OriginDTO> toOriginDTOs(Set<OriginEntity> originEntities);
+
+	/**
+	 * Maps only the requested fields of the post. The associations that are not requested are not
+	 * touched, so lazy ones are never loaded.
+	 *
+	 * @param postEntity post to map
+	 * @param fields     fields requested by the client
+	 * @return the post DTO with unrequested fields left empty
+	 */
+	default PostDTO toPostDTO(PostEntity postEntity, FieldSelection fields) {
+		if (postEntity == null || fields.isAll()) {
+			return toPostDTO(postEntity);
+		}
+		PostDTO postDTO = toPostSummaryDTO(postEntity);
+		if (fields.includes("content")) {
+			postDTO.setContent(postEntity.getContent());
+		}
+		if (fields.includes("author")) {
+			postDTO.setAuthor(toPostUserDTO(postEntity.getAuthor()));
+		}
+		if (fields.includes("directions")) {
+			postDTO.setDirections(toDirectionDTOs(postEntity.getDirections()));
+		}
+		if (fields.includes("tags")) {
+			postDTO.setTags(toTagDTOs(postEntity.getTags()));
+		}
+		if (fields.includes("type")) {
+			postDTO.setType(toPostTypeDTO(postEntity.getType()));
+		}
+		if (fields.includes("origins")) {
+			postDTO.setOrigins(toOriginDTOs(postEntity.getOrigins()));
+		}
+		return postDTO;
+	}
+
 	PostEntity toPostEntity(PostSaveFromUserDTO postSaveFromUserDTO);
 
 	PostEntity updatePostEntityFromDTO(PostSaveFromUserDTO postSaveFromUserDTO, @MappingTarget PostEntity postEntity);
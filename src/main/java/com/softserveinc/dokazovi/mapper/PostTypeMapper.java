@@ -1,10 +1,17 @@
 package com.softserveinc.dokazovi.mapper;
 
 import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.entity.AuthorFacetEntity;
 import com.softserveinc.dokazovi.entity.PostTypeEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface PostTypeMapper {
 	PostTypeDTO toPostTypeDTO(PostTypeEntity postTypeEntity);
+
+	@Mapping(target = "id", source = "type.id")
+	@Mapping(target = "name", source = "type.name")
+	@Mapping(target = "postCount", source = "postCount")
+	PostTypeDTO toAuthorPostTypeDTO(AuthorFacetEntity authorFacetEntity);
 }
@@ -1,11 +1,19 @@
 package com.softserveinc.dokazovi.mapper;
 
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
 import com.softserveinc.dokazovi.dto.user.UserDTO;
+import com.softserveinc.dokazovi.dto.user.UserInstitutionDTO;
+import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.entity.DoctorEntity;
+import com.softserveinc.dokazovi.entity.InstitutionEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.pojo.FieldSelection;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import java.util.Set;
+
 /**
  * The User Mapper is responsible for conversions between the user entity and the user DTO.
  */
@@ -20,4 +28,51 @@ public interface UserMapper {
 	@Mapping(target = "lastAddedPost",
 			expression = "java(POST_MAPPER.toLatestExpertPostDTO(userEntity.getLatestExpertPost()))")
 	UserDTO toUserDTO(UserEntity userEntity);
+
+	@Mapping(target = "id", source = "userEntity.id")
+	@Mapping(target = ".", source = "userEntity.doctor")
+	@Mapping(target = "directions", ignore = true)
+	@Mapping(target = "mainInstitution", ignore = true)
+	@Mapping(target = "institutions", ignore = true)
+	@Mapping(target = "lastAddedPost", ignore = true)
+	UserDTO toUserSummaryDTO(UserEntity userEntity);
+
+	DirectionDTO toDirectionDTO(DirectionEntity directionEntity);
+
+	Set<DirectionDTO> toDirectionDTOs(Set<DirectionEntity> directionEntities);
+
+	UserInstitutionDTO toUserInstitutionDTO(InstitutionEntity institutionEntity);
+
+	Set<UserInstitutionDTO> toUserInstitutionDTOs(Set<InstitutionEntity> institutionEntities);
+
+	/**
+	 * Maps only the requested fields of the expert. The institutions and the posts of the expert
+	 * are loaded lazily, so they are not selected unless requested.
+	 *
+	 * @param userEntity expert to map
+	 * @param fields     fields requested by the client
+	 * @return the user DTO with unrequested fields left empty
+	 */
+	default UserDTO toUserDTO(UserEntity userEntity, FieldSelection fields) {
+		if (userEntity == null || fields.isAll()) {
+			return toUserDTO(userEntity);
+		}
+		UserDTO userDTO = toUserSummaryDTO(userEntity);
+		DoctorEntity doctor = userEntity.getDoctor();
+		if (doctor != null) {
+			if (fields.includes("directions")) {
+				userDTO.setDirections(toDirectionDTOs(doctor.getDirections()));
+			}
+			if (fields.includes("mainInstitution")) {
+				userDTO.setMainInstitution(toUserInstitutionDTO(doctor.getMainInstitution()));
+			}
+			if (fields.includes("institutions")) {
+				userDTO.setInstitutions(toUserInstitutionDTOs(doctor.getInstitutions()));
+			}
+		}
+		if (fields.includes("lastAddedPost")) {
+			userDTO.setLastAddedPost(POST_MAPPER.toLatestExpertPostDTO(userEntity.getLatestExpertPost()));
+		}
+		return userDTO;
+	}
 }
@@ -0,0 +1,83 @@
+package com.softserveinc.dokazovi.pojo;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The FieldSelection holds the top-level fields of post and expert responses requested
+ * through the {@code fields} request parameter, e.g. {@code ?fields=id,title,author}.
+ *
+ * <p>An empty selection means that all fields are requested. The {@code id} is returned
+ * whatever is requested.</p>
+ */
+
+@EqualsAndHashCode
+@ToString
+public final class FieldSelection {
+
+	public static final String PARAMETER = "fields";
+	public static final String FILTER_ID = "fieldSelection";
+	public static final FieldSelection ALL = new FieldSelection(Collections.emptySet());
+
+	private static final String ID = "id";
+
+	private final Set<String> fields;
+
+	private FieldSelection(Set<String> fields) {
+		this.fields = fields;
+	}
+
+	/**
+	 * Parses the comma-separated list of fields.
+	 *
+	 * @param value value of the request parameter, may be null
+	 * @return the selection, {@link #ALL} if no field is listed
+	 */
+	public static FieldSelection parse(String value) {
+		if (value == null || value.isBlank()) {
+			return ALL;
+		}
+		Set<String> fields = Arrays.stream(value.split(","))
+				.map(String::trim)
+				.filter(field -> !field.isEmpty())
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		if (fields.isEmpty()) {
+			return ALL;
+		}
+		fields.add(ID);
+		return new FieldSelection(Collections.unmodifiableSet(fields));
+	}
+
+	public boolean isAll() {
+		return fields.isEmpty();
+	}
+
+	public boolean includes(String field) {
+		return isAll() || fields.contains(field);
+	}
+
+	public Set<String> getFields() {
+		return fields;
+	}
+
+	/**
+	 * Creates the Jackson filters that drop unrequested fields of the DTOs
+	 * registered under {@link #FILTER_ID}.
+	 *
+	 * @return the filter provider
+	 */
+	public FilterProvider toFilterProvider() {
+		return new SimpleFilterProvider().addFilter(FILTER_ID, isAll()
+				? SimpleBeanPropertyFilter.serializeAll()
+				: SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+	}
+}
@@ -0,0 +1,17 @@
+package com.softserveinc.dokazovi.pojo;
+
+import java.sql.Timestamp;
+
+/**
+ * The PostFeedEntry is a row of the post feed index, a published post in one of its directions.
+ */
+public interface PostFeedEntry {
+
+	Integer getDirectionId();
+
+	Integer getPostId();
+
+	Integer getTypeId();
+
+	Timestamp getPublishedAt();
+}
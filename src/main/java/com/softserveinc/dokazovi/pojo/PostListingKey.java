@@ -0,0 +1,61 @@
+package com.softserveinc.dokazovi.pojo;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The PostListingKey identifies a page of a post listing query independently of the order the client
+ * listed the ids in, so {@code ?directions=3,1} and {@code ?directions=1,3,3} share one cached result.
+ * A null filter is kept apart from an empty one, the queries treat them differently.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class PostListingKey {
+
+	private final String query;
+	private final List<Object> filters;
+	private final int page;
+	private final int size;
+	private final String sort;
+
+	private PostListingKey(String query, List<Object> filters, Pageable pageable) {
+		this.query = query;
+		this.filters = filters;
+		this.page = pageable.isUnpaged() ? -1 : pageable.getPageNumber();
+		this.size = pageable.isUnpaged() ? -1 : pageable.getPageSize();
+		this.sort = String.valueOf(pageable.getSort());
+	}
+
+	/**
+	 * Creates the key of the query page.
+	 *
+	 * @param query    name of the query
+	 * @param pageable the requested page and sort
+	 * @param filters  values of the query filters, the collections of ids are sorted and deduplicated
+	 * @return the key
+	 */
+	public static PostListingKey of(String query, Pageable pageable, Object... filters) {
+		List<Object> normalized = new ArrayList<>(filters.length);
+		for (Object filter : filters) {
+			normalized.add(filter instanceof Collection ? normalize((Collection<?>) filter) : filter);
+		}
+		return new PostListingKey(query, Collections.unmodifiableList(normalized), pageable);
+	}
+
+	private static List<Object> normalize(Collection<?> ids) {
+		List<Object> sorted = new ArrayList<>();
+		ids.stream()
+				.distinct()
+				.sorted()
+				.forEach(sorted::add);
+		return sorted;
+	}
+}
@@ -0,0 +1,86 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.AuthorFacetEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * The Author Facet Repository is responsible for the summary of published posts of each author
+ * by direction and by post type. The summary of an author is rebuilt whenever a post of the author
+ * is saved, updated or archived, under the lock of the author, so concurrent rebuilds do not interleave.
+ */
+
+@Repository
+public interface AuthorFacetRepository extends JpaRepository<AuthorFacetEntity, Integer> {
+
+	/**
+	 * Gets the directions the author has published posts in, with the number of posts in each.
+	 *
+	 * @param authorId id of the author
+	 * @return the direction facets, the most used directions first
+	 */
+	@Query("SELECT F FROM author_facet_entity F "
+			+ " JOIN FETCH F.direction "
+			+ " WHERE F.authorId = :authorId "
+			+ " ORDER BY F.postCount DESC ")
+	List<AuthorFacetEntity> findDirectionFacetsByAuthorId(Integer authorId);
+
+	/**
+	 * Gets the post types the author has published posts of, with the number of posts of each.
+	 *
+	 * @param authorId id of the author
+	 * @return the post type facets, the most used types first
+	 */
+	@Query("SELECT F FROM author_facet_entity F "
+			+ " JOIN FETCH F.type "
+			+ " WHERE F.authorId = :authorId "
+			+ " ORDER BY F.postCount DESC ")
+	List<AuthorFacetEntity> findPostTypeFacetsByAuthorId(Integer authorId);
+
+	/**
+	 * Locks the author, so the summary of the author is rebuilt by one transaction at a time.
+	 *
+	 * @param authorId id of the author
+	 * @return id of the locked author
+	 */
+	@Query(nativeQuery = true,
+			value = " SELECT USER_ID FROM USERS "
+					+ " WHERE USER_ID = :authorId "
+					+ " FOR NO KEY UPDATE ")
+	Integer lockAuthor(Integer authorId);
+
+	@Query(nativeQuery = true,
+			value = " INSERT INTO AUTHOR_FACETS (AUTHOR_ID, DIRECTION_ID, POST_COUNT) "
+					+ " SELECT P.AUTHOR_ID, PD.DIRECTION_ID, COUNT(DISTINCT P.POST_ID) FROM POSTS P "
+					+ "     JOIN POSTS_DIRECTIONS PD ON PD.POST_ID = P.POST_ID "
+					+ " WHERE P.AUTHOR_ID = :authorId AND P.STATUS = 'PUBLISHED' "
+					+ " GROUP BY P.AUTHOR_ID, PD.DIRECTION_ID "
+					+ " ON CONFLICT (AUTHOR_ID, DIRECTION_ID) DO UPDATE "
+					+ " SET POST_COUNT = EXCLUDED.POST_COUNT ")
+	@Modifying(flushAutomatically = true)
+	void upsertDirectionFacets(Integer authorId);
+
+	@Query(nativeQuery = true,
+			value = " INSERT INTO AUTHOR_FACETS (AUTHOR_ID, TYPE_ID, POST_COUNT) "
+					+ " SELECT P.AUTHOR_ID, P.TYPE_ID, COUNT(*) FROM POSTS P "
+					+ " WHERE P.AUTHOR_ID = :authorId AND P.STATUS = 'PUBLISHED' AND P.TYPE_ID IS NOT NULL "
+					+ " GROUP BY P.AUTHOR_ID, P.TYPE_ID "
+					+ " ON CONFLICT (AUTHOR_ID, TYPE_ID) DO UPDATE "
+					+ " SET POST_COUNT = EXCLUDED.POST_COUNT ")
+	@Modifying(flushAutomatically = true)
+	void upsertPostTypeFacets(Integer authorId);
+
+	@Query(nativeQuery = true,
+			value = " DELETE FROM AUTHOR_FACETS F "
+					+ " WHERE F.AUTHOR_ID = :authorId "
+					+ "     AND NOT EXISTS (SELECT 1 FROM POSTS P "
+					+ "         LEFT JOIN POSTS_DIRECTIONS PD ON PD.POST_ID = P.POST_ID "
+					+ "         WHERE P.AUTHOR_ID = F.AUTHOR_ID AND P.STATUS = 'PUBLISHED' "
+					+ "             AND (PD.DIRECTION_ID = F.DIRECTION_ID OR P.TYPE_ID = F.TYPE_ID)) ")
+	@Modifying(flushAutomatically = true)
+	void deleteStaleFacets(Integer authorId);
+}
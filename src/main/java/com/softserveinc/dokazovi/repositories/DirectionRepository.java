@@ -6,8 +6,6 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 /**
  * The Direction Repository is responsible for encapsulation a set of Direction objects stored in the database and
  * operations that can be performed on them.
@@ -26,7 +24,7 @@ public interface DirectionRepository extends JpaRepository<DirectionEntity, Inte
 					+ " SET HAS_DOCTORS = TRUE"
 					+ " WHERE DIRECTION_ID IN (SELECT DISTINCT DIRECTION_ID FROM DOCTORS_DIRECTIONS) ")
 	@Modifying
-	void updateDirectionsHasDoctorsStatus();
+	int updateDirectionsHasDoctorsStatus();
 
 	/**
 	 * Updates the directions status. If the directions have at least
@@ -39,19 +37,5 @@ public interface DirectionRepository extends JpaRepository<DirectionEntity, Inte
 					+ " WHERE DIRECTION_ID IN (SELECT DISTINCT DIRECTION_ID FROM POSTS_DIRECTIONS)")
 	@Modifying
 	void updateDirectionsHasPostsStatus();
-
-	/**
-	 * Gets all directions by user id.
-	 *
-	 * @param userId user id from service
-	 * @return returns the directions entity list
-	 */
-	@Query(nativeQuery = true,
-			value = "SELECT * FROM DIRECTIONS"
-					+ " WHERE DIRECTION_ID IN (SELECT DISTINCT DIRECTION_ID FROM POSTS_DIRECTIONS "
-					+ " WHERE POST_ID IN (SELECT DISTINCT POST_ID FROM POSTS "
-					+ " WHERE AUTHOR_ID IN (:userId) ))")
-	@Modifying
-	List<DirectionEntity> findAllDirectionsByUserId(Integer userId);
 }
 
@@ -2,12 +2,29 @@ package com.softserveinc.dokazovi.repositories;
 
 import com.softserveinc.dokazovi.entity.DoctorEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Repository
 @Transactional
 public interface DoctorRepository extends JpaRepository<DoctorEntity, Integer> {
 
 	DoctorEntity getByProfileId(Integer profileId);
+
+	/**
+	 * Gets the doctors whose main institution is in a city with known coordinates,
+	 * together with their profiles, cities and directions.
+	 *
+	 * @return the resulting list of doctors
+	 */
+	@Query("SELECT DISTINCT D FROM doctor_entity D "
+			+ " JOIN FETCH D.profile "
+			+ " JOIN FETCH D.mainInstitution I "
+			+ " JOIN FETCH I.city C "
+			+ " LEFT JOIN FETCH D.directions "
+			+ " WHERE C.latitude IS NOT NULL AND C.longitude IS NOT NULL ")
+	List<DoctorEntity> findAllWithCityCoordinates();
 }
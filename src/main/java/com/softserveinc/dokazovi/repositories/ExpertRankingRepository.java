@@ -0,0 +1,47 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.ExpertRankingEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The Expert Ranking Repository is responsible for encapsulation the default order of the expert directory
+ * stored in the database and operations that can be performed on it.
+ */
+
+@Repository
+public interface ExpertRankingRepository extends JpaRepository<ExpertRankingEntity, Integer> {
+
+	/**
+	 * Locks the ranking against the other refreshes until the end of the transaction. Readers are not
+	 * blocked and see the previous ranking until the commit.
+	 */
+	@Query(nativeQuery = true, value = " LOCK TABLE EXPERT_RANKING IN EXCLUSIVE MODE ")
+	@Modifying
+	void lockRanking();
+
+	/**
+	 * Numbers the doctors by promotion level, rating and name, starting from one.
+	 * Must be called after the previous ranking is deleted, in the same transaction.
+	 *
+	 * @return the number of the ranked doctors
+	 */
+	@Query(nativeQuery = true,
+			value = " INSERT INTO EXPERT_RANKING (POSITION, USER_ID) "
+					+ " SELECT ROW_NUMBER() OVER (ORDER BY D.PROMOTION_LEVEL DESC, D.RATING DESC, "
+					+ "            U.LAST_NAME, U.FIRST_NAME, U.USER_ID), U.USER_ID "
+					+ " FROM DOCTORS D "
+					+ "     JOIN USERS U ON U.USER_ID = D.USER_ID ")
+	@Modifying(flushAutomatically = true)
+	int insertRanking();
+
+	/**
+	 * Gets the number of the ranked doctors, which is the last position.
+	 *
+	 * @return the number of the ranked doctors
+	 */
+	@Query("SELECT COALESCE(MAX(R.position), 0) FROM expert_ranking_entity R")
+	Integer countRanked();
+}
@@ -0,0 +1,51 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.MailOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * The Mail Outbox Repository is responsible for encapsulation a set of
+ * outgoing mail objects stored in the database and operations that can be performed on them.
+ */
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxEntity, Integer> {
+
+	/**
+	 * Claims the oldest pending messages that are due for delivery. The claimed messages are put off by
+	 * {@code claimMs}, so the other nodes skip them while they are sent and take them again if the claiming
+	 * node dies. The messages locked by the other nodes are skipped, the claim is committed at once.
+	 *
+	 * @param token   unique token of the claim
+	 * @param limit   maximal number of the messages to claim
+	 * @param claimMs for how long the messages are claimed
+	 * @return the number of the claimed messages
+	 */
+	@Query(nativeQuery = true,
+			value = " UPDATE MAIL_OUTBOX "
+					+ " SET CLAIM_TOKEN = :token, "
+					+ "     NEXT_ATTEMPT_AT = NOW() + :claimMs * INTERVAL '1 millisecond' "
+					+ " WHERE MAIL_ID IN ( "
+					+ "     SELECT MAIL_ID FROM MAIL_OUTBOX "
+					+ "     WHERE STATUS = 'PENDING' AND NEXT_ATTEMPT_AT <= NOW() "
+					+ "     ORDER BY MAIL_ID "
+					+ "     LIMIT :limit "
+					+ "     FOR UPDATE SKIP LOCKED) ")
+	@Modifying
+	@Transactional
+	int claimDueMessages(String token, int limit, long claimMs);
+
+	/**
+	 * Gets the messages of the claim.
+	 *
+	 * @param token token of the claim
+	 * @return the resulting list of outgoing messages
+	 */
+	List<MailOutboxEntity> findAllByClaimTokenOrderByIdAsc(String token);
+}
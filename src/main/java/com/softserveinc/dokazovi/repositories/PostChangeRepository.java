@@ -0,0 +1,89 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.PostChangeEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * The Post Change Repository is responsible for encapsulation a set of
+ * post changes stored in the database and operations that can be performed on them.
+ */
+
+@Repository
+public interface PostChangeRepository extends JpaRepository<PostChangeEntity, Long> {
+
+	/**
+	 * Gets the changes that follow the given one, in the order of their positions in the feed.
+	 *
+	 * @param since    position of the last change the consumer has seen
+	 * @param pageable the maximum number of the changes
+	 * @return the resulting list of changes
+	 */
+	@Query("SELECT c FROM post_change_entity c WHERE c.feedPosition > :since ORDER BY c.feedPosition")
+	List<PostChangeEntity> findAllAfter(@Param("since") Long since, Pageable pageable);
+
+	/**
+	 * Gets the position of the oldest change that is still kept.
+	 *
+	 * @return the position, or null if there are no changes
+	 */
+	@Query("SELECT MIN(c.feedPosition) FROM post_change_entity c")
+	Long findMinPosition();
+
+	/**
+	 * Gets the position of the latest change. The purge keeps the latest change, so it is the greatest
+	 * position ever given.
+	 *
+	 * @return the position, or 0 if there are no changes
+	 */
+	@Query("SELECT COALESCE(MAX(c.feedPosition), 0) FROM post_change_entity c")
+	Long findMaxPosition();
+
+	/**
+	 * Tries to lock the positions of the changes until the end of the transaction, so they are given
+	 * by one node at a time.
+	 *
+	 * @return true if locked, false if the positions are being given by another node
+	 */
+	@Query(nativeQuery = true, value = " SELECT PG_TRY_ADVISORY_XACT_LOCK(HASHTEXT('POST_CHANGES')) ")
+	boolean tryLockPositions();
+
+	/**
+	 * Gives the next positions to the changes written by the transactions that are over. Every transaction
+	 * still running has an id not below the xmin of the current snapshot, so the changes of a transaction
+	 * get positions only after all of them are visible, and a later transaction never gets a smaller one.
+	 *
+	 * @param limit maximum number of the changes to give positions to
+	 * @return the number of the changes given positions
+	 */
+	@Query(nativeQuery = true,
+			value = " UPDATE POST_CHANGES C "
+					+ " SET FEED_POSITION = P.FEED_POSITION "
+					+ " FROM (SELECT O.CHANGE_ID, NEXTVAL('POST_CHANGE_POSITION_SEQ') AS FEED_POSITION "
+					+ "     FROM (SELECT CHANGE_ID FROM POST_CHANGES "
+					+ "         WHERE FEED_POSITION IS NULL "
+					+ "             AND TX_ID < TXID_SNAPSHOT_XMIN(TXID_CURRENT_SNAPSHOT()) "
+					+ "         ORDER BY TX_ID, CHANGE_ID "
+					+ "         LIMIT :limit) O) P "
+					+ " WHERE C.CHANGE_ID = P.CHANGE_ID ")
+	@Modifying
+	int assignPositions(@Param("limit") int limit);
+
+	/**
+	 * Deletes the changes made before the retention period, except the latest change.
+	 *
+	 * @param before the start of the retention period
+	 * @return the number of deleted rows
+	 */
+	@Modifying
+	@Query("DELETE FROM post_change_entity c WHERE c.changedAt < :before "
+			+ " AND c.feedPosition < (SELECT MAX(l.feedPosition) FROM post_change_entity l)")
+	int deleteAllByChangedAtBefore(@Param("before") Timestamp before);
+}
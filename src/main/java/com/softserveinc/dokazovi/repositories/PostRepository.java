@@ -3,6 +3,7 @@ package com.softserveinc.dokazovi.repositories;
 import com.softserveinc.dokazovi.entity.DirectionEntity;
 import com.softserveinc.dokazovi.entity.PostEntity;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.pojo.PostFeedEntry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,10 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Repository
@@ -37,6 +42,56 @@ public interface PostRepository extends JpaRepository<PostEntity, Integer> {
 	Page<PostEntity> findAllByAuthorIdAndTypeIdInAndStatus(
 			Integer authorId, Set<Integer> typeId, PostStatus postStatus, Pageable pageable);
 
+	@Query(nativeQuery = true,
+			value = " SELECT P.MODIFIED_AT FROM POSTS P "
+					+ " WHERE P.POST_ID = :postId ")
+	Optional<Timestamp> findModifiedAtById(Integer postId);
+
+	/**
+	 * Gets the posts by ids together with their authors and types in one query.
+	 * The directions, tags and origins of the posts are loaded in batches when they are read.
+	 *
+	 * @param postIds ids of the posts
+	 * @return the found posts in no particular order
+	 */
+	@Query("SELECT DISTINCT P FROM post_entity P "
+			+ " LEFT JOIN FETCH P.author A "
+			+ " LEFT JOIN FETCH A.doctor D "
+			+ " LEFT JOIN FETCH D.mainInstitution "
+			+ " LEFT JOIN FETCH P.type "
+			+ " WHERE P.id IN (:postIds) ")
+	List<PostEntity> findAllWithAuthorsByIdIn(Collection<Integer> postIds);
+
+	/**
+	 * Gets the latest posts of the direction for the post feed index, the latest first.
+	 *
+	 * @param directionId id of the direction
+	 * @param status      status of the posts
+	 * @param pageable    the number of the posts to get
+	 * @return the feed entries of the posts
+	 */
+	@Query("SELECT D.id AS directionId, P.id AS postId, T.id AS typeId, P.publishedAt AS publishedAt "
+			+ " FROM post_entity P "
+			+ " JOIN P.directions D "
+			+ " LEFT JOIN P.type T "
+			+ " WHERE D.id = :directionId AND P.status = :status "
+			+ " ORDER BY P.publishedAt DESC, P.id DESC ")
+	List<PostFeedEntry> findFeedEntriesByDirectionId(Integer directionId, PostStatus status, Pageable pageable);
+
+	/**
+	 * Gets the feed entries of the post, one for each of its directions.
+	 *
+	 * @param postId id of the post
+	 * @param status status the post must have
+	 * @return the feed entries, empty if the post does not have the status
+	 */
+	@Query("SELECT D.id AS directionId, P.id AS postId, T.id AS typeId, P.publishedAt AS publishedAt "
+			+ " FROM post_entity P "
+			+ " JOIN P.directions D "
+			+ " LEFT JOIN P.type T "
+			+ " WHERE P.id = :postId AND P.status = :status ")
+	List<PostFeedEntry> findFeedEntriesByPostId(Integer postId, PostStatus status);
+
 	@Query(nativeQuery = true,
 			value = " UPDATE POSTS "
 					+ " SET IMPORTANT = TRUE "
@@ -25,5 +25,5 @@ public interface RegionRepository extends JpaRepository<RegionEntity, Integer> {
 			+ "          WHERE CITY_ID IN (SELECT DISTINCT CITY_ID FROM INSTITUTIONS"
 			+ "          WHERE INSTITUTION_ID IN (SELECT DISTINCT INSTITUTION_ID FROM DOCTORS)))")
 	@Modifying
-	void updateRegionsStatus();
+	int updateRegionsStatus();
 }
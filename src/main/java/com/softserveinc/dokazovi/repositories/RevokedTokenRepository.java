@@ -0,0 +1,50 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.RevokedTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * The Revoked Token Repository is responsible for encapsulation a set of
+ * revoked access token ids stored in the database and operations that can be performed on them.
+ */
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, String> {
+
+	/**
+	 * Gets the ids of the tokens that are not expired yet.
+	 *
+	 * @param now the current time
+	 * @return the resulting list of token ids
+	 */
+	@Query("SELECT t.tokenId FROM revoked_token_entity t WHERE t.expiresAt > :now")
+	List<String> findTokenIdsByExpiresAtAfter(@Param("now") Timestamp now);
+
+	/**
+	 * Gets the ids of the tokens revoked since the given time.
+	 *
+	 * @param since the time of the previous check
+	 * @return the resulting list of token ids
+	 */
+	@Query("SELECT t.tokenId FROM revoked_token_entity t WHERE t.revokedAt >= :since")
+	List<String> findTokenIdsByRevokedAtGreaterThanEqual(@Param("since") Timestamp since);
+
+	/**
+	 * Deletes the tokens that have expired, they are rejected by the signature check anyway.
+	 *
+	 * @param now the current time
+	 * @return the number of deleted rows
+	 */
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM revoked_token_entity t WHERE t.expiresAt <= :now")
+	int deleteAllExpired(@Param("now") Timestamp now);
+}
@@ -0,0 +1,85 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.ScheduledLockEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The Scheduled Lock Repository is responsible for encapsulation a set of methods that take and give back
+ * the leases of the scheduled jobs. The leases are taken and given back in their own transactions, so the
+ * other nodes see them at once, and are timed by the database clock, so the clocks of the nodes do not
+ * have to agree.
+ */
+
+@Repository
+public interface ScheduledLockRepository extends JpaRepository<ScheduledLockEntity, String> {
+
+	/**
+	 * Takes the lease of the job if nobody holds it.
+	 *
+	 * @param jobName name of the job
+	 * @param node    id of the node taking the lease
+	 * @param leaseMs how long the lease is held if the node does not give it back
+	 * @return 1 if the lease is taken, 0 if another node holds it
+	 */
+	@Query(nativeQuery = true,
+			value = " INSERT INTO SCHEDULED_LOCKS (JOB_NAME, LOCKED_UNTIL, LOCKED_AT, LOCKED_BY) "
+					+ " VALUES (:jobName, NOW() + :leaseMs * INTERVAL '1 millisecond', NOW(), :node) "
+					+ " ON CONFLICT (JOB_NAME) DO UPDATE "
+					+ " SET LOCKED_UNTIL = EXCLUDED.LOCKED_UNTIL, "
+					+ "     LOCKED_AT = EXCLUDED.LOCKED_AT, "
+					+ "     LOCKED_BY = EXCLUDED.LOCKED_BY "
+					+ " WHERE SCHEDULED_LOCKS.LOCKED_UNTIL <= NOW() ")
+	@Modifying
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	int tryAcquire(String jobName, String node, long leaseMs);
+
+	/**
+	 * Gives back the lease after a successful run and records the run. The lease is held for at least
+	 * {@code minHoldMs} since it was taken, so a node triggered a bit later does not run the job again.
+	 *
+	 * @param jobName    name of the job
+	 * @param node       id of the node holding the lease
+	 * @param minHoldMs  how long since it was taken the lease is held at least
+	 * @param durationMs how long the job ran
+	 * @param rowCount   number of the rows the job updated
+	 * @return 1 if the lease is given back, 0 if the node no longer holds it
+	 */
+	@Query(nativeQuery = true,
+			value = " UPDATE SCHEDULED_LOCKS "
+					+ " SET LOCKED_UNTIL = GREATEST(NOW(), LOCKED_AT + :minHoldMs * INTERVAL '1 millisecond'), "
+					+ "     LAST_FINISHED_AT = NOW(), "
+					+ "     LAST_DURATION_MS = :durationMs, "
+					+ "     LAST_ROW_COUNT = :rowCount, "
+					+ "     LAST_ERROR = NULL "
+					+ " WHERE JOB_NAME = :jobName AND LOCKED_BY = :node ")
+	@Modifying
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	int releaseAfterSuccess(String jobName, String node, long minHoldMs, long durationMs, int rowCount);
+
+	/**
+	 * Gives back the lease after a failed run and records the error.
+	 *
+	 * @param jobName    name of the job
+	 * @param node       id of the node holding the lease
+	 * @param minHoldMs  how long since it was taken the lease is held at least
+	 * @param durationMs how long the job ran
+	 * @param error      the error the job failed with
+	 * @return 1 if the lease is given back, 0 if the node no longer holds it
+	 */
+	@Query(nativeQuery = true,
+			value = " UPDATE SCHEDULED_LOCKS "
+					+ " SET LOCKED_UNTIL = GREATEST(NOW(), LOCKED_AT + :minHoldMs * INTERVAL '1 millisecond'), "
+					+ "     LAST_FINISHED_AT = NOW(), "
+					+ "     LAST_DURATION_MS = :durationMs, "
+					+ "     LAST_ROW_COUNT = NULL, "
+					+ "     LAST_ERROR = :error "
+					+ " WHERE JOB_NAME = :jobName AND LOCKED_BY = :node ")
+	@Modifying
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	int releaseAfterFailure(String jobName, String node, long minHoldMs, long durationMs, String error);
+}
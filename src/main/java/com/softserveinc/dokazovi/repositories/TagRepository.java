@@ -10,7 +10,9 @@ import java.util.List;
 @Repository
 public interface TagRepository extends JpaRepository<TagEntity, Integer> {
 
+	String TAGS_CACHE = "tags";
+
 	@Override
-	@Cacheable("tags")
+	@Cacheable(TAGS_CACHE)
 	List<TagEntity> findAll();
 }
@@ -3,11 +3,14 @@ package com.softserveinc.dokazovi.repositories;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,6 +21,94 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Integer> {
 
+	String DOCTORS_PROFILES_BY_RANKING_POSITIONS_QUERY = " SELECT U.* FROM EXPERT_RANKING R "
+			+ "     JOIN USERS U ON U.USER_ID = R.USER_ID "
+			+ " WHERE R.POSITION BETWEEN :firstPosition AND :lastPosition "
+			+ " ORDER BY R.POSITION ";
+
+	String DOCTORS_PROFILES_BY_DIRECTIONS_AND_REGIONS_QUERY = " SELECT U.* FROM ( "
+			+ "     SELECT DOCTOR_ID FROM DOCTORS D "
+			+ "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
+			+ "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
+			+ "     WHERE C.REGION_ID IN (:regionsIds) "
+			+ " ) DOCS_REG "
+			+ "     JOIN ( "
+			+ "         SELECT DD.DOCTOR_ID, COUNT(DD.DIRECTION_ID) DIR_MATCHED "
+			+ "         FROM DOCTORS_DIRECTIONS DD "
+			+ "         WHERE DD.DIRECTION_ID IN (:directionsIds) "
+			+ "         GROUP BY DD.DOCTOR_ID "
+			+ "     ) DOCS_DIR ON DOCS_REG.DOCTOR_ID=DOCS_DIR.DOCTOR_ID "
+			+ "         JOIN DOCTORS D ON DOCS_DIR.DOCTOR_ID=D.DOCTOR_ID "
+			+ "         JOIN USERS U ON U.USER_ID = D.USER_ID "
+			+ " ORDER BY DOCS_DIR.DIR_MATCHED DESC, D.PROMOTION_LEVEL DESC, D.RATING DESC, "
+			+ "          U.LAST_NAME, U.FIRST_NAME ";
+
+	String DOCTORS_PROFILES_BY_DIRECTIONS_AND_REGIONS_COUNT_QUERY = " SELECT COUNT(DOCS_DIR.DOCTOR_ID) FROM ( "
+			+ "     SELECT DOCTOR_ID FROM DOCTORS D "
+			+ "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
+			+ "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
+			+ "     WHERE C.REGION_ID IN (:regionsIds) "
+			+ " ) DOCS_REG "
+			+ "     JOIN ( "
+			+ "         SELECT DISTINCT DD.DOCTOR_ID FROM DOCTORS_DIRECTIONS DD "
+			+ "         WHERE DD.DIRECTION_ID IN (:directionsIds) "
+			+ "     ) DOCS_DIR ON DOCS_REG.DOCTOR_ID=DOCS_DIR.DOCTOR_ID ";
+
+	String DOCTORS_PROFILES_BY_REGIONS_QUERY = " SELECT U.* FROM ( "
+			+ "     SELECT D.PROMOTION_LEVEL, D.RATING, D.USER_ID FROM DOCTORS D "
+			+ "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
+			+ "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
+			+ "     WHERE C.REGION_ID IN (:regionsIds) "
+			+ " ) DOCS_REG "
+			+ "     JOIN USERS U ON U.USER_ID = DOCS_REG.USER_ID "
+			+ " ORDER BY DOCS_REG.PROMOTION_LEVEL DESC, DOCS_REG.RATING DESC, "
+			+ "          U.LAST_NAME, U.FIRST_NAME ";
+
+	String DOCTORS_PROFILES_BY_REGIONS_COUNT_QUERY = " SELECT COUNT(D.DOCTOR_ID) FROM DOCTORS D "
+			+ "     JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
+			+ "     JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
+			+ " WHERE C.REGION_ID IN (:regionsIds) ";
+
+	String DOCTORS_PROFILES_BY_DIRECTIONS_QUERY = " SELECT U.* FROM ( "
+			+ "     SELECT DD.DOCTOR_ID, COUNT(DD.DIRECTION_ID) DIR_MATCHED"
+			+ "     FROM DOCTORS_DIRECTIONS DD "
+			+ "     WHERE DD.DIRECTION_ID IN (:directionsIds) "
+			+ "     GROUP BY DD.DOCTOR_ID "
+			+ " ) DOCS_DIR "
+			+ "     JOIN DOCTORS D ON DOCS_DIR.DOCTOR_ID=D.DOCTOR_ID "
+			+ "     JOIN USERS U ON U.USER_ID=D.USER_ID "
+			+ " ORDER BY DOCS_DIR.DIR_MATCHED DESC, D.PROMOTION_LEVEL DESC, D.RATING DESC, "
+			+ "          U.LAST_NAME, U.FIRST_NAME ";
+
+	String DOCTORS_PROFILES_BY_DIRECTIONS_COUNT_QUERY = " SELECT COUNT(DISTINCT DD.DOCTOR_ID) "
+			+ " FROM DOCTORS_DIRECTIONS DD "
+			+ " WHERE DD.DIRECTION_ID IN (:directionsIds) ";
+
+	String DOCTORS_BY_NAME_QUERY = " SELECT U.* FROM USERS U"
+			+ "   JOIN DOCTORS D ON U.USER_ID = D.USER_ID"
+			+ "     WHERE UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:name), '%') OR "
+			+ "          UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:name), '%')";
+
+	String DOCTORS_BY_FIRST_AND_LAST_NAME_QUERY = "SELECT *, "
+			+ "  CASE "
+			+ "         WHEN ((UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:firstName), '%') "
+			+ "               AND UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:lastName), '%'))) "
+			+ "           OR ((UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:lastName), '%')"
+			+ "               AND UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:firstName), '%')))  THEN 1"
+			+ "         WHEN (UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:lastName), '%')) "
+			+ "           OR (UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:firstName), '%'))"
+			+ "           OR (UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:firstName), '%')) "
+			+ "           OR (UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:lastName), '%'))       THEN 2"
+			+ "                                                               ELSE 3 "
+			+ "     END as TURN "
+			+ "   FROM USERS U "
+			+ "     JOIN DOCTORS D ON U.USER_ID = D.USER_ID "
+			+ "       WHERE (UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:lastName), '%')) "
+			+ "         OR (UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:firstName), '%'))"
+			+ "         OR (UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:lastName), '%'))"
+			+ "         OR (UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:firstName), '%'))"
+			+ "       ORDER BY TURN";
+
 	/**
 	 * Gets the user by its email.
 	 *
@@ -62,17 +153,16 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
 	Page<UserEntity> findRandomExpertsByDirectionsIdIn(Iterable<Integer> directionsIds, Pageable pageable);
 
 	/**
-	 * Gets the page of doctors order by promotion level and rating.
+	 * Gets the doctors at the given positions of the expert ranking, which orders them by promotion level,
+	 * rating and name. The positions are numbered from one without gaps, so a page is a range of the key.
 	 *
-	 * @param pageable interface for pagination information received from user service
-	 * @return the resulting user entity page
+	 * @param firstPosition the first position, inclusive
+	 * @param lastPosition  the last position, inclusive
+	 * @return the resulting list of users in the ranking order
 	 */
-	@Query(nativeQuery = true,
-			value = " SELECT U.* FROM DOCTORS D "
-					+ "     JOIN USERS U ON U.USER_ID = D.USER_ID "
-					+ " ORDER BY D.PROMOTION_LEVEL DESC, D.RATING DESC, "
-					+ "          U.LAST_NAME, U.FIRST_NAME ")
-	Page<UserEntity> findDoctorsProfiles(Pageable pageable);
+	@Query(nativeQuery = true, value = DOCTORS_PROFILES_BY_RANKING_POSITIONS_QUERY)
+	List<UserEntity> findDoctorsProfilesByRankingPositions(
+			@Param("firstPosition") long firstPosition, @Param("lastPosition") long lastPosition);
 
 	/**
 	 * Gets the page of doctors by directions ids and regions Ids.
@@ -83,35 +173,33 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
 	 * @return the resulting user entity page
 	 */
 	@Query(nativeQuery = true,
-			value = " SELECT U.* FROM ( "
-					+ "     SELECT DOCTOR_ID FROM DOCTORS D "
-					+ "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
-					+ "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
-					+ "     WHERE C.REGION_ID IN (:regionsIds) "
-					+ " ) DOCS_REG "
-					+ "     JOIN ( "
-					+ "         SELECT DD.DOCTOR_ID, COUNT(DD.DIRECTION_ID) DIR_MATCHED "
-					+ "         FROM DOCTORS_DIRECTIONS DD "
-					+ "         WHERE DD.DIRECTION_ID IN (:directionsIds) "
-					+ "         GROUP BY DD.DOCTOR_ID "
-					+ "     ) DOCS_DIR ON DOCS_REG.DOCTOR_ID=DOCS_DIR.DOCTOR_ID "
-					+ "         JOIN DOCTORS D ON DOCS_DIR.DOCTOR_ID=D.DOCTOR_ID "
-					+ "         JOIN USERS U ON U.USER_ID = D.USER_ID "
-					+ " ORDER BY DOCS_DIR.DIR_MATCHED DESC, D.PROMOTION_LEVEL DESC, D.RATING DESC, "
-					+ "          U.LAST_NAME, U.FIRST_NAME ",
-			countQuery = " SELECT COUNT(DOCS_DIR.DOCTOR_ID) FROM ( "
-					+ "     SELECT DOCTOR_ID FROM DOCTORS D "
-					+ "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
-					+ "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
-					+ "     WHERE C.REGION_ID IN (:regionsIds) "
-					+ " ) DOCS_REG "
-					+ "     JOIN ( "
-					+ "         SELECT DISTINCT DD.DOCTOR_ID FROM DOCTORS_DIRECTIONS DD "
-					+ "         WHERE DD.DIRECTION_ID IN (:directionsIds) "
-					+ "     ) DOCS_DIR ON DOCS_REG.DOCTOR_ID=DOCS_DIR.DOCTOR_ID ")
+			value = DOCTORS_PROFILES_BY_DIRECTIONS_AND_REGIONS_QUERY,
+			countQuery = DOCTORS_PROFILES_BY_DIRECTIONS_AND_REGIONS_COUNT_QUERY)
 	Page<UserEntity> findDoctorsProfiles(
 			Iterable<Integer> directionsIds, Iterable<Integer> regionsIds, Pageable pageable);
 
+	/**
+	 * Gets the slice of doctors by directions ids and regions Ids without counting all of them.
+	 *
+	 * @param directionsIds received from user service
+	 * @param regionsIds received from user service
+	 * @param pageable interface for pagination information received from user service
+	 * @return the resulting user entity slice
+	 */
+	@Query(nativeQuery = true, value = DOCTORS_PROFILES_BY_DIRECTIONS_AND_REGIONS_QUERY)
+	Slice<UserEntity> findDoctorsProfilesSlice(
+			Iterable<Integer> directionsIds, Iterable<Integer> regionsIds, Pageable pageable);
+
+	/**
+	 * Counts the doctors by directions ids and regions Ids.
+	 *
+	 * @param directionsIds received from user service
+	 * @param regionsIds received from user service
+	 * @return the number of found doctors
+	 */
+	@Query(nativeQuery = true, value = DOCTORS_PROFILES_BY_DIRECTIONS_AND_REGIONS_COUNT_QUERY)
+	long countDoctorsProfiles(Iterable<Integer> directionsIds, Iterable<Integer> regionsIds);
+
 	/**
 	 * Gets the page of doctors by  regions ids.
 	 *
@@ -120,22 +208,31 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
 	 * @return the resulting user entity page
 	 */
 	@Query(nativeQuery = true,
-			value = " SELECT U.* FROM ( "
-					+ "     SELECT D.PROMOTION_LEVEL, D.RATING, D.USER_ID FROM DOCTORS D "
-					+ "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
-					+ "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
-					+ "     WHERE C.REGION_ID IN (:regionsIds) "
-					+ " ) DOCS_REG "
-					+ "     JOIN USERS U ON U.USER_ID = DOCS_REG.USER_ID "
-					+ " ORDER BY DOCS_REG.PROMOTION_LEVEL DESC, DOCS_REG.RATING DESC, "
-					+ "          U.LAST_NAME, U.FIRST_NAME ",
-			countQuery = " SELECT COUNT(D.DOCTOR_ID) FROM DOCTORS D "
-					+ "     JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
-					+ "     JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
-					+ " WHERE C.REGION_ID IN (:regionsIds) ")
+			value = DOCTORS_PROFILES_BY_REGIONS_QUERY,
+			countQuery = DOCTORS_PROFILES_BY_REGIONS_COUNT_QUERY)
 	Page<UserEntity> findDoctorsProfilesByRegionsIds(
 			Iterable<Integer> regionsIds, Pageable pageable);
 
+	/**
+	 * Gets the slice of doctors by regions ids without counting all of them.
+	 *
+	 * @param regionsIds received from user service
+	 * @param pageable interface for pagination information received from user service
+	 * @return the resulting user entity slice
+	 */
+	@Query(nativeQuery = true, value = DOCTORS_PROFILES_BY_REGIONS_QUERY)
+	Slice<UserEntity> findDoctorsProfilesSliceByRegionsIds(
+			Iterable<Integer> regionsIds, Pageable pageable);
+
+	/**
+	 * Counts the doctors by regions ids.
+	 *
+	 * @param regionsIds received from user service
+	 * @return the number of found doctors
+	 */
+	@Query(nativeQuery = true, value = DOCTORS_PROFILES_BY_REGIONS_COUNT_QUERY)
+	long countDoctorsProfilesByRegionsIds(Iterable<Integer> regionsIds);
+
 	/**
 	 * Gets the page of doctors by directions ids.
 	 *
@@ -144,21 +241,31 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
 	 * @return the resulting user entity page
 	 */
 	@Query(nativeQuery = true,
-			value = " SELECT U.* FROM ( "
-					+ "     SELECT DD.DOCTOR_ID, COUNT(DD.DIRECTION_ID) DIR_MATCHED"
-					+ "     FROM DOCTORS_DIRECTIONS DD "
-					+ "     WHERE DD.DIRECTION_ID IN (:directionsIds) "
-					+ "     GROUP BY DD.DOCTOR_ID "
-					+ " ) DOCS_DIR "
-					+ "     JOIN DOCTORS D ON DOCS_DIR.DOCTOR_ID=D.DOCTOR_ID "
-					+ "     JOIN USERS U ON U.USER_ID=D.USER_ID "
-					+ " ORDER BY DOCS_DIR.DIR_MATCHED DESC, D.PROMOTION_LEVEL DESC, D.RATING DESC, "
-					+ "          U.LAST_NAME, U.FIRST_NAME ",
-			countQuery = " SELECT COUNT(DISTINCT DD.DOCTOR_ID) FROM DOCTORS_DIRECTIONS DD "
-					+ " WHERE DD.DIRECTION_ID IN (:directionsIds) ")
+			value = DOCTORS_PROFILES_BY_DIRECTIONS_QUERY,
+			countQuery = DOCTORS_PROFILES_BY_DIRECTIONS_COUNT_QUERY)
 	Page<UserEntity> findDoctorsProfilesByDirectionsIds(
 			Iterable<Integer> directionsIds, Pageable pageable);
 
+	/**
+	 * Gets the slice of doctors by directions ids without counting all of them.
+	 *
+	 * @param directionsIds received from user service
+	 * @param pageable interface for pagination information received from user service
+	 * @return the resulting user entity slice
+	 */
+	@Query(nativeQuery = true, value = DOCTORS_PROFILES_BY_DIRECTIONS_QUERY)
+	Slice<UserEntity> findDoctorsProfilesSliceByDirectionsIds(
+			Iterable<Integer> directionsIds, Pageable pageable);
+
+	/**
+	 * Counts the doctors by directions ids.
+	 *
+	 * @param directionsIds received from user service
+	 * @return the number of found doctors
+	 */
+	@Query(nativeQuery = true, value = DOCTORS_PROFILES_BY_DIRECTIONS_COUNT_QUERY)
+	long countDoctorsProfilesByDirectionsIds(Iterable<Integer> directionsIds);
+
 	/**
 	 * Gets the page of doctors by single name.
 	 *
@@ -166,13 +273,19 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
 	 * @param pageable interface for pagination information received from user service
 	 * @return the resulting user entity page
 	 */
-	@Query(nativeQuery = true,
-			value = " SELECT U.* FROM USERS U"
-					+ "   JOIN DOCTORS D ON U.USER_ID = D.USER_ID"
-					+ "     WHERE UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:name), '%') OR "
-					+ "          UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:name), '%')")
+	@Query(nativeQuery = true, value = DOCTORS_BY_NAME_QUERY)
 	Page<UserEntity> findDoctorsByName(@Param("name") String name, Pageable pageable);
 
+	/**
+	 * Gets the slice of doctors by single name without counting all of them.
+	 *
+	 * @param name user name received from user service
+	 * @param pageable interface for pagination information received from user service
+	 * @return the resulting user entity slice
+	 */
+	@Query(nativeQuery = true, value = DOCTORS_BY_NAME_QUERY)
+	Slice<UserEntity> findDoctorsSliceByName(@Param("name") String name, Pageable pageable);
+
 	/**
 	 * Gets the page of doctors by firstName and lastName.	 *
 	 * Sorts the experts according to the coincidence. First, the experts with the same firstname and  lastname are
@@ -184,29 +297,23 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
 	 * @param pageable interface for pagination information received from user service
 	 * @return  the resulting user entity page
 	 */
-	@Query(nativeQuery = true,
-			value = "SELECT *, "
-					+ "  CASE "
-					+ "         WHEN ((UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:firstName), '%') "
-					+ "               AND UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:lastName), '%'))) "
-					+ "           OR ((UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:lastName), '%')"
-					+ "               AND UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:firstName), '%')))  THEN 1"
-					+ "         WHEN (UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:lastName), '%')) "
-					+ "           OR (UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:firstName), '%'))"
-					+ "           OR (UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:firstName), '%')) "
-					+ "           OR (UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:lastName), '%'))       THEN 2"
-					+ "                                                               ELSE 3 "
-					+ "     END as TURN "
-					+ "   FROM USERS U "
-					+ "     JOIN DOCTORS D ON U.USER_ID = D.USER_ID "
-					+ "       WHERE (UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:lastName), '%')) "
-					+ "         OR (UPPER(U.LAST_NAME) LIKE CONCAT(UPPER(:firstName), '%'))"
-					+ "         OR (UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:lastName), '%'))"
-					+ "         OR (UPPER(U.FIRST_NAME) LIKE CONCAT(UPPER(:firstName), '%'))"
-					+ "       ORDER BY TURN")
+	@Query(nativeQuery = true, value = DOCTORS_BY_FIRST_AND_LAST_NAME_QUERY)
 	Page<UserEntity> findDoctorsByName(
 			@Param("firstName") String firstName, @Param("lastName") String lastName, Pageable pageable);
 
+	/**
+	 * Gets the slice of doctors by firstName and lastName without counting all of them.
+	 * The experts are sorted the same way as by {@link #findDoctorsByName(String, String, Pageable)}.
+	 *
+	 * @param firstName received from user service
+	 * @param lastName received from user service
+	 * @param pageable interface for pagination information received from user service
+	 * @return the resulting user entity slice
+	 */
+	@Query(nativeQuery = true, value = DOCTORS_BY_FIRST_AND_LAST_NAME_QUERY)
+	Slice<UserEntity> findDoctorsSliceByName(
+			@Param("firstName") String firstName, @Param("lastName") String lastName, Pageable pageable);
+
 	/**
 	 * Checks whether the user exists by email.
 	 *
@@ -214,4 +321,18 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
 	 * @return true or false
 	 */
 	Boolean existsByEmail(String email);
+
+	/**
+	 * Gets the users by ids together with their doctor profiles, main institutions and directions
+	 * in one query.
+	 *
+	 * @param userIds received from user service
+	 * @return the found users in no particular order
+	 */
+	@Query("SELECT DISTINCT U FROM user_entity U "
+			+ " LEFT JOIN FETCH U.doctor D "
+			+ " LEFT JOIN FETCH D.mainInstitution "
+			+ " LEFT JOIN FETCH D.directions "
+			+ " WHERE U.id IN (:userIds) ")
+	List<UserEntity> findAllWithProfilesByIdIn(@Param("userIds") Collection<Integer> userIds);
 }
@@ -0,0 +1,48 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.UserTokenRevocationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * The User Token Revocation Repository is responsible for encapsulation a set of
+ * per-user access token revocations stored in the database and operations that can be performed on them.
+ */
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocationEntity, Integer> {
+
+	/**
+	 * Gets the revocations that still cover tokens which are not expired.
+	 *
+	 * @param now the current time
+	 * @return the resulting list of revocations
+	 */
+	List<UserTokenRevocationEntity> findAllByExpiresAtAfter(Timestamp now);
+
+	/**
+	 * Gets the revocations made since the given time.
+	 *
+	 * @param since the time of the previous check
+	 * @return the resulting list of revocations
+	 */
+	List<UserTokenRevocationEntity> findAllByRevokedBeforeGreaterThanEqual(Timestamp since);
+
+	/**
+	 * Deletes the revocations all of whose tokens have expired.
+	 *
+	 * @param now the current time
+	 * @return the number of deleted rows
+	 */
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM user_token_revocation_entity r WHERE r.expiresAt <= :now")
+	int deleteAllExpired(@Param("now") Timestamp now);
+}
@@ -0,0 +1,133 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.dto.statistics.PasswordVerificationStatisticsDTO;
+import com.softserveinc.dokazovi.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The BoundedPasswordEncoder runs BCrypt on a dedicated bounded pool, so a burst of logins can keep
+ * at most {@code auth.bcrypt.pool-size} cores busy hashing passwords.
+ *
+ * <p>The request thread still waits for its hashing, queueing included, but for at most
+ * {@code auth.bcrypt.max-wait-ms}. When the pool and its queue are full the call fails at once with
+ * {@link TooManyRequestsException}, and when the wait runs out the hashing is cancelled and the call fails
+ * the same way, so a login burst holds the request threads for a bounded time. The time the hashing spends
+ * in the queue is recorded for the admin statistics.</p>
+ */
+
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+	private static final double NANOS_IN_MILLI = 1_000_000d;
+	private static final String SATURATED_MESSAGE = "Too many login attempts at the moment, please try again later";
+
+	private final PasswordEncoder delegate = new BCryptPasswordEncoder();
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LongAdder queueWaitNanos = new LongAdder();
+	private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+	@Value("${auth.bcrypt.pool-size:4}")
+	private int poolSize;
+
+	@Value("${auth.bcrypt.queue-capacity:32}")
+	private int queueCapacity;
+
+	@Value("${auth.bcrypt.max-wait-ms:5000}")
+	private long maxWaitMs;
+
+	private ThreadPoolExecutor pool;
+
+	@PostConstruct
+	public void init() {
+		pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bcrypt-"),
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@PreDestroy
+	public void destroy() {
+		pool.shutdown();
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return run(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return run(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	/**
+	 * Gets the state of the pool and the queueing time of the hashing since the start.
+	 *
+	 * @return the password verification statistics
+	 */
+	public PasswordVerificationStatisticsDTO getStatistics() {
+		long completedCount = pool.getCompletedTaskCount();
+		return PasswordVerificationStatisticsDTO.builder()
+				.poolSize(poolSize)
+				.activeCount(pool.getActiveCount())
+				.queueSize(pool.getQueue().size())
+				.completedCount(completedCount)
+				.rejectedCount(rejectedCount.sum())
+				.averageQueueWaitMs(completedCount == 0 ? 0 : queueWaitNanos.sum() / NANOS_IN_MILLI / completedCount)
+				.maxQueueWaitMs(maxQueueWaitNanos.get() / NANOS_IN_MILLI)
+				.build();
+	}
+
+	private <T> T run(Callable<T> hashing) {
+		long submittedAt = System.nanoTime();
+		Future<T> result;
+		try {
+			result = pool.submit(() -> {
+				long waited = System.nanoTime() - submittedAt;
+				queueWaitNanos.add(waited);
+				maxQueueWaitNanos.accumulateAndGet(waited, Math::max);
+				return hashing.call();
+			});
+		} catch (RejectedExecutionException e) {
+			rejectedCount.increment();
+			throw new TooManyRequestsException(SATURATED_MESSAGE);
+		}
+		try {
+			return result.get(maxWaitMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			result.cancel(true);
+			rejectedCount.increment();
+			throw new TooManyRequestsException(SATURATED_MESSAGE);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			result.cancel(true);
+			throw new IllegalStateException("Interrupted while hashing the password", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.softserveinc.dokazovi.security;
 
+import com.softserveinc.dokazovi.logging.AccessLogFilter;
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +27,9 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 	@Autowired
 	private CustomUserDetailsService customUserDetailsService;
 
+	@Autowired
+	private TokenDenylist tokenDenylist;
+
 	private static final Logger tokenAuthenticationFilterLogger = LoggerFactory
 			.getLogger(TokenAuthenticationFilter.class);
 
@@ -34,13 +39,19 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 		try {
 			String jwt = getJwtFromRequest(request);
 			if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-				Integer userId = tokenProvider.getUserIdFromToken(jwt);
-				UserDetails userDetails = customUserDetailsService.loadUserById(userId);
-				UsernamePasswordAuthenticationToken authentication =
-						new UsernamePasswordAuthenticationToken(userDetails,
-								null, userDetails.getAuthorities());
-				authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-				SecurityContextHolder.getContext().setAuthentication(authentication);
+				Claims claims = tokenProvider.getClaimsFromToken(jwt);
+				Integer userId = Integer.parseInt(claims.getSubject());
+				if (tokenDenylist.isRevoked(claims.getId()) || tokenDenylist.isRevoked(userId, claims.getIssuedAt())) {
+					tokenAuthenticationFilterLogger.debug("Rejected the revoked token {}", claims.getId());
+				} else {
+					UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+					UsernamePasswordAuthenticationToken authentication =
+							new UsernamePasswordAuthenticationToken(userDetails,
+									null, userDetails.getAuthorities());
+					authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+					SecurityContextHolder.getContext().setAuthentication(authentication);
+					request.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, userId);
+				}
 			}
 		} catch (Exception ex) {
 			tokenAuthenticationFilterLogger.error("Could not set user authentication in security context", ex);
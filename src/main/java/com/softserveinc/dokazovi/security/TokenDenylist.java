@@ -0,0 +1,183 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.entity.UserTokenRevocationEntity;
+import com.softserveinc.dokazovi.repositories.RevokedTokenRepository;
+import com.softserveinc.dokazovi.repositories.UserTokenRevocationRepository;
+import com.softserveinc.dokazovi.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The TokenDenylist keeps the ids ({@code jti}) of the revoked access tokens in memory, so the token
+ * filter checks them without a database round trip.
+ *
+ * <p>A lookup goes to the Bloom filter first, which answers "not revoked" for almost every token, and only
+ * its rare positives are confirmed in the exact set. Every node loads the {@code revoked_tokens} table at
+ * startup and then reads the rows revoked since its previous sync every {@code auth.revocation.sync-ms},
+ * so a token revoked on one node is rejected by the others within that delay. Expired rows are deleted
+ * every {@code auth.revocation.purge-ms}, after which the filter is rebuilt from the remaining ones.</p>
+ *
+ * <p>All the tokens of a user are revoked by the time they must be issued after, which is kept, synced and
+ * purged the same way. The issue time of a token has whole seconds, so a token issued in the same second
+ * as the revocation is rejected as well.</p>
+ */
+
+@Component
+@RequiredArgsConstructor
+public class TokenDenylist {
+
+	private static final Logger logger = LoggerFactory.getLogger(TokenDenylist.class);
+
+	private final RevokedTokenRepository revokedTokenRepository;
+	private final UserTokenRevocationRepository userTokenRevocationRepository;
+
+	@Value("${auth.revocation.expected-tokens:10000}")
+	private int expectedTokens;
+
+	@Value("${auth.revocation.false-positive-rate:0.001}")
+	private double falsePositiveRate;
+
+	@Value("${auth.revocation.sync-overlap-ms:60000}")
+	private long syncOverlapMs;
+
+	private volatile Snapshot snapshot = new Snapshot(0, 0.5);
+	private volatile Map<Integer, Long> revokedBefore = new ConcurrentHashMap<>();
+	private long lastSyncMillis;
+
+	@PostConstruct
+	public void init() {
+		rebuild();
+	}
+
+	/**
+	 * Checks the token id against the revoked ones known to this node.
+	 *
+	 * @param tokenId id of the token, may be null for the tokens issued without one
+	 * @return true if the token has been revoked
+	 */
+	public boolean isRevoked(String tokenId) {
+		if (tokenId == null) {
+			return false;
+		}
+		Snapshot current = snapshot;
+		return current.filter.mightContain(tokenId) && current.tokenIds.contains(tokenId);
+	}
+
+	/**
+	 * Checks the token of the user against the revocations of all the tokens of the user known to this node.
+	 *
+	 * @param userId   id of the user the token is issued to
+	 * @param issuedAt issue time of the token, may be null for the tokens issued without one
+	 * @return true if the tokens of the user issued at that time have been revoked
+	 */
+	public boolean isRevoked(Integer userId, Date issuedAt) {
+		if (userId == null) {
+			return false;
+		}
+		Long before = revokedBefore.get(userId);
+		return before != null && (issuedAt == null || issuedAt.getTime() <= before);
+	}
+
+	/**
+	 * Adds the revocation of the tokens of the user made on this node, so they are rejected here at once.
+	 *
+	 * @param userId        id of the user
+	 * @param revokedBefore time the tokens must be issued after
+	 */
+	public synchronized void addUser(Integer userId, long revokedBefore) {
+		this.revokedBefore.merge(userId, revokedBefore, Math::max);
+	}
+
+	/**
+	 * Adds the token revoked on this node, so it is rejected here at once without waiting for the sync.
+	 *
+	 * @param tokenId id of the revoked token
+	 */
+	public synchronized void add(String tokenId) {
+		snapshot.add(tokenId);
+	}
+
+	/**
+	 * Adds the tokens revoked on any node since the previous sync. The window is widened by
+	 * {@code auth.revocation.sync-overlap-ms} to cover the clock skew between the nodes, the tokens
+	 * that are already known are simply added again.
+	 */
+	@Scheduled(initialDelayString = "${auth.revocation.sync-ms:10000}",
+			fixedDelayString = "${auth.revocation.sync-ms:10000}")
+	public synchronized void sync() {
+		long startedAt = System.currentTimeMillis();
+		Timestamp since = new Timestamp(lastSyncMillis - syncOverlapMs);
+		userTokenRevocationRepository.findAllByRevokedBeforeGreaterThanEqual(since)
+				.forEach(revocation -> addUser(revocation.getUserId(), revocation.getRevokedBefore().getTime()));
+		Collection<String> tokenIds = revokedTokenRepository.findTokenIdsByRevokedAtGreaterThanEqual(since);
+		Snapshot current = snapshot;
+		if (current.tokenIds.size() + tokenIds.size() > current.capacity) {
+			rebuild();
+			return;
+		}
+		tokenIds.forEach(current::add);
+		lastSyncMillis = startedAt;
+	}
+
+	/**
+	 * Deletes the revoked tokens that have expired and rebuilds the filter from the remaining ones.
+	 */
+	@Scheduled(initialDelayString = "${auth.revocation.purge-ms:3600000}",
+			fixedDelayString = "${auth.revocation.purge-ms:3600000}")
+	public synchronized void purgeExpired() {
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		int deleted = revokedTokenRepository.deleteAllExpired(now)
+				+ userTokenRevocationRepository.deleteAllExpired(now);
+		if (deleted > 0) {
+			logger.info("Purged {} expired revoked tokens", deleted);
+		}
+		rebuild();
+	}
+
+	private synchronized void rebuild() {
+		long startedAt = System.currentTimeMillis();
+		Collection<String> tokenIds = revokedTokenRepository.findTokenIdsByExpiresAtAfter(new Timestamp(startedAt));
+		int capacity = Math.max(expectedTokens, tokenIds.size() * 2);
+		Snapshot rebuilt = new Snapshot(capacity, falsePositiveRate);
+		tokenIds.forEach(rebuilt::add);
+		Map<Integer, Long> rebuiltRevokedBefore = new ConcurrentHashMap<>();
+		for (UserTokenRevocationEntity revocation
+				: userTokenRevocationRepository.findAllByExpiresAtAfter(new Timestamp(startedAt))) {
+			rebuiltRevokedBefore.merge(revocation.getUserId(), revocation.getRevokedBefore().getTime(), Math::max);
+		}
+		snapshot = rebuilt;
+		revokedBefore = rebuiltRevokedBefore;
+		lastSyncMillis = startedAt;
+	}
+
+	private static final class Snapshot {
+
+		private final BloomFilter filter;
+		private final Set<String> tokenIds;
+		private final int capacity;
+
+		private Snapshot(int capacity, double falsePositiveRate) {
+			this.filter = new BloomFilter(capacity, falsePositiveRate);
+			this.tokenIds = ConcurrentHashMap.newKeySet(capacity);
+			this.capacity = capacity;
+		}
+
+		private void add(String tokenId) {
+			// the exact set first, so a concurrent lookup that passes the filter always finds the id
+			tokenIds.add(tokenId);
+			filter.put(tokenId);
+		}
+	}
+}
@@ -16,6 +16,7 @@ import org.springframework.stereotype.Service;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class TokenProvider {
@@ -35,6 +36,7 @@ public class TokenProvider {
 		Map<String, Object> claims = new HashMap<>();
 		claims.put("Permissions",userPrincipal.getAuthorities().toString());
 		return Jwts.builder()
+				.setId(UUID.randomUUID().toString())
 				.setSubject(Long.toString(userPrincipal.getId()))
 				.setIssuedAt(new Date())
 				.setExpiration(expiryDate)
@@ -44,12 +46,23 @@ public class TokenProvider {
 	}
 
 	public Integer getUserIdFromToken(String token) {
-		Claims claims = Jwts.parser()
+		Claims claims = getClaimsFromToken(token);
+
+		return Integer.parseInt(claims.getSubject());
+	}
+
+	/**
+	 * Parses the signed token. The user id is the subject and the token id used for revocation is the id.
+	 *
+	 * @param token the access token
+	 * @return claims of the token
+	 * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or not signed with the secret
+	 */
+	public Claims getClaimsFromToken(String token) {
+		return Jwts.parser()
 				.setSigningKey(appProperties.getAuth().getTokenSecret())
 				.parseClaimsJws(token)
 				.getBody();
-
-		return Integer.parseInt(claims.getSubject());
 	}
 
 	public boolean validateToken(String authToken) {
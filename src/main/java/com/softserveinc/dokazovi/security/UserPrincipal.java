@@ -23,6 +23,7 @@ public class UserPrincipal implements OAuth2User, UserDetails {
 	private String email;
 	private String password;
 	private RoleEntity role;
+	private boolean emailVerified;
 	private transient Map<String, Object> attributes;
 
 	public static UserPrincipal create(UserEntity user) {
@@ -31,6 +32,7 @@ public class UserPrincipal implements OAuth2User, UserDetails {
 				.email(user.getEmail())
 				.password(user.getPassword())
 				.role(user.getRole())
+				.emailVerified(Boolean.TRUE.equals(user.getEnabled()))
 				.build();
 	}
 
@@ -53,6 +55,14 @@ public class UserPrincipal implements OAuth2User, UserDetails {
 		return password;
 	}
 
+	/**
+	 * Tells whether the user has confirmed the email, as the enabled flag of the user was
+	 * when the principal was loaded. Unlike {@link #isEnabled()} it does not stop the authentication.
+	 */
+	public boolean isEmailVerified() {
+		return emailVerified;
+	}
+
 	@Override
 	public String getUsername() {
 		return getEmail();
@@ -3,27 +3,43 @@ package com.softserveinc.dokazovi.security.oauth2;
 
 import com.nimbusds.oauth2.sdk.util.StringUtils;
 import com.softserveinc.dokazovi.util.CookieUtils;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.Optional;
 
 @Component
+@RequiredArgsConstructor
 public class HttpCookieOAuth2AuthorizationRequestRepository implements
         AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
     public static final String OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME = "oauth2_auth_request";
     public static final String REDIRECT_URI_PARAM_COOKIE_NAME = "redirect_uri";
     private static final int COOKIE_EXPIRE_SECONDS = 180;
 
+    private final OAuth2CookieCodec oauth2CookieCodec;
+
     @Override
     public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
         return CookieUtils.getCookie(request, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME)
-                .map(cookie -> CookieUtils.deserialize(cookie, OAuth2AuthorizationRequest.class))
+                .flatMap(cookie -> oauth2CookieCodec.decodeAuthorizationRequest(cookie.getValue()))
                 .orElse(null);
     }
 
+    /**
+     * Gets the uri the user returns to after the login, as requested when the login was started.
+     *
+     * @param request the callback request
+     * @return the redirect uri, or empty if the cookie is missing or was not signed by this application
+     */
+    public Optional<String> loadRedirectUri(HttpServletRequest request) {
+        return CookieUtils.getCookie(request, REDIRECT_URI_PARAM_COOKIE_NAME)
+                .flatMap(cookie -> oauth2CookieCodec.decodeRedirectUri(cookie.getValue()));
+    }
+
     @Override
     public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
                                          HttpServletRequest request, HttpServletResponse response) {
@@ -34,11 +50,11 @@ public class HttpCookieOAuth2AuthorizationRequestRepository implements
         }
 
         CookieUtils.addCookie(response, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME,
-                CookieUtils.serialize(authorizationRequest), COOKIE_EXPIRE_SECONDS);
+                oauth2CookieCodec.encodeAuthorizationRequest(authorizationRequest), COOKIE_EXPIRE_SECONDS);
         String redirectUriAfterLogin = request.getParameter(REDIRECT_URI_PARAM_COOKIE_NAME);
         if (StringUtils.isNotBlank(redirectUriAfterLogin)) {
             CookieUtils.addCookie(response, REDIRECT_URI_PARAM_COOKIE_NAME,
-                    redirectUriAfterLogin, COOKIE_EXPIRE_SECONDS);
+                    oauth2CookieCodec.encodeRedirectUri(redirectUriAfterLogin), COOKIE_EXPIRE_SECONDS);
         }
     }
 
@@ -0,0 +1,183 @@
+package com.softserveinc.dokazovi.security.oauth2;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserveinc.dokazovi.config.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.softserveinc.dokazovi.security.oauth2.HttpCookieOAuth2AuthorizationRequestRepository.OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME;
+import static com.softserveinc.dokazovi.security.oauth2.HttpCookieOAuth2AuthorizationRequestRepository.REDIRECT_URI_PARAM_COOKIE_NAME;
+
+/**
+ * The OAuth2 Cookie Codec is responsible for the values of the cookies that keep the OAuth2 login state
+ * between the redirect to the provider and the callback.
+ *
+ * <p>A value is {@code <version>.<payload>.<signature>}: the Base64url payload is followed by the Base64url
+ * HMAC-SHA256 of the cookie name, the version and the payload. The authorization request payload is JSON
+ * with the fields needed to rebuild the request only. Values that are not signed by this codec, including
+ * the Java-serialized cookies of the logins started before it, are treated as absent.</p>
+ */
+@Component
+public class OAuth2CookieCodec {
+
+	private static final Logger logger = LoggerFactory.getLogger(OAuth2CookieCodec.class);
+
+	private static final String VERSION = "1";
+	private static final String SEPARATOR = ".";
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+	private static final String GRANT_TYPE = "g";
+	private static final String AUTHORIZATION_URI = "u";
+	private static final String CLIENT_ID = "c";
+	private static final String REDIRECT_URI = "r";
+	private static final String SCOPES = "s";
+	private static final String STATE = "t";
+	private static final String ADDITIONAL_PARAMETERS = "p";
+	private static final String ATTRIBUTES = "a";
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+	private static final TypeReference<Map<String, Object>> FIELDS_TYPE = new TypeReference<>() {
+	};
+
+	private final SecretKeySpec key;
+
+	public OAuth2CookieCodec(AppProperties appProperties) {
+		this.key = new SecretKeySpec(
+				appProperties.getAuth().getTokenSecret().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+	}
+
+	/**
+	 * Encodes the authorization request for the authorization request cookie.
+	 *
+	 * @param authorizationRequest the request sent to the provider
+	 * @return the signed cookie value
+	 */
+	public String encodeAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest) {
+		Map<String, Object> fields = new LinkedHashMap<>();
+		fields.put(GRANT_TYPE, authorizationRequest.getGrantType().getValue());
+		fields.put(AUTHORIZATION_URI, authorizationRequest.getAuthorizationUri());
+		fields.put(CLIENT_ID, authorizationRequest.getClientId());
+		fields.put(REDIRECT_URI, authorizationRequest.getRedirectUri());
+		fields.put(SCOPES, authorizationRequest.getScopes());
+		fields.put(STATE, authorizationRequest.getState());
+		fields.put(ADDITIONAL_PARAMETERS, authorizationRequest.getAdditionalParameters());
+		fields.put(ATTRIBUTES, authorizationRequest.getAttributes());
+		try {
+			return encode(OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME, objectMapper.writeValueAsBytes(fields));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Decodes the value of the authorization request cookie.
+	 *
+	 * @param cookieValue the cookie value
+	 * @return the authorization request, or empty if the value is malformed or not signed by this codec
+	 */
+	@SuppressWarnings("unchecked")
+	public Optional<OAuth2AuthorizationRequest> decodeAuthorizationRequest(String cookieValue) {
+		return decode(OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME, cookieValue).flatMap(payload -> {
+			try {
+				Map<String, Object> fields = objectMapper.readValue(payload, FIELDS_TYPE);
+				OAuth2AuthorizationRequest.Builder builder =
+						AuthorizationGrantType.IMPLICIT.getValue().equals(fields.get(GRANT_TYPE))
+								? OAuth2AuthorizationRequest.implicit()
+								: OAuth2AuthorizationRequest.authorizationCode();
+				return Optional.of(builder
+						.authorizationUri((String) fields.get(AUTHORIZATION_URI))
+						.clientId((String) fields.get(CLIENT_ID))
+						.redirectUri((String) fields.get(REDIRECT_URI))
+						.scopes(new LinkedHashSet<>((Collection<String>) fields.get(SCOPES)))
+						.state((String) fields.get(STATE))
+						.additionalParameters((Map<String, Object>) fields.get(ADDITIONAL_PARAMETERS))
+						.attributes((Map<String, Object>) fields.get(ATTRIBUTES))
+						.build());
+			} catch (IOException | RuntimeException e) {
+				logger.debug("Ignoring the malformed OAuth2 authorization request cookie", e);
+				return Optional.empty();
+			}
+		});
+	}
+
+	/**
+	 * Encodes the uri the user returns to after the login for the redirect uri cookie.
+	 *
+	 * @param redirectUri the uri requested by the client
+	 * @return the signed cookie value
+	 */
+	public String encodeRedirectUri(String redirectUri) {
+		return encode(REDIRECT_URI_PARAM_COOKIE_NAME, redirectUri.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes the value of the redirect uri cookie.
+	 *
+	 * @param cookieValue the cookie value
+	 * @return the redirect uri, or empty if the value is malformed or not signed by this codec
+	 */
+	public Optional<String> decodeRedirectUri(String cookieValue) {
+		return decode(REDIRECT_URI_PARAM_COOKIE_NAME, cookieValue)
+				.map(payload -> new String(payload, StandardCharsets.UTF_8));
+	}
+
+	private String encode(String cookieName, byte[] payload) {
+		String signedPart = VERSION + SEPARATOR + Base64.getUrlEncoder().withoutPadding().encodeToString(payload);
+		return signedPart + SEPARATOR + Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(sign(cookieName, signedPart));
+	}
+
+	private Optional<byte[]> decode(String cookieName, String cookieValue) {
+		if (cookieValue == null || !cookieValue.startsWith(VERSION + SEPARATOR)) {
+			logger.debug("Ignoring the {} cookie of an unknown format", cookieName);
+			return Optional.empty();
+		}
+		int signatureStart = cookieValue.lastIndexOf(SEPARATOR);
+		if (signatureStart <= VERSION.length()) {
+			logger.debug("Ignoring the unsigned {} cookie", cookieName);
+			return Optional.empty();
+		}
+		String signedPart = cookieValue.substring(0, signatureStart);
+		try {
+			byte[] signature = Base64.getUrlDecoder().decode(cookieValue.substring(signatureStart + 1));
+			if (!MessageDigest.isEqual(sign(cookieName, signedPart), signature)) {
+				logger.debug("Ignoring the {} cookie with a wrong signature", cookieName);
+				return Optional.empty();
+			}
+			return Optional.of(Base64.getUrlDecoder().decode(signedPart.substring(VERSION.length() + 1)));
+		} catch (IllegalArgumentException e) {
+			logger.debug("Ignoring the malformed {} cookie", cookieName);
+			return Optional.empty();
+		}
+	}
+
+	private byte[] sign(String cookieName, String signedPart) {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(key);
+			mac.update(cookieName.getBytes(StandardCharsets.UTF_8));
+			mac.update((byte) 0);
+			return mac.doFinal(signedPart.getBytes(StandardCharsets.UTF_8));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("HMAC-SHA256 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.softserveinc.dokazovi.service;
+
+public interface CacheInvalidationService {
+
+	void evictAll(String cacheName);
+
+	void evict(String cacheName, String key);
+
+	void applyRemote(String payload);
+
+	void clearLocalCaches();
+}
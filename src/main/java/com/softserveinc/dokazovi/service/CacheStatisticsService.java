@@ -0,0 +1,10 @@
+package com.softserveinc.dokazovi.service;
+
+import com.softserveinc.dokazovi.dto.statistics.CacheRegionStatisticsDTO;
+
+import java.util.List;
+
+public interface CacheStatisticsService {
+
+	List<CacheRegionStatisticsDTO> findSecondLevelCacheStatistics();
+}
@@ -0,0 +1,9 @@
+package com.softserveinc.dokazovi.service;
+
+import com.softserveinc.dokazovi.dto.user.ExpertProfileDTO;
+import org.springframework.data.domain.Pageable;
+
+public interface ExpertProfileService {
+
+	ExpertProfileDTO findExpertProfile(Integer userId, Pageable pageable);
+}
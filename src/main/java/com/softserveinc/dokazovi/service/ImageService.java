@@ -0,0 +1,13 @@
+package com.softserveinc.dokazovi.service;
+
+import com.softserveinc.dokazovi.dto.image.ImageDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+public interface ImageService {
+
+	Path getDerivative(String imagePath, int width, int height);
+
+	ImageDTO upload(MultipartFile file);
+}
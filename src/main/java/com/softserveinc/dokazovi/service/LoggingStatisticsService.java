@@ -0,0 +1,10 @@
+package com.softserveinc.dokazovi.service;
+
+import com.softserveinc.dokazovi.dto.statistics.AsyncAppenderStatisticsDTO;
+
+import java.util.List;
+
+public interface LoggingStatisticsService {
+
+	List<AsyncAppenderStatisticsDTO> findAsyncAppenderStatistics();
+}
@@ -0,0 +1,8 @@
+package com.softserveinc.dokazovi.service;
+
+public interface MailOutboxService {
+
+	void enqueue(String recipient, String subject, String body);
+
+	void dispatchPendingMessages();
+}
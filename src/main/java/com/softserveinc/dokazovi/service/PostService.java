@@ -1,19 +1,28 @@
 package com.softserveinc.dokazovi.service;
 
+import com.softserveinc.dokazovi.dto.batch.BatchDTO;
+import com.softserveinc.dokazovi.dto.post.PostChangesDTO;
 import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.slice.SliceDTO;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
 import com.softserveinc.dokazovi.security.UserPrincipal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.Timestamp;
+import java.util.List;
 import java.util.Set;
 
 public interface PostService {
 
 	PostDTO findPostById(Integer postId);
 
+	BatchDTO<PostDTO> findPostsByIds(List<Integer> postIds);
+
+	Timestamp findPostModifiedAt(Integer postId);
+
 	Page<PostDTO> findAllByStatus(PostStatus postStatus, Pageable pageable);
 
 	Page<PostDTO> findImportantPosts(Pageable pageable);
@@ -43,4 +52,8 @@ public interface PostService {
 	Boolean setPostsAsUnimportant(Set<Integer> postids);
 
 	Integer getPostViewCount(String url);
+
+	PostChangesDTO findChanges(Long since, int limit);
+
+	SliceDTO<PostDTO> findFeed(Set<Integer> directionIds, Set<Integer> typeIds, Pageable pageable);
 }
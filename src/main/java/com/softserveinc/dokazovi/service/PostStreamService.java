@@ -0,0 +1,15 @@
+package com.softserveinc.dokazovi.service;
+
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface PostStreamService {
+
+	SseEmitter subscribe();
+
+	void publish(PostChangeDTO change);
+
+	void disconnectAll();
+
+	int getSubscriberCount();
+}
@@ -0,0 +1,22 @@
+package com.softserveinc.dokazovi.service;
+
+import com.softserveinc.dokazovi.dto.profiling.ProfilingRecordingDTO;
+import com.softserveinc.dokazovi.dto.profiling.ProfilingSummaryDTO;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface ProfilingService {
+
+	ProfilingRecordingDTO startRecording(String settings, int durationSeconds);
+
+	ProfilingRecordingDTO stopRecording(Long recordingId);
+
+	List<ProfilingRecordingDTO> findRecordings();
+
+	Path getRecordingFile(Long recordingId);
+
+	void releaseRecordingFile(Long recordingId);
+
+	ProfilingSummaryDTO summarizeRecording(Long recordingId, int top);
+}
@@ -0,0 +1,13 @@
+package com.softserveinc.dokazovi.service;
+
+import com.softserveinc.dokazovi.dto.scheduling.ScheduledJobStatusDTO;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+public interface ScheduledLockService {
+
+	boolean runExclusively(String jobName, IntSupplier job);
+
+	List<ScheduledJobStatusDTO> findJobStatuses();
+}
@@ -0,0 +1,10 @@
+package com.softserveinc.dokazovi.service;
+
+public interface TokenRevocationService {
+
+	void revokeToken(String token);
+
+	void revokeTokenId(String tokenId);
+
+	void revokeUserTokens(Integer userId);
+}
@@ -1,5 +1,8 @@
 package com.softserveinc.dokazovi.service;
 
+import com.softserveinc.dokazovi.dto.batch.BatchDTO;
+import com.softserveinc.dokazovi.dto.slice.SliceDTO;
+import com.softserveinc.dokazovi.dto.user.NearbyExpertDTO;
 import com.softserveinc.dokazovi.dto.user.UserDTO;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.VerificationToken;
@@ -7,6 +10,7 @@ import com.softserveinc.dokazovi.pojo.UserSearchCriteria;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Set;
 
 public interface UserService {
@@ -17,8 +21,24 @@ public interface UserService {
 
 	UserDTO findExpertById(Integer userId);
 
+	BatchDTO<UserDTO> findExpertsByIds(List<Integer> userIds);
+
 	Page<UserDTO> findAllExperts(UserSearchCriteria userSearchCriteria, Pageable pageable);
 
+	SliceDTO<UserDTO> findAllExpertsSlice(UserSearchCriteria userSearchCriteria, Pageable pageable,
+			boolean approximateTotal);
+
+	void refreshApproximateExpertCounts();
+
+	void refreshExpertRanking();
+
+	void refreshExpertRankingOnSchedule();
+
+	List<NearbyExpertDTO> findExpertsNear(double latitude, double longitude, double radiusKm,
+			Set<Integer> directionsIds, int limit);
+
+	void refreshExpertLocations();
+
 	Page<UserDTO> findRandomExpertPreview(Set<Integer> directionsIds, Pageable pageable);
 
 	void setEnableTrue(UserEntity user);
@@ -0,0 +1,141 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserveinc.dokazovi.dto.cache.CacheInvalidationDTO;
+import com.softserveinc.dokazovi.service.CacheInvalidationService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * The CacheInvalidationServiceImpl evicts the cache entries on every node of the cluster.
+ *
+ * <p>The eviction is sent with {@code pg_notify} in the transaction of the change, so PostgreSQL delivers it
+ * to the other nodes only when the change is committed, and not at all when it is rolled back. The local
+ * cache is evicted after the commit as well. The other nodes receive it through
+ * {@link com.softserveinc.dokazovi.config.CacheInvalidationListener}. With {@code cache.invalidation.enabled}
+ * off only the local cache is evicted.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationServiceImpl implements CacheInvalidationService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationServiceImpl.class);
+	private static final String NOTIFY_QUERY = "SELECT pg_notify(?, ?)";
+
+	private final String nodeId = UUID.randomUUID().toString();
+
+	private final CacheManager cacheManager;
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Value("${cache.invalidation.enabled:false}")
+	private boolean enabled;
+
+	@Value("${cache.invalidation.channel:cache_invalidation}")
+	private String channel;
+
+	/**
+	 * Clears the cache on every node once the current transaction is committed.
+	 *
+	 * @param cacheName name of the cache
+	 */
+	@Override
+	public void evictAll(String cacheName) {
+		publish(CacheInvalidationDTO.builder()
+				.node(nodeId)
+				.cache(cacheName)
+				.build());
+	}
+
+	/**
+	 * Evicts the entry from the cache on every node once the current transaction is committed.
+	 *
+	 * @param cacheName name of the cache
+	 * @param key       key of the entry
+	 */
+	@Override
+	public void evict(String cacheName, String key) {
+		publish(CacheInvalidationDTO.builder()
+				.node(nodeId)
+				.cache(cacheName)
+				.key(key)
+				.build());
+	}
+
+	/**
+	 * Applies the eviction received from another node. The evictions sent by this node are already applied.
+	 *
+	 * @param payload the eviction as JSON
+	 */
+	@Override
+	public void applyRemote(String payload) {
+		CacheInvalidationDTO invalidation;
+		try {
+			invalidation = objectMapper.readValue(payload, CacheInvalidationDTO.class);
+		} catch (JsonProcessingException e) {
+			logger.warn("Skipped malformed cache invalidation {}", payload);
+			return;
+		}
+		if (!nodeId.equals(invalidation.getNode())) {
+			apply(invalidation);
+		}
+	}
+
+	/**
+	 * Clears every local cache. Used when the evictions sent while this node was not listening may be lost.
+	 */
+	@Override
+	public void clearLocalCaches() {
+		for (String cacheName : cacheManager.getCacheNames()) {
+			Cache cache = cacheManager.getCache(cacheName);
+			if (cache != null) {
+				cache.clear();
+			}
+		}
+	}
+
+	/**
+	 * Evicts the local cache once the transaction that sent the eviction is committed.
+	 *
+	 * @param invalidation the eviction
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCacheInvalidation(CacheInvalidationDTO invalidation) {
+		apply(invalidation);
+	}
+
+	private void publish(CacheInvalidationDTO invalidation) {
+		if (enabled) {
+			try {
+				jdbcTemplate.queryForRowSet(NOTIFY_QUERY, channel, objectMapper.writeValueAsString(invalidation));
+			} catch (JsonProcessingException e) {
+				throw new IllegalStateException("Cannot write cache invalidation", e);
+			}
+		}
+		eventPublisher.publishEvent(invalidation);
+	}
+
+	private void apply(CacheInvalidationDTO invalidation) {
+		Cache cache = cacheManager.getCache(invalidation.getCache());
+		if (cache == null) {
+			return;
+		}
+		if (invalidation.getKey() == null) {
+			cache.clear();
+		} else {
+			cache.evict(invalidation.getKey());
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.statistics.CacheRegionStatisticsDTO;
+import com.softserveinc.dokazovi.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The CacheStatisticsServiceImpl is responsible for reporting
+ * the usage of Hibernate second-level cache regions.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Collects hit, miss and put counters of every second-level cache region,
+	 * sorted by region name.
+	 *
+	 * @return statistics of all cache regions
+	 */
+	@Override
+	public List<CacheRegionStatisticsDTO> findSecondLevelCacheStatistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+		Arrays.sort(regionNames);
+
+		List<CacheRegionStatisticsDTO> regions = new ArrayList<>();
+		for (String regionName : regionNames) {
+			CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(regionName);
+			regions.add(CacheRegionStatisticsDTO.builder()
+					.region(regionName)
+					.hitCount(region.getHitCount())
+					.missCount(region.getMissCount())
+					.putCount(region.getPutCount())
+					.elementCountInMemory(region.getElementCountInMemory())
+					.build());
+		}
+		return regions;
+	}
+}
@@ -2,13 +2,15 @@ package com.softserveinc.dokazovi.service.impl;
 
 import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
 import com.softserveinc.dokazovi.mapper.DirectionMapper;
+import com.softserveinc.dokazovi.repositories.AuthorFacetRepository;
 import com.softserveinc.dokazovi.repositories.DirectionRepository;
 import com.softserveinc.dokazovi.service.DirectionService;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,7 +25,9 @@ import java.util.stream.Collectors;
 public class DirectionServiceImpl implements DirectionService {
 
 	private final DirectionRepository directionRepository;
+	private final AuthorFacetRepository authorFacetRepository;
 	private final DirectionMapper directionMapper;
+	private final ScheduledLockService scheduledLockService;
 
 	/**
 	 * Gets all directions.
@@ -31,6 +35,7 @@ public class DirectionServiceImpl implements DirectionService {
 	 * @return all found directions
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<DirectionDTO> findAllDirections() {
 		return directionRepository.findAll().stream()
 				.map(directionMapper::toDirectionDTO)
@@ -38,27 +43,29 @@ public class DirectionServiceImpl implements DirectionService {
 	}
 
 	/**
-	 * Gets all directions by user id.
+	 * Gets all directions the user has published posts in, with the number of the posts in each.
 	 *
 	 * @param userId received from Directions controller
-	 * @return found directions by user id from directions repository
+	 * @return found directions by user id from the author facets summary
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<DirectionDTO> findAllDirectionsByUserId(Integer userId) {
-		return directionRepository.findAllDirectionsByUserId(userId).stream()
-				.map(directionMapper::toDirectionDTO)
+		return authorFacetRepository.findDirectionFacetsByAuthorId(userId).stream()
+				.map(directionMapper::toAuthorDirectionDTO)
 				.collect(Collectors.toList());
 	}
 
 	/**
 	 * Updates the directions status depending on the availability of doctors in it.
-	 * Runs every four hours
+	 * Runs every four hours on one node of the cluster.
 	 */
 	@Override
 	@Transactional
 	@Scheduled(cron = "0 0 */4 * * *")
 	public void updateDirectionsHasDoctorsStatus() {
-		directionRepository.updateDirectionsHasDoctorsStatus();
+		scheduledLockService.runExclusively("updateDirectionsHasDoctorsStatus",
+				directionRepository::updateDirectionsHasDoctorsStatus);
 	}
 
 	/**
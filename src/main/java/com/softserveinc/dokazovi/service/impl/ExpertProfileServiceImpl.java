@@ -0,0 +1,112 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.dto.user.ExpertProfileDTO;
+import com.softserveinc.dokazovi.dto.user.UserDTO;
+import com.softserveinc.dokazovi.service.DirectionService;
+import com.softserveinc.dokazovi.service.ExpertProfileService;
+import com.softserveinc.dokazovi.service.PostService;
+import com.softserveinc.dokazovi.service.PostTypeService;
+import com.softserveinc.dokazovi.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ExpertProfileServiceImpl is responsible for assembling the expert page from the expert,
+ * the directions and the types of the expert posts and the latest expert posts.
+ *
+ * <p>The lookups are independent, so they run concurrently, each in its own read-only transaction,
+ * on a bounded pool. When the pool is saturated the lookups run on the calling thread.</p>
+ */
+
+@Service
+@RequiredArgsConstructor
+public class ExpertProfileServiceImpl implements ExpertProfileService {
+
+	private static final long KEEP_ALIVE_SEC = 60;
+
+	private final UserService userService;
+	private final DirectionService directionService;
+	private final PostTypeService postTypeService;
+	private final PostService postService;
+
+	@Value("${profile.executor.pool-size:8}")
+	private int poolSize;
+
+	@Value("${profile.executor.queue-capacity:100}")
+	private int queueCapacity;
+
+	private ThreadPoolExecutor pool;
+	private Executor executor;
+
+	@PostConstruct
+	public void init() {
+		pool = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SEC, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("expert-profile-"),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		pool.allowCoreThreadTimeOut(true);
+		// lookups see the caller's authentication, so the replica routing keeps the user sticky
+		executor = new DelegatingSecurityContextExecutor(pool);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Gets the expert page.
+	 *
+	 * @param userId   id of the expert
+	 * @param pageable pagination information for the latest posts
+	 * @return the expert page, or null if there is no such user
+	 */
+	@Override
+	public ExpertProfileDTO findExpertProfile(Integer userId, Pageable pageable) {
+		CompletableFuture<UserDTO> expert = CompletableFuture
+				.supplyAsync(() -> userService.findExpertById(userId), executor);
+		CompletableFuture<List<DirectionDTO>> directions = CompletableFuture
+				.supplyAsync(() -> directionService.findAllDirectionsByUserId(userId), executor);
+		CompletableFuture<List<PostTypeDTO>> postTypes = CompletableFuture
+				.supplyAsync(() -> postTypeService.findAllPostTypesByUserId(userId), executor);
+		CompletableFuture<Page<PostDTO>> latestPosts = CompletableFuture
+				.supplyAsync(() -> postService.findAllByExpertAndTypeAndDirections(userId, null, null, pageable),
+						executor);
+
+		try {
+			CompletableFuture.allOf(expert, directions, postTypes, latestPosts).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+
+		if (expert.join() == null) {
+			return null;
+		}
+		return ExpertProfileDTO.builder()
+				.expert(expert.join())
+				.directions(directions.join())
+				.postTypes(postTypes.join())
+				.latestPosts(latestPosts.join())
+				.build();
+	}
+}
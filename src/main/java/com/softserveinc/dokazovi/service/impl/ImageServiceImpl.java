@@ -0,0 +1,320 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.image.ImageDTO;
+import com.softserveinc.dokazovi.exception.BadRequestException;
+import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
+import com.softserveinc.dokazovi.service.ImageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ImageServiceImpl is responsible for storing uploaded images and producing their resized copies.
+ *
+ * <p>Uploads are stored under {@code fs.images} with the content hash as the file name, so the same
+ * image uploaded twice is kept once and a stored file never changes.</p>
+ *
+ * <p>A derivative is created on the first request and stored under {@code fs.derivatives} with the
+ * content hash of the original and the size in its name, so identical uploads share derivatives and a
+ * replaced original never gets a stale one. The derivative found for an original and size is remembered
+ * together with the modification time of the original, so a replacement takes the place of the old entry.
+ * Concurrent requests for the same derivative wait for a single resize.</p>
+ */
+
+@Service
+public class ImageServiceImpl implements ImageService {
+
+	private static final String PNG_EXTENSION = ".png";
+	private static final String JPEG_EXTENSION = ".jpg";
+	private static final Map<String, String> UPLOAD_EXTENSIONS = Map.of(
+			"image/jpeg", JPEG_EXTENSION,
+			"image/png", PNG_EXTENSION,
+			"image/gif", ".gif",
+			"image/webp", ".webp");
+
+	private final Map<String, Derivative> derivatives = new ConcurrentHashMap<>();
+	private final Map<String, CompletableFuture<Path>> resizesInProgress = new ConcurrentHashMap<>();
+
+	@Value("${fs.root}")
+	private String fsRoot;
+
+	@Value("${fs.images}")
+	private String fsImages;
+
+	@Value("${url.assets.path}")
+	private String urlAssetsPath;
+
+	@Value("${fs.derivatives}")
+	private String fsDerivatives;
+
+	@Value("${image.derivative.sizes}")
+	private Set<String> allowedSizes;
+
+	/**
+	 * Gets the image resized and center-cropped to the given size, creating it if needed.
+	 *
+	 * @param imagePath path of the original image relative to {@code fs.root}
+	 * @param width     width of the derivative, must be one of the configured sizes
+	 * @param height    height of the derivative, must be one of the configured sizes
+	 * @return path of the derivative file
+	 * @throws BadRequestException       if the size is not allowed or the file is not an image
+	 * @throws ResourceNotFoundException if there is no such image
+	 */
+	@Override
+	public Path getDerivative(String imagePath, int width, int height) {
+		String size = width + "x" + height;
+		if (!allowedSizes.contains(size)) {
+			throw new BadRequestException("Unsupported image size " + size);
+		}
+		Path source = resolveSource(imagePath);
+		long lastModified = lastModified(source);
+		String key = source + "/" + size;
+
+		Derivative known = derivatives.get(key);
+		if (known != null && known.lastModified == lastModified && Files.exists(known.path)) {
+			return known.path;
+		}
+
+		String resizeKey = key + "@" + lastModified;
+		CompletableFuture<Path> resize = new CompletableFuture<>();
+		CompletableFuture<Path> running = resizesInProgress.putIfAbsent(resizeKey, resize);
+		if (running != null) {
+			return await(running);
+		}
+		try {
+			Path derivative = createDerivative(source, width, height);
+			derivatives.put(key, new Derivative(lastModified, derivative));
+			resize.complete(derivative);
+			return derivative;
+		} catch (RuntimeException e) {
+			resize.completeExceptionally(e);
+			throw e;
+		} finally {
+			resizesInProgress.remove(resizeKey, resize);
+		}
+	}
+
+	/**
+	 * Stores the uploaded image.
+	 *
+	 * <p>The content is streamed to a temporary file next to the images while being hashed, then moved
+	 * to its content-hash name. If an identical image is already stored the temporary file is dropped. The
+	 * declared type comes from the client, so the file is checked to start with the signature of that type.</p>
+	 *
+	 * @param file uploaded image
+	 * @return url of the stored image
+	 * @throws BadRequestException if the file is not a jpeg, png, gif or webp image or its content does not
+	 *                             match its type
+	 */
+	@Override
+	public ImageDTO upload(MultipartFile file) {
+		String extension = file.getContentType() != null ? UPLOAD_EXTENSIONS.get(file.getContentType()) : null;
+		if (extension == null) {
+			throw new BadRequestException("Unsupported image type " + file.getContentType());
+		}
+		Path images = Path.of(fsImages).toAbsolutePath().normalize();
+		try {
+			Files.createDirectories(images);
+			Path temp = Files.createTempFile(images, "upload", ".tmp");
+			try {
+				MessageDigest digest = sha256();
+				try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+					Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+				}
+				if (!hasSignature(temp, file.getContentType())) {
+					throw new BadRequestException("File content is not a " + file.getContentType() + " image");
+				}
+				String hash = toHex(digest.digest());
+				Path target = images.resolve(hash.substring(0, 2)).resolve(hash + extension);
+				if (!Files.exists(target)) {
+					Files.createDirectories(target.getParent());
+					Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+				}
+				return ImageDTO.builder()
+						.url(toUrl(target))
+						.build();
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private boolean hasSignature(Path file, String contentType) throws IOException {
+		byte[] header = new byte[12];
+		int length;
+		try (InputStream in = Files.newInputStream(file)) {
+			length = in.readNBytes(header, 0, header.length);
+		}
+		switch (contentType) {
+			case "image/jpeg":
+				return startsWith(header, length, 0, (byte) 0xFF, (byte) 0xD8, (byte) 0xFF);
+			case "image/png":
+				return startsWith(header, length, 0, (byte) 0x89, (byte) 'P', (byte) 'N', (byte) 'G',
+						(byte) 0x0D, (byte) 0x0A, (byte) 0x1A, (byte) 0x0A);
+			case "image/gif":
+				return startsWith(header, length, 0, (byte) 'G', (byte) 'I', (byte) 'F', (byte) '8');
+			case "image/webp":
+				return startsWith(header, length, 0, (byte) 'R', (byte) 'I', (byte) 'F', (byte) 'F')
+						&& startsWith(header, length, 8, (byte) 'W', (byte) 'E', (byte) 'B', (byte) 'P');
+			default:
+				return false;
+		}
+	}
+
+	private static boolean startsWith(byte[] header, int length, int offset, byte... signature) {
+		if (length < offset + signature.length) {
+			return false;
+		}
+		for (int i = 0; i < signature.length; i++) {
+			if (header[offset + i] != signature[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String toUrl(Path image) {
+		Path root = Path.of(fsRoot).toAbsolutePath().normalize();
+		return "/" + urlAssetsPath + "/" + root.relativize(image).toString().replace(File.separatorChar, '/');
+	}
+
+	private Path resolveSource(String imagePath) {
+		Path root = Path.of(fsRoot).toAbsolutePath().normalize();
+		Path source = root.resolve(imagePath).normalize();
+		if (!source.startsWith(root) || !Files.isRegularFile(source)) {
+			throw new ResourceNotFoundException("Image", "path", imagePath);
+		}
+		return source;
+	}
+
+	private Path createDerivative(Path source, int width, int height) {
+		try {
+			String hash = contentHash(source);
+			boolean png = source.getFileName().toString().toLowerCase().endsWith(PNG_EXTENSION);
+			Path directory = Path.of(fsDerivatives).toAbsolutePath().resolve(hash.substring(0, 2));
+			Path target = directory.resolve(hash + "_" + width + "x" + height + (png ? PNG_EXTENSION : JPEG_EXTENSION));
+			if (Files.exists(target)) {
+				return target;
+			}
+
+			BufferedImage image = ImageIO.read(source.toFile());
+			if (image == null) {
+				throw new BadRequestException("File is not a supported image: " + source.getFileName());
+			}
+			BufferedImage resized = resize(image, width, height, png);
+
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, hash, ".tmp");
+			try {
+				ImageIO.write(resized, png ? "png" : "jpeg", temp.toFile());
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+			return target;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private BufferedImage resize(BufferedImage image, int width, int height, boolean keepAlpha) {
+		double scale = Math.max((double) width / image.getWidth(), (double) height / image.getHeight());
+		int scaledWidth = (int) Math.ceil(image.getWidth() * scale);
+		int scaledHeight = (int) Math.ceil(image.getHeight() * scale);
+
+		BufferedImage result = new BufferedImage(width, height,
+				keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = result.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			graphics.drawImage(image, (width - scaledWidth) / 2, (height - scaledHeight) / 2,
+					scaledWidth, scaledHeight, null);
+		} finally {
+			graphics.dispose();
+		}
+		return result;
+	}
+
+	private String contentHash(Path source) throws IOException {
+		MessageDigest digest = sha256();
+		try (InputStream in = Files.newInputStream(source)) {
+			byte[] buffer = new byte[8192];
+			int read = in.read(buffer);
+			while (read != -1) {
+				digest.update(buffer, 0, read);
+				read = in.read(buffer);
+			}
+		}
+		return toHex(digest.digest());
+	}
+
+	private MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder();
+		for (byte b : bytes) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+
+	private long lastModified(Path source) {
+		try {
+			return Files.getLastModifiedTime(source).toMillis();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private Path await(CompletableFuture<Path> resize) {
+		try {
+			return resize.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private static final class Derivative {
+
+		private final long lastModified;
+		private final Path path;
+
+		private Derivative(long lastModified, Path path) {
+			this.lastModified = lastModified;
+			this.path = path;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.softserveinc.dokazovi.dto.statistics.AsyncAppenderStatisticsDTO;
+import com.softserveinc.dokazovi.logging.CountingAsyncAppender;
+import com.softserveinc.dokazovi.service.LoggingStatisticsService;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The LoggingStatisticsServiceImpl is responsible for reporting
+ * the queues of the asynchronous log appenders and the events they did not deliver.
+ */
+
+@Service
+public class LoggingStatisticsServiceImpl implements LoggingStatisticsService {
+
+	/**
+	 * Collects the queue state and the discarded and dropped event counters of every asynchronous appender
+	 * attached to a logger, in the order the loggers were configured.
+	 *
+	 * @return statistics of all asynchronous appenders
+	 */
+	@Override
+	public List<AsyncAppenderStatisticsDTO> findAsyncAppenderStatistics() {
+		ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+		if (!(loggerFactory instanceof LoggerContext)) {
+			return List.of();
+		}
+		Map<String, CountingAsyncAppender> appenders = new LinkedHashMap<>();
+		for (Logger logger : ((LoggerContext) loggerFactory).getLoggerList()) {
+			Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+			while (iterator.hasNext()) {
+				Appender<ILoggingEvent> appender = iterator.next();
+				if (appender instanceof CountingAsyncAppender) {
+					appenders.putIfAbsent(appender.getName(), (CountingAsyncAppender) appender);
+				}
+			}
+		}
+
+		List<AsyncAppenderStatisticsDTO> statistics = new ArrayList<>();
+		for (CountingAsyncAppender appender : appenders.values()) {
+			statistics.add(AsyncAppenderStatisticsDTO.builder()
+					.appender(appender.getName())
+					.queueSize(appender.getQueueSize())
+					.queuedCount(appender.getNumberOfElementsInQueue())
+					.discardedCount(appender.getDiscardedCount())
+					.droppedCount(appender.getDroppedCount())
+					.build());
+		}
+		return statistics;
+	}
+}
@@ -0,0 +1,169 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.entity.MailOutboxEntity;
+import com.softserveinc.dokazovi.entity.enumerations.MailStatus;
+import com.softserveinc.dokazovi.repositories.MailOutboxRepository;
+import com.softserveinc.dokazovi.service.MailOutboxService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The MailOutboxServiceImpl is responsible for storing outgoing mail in the outbox table
+ * and delivering it in the background.
+ *
+ * <p>Pending messages are sent in batches through a single SMTP connection. Messages that could not
+ * be delivered are retried with exponential backoff until the attempts limit is reached. Every node runs the
+ * dispatcher, a batch is claimed before it is sent, so each message is sent by one node only.</p>
+ */
+
+@Service
+@RequiredArgsConstructor
+public class MailOutboxServiceImpl implements MailOutboxService {
+
+	private static final Logger logger = LoggerFactory.getLogger(MailOutboxServiceImpl.class);
+	private static final int MAX_ERROR_LENGTH = 255;
+
+	private final MailOutboxRepository mailOutboxRepository;
+	private final JavaMailSender javaMailSender;
+
+	@Value("${mail.outbox.batch-size:50}")
+	private int batchSize;
+
+	@Value("${mail.outbox.max-attempts:5}")
+	private int maxAttempts;
+
+	@Value("${mail.outbox.initial-backoff-ms:30000}")
+	private long initialBackoffMs;
+
+	@Value("${mail.outbox.max-backoff-ms:3600000}")
+	private long maxBackoffMs;
+
+	@Value("${mail.outbox.claim-ms:300000}")
+	private long claimMs;
+
+	/**
+	 * Puts the message into the outbox. Joins the caller's transaction, so the message is stored
+	 * only if the business data it describes is stored too.
+	 *
+	 * @param recipient email of the recipient
+	 * @param subject   subject of the message
+	 * @param body      html body of the message
+	 */
+	@Override
+	@Transactional
+	public void enqueue(String recipient, String subject, String body) {
+		MailOutboxEntity mail = MailOutboxEntity.builder()
+				.recipient(recipient)
+				.subject(subject)
+				.body(body)
+				.status(MailStatus.PENDING)
+				.attempts(0)
+				.nextAttemptAt(now())
+				.build();
+		mailOutboxRepository.save(mail);
+	}
+
+	/**
+	 * Claims the batch of due messages, sends it over one SMTP connection and records the outcome of each of them.
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${mail.outbox.dispatch-delay-ms:5000}")
+	public void dispatchPendingMessages() {
+		String token = UUID.randomUUID().toString();
+		if (mailOutboxRepository.claimDueMessages(token, batchSize, claimMs) == 0) {
+			return;
+		}
+		List<MailOutboxEntity> batch = mailOutboxRepository.findAllByClaimTokenOrderByIdAsc(token);
+
+		// MimeMessage keeps identity equality, so the map preserves every message in the batch order
+		Map<MimeMessage, MailOutboxEntity> messages = new LinkedHashMap<>();
+		for (MailOutboxEntity mail : batch) {
+			try {
+				messages.put(toMimeMessage(mail), mail);
+			} catch (MessagingException e) {
+				registerFailure(mail, e);
+			}
+		}
+
+		Map<Object, Exception> failedMessages = send(messages);
+		messages.forEach((message, mail) -> {
+			Exception failure = failedMessages.get(message);
+			if (failure == null) {
+				mail.setStatus(MailStatus.SENT);
+				mail.setSentAt(now());
+				mail.setLastError(null);
+			} else {
+				registerFailure(mail, failure);
+			}
+		});
+		mailOutboxRepository.saveAll(batch);
+	}
+
+	private Map<Object, Exception> send(Map<MimeMessage, MailOutboxEntity> messages) {
+		if (messages.isEmpty()) {
+			return new HashMap<>();
+		}
+		try {
+			javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+			return new HashMap<>();
+		} catch (MailSendException e) {
+			logger.warn("Failed to send {} of {} outgoing messages", e.getFailedMessages().size(), messages.size());
+			return e.getFailedMessages();
+		} catch (MailException e) {
+			logger.error("Failed to connect to the mail server", e);
+			Map<Object, Exception> failedMessages = new HashMap<>();
+			messages.keySet().forEach(message -> failedMessages.put(message, e));
+			return failedMessages;
+		}
+	}
+
+	private MimeMessage toMimeMessage(MailOutboxEntity mail) throws MessagingException {
+		MimeMessage message = javaMailSender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(message, true, "utf-8");
+		helper.setTo(mail.getRecipient());
+		helper.setSubject(mail.getSubject());
+		helper.setText(mail.getBody(), true);
+		return message;
+	}
+
+	private void registerFailure(MailOutboxEntity mail, Exception e) {
+		int attempts = mail.getAttempts() + 1;
+		mail.setAttempts(attempts);
+		mail.setLastError(truncate(String.valueOf(e.getMessage())));
+		if (attempts >= maxAttempts) {
+			mail.setStatus(MailStatus.FAILED);
+			logger.error("Giving up on mail {} to {} after {} attempts", mail.getId(), mail.getRecipient(), attempts);
+			return;
+		}
+		long backoff = Math.min(initialBackoffMs << (attempts - 1), maxBackoffMs);
+		mail.setNextAttemptAt(Timestamp.valueOf(LocalDateTime.now().plus(backoff, ChronoUnit.MILLIS)));
+	}
+
+	private String truncate(String message) {
+		return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+	}
+
+	private Timestamp now() {
+		return Timestamp.valueOf(LocalDateTime.now());
+	}
+}
@@ -6,6 +6,7 @@ import com.softserveinc.dokazovi.repositories.OriginRepository;
 import com.softserveinc.dokazovi.service.OriginService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,6 +28,7 @@ public class OriginServiceImpl implements OriginService {
 	 * @return list of all origins
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<OriginDTO> findAllOrigins() {
 		return originRepository.findAll().stream()
 				.map(originMapper::toOriginDTO)
@@ -0,0 +1,87 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import com.softserveinc.dokazovi.entity.PostChangeEntity;
+import com.softserveinc.dokazovi.repositories.PostChangeRepository;
+import com.softserveinc.dokazovi.service.PostStreamService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * The PostChangeRelay follows the post change feed and hands every change to the listeners of this node, so
+ * they learn about the changes made on the other nodes of the cluster too.
+ *
+ * <p>The relay starts from the latest change and reads the changes that got their positions since the last
+ * run, in the order of the feed. When the changes it has not read yet are purged, it continues from the
+ * latest change, the listing cache and the feed index drop what they hold and the streams are closed
+ * instead.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PostChangeRelay {
+
+	private static final Logger logger = LoggerFactory.getLogger(PostChangeRelay.class);
+
+	private final PostChangeRepository postChangeRepository;
+	private final PostStreamService postStreamService;
+	private final PostListingCache postListingCache;
+	private final PostFeedIndex postFeedIndex;
+
+	@Value("${post.changes.max-limit:1000}")
+	private int batchSize;
+
+	private Long cursor;
+
+	/**
+	 * Hands the changes that follow the last relayed one to the listeners.
+	 */
+	@Scheduled(fixedDelayString = "${post.changes.relay-ms:1000}")
+	@Transactional(readOnly = true)
+	public void relay() {
+		if (cursor == null) {
+			cursor = postChangeRepository.findMaxPosition();
+			return;
+		}
+		Long minPosition = postChangeRepository.findMinPosition();
+		if (minPosition != null && cursor < minPosition - 1) {
+			logger.warn("Post changes after {} were purged before they were relayed, resetting", cursor);
+			cursor = postChangeRepository.findMaxPosition();
+			PostChangeDTO reset = PostChangeDTO.builder().build();
+			postListingCache.onPostChange(reset);
+			postFeedIndex.onPostChange(reset);
+			postStreamService.disconnectAll();
+			return;
+		}
+		List<PostChangeEntity> changes;
+		do {
+			changes = postChangeRepository.findAllAfter(cursor, PageRequest.of(0, batchSize));
+			for (PostChangeEntity change : changes) {
+				relay(toPostChangeDTO(change));
+				cursor = change.getFeedPosition();
+			}
+		} while (changes.size() == batchSize);
+	}
+
+	private void relay(PostChangeDTO change) {
+		postListingCache.onPostChange(change);
+		postFeedIndex.onPostChange(change);
+		postStreamService.publish(change);
+	}
+
+	private PostChangeDTO toPostChangeDTO(PostChangeEntity change) {
+		return PostChangeDTO.builder()
+				.sequence(change.getFeedPosition())
+				.postId(change.getPostId())
+				.type(change.getType())
+				.changedAt(change.getChangedAt())
+				.build();
+	}
+}
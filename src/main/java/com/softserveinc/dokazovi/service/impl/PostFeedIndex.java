@@ -0,0 +1,297 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.pojo.PostFeedEntry;
+import com.softserveinc.dokazovi.repositories.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The PostFeedIndex keeps the latest published posts of each direction in memory, the latest first, and
+ * merges the directions of a feed request into one list of post ids.
+ *
+ * <p>A direction is loaded on its first request and then kept up to date by the committed post changes, the
+ * changed post is removed from every loaded direction and put back to the directions it is published in. The
+ * directions are immutable snapshots replaced on change, so the merge does not lock. A direction loaded
+ * while a change was applied is not kept, since it may miss the change. The changes of the other nodes come
+ * from the {@link PostChangeRelay}, and a change of no particular post drops all the directions.</p>
+ *
+ * <p>A direction keeps at most {@code post.feed.capacity} posts. When it has more, the merge stops at the
+ * end of the kept ones, as the posts after it are not known, so the feed is only as deep as the capacity.
+ * Such a direction is loaded again once the removed posts leave it half full.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PostFeedIndex {
+
+	private final PostRepository postRepository;
+
+	@Value("${post.feed.capacity:500}")
+	private int capacity;
+
+	private final Map<Integer, Ring> rings = new ConcurrentHashMap<>();
+	private long version;
+
+	/**
+	 * Merges the latest posts of the directions, a post in several directions is taken once.
+	 *
+	 * @param directionIds ids of the directions
+	 * @param typeIds      ids of the post types to take, all types if empty or null
+	 * @param offset       number of the posts to skip
+	 * @param limit        number of the posts to take
+	 * @return the ids of the posts, the latest first
+	 */
+	public FeedPage findPage(Collection<Integer> directionIds, Set<Integer> typeIds, long offset, int limit) {
+		PriorityQueue<Cursor> heap = new PriorityQueue<>();
+		for (Integer directionId : new HashSet<>(directionIds)) {
+			Ring ring = getRing(directionId);
+			if (ring.size() > 0) {
+				heap.add(new Cursor(ring));
+			}
+		}
+		Set<Integer> taken = new HashSet<>();
+		List<Integer> postIds = new ArrayList<>(limit);
+		long skipped = 0;
+		while (!heap.isEmpty()) {
+			Cursor cursor = heap.poll();
+			int postId = cursor.postId();
+			boolean matches = typeIds == null || typeIds.isEmpty() || typeIds.contains(cursor.typeId());
+			if (matches && taken.add(postId)) {
+				if (skipped < offset) {
+					skipped++;
+				} else if (postIds.size() < limit) {
+					postIds.add(postId);
+				} else {
+					return new FeedPage(postIds, true);
+				}
+			}
+			if (cursor.next()) {
+				heap.add(cursor);
+			} else if (!cursor.ring.complete) {
+				break;
+			}
+		}
+		return new FeedPage(postIds, false);
+	}
+
+	/**
+	 * Applies the committed post change to the loaded directions.
+	 *
+	 * @param change the post change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onPostChange(PostChangeDTO change) {
+		version++;
+		Integer postId = change.getPostId();
+		if (postId == null) {
+			rings.clear();
+			return;
+		}
+		rings.replaceAll((directionId, ring) -> ring.without(postId));
+		// a direction emptied by archived posts is as deep as what is left in it, loading it again restores it
+		rings.values().removeIf(ring -> !ring.complete && ring.size() <= capacity / 2);
+		for (PostFeedEntry entry : postRepository.findFeedEntriesByPostId(postId, PostStatus.PUBLISHED)) {
+			rings.computeIfPresent(entry.getDirectionId(), (directionId, ring) -> ring.with(entry, capacity));
+		}
+	}
+
+	private Ring getRing(Integer directionId) {
+		Ring ring = rings.get(directionId);
+		if (ring != null) {
+			return ring;
+		}
+		long loadVersion;
+		synchronized (this) {
+			loadVersion = version;
+		}
+		List<PostFeedEntry> entries = postRepository.findFeedEntriesByDirectionId(
+				directionId, PostStatus.PUBLISHED, PageRequest.of(0, capacity));
+		ring = Ring.of(entries, entries.size() < capacity);
+		// an unknown direction is not kept, the ids come from the request
+		if (ring.size() > 0) {
+			synchronized (this) {
+				if (loadVersion == version) {
+					rings.putIfAbsent(directionId, ring);
+				}
+			}
+		}
+		return ring;
+	}
+
+	/**
+	 * The ids of the posts of a feed page and whether the feed has more posts.
+	 */
+	public static final class FeedPage {
+
+		private final List<Integer> postIds;
+		private final boolean hasNext;
+
+		public FeedPage(List<Integer> postIds, boolean hasNext) {
+			this.postIds = Collections.unmodifiableList(postIds);
+			this.hasNext = hasNext;
+		}
+
+		public List<Integer> getPostIds() {
+			return postIds;
+		}
+
+		public boolean hasNext() {
+			return hasNext;
+		}
+	}
+
+	/**
+	 * The latest posts of a direction, the latest first. Complete when it keeps all the posts of the direction.
+	 */
+	private static final class Ring {
+
+		private final int[] postIds;
+		private final int[] typeIds;
+		private final long[] publishedAt;
+		private final boolean complete;
+
+		private Ring(int[] postIds, int[] typeIds, long[] publishedAt, boolean complete) {
+			this.postIds = postIds;
+			this.typeIds = typeIds;
+			this.publishedAt = publishedAt;
+			this.complete = complete;
+		}
+
+		private static Ring of(List<PostFeedEntry> entries, boolean complete) {
+			int size = entries.size();
+			int[] postIds = new int[size];
+			int[] typeIds = new int[size];
+			long[] publishedAt = new long[size];
+			for (int i = 0; i < size; i++) {
+				PostFeedEntry entry = entries.get(i);
+				postIds[i] = entry.getPostId();
+				typeIds[i] = typeId(entry);
+				publishedAt[i] = publishedAt(entry);
+			}
+			return new Ring(postIds, typeIds, publishedAt, complete);
+		}
+
+		private int size() {
+			return postIds.length;
+		}
+
+		private Ring without(int postId) {
+			for (int i = 0; i < postIds.length; i++) {
+				if (postIds[i] == postId) {
+					return new Ring(remove(postIds, i), remove(typeIds, i), remove(publishedAt, i), complete);
+				}
+			}
+			return this;
+		}
+
+		private Ring with(PostFeedEntry entry, int capacity) {
+			long entryPublishedAt = publishedAt(entry);
+			int index = 0;
+			while (index < postIds.length && compare(publishedAt[index], postIds[index],
+					entryPublishedAt, entry.getPostId()) < 0) {
+				index++;
+			}
+			// the posts after the last kept one are not known, so an older post has no place here
+			if (index == postIds.length && !complete) {
+				return this;
+			}
+			int[] newPostIds = insert(postIds, index, entry.getPostId());
+			int[] newTypeIds = insert(typeIds, index, typeId(entry));
+			long[] newPublishedAt = insert(publishedAt, index, entryPublishedAt);
+			if (newPostIds.length > capacity) {
+				return new Ring(Arrays.copyOf(newPostIds, capacity), Arrays.copyOf(newTypeIds, capacity),
+						Arrays.copyOf(newPublishedAt, capacity), false);
+			}
+			return new Ring(newPostIds, newTypeIds, newPublishedAt, complete);
+		}
+
+		private static int typeId(PostFeedEntry entry) {
+			return entry.getTypeId() != null ? entry.getTypeId() : -1;
+		}
+
+		private static long publishedAt(PostFeedEntry entry) {
+			return entry.getPublishedAt() != null ? entry.getPublishedAt().getTime() : Long.MIN_VALUE;
+		}
+
+		private static int[] remove(int[] values, int index) {
+			int[] result = new int[values.length - 1];
+			System.arraycopy(values, 0, result, 0, index);
+			System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+			return result;
+		}
+
+		private static long[] remove(long[] values, int index) {
+			long[] result = new long[values.length - 1];
+			System.arraycopy(values, 0, result, 0, index);
+			System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+			return result;
+		}
+
+		private static int[] insert(int[] values, int index, int value) {
+			int[] result = new int[values.length + 1];
+			System.arraycopy(values, 0, result, 0, index);
+			result[index] = value;
+			System.arraycopy(values, index, result, index + 1, values.length - index);
+			return result;
+		}
+
+		private static long[] insert(long[] values, int index, long value) {
+			long[] result = new long[values.length + 1];
+			System.arraycopy(values, 0, result, 0, index);
+			result[index] = value;
+			System.arraycopy(values, index, result, index + 1, values.length - index);
+			return result;
+		}
+	}
+
+	/**
+	 * The latest first: the later published post, or the one with the greater id when published together.
+	 */
+	private static int compare(long publishedAt, int postId, long otherPublishedAt, int otherPostId) {
+		int result = Long.compare(otherPublishedAt, publishedAt);
+		return result != 0 ? result : Integer.compare(otherPostId, postId);
+	}
+
+	private static final class Cursor implements Comparable<Cursor> {
+
+		private final Ring ring;
+		private int index;
+
+		private Cursor(Ring ring) {
+			this.ring = ring;
+		}
+
+		private int postId() {
+			return ring.postIds[index];
+		}
+
+		private int typeId() {
+			return ring.typeIds[index];
+		}
+
+		private boolean next() {
+			return ++index < ring.size();
+		}
+
+		@Override
+		public int compareTo(Cursor other) {
+			return compare(ring.publishedAt[index], ring.postIds[index],
+					other.ring.publishedAt[other.index], other.ring.postIds[other.index]);
+		}
+	}
+}
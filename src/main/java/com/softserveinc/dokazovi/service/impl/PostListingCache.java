@@ -0,0 +1,141 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
+import com.softserveinc.dokazovi.pojo.PostListingKey;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The PostListingCache keeps the results of the post listing queries as the ids of the posts on the page,
+ * and the posts themselves separately, so a post shared by many listings is kept once.
+ *
+ * <p>The pages are keyed by the content epoch as well, which is bumped by every committed post change. The
+ * pages computed before the change are never found again and are left to the size and time limits, so the
+ * invalidation does not scan the cache. The changed post is evicted from the post cache. A result computed
+ * while a change was committing is not stored, since it may miss the change.</p>
+ *
+ * <p>The changes of this node are applied on commit, the changes of the other nodes as the
+ * {@link PostChangeRelay} reads them. A change of no particular post, sent when the relay has missed
+ * changes, evicts all the posts.</p>
+ */
+@Component
+public class PostListingCache {
+
+	private final AtomicLong epoch = new AtomicLong();
+
+	@Value("${post.listing-cache.max-pages:10000}")
+	private long maxPages;
+
+	@Value("${post.listing-cache.max-posts:10000}")
+	private long maxPosts;
+
+	@Value("${post.listing-cache.ttl-ms:600000}")
+	private long ttlMs;
+
+	private Cache<EpochKey, PostIdPage> pages;
+	private Cache<Integer, PostDTO> posts;
+
+	@PostConstruct
+	public void init() {
+		pages = Caffeine.newBuilder()
+				.maximumSize(maxPages)
+				.expireAfterWrite(Duration.ofMillis(ttlMs))
+				.build();
+		posts = Caffeine.newBuilder()
+				.maximumSize(maxPosts)
+				.expireAfterWrite(Duration.ofMillis(ttlMs))
+				.build();
+	}
+
+	/**
+	 * Gets the current content epoch. Take it before running the query and pass it to the put methods.
+	 *
+	 * @return the content epoch
+	 */
+	public long getEpoch() {
+		return epoch.get();
+	}
+
+	public PostIdPage getPage(long contentEpoch, PostListingKey key) {
+		return pages.getIfPresent(new EpochKey(contentEpoch, key));
+	}
+
+	public void putPage(long contentEpoch, PostListingKey key, PostIdPage page) {
+		if (contentEpoch == epoch.get()) {
+			pages.put(new EpochKey(contentEpoch, key), page);
+		}
+	}
+
+	public PostDTO getPost(Integer postId) {
+		return posts.getIfPresent(postId);
+	}
+
+	public void putPost(long contentEpoch, PostDTO post) {
+		if (post.getId() == null) {
+			return;
+		}
+		// the epoch is checked under the lock of the entry, so a change either prevents the put or evicts it
+		posts.asMap().compute(post.getId(), (postId, cached) -> contentEpoch == epoch.get() ? post : cached);
+	}
+
+	/**
+	 * Makes the cached pages unreachable and evicts the changed post once its transaction is committed.
+	 *
+	 * @param change the post change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChange(PostChangeDTO change) {
+		epoch.incrementAndGet();
+		if (change.getPostId() != null) {
+			posts.invalidate(change.getPostId());
+		} else {
+			posts.invalidateAll();
+		}
+	}
+
+	/**
+	 * The ids of the posts on a page of a listing and the total number of the posts in the listing.
+	 */
+	public static final class PostIdPage {
+
+		private final List<Integer> postIds;
+		private final long total;
+
+		public PostIdPage(List<Integer> postIds, long total) {
+			this.postIds = Collections.unmodifiableList(new ArrayList<>(postIds));
+			this.total = total;
+		}
+
+		public List<Integer> getPostIds() {
+			return postIds;
+		}
+
+		public long getTotal() {
+			return total;
+		}
+	}
+
+	@EqualsAndHashCode
+	private static final class EpochKey {
+
+		private final long epoch;
+		private final PostListingKey key;
+
+		private EpochKey(long epoch, PostListingKey key) {
+			this.epoch = epoch;
+			this.key = key;
+		}
+	}
+}
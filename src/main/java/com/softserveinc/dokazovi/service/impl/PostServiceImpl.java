@@ -1,39 +1,64 @@
 package com.softserveinc.dokazovi.service.impl;
 
 import com.softserveinc.dokazovi.analytics.GoogleAnalytics;
+import com.softserveinc.dokazovi.dto.batch.BatchDTO;
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import com.softserveinc.dokazovi.dto.post.PostChangesDTO;
 import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.slice.SliceDTO;
 import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.entity.PostChangeEntity;
 import com.softserveinc.dokazovi.entity.PostEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.entity.enumerations.PostChangeType;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.exception.ForbiddenPermissionsException;
 import com.softserveinc.dokazovi.mapper.PostMapper;
+import com.softserveinc.dokazovi.pojo.FieldSelection;
+import com.softserveinc.dokazovi.pojo.PostListingKey;
+import com.softserveinc.dokazovi.repositories.AuthorFacetRepository;
 import com.softserveinc.dokazovi.repositories.DirectionRepository;
 import com.softserveinc.dokazovi.repositories.OriginRepository;
+import com.softserveinc.dokazovi.repositories.PostChangeRepository;
 import com.softserveinc.dokazovi.repositories.PostRepository;
 import com.softserveinc.dokazovi.repositories.PostTypeRepository;
 import com.softserveinc.dokazovi.repositories.UserRepository;
 import com.softserveinc.dokazovi.security.UserPrincipal;
 import com.softserveinc.dokazovi.service.PostService;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
+import com.softserveinc.dokazovi.util.FieldSelectionHolder;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -48,13 +73,66 @@ public class PostServiceImpl implements PostService {
 	private final DirectionRepository directionRepository;
 	private final OriginRepository originRepository;
 	private final GoogleAnalytics googleAnalytics;
+	private final AuthorFacetRepository authorFacetRepository;
+	private final PostChangeRepository postChangeRepository;
+	private final PostListingCache postListingCache;
+	private final PostFeedIndex postFeedIndex;
+	private final ScheduledLockService scheduledLockService;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Value("${batch.max-ids:100}")
+	private int maxBatchIds;
+
+	@Value("${post.changes.max-limit:1000}")
+	private int maxChangesLimit;
+
+	@Value("${post.changes.retention-days:30}")
+	private int changesRetentionDays;
+
+	@Value("${post.feed.max-directions:20}")
+	private int maxFeedDirections;
 
 	@Override
+	@Transactional(readOnly = true)
 	public PostDTO findPostById(Integer postId) {
-		return postMapper.toPostDTO(postRepository.findById(postId).orElse(null));
+		return toPostDTO(postRepository.findById(postId).orElse(null));
 	}
 
+	/**
+	 * Gets the posts by ids with a single query. The result keeps the order of the requested ids
+	 * and marks the ids that were not found.
+	 *
+	 * @param postIds ids of the posts, at most {@code batch.max-ids}
+	 * @return the found posts
+	 */
 	@Override
+	@Transactional(readOnly = true)
+	public BatchDTO<PostDTO> findPostsByIds(List<Integer> postIds) {
+		if (postIds == null || postIds.isEmpty()) {
+			throw new BadRequestException("At least one id is required");
+		}
+		if (postIds.size() > maxBatchIds) {
+			throw new BadRequestException(String.format("At most %d ids can be requested at once", maxBatchIds));
+		}
+		Map<Integer, PostDTO> found = postRepository.findAllWithAuthorsByIdIn(new HashSet<>(postIds)).stream()
+				.collect(Collectors.toMap(PostEntity::getId, this::toPostDTO));
+		return BatchDTO.inRequestOrder(postIds, found);
+	}
+
+	/**
+	 * Gets the time of the last post modification without loading the post.
+	 *
+	 * @param postId id of the post
+	 * @return modification time, or null if there is no such post or it was never modified
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Timestamp findPostModifiedAt(Integer postId) {
+		return postRepository.findModifiedAtById(postId).orElse(null);
+	}
+
+	@Override
+	@Transactional
 	public PostDTO saveFromUser(PostSaveFromUserDTO postDTO, UserPrincipal userPrincipal) {
 		PostEntity mappedEntity = getPostEntityFromPostDTO(postDTO);
 
@@ -68,7 +146,10 @@ public class PostServiceImpl implements PostService {
 						.getAuthority().equals("SAVE_OWN_PUBLICATION"))) {
 			mappedEntity.setStatus(PostStatus.PUBLISHED);
 			mappedEntity.setAuthor(userEntity);
-			return postMapper.toPostDTO(postRepository.save(mappedEntity));
+			PostDTO savedPost = postMapper.toPostDTO(postRepository.save(mappedEntity));
+			refreshAuthorFacets(userEntity.getId());
+			recordChange(mappedEntity.getId(), PostChangeType.PUBLISHED);
+			return savedPost;
 		}
 
 		if (!userEntity.getId().equals(postDTO.getAuthorId()) && userPrincipal.getAuthorities()
@@ -76,7 +157,10 @@ public class PostServiceImpl implements PostService {
 						grantedAuthority.getAuthority().equals("SAVE_PUBLICATION"))) {
 			mappedEntity.setStatus(PostStatus.PUBLISHED);
 			mappedEntity.setAuthor(userRepository.getOne(postDTO.getAuthorId()));
-			return postMapper.toPostDTO(postRepository.save(mappedEntity));
+			PostDTO savedPost = postMapper.toPostDTO(postRepository.save(mappedEntity));
+			refreshAuthorFacets(postDTO.getAuthorId());
+			recordChange(mappedEntity.getId(), PostChangeType.PUBLISHED);
+			return savedPost;
 		}
 
 		if (!userEntity.getId().equals(postDTO.getAuthorId()) || userPrincipal.getAuthorities().stream()
@@ -91,23 +175,100 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Page<PostDTO> findAllByDirectionsAndByPostTypesAndByOrigins(Set<Integer> directionIds, Set<Integer> typeIds,
 			Set<Integer> originIds, Pageable pageable) {
-		if (directionIds == null && typeIds == null && originIds == null) {
-			return postRepository.findAll(pageable)
-					.map(postMapper::toPostDTO);
+		PostListingKey key = PostListingKey.of("allPosts", pageable, directionIds, typeIds, originIds);
+		return findCachedPage(key, pageable, () -> {
+			if (directionIds == null && typeIds == null && originIds == null) {
+				return postRepository.findAll(pageable);
+			}
+			Set<Integer> directions = validateIdsValues(directionIds);
+			Set<Integer> types = validateIdsValues(typeIds);
+			Set<Integer> origins = validateIdsValues(originIds);
+			try {
+				return postRepository.findAllByDirectionsAndByPostTypesAndByOrigins(
+						types, origins, directions, pageable);
+			} catch (Exception e) {
+				logger.error(String.format(
+						"Fail with posts filter with params directionIds=%s, typeIds=%s, originIds=%s",
+						directionIds, typeIds, originIds));
+				throw new EntityNotFoundException("Id does not exist");
+			}
+		});
+	}
+
+	/**
+	 * Gets the page of the listing from the post listing cache, or runs the query and caches the ids of the
+	 * found posts. The posts are taken from the cache by their ids, and only the missing ones are loaded.
+	 *
+	 * <p>The posts mapped with a part of the fields are not cached, the page ids are cached either way.</p>
+	 *
+	 * @param key      normalized key of the listing page
+	 * @param pageable the requested page
+	 * @param query    runs the listing query
+	 * @return the page of the posts
+	 */
+	private Page<PostDTO> findCachedPage(PostListingKey key, Pageable pageable, Supplier<Page<PostEntity>> query) {
+		long epoch = postListingCache.getEpoch();
+		PostListingCache.PostIdPage cached = postListingCache.getPage(epoch, key);
+		if (cached != null) {
+			return new PageImpl<>(findCachedPosts(cached.getPostIds(), null, epoch), pageable, cached.getTotal());
 		}
-		Set<Integer> directions = validateIdsValues(directionIds);
-		Set<Integer> types = validateIdsValues(typeIds);
-		Set<Integer> origins = validateIdsValues(originIds);
-		try {
-			return postRepository.findAllByDirectionsAndByPostTypesAndByOrigins(types, origins, directions, pageable)
-					.map(postMapper::toPostDTO);
-		} catch (Exception e) {
-			logger.error(String.format("Fail with posts filter with params directionIds=%s, typeIds=%s, originIds=%s",
-					directionIds, typeIds, originIds));
-			throw new EntityNotFoundException("Id does not exist");
+		Page<PostEntity> page = query.get();
+		Page<PostDTO> posts = page.map(this::toPostDTO);
+		if (FieldSelectionHolder.get().isAll()) {
+			posts.forEach(post -> postListingCache.putPost(epoch, post));
 		}
+		postListingCache.putPage(epoch, key, new PostListingCache.PostIdPage(
+				page.map(PostEntity::getId).getContent(), page.getTotalElements()));
+		return posts;
+	}
+
+	/**
+	 * Gets the posts by ids from the post listing cache and loads the missing ones, keeping the order of the ids.
+	 *
+	 * @param postIds ids of the posts
+	 * @param status  status of the posts to load, any status if null
+	 * @param epoch   content epoch taken before the ids were found
+	 * @return the found posts
+	 */
+	private List<PostDTO> findCachedPosts(List<Integer> postIds, PostStatus status, long epoch) {
+		Map<Integer, PostDTO> found = new HashMap<>();
+		Set<Integer> missing = new HashSet<>();
+		for (Integer postId : postIds) {
+			PostDTO post = postListingCache.getPost(postId);
+			if (post != null) {
+				found.put(postId, post);
+			} else {
+				missing.add(postId);
+			}
+		}
+		if (!missing.isEmpty()) {
+			boolean allFields = FieldSelectionHolder.get().isAll();
+			for (PostEntity postEntity : postRepository.findAllWithAuthorsByIdIn(missing)) {
+				if (status != null && postEntity.getStatus() != status) {
+					continue;
+				}
+				PostDTO post = toPostDTO(postEntity);
+				found.put(postEntity.getId(), post);
+				if (allFields) {
+					postListingCache.putPost(epoch, post);
+				}
+			}
+		}
+		return postIds.stream()
+				.map(found::get)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Maps the post with the fields requested by the current request only.
+	 */
+	private PostDTO toPostDTO(PostEntity postEntity) {
+		FieldSelection fields = FieldSelectionHolder.get();
+		return fields.isAll() ? postMapper.toPostDTO(postEntity) : postMapper.toPostDTO(postEntity, fields);
 	}
 
 	private Set<Integer> validateIdsValues(Set<Integer> ids) {
@@ -115,46 +276,49 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Page<PostDTO> findAllByStatus(PostStatus postStatus, Pageable pageable) {
 		return postRepository.findAllByStatus(postStatus, pageable)
-				.map(postMapper::toPostDTO);
+				.map(this::toPostDTO);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Page<PostDTO> findImportantPosts(Pageable pageable) {
 		return postRepository.findAllByImportantIsTrueAndStatus(PostStatus.PUBLISHED, pageable)
-				.map(postMapper::toPostDTO);
+				.map(this::toPostDTO);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Page<PostDTO> findAllByDirection(
 			Integer directionId, Set<Integer> typeId, Set<Integer> tagId, PostStatus postStatus, Pageable pageable) {
 		DirectionEntity direction = DirectionEntity.builder()
 				.id(directionId)
 				.build();
-		if (typeId == null && tagId == null) {
-			return postRepository.findAllByDirectionsContainsAndStatus(direction, postStatus, pageable)
-					.map(postMapper::toPostDTO);
-		} else if (typeId == null) {
-			return postRepository.findAllByDirectionsContainsAndTagsIdInAndStatus(
-					direction, tagId, postStatus, pageable)
-					.map(postMapper::toPostDTO);
-		} else if (tagId == null) {
-			return postRepository.findAllByDirectionsContainsAndTypeIdInAndStatus(
-					direction, typeId, postStatus, pageable)
-					.map(postMapper::toPostDTO);
-		}
-		return postRepository.findAllByDirectionsContainsAndTypeIdInAndTagsIdInAndStatus(
-				direction, typeId, tagId, postStatus, pageable)
-				.map(postMapper::toPostDTO);
+		PostListingKey key = PostListingKey.of("byDirection", pageable, directionId, typeId, tagId, postStatus);
+		return findCachedPage(key, pageable, () -> {
+			if (typeId == null && tagId == null) {
+				return postRepository.findAllByDirectionsContainsAndStatus(direction, postStatus, pageable);
+			} else if (typeId == null) {
+				return postRepository.findAllByDirectionsContainsAndTagsIdInAndStatus(
+						direction, tagId, postStatus, pageable);
+			} else if (tagId == null) {
+				return postRepository.findAllByDirectionsContainsAndTypeIdInAndStatus(
+						direction, typeId, postStatus, pageable);
+			}
+			return postRepository.findAllByDirectionsContainsAndTypeIdInAndTagsIdInAndStatus(
+					direction, typeId, tagId, postStatus, pageable);
+		});
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Page<PostDTO> findPostsByAuthorIdAndDirections(
 			Pageable pageable, Integer authorId, Set<Integer> directions) {
 
 		return postRepository.findPostsByAuthorIdAndDirections(pageable, authorId, directions)
-				.map(postMapper::toPostDTO);
+				.map(this::toPostDTO);
 	}
 
 	@Override
@@ -190,6 +354,8 @@ public class PostServiceImpl implements PostService {
 			throw new ForbiddenPermissionsException();
 		}
 		directionRepository.updateDirectionsHasPostsStatus();
+		refreshAuthorFacets(authorId);
+		recordChange(postId, PostChangeType.ARCHIVED);
 		return true;
 	}
 
@@ -207,13 +373,16 @@ public class PostServiceImpl implements PostService {
 		if (userId.equals(authorId) && checkAuthority(userPrincipal, "UPDATE_OWN_POST")) {
 			mappedEntity.setStatus(PostStatus.PUBLISHED);
 			saveEntity(mappedEntity);
+			refreshAuthorFacets(authorId);
 		} else if (!userId.equals(authorId) && checkAuthority(userPrincipal, "UPDATE_POST")) {
 			mappedEntity.setStatus(PostStatus.PUBLISHED);
 			mappedEntity.setAuthor(userRepository.getOne(postDTO.getAuthorId()));
 			saveEntity(mappedEntity);
+			refreshAuthorFacets(authorId, postDTO.getAuthorId());
 		} else {
 			throw new ForbiddenPermissionsException();
 		}
+		recordChange(mappedEntity.getId(), PostChangeType.UPDATED);
 		return true;
 	}
 
@@ -222,52 +391,101 @@ public class PostServiceImpl implements PostService {
 		directionRepository.updateDirectionsHasPostsStatus();
 	}
 
+	/**
+	 * Recounts the directions and the post types of the author published posts in the author facets
+	 * summary, so the expert page reads them with a point lookup instead of scanning the posts. The authors are
+	 * locked first, so two transactions changing the posts of an author recount the summary one after another.
+	 * They are locked in the order of their ids, so two posts moved between the same authors the opposite ways
+	 * do not deadlock.
+	 *
+	 * @param authorIds ids of the authors whose posts were changed, the null ones are skipped
+	 */
+	private void refreshAuthorFacets(Integer... authorIds) {
+		Set<Integer> authors = Arrays.stream(authorIds)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toCollection(TreeSet::new));
+		authors.forEach(authorFacetRepository::lockAuthor);
+		for (Integer authorId : authors) {
+			authorFacetRepository.upsertDirectionFacets(authorId);
+			authorFacetRepository.upsertPostTypeFacets(authorId);
+			authorFacetRepository.deleteStaleFacets(authorId);
+		}
+	}
+
+	/**
+	 * Writes the post change to the change feed in the current transaction and announces it to the listeners,
+	 * such as the post stream, which receive it once the transaction is committed. The change gets its
+	 * position in the feed later, see {@link #assignChangePositions()}.
+	 *
+	 * @param postId id of the changed post
+	 * @param type   kind of the change
+	 */
+	private void recordChange(Integer postId, PostChangeType type) {
+		PostChangeEntity change = PostChangeEntity.builder()
+				.postId(postId)
+				.type(type)
+				.changedAt(Timestamp.valueOf(LocalDateTime.now()))
+				.build();
+		postChangeRepository.save(change);
+		eventPublisher.publishEvent(toPostChangeDTO(change));
+	}
+
+	private PostChangeDTO toPostChangeDTO(PostChangeEntity change) {
+		return PostChangeDTO.builder()
+				.sequence(change.getFeedPosition())
+				.postId(change.getPostId())
+				.type(change.getType())
+				.changedAt(change.getChangedAt())
+				.build();
+	}
+
 	private boolean checkAuthority(UserPrincipal userPrincipal, String authority) {
 		return userPrincipal.getAuthorities().stream().anyMatch(grantedAuthority ->
 				grantedAuthority.getAuthority().equals(authority));
 	}
 
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public Page<PostMainPageDTO> findLatestByPostTypesAndOrigins(Pageable pageable) {
 		PostMainPageDTO expertOptions = PostMainPageDTO.builder()
 				.fieldName("expertOpinion")
 				.postDTOS(postRepository.findLatestByPostTypeExpertOpinion(PageRequest.of(pageable.getPageNumber(), 4))
-						.map(postMapper::toPostDTO).toSet()).build();
+						.map(this::toPostDTO).toSet()).build();
 		PostMainPageDTO media = PostMainPageDTO.builder()
 				.fieldName("media")
 				.postDTOS(postRepository.findLatestByPostTypeMedia(PageRequest.of(pageable.getPageNumber(), 4))
-						.map(postMapper::toPostDTO).toSet()).build();
+						.map(this::toPostDTO).toSet()).build();
 		PostMainPageDTO translation = PostMainPageDTO.builder()
 				.fieldName("translation")
 				.postDTOS(postRepository.findLatestByPostTypeTranslation(PageRequest.of(pageable.getPageNumber(), 4))
-						.map(postMapper::toPostDTO).toSet()).build();
+						.map(this::toPostDTO).toSet()).build();
 		PostMainPageDTO video = PostMainPageDTO.builder()
 				.fieldName("video")
 				.postDTOS(postRepository.findLatestByOriginVideo(PageRequest.of(pageable.getPageNumber(), 4))
-						.map(postMapper::toPostDTO).toSet()).build();
+						.map(this::toPostDTO).toSet()).build();
 
 		return new PageImpl<>(List.of(expertOptions, media, translation, video));
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Page<PostDTO> findAllByExpertAndTypeAndDirections(Integer expertId, Set<Integer> typeId,
 			Set<Integer> directionId, Pageable pageable) {
-		if (typeId == null && directionId == null) {
-			return postRepository.findAllByAuthorIdAndStatus(expertId, PostStatus.PUBLISHED, pageable)
-					.map(postMapper::toPostDTO);
-		}
-		if (typeId == null) {
-			return postRepository.findPostsByAuthorIdAndDirections(pageable, expertId, directionId)
-					.map(postMapper::toPostDTO);
-		}
-		if (directionId == null) {
-			return postRepository
-					.findAllByAuthorIdAndTypeIdInAndStatus(expertId, typeId, PostStatus.PUBLISHED, pageable)
-					.map(postMapper::toPostDTO);
-		}
-		return postRepository.findAllByExpertAndByDirectionsAndByPostType(expertId, typeId, directionId, pageable)
-				.map(postMapper::toPostDTO);
+		PostListingKey key = PostListingKey.of("byExpert", pageable, expertId, typeId, directionId);
+		return findCachedPage(key, pageable, () -> {
+			if (typeId == null && directionId == null) {
+				return postRepository.findAllByAuthorIdAndStatus(expertId, PostStatus.PUBLISHED, pageable);
+			}
+			if (typeId == null) {
+				return postRepository.findPostsByAuthorIdAndDirections(pageable, expertId, directionId);
+			}
+			if (directionId == null) {
+				return postRepository
+						.findAllByAuthorIdAndTypeIdInAndStatus(expertId, typeId, PostStatus.PUBLISHED, pageable);
+			}
+			return postRepository.findAllByExpertAndByDirectionsAndByPostType(expertId, typeId, directionId,
+					pageable);
+		});
 	}
 
 	@Override
@@ -277,6 +495,7 @@ public class PostServiceImpl implements PostService {
 			return false;
 		}
 		postRepository.setPostsAsImportant(postIds);
+		postIds.forEach(postId -> recordChange(postId, PostChangeType.IMPORTANCE_CHANGED));
 		return true;
 	}
 
@@ -287,6 +506,7 @@ public class PostServiceImpl implements PostService {
 			return false;
 		}
 		postRepository.setPostsAsUnimportant(postIds);
+		postIds.forEach(postId -> recordChange(postId, PostChangeType.IMPORTANCE_CHANGED));
 		return true;
 	}
 
@@ -304,6 +524,120 @@ public class PostServiceImpl implements PostService {
 		return mappedEntity;
 	}
 
+	/**
+	 * Gets the post changes made after the one the consumer has seen, so it updates only the changed posts
+	 * instead of reloading the whole listings.
+	 *
+	 * <p>The cursor is the position of the change in the feed. Positions are given only to the changes of
+	 * the transactions that are over, in the order they are given, so a change read later never has a smaller
+	 * position and the consumer does not skip any. Without the cursor only the current cursor is returned,
+	 * the consumer loads the posts and continues from it. A cursor older than the kept changes can not be
+	 * continued and asks the consumer to load the posts again.</p>
+	 *
+	 * <p>The feed is read from the primary database, as the replicas taken in turn by the read-only
+	 * transactions lag behind it differently. A cursor newer than the latest change seen here is answered with
+	 * no changes and the same cursor, so a lag never makes the consumer reload everything.</p>
+	 *
+	 * @param since the cursor returned by the previous request, or null for the first one
+	 * @param limit maximum number of the changes, at most {@code post.changes.max-limit}
+	 * @return the changes and the cursor to continue from
+	 */
+	@Override
+	@Transactional
+	public PostChangesDTO findChanges(Long since, int limit) {
+		if (limit <= 0 || limit > maxChangesLimit) {
+			throw new BadRequestException(String.format("Limit must be between 1 and %d", maxChangesLimit));
+		}
+		if (since != null && since < 0) {
+			throw new BadRequestException("Cursor must not be negative");
+		}
+		if (since == null) {
+			return PostChangesDTO.builder()
+					.changes(List.of())
+					.cursor(postChangeRepository.findMaxPosition())
+					.build();
+		}
+		Long minPosition = postChangeRepository.findMinPosition();
+		if (minPosition != null && since < minPosition - 1) {
+			return PostChangesDTO.builder()
+					.changes(List.of())
+					.cursor(postChangeRepository.findMaxPosition())
+					.resyncRequired(true)
+					.build();
+		}
+		if (since >= postChangeRepository.findMaxPosition()) {
+			return PostChangesDTO.builder()
+					.changes(List.of())
+					.cursor(since)
+					.build();
+		}
+		List<PostChangeDTO> changes = postChangeRepository.findAllAfter(since, PageRequest.of(0, limit + 1))
+				.stream()
+				.map(this::toPostChangeDTO)
+				.collect(Collectors.toList());
+		boolean hasMore = changes.size() > limit;
+		if (hasMore) {
+			changes = changes.subList(0, limit);
+		}
+		return PostChangesDTO.builder()
+				.changes(changes)
+				.cursor(changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence())
+				.hasMore(hasMore)
+				.build();
+	}
+
+	/**
+	 * Gives the feed positions to the post changes of the finished transactions. Runs on every node, the node
+	 * that finds the positions locked by another one skips the run. A long transaction holds back the changes
+	 * written after it began until it is over.
+	 */
+	@Scheduled(fixedDelayString = "${post.changes.position-ms:500}")
+	@Transactional
+	public void assignChangePositions() {
+		if (postChangeRepository.tryLockPositions()) {
+			postChangeRepository.assignPositions(maxChangesLimit);
+		}
+	}
+
+	/**
+	 * Gets the latest published posts of several directions as one feed, a post in several of the directions
+	 * is taken once. The posts are merged from the in-memory {@link PostFeedIndex}, so the feed is only as
+	 * deep as {@code post.feed.capacity} posts of each direction.
+	 *
+	 * @param directionIds ids of the directions, at most {@code post.feed.max-directions}
+	 * @param typeIds      ids of the post types, all types if not set
+	 * @param pageable     the requested page, the posts are always sorted by the publication date
+	 * @return the slice of the posts, the latest first
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public SliceDTO<PostDTO> findFeed(Set<Integer> directionIds, Set<Integer> typeIds, Pageable pageable) {
+		if (directionIds == null || directionIds.isEmpty()) {
+			throw new BadRequestException("At least one direction is required");
+		}
+		if (directionIds.size() > maxFeedDirections) {
+			throw new BadRequestException(String.format("At most %d directions are allowed", maxFeedDirections));
+		}
+		long epoch = postListingCache.getEpoch();
+		PostFeedIndex.FeedPage page = postFeedIndex.findPage(
+				directionIds, typeIds, pageable.getOffset(), pageable.getPageSize());
+		// the index may not have the changes of the other nodes yet, so a post archived there is not loaded
+		List<PostDTO> posts = findCachedPosts(page.getPostIds(), PostStatus.PUBLISHED, epoch);
+		return SliceDTO.of(new SliceImpl<>(posts, pageable, page.hasNext()), null);
+	}
+
+	/**
+	 * Deletes the post changes older than {@code post.changes.retention-days} on one node of the cluster.
+	 * The latest change is kept, so the cursors are checked against it.
+	 */
+	@Scheduled(fixedDelayString = "${post.changes.purge-ms:3600000}")
+	@Transactional
+	public void purgeExpiredChanges() {
+		long retentionMs = TimeUnit.DAYS.toMillis(changesRetentionDays);
+		scheduledLockService.runExclusively("purgeExpiredChanges", () -> postChangeRepository
+				.deleteAllByChangedAtBefore(new Timestamp(System.currentTimeMillis() - retentionMs)));
+	}
+
 	@Override
 	public  Integer getPostViewCount(String url) {
 		return googleAnalytics.getPostViewCount(url);
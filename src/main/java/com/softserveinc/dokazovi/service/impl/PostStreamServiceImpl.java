@@ -0,0 +1,257 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import com.softserveinc.dokazovi.exception.TooManyRequestsException;
+import com.softserveinc.dokazovi.service.PostStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes the post changes to the subscribers of the post stream as server-sent events.
+ *
+ * <p>The connections are held by the servlet container in the async mode, so an idle subscriber takes no
+ * request thread. Each subscriber has a bounded queue of the events, and a small dispatcher pool writes the
+ * queued events to the subscribers one at a time. The subscriber whose queue is full is too slow to keep up
+ * and is disconnected, so it reconnects and reloads the latest posts instead of falling further behind.</p>
+ *
+ * <p>Writing an event blocks the dispatcher thread until the event is flushed, so a subscriber that stopped
+ * reading holds its thread until the container gives up on the socket. The heartbeat tick drops the subscriber
+ * whose write has taken longer than {@code post.stream.send-timeout-ms} and adds a dispatcher thread in place
+ * of the stuck one until the write returns, so the stalled connections do not hold up the others.</p>
+ *
+ * <p>The changes come from {@link PostChangeRelay}, which follows the change feed, so the subscribers of every
+ * node receive the changes made on all of them, in the order of the feed.</p>
+ */
+@Service
+public class PostStreamServiceImpl implements PostStreamService {
+
+	private static final Logger logger = LoggerFactory.getLogger(PostStreamServiceImpl.class);
+
+	private static final String EVENT_NAME = "post";
+	private static final PostChangeDTO HEARTBEAT = new PostChangeDTO();
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	@Value("${post.stream.timeout-ms:1800000}")
+	private long timeoutMs;
+
+	@Value("${post.stream.max-subscribers:1000}")
+	private int maxSubscribers;
+
+	@Value("${post.stream.subscriber-buffer:64}")
+	private int subscriberBuffer;
+
+	@Value("${post.stream.pool-size:4}")
+	private int poolSize;
+
+	@Value("${post.stream.send-timeout-ms:10000}")
+	private long sendTimeoutMs;
+
+	private ThreadPoolExecutor dispatcher;
+	private Semaphore slots;
+
+	@PostConstruct
+	public void init() {
+		dispatcher = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), new CustomizableThreadFactory("post-stream-"));
+		slots = new Semaphore(maxSubscribers);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		subscribers.forEach(this::close);
+		dispatcher.shutdown();
+	}
+
+	/**
+	 * Opens the stream of the post changes for a new subscriber.
+	 *
+	 * @return the emitter the changes are sent to
+	 * @throws TooManyRequestsException if there are already {@code post.stream.max-subscribers} subscribers
+	 */
+	@Override
+	public SseEmitter subscribe() {
+		if (!slots.tryAcquire()) {
+			throw new TooManyRequestsException("Too many subscribers of the post stream, please try again later");
+		}
+		SseEmitter emitter = createEmitter();
+		Subscriber subscriber = new Subscriber(emitter, subscriberBuffer);
+		emitter.onCompletion(() -> remove(subscriber));
+		emitter.onTimeout(() -> remove(subscriber));
+		emitter.onError(error -> remove(subscriber));
+		subscribers.add(subscriber);
+		return emitter;
+	}
+
+	@Override
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	/**
+	 * Queues the change for every subscriber.
+	 *
+	 * @param change the post change
+	 */
+	@Override
+	public void publish(PostChangeDTO change) {
+		subscribers.forEach(subscriber -> offer(subscriber, change));
+	}
+
+	/**
+	 * Disconnects every subscriber, so they reconnect and reload the latest posts.
+	 */
+	@Override
+	public void disconnectAll() {
+		subscribers.forEach(this::close);
+	}
+
+	/**
+	 * Drops the subscribers whose write is stuck and sends a comment to every other one, so the proxies keep
+	 * the idle connections open and the closed ones are found.
+	 */
+	@Scheduled(fixedDelayString = "${post.stream.heartbeat-ms:15000}")
+	public void sendHeartbeat() {
+		long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+		subscribers.forEach(subscriber -> dropIfStalled(subscriber, deadline));
+		subscribers.forEach(subscriber -> offer(subscriber, HEARTBEAT));
+	}
+
+	SseEmitter createEmitter() {
+		return new SseEmitter(timeoutMs);
+	}
+
+	private void dropIfStalled(Subscriber subscriber, long deadline) {
+		synchronized (subscriber) {
+			if (subscriber.sending && !subscriber.stalled && subscriber.sendStartedAt - deadline < 0) {
+				logger.debug("Dropping the post stream subscriber whose write is stuck for {} ms", sendTimeoutMs);
+				subscriber.stalled = true;
+				resizeDispatcher(1);
+			}
+		}
+		if (subscriber.stalled) {
+			close(subscriber);
+		}
+	}
+
+	private synchronized void resizeDispatcher(int delta) {
+		int size = dispatcher.getMaximumPoolSize() + delta;
+		if (delta > 0) {
+			dispatcher.setMaximumPoolSize(size);
+			dispatcher.setCorePoolSize(size);
+		} else {
+			dispatcher.setCorePoolSize(size);
+			dispatcher.setMaximumPoolSize(size);
+		}
+	}
+
+	private void offer(Subscriber subscriber, PostChangeDTO change) {
+		if (subscriber.queue.offer(change)) {
+			schedule(subscriber);
+		} else {
+			logger.debug("Dropping the post stream subscriber that fell {} events behind", subscriberBuffer);
+			close(subscriber);
+		}
+	}
+
+	private void remove(Subscriber subscriber) {
+		if (subscribers.remove(subscriber)) {
+			slots.release();
+		}
+	}
+
+	private void close(Subscriber subscriber) {
+		remove(subscriber);
+		subscriber.closed = true;
+		subscriber.queue.clear();
+		schedule(subscriber);
+	}
+
+	/**
+	 * Starts draining the subscriber queue unless it is already being drained, so the emitter is used by one
+	 * dispatcher thread at a time.
+	 */
+	private void schedule(Subscriber subscriber) {
+		if (!subscriber.draining.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			dispatcher.execute(() -> drain(subscriber));
+		} catch (RejectedExecutionException e) {
+			subscriber.draining.set(false);
+		}
+	}
+
+	private void drain(Subscriber subscriber) {
+		do {
+			PostChangeDTO change;
+			while (!subscriber.closed && (change = subscriber.queue.poll()) != null) {
+				send(subscriber, change);
+			}
+			if (subscriber.closed) {
+				subscriber.emitter.complete();
+				return;
+			}
+			subscriber.draining.set(false);
+		} while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+	}
+
+	private void send(Subscriber subscriber, PostChangeDTO change) {
+		SseEmitter.SseEventBuilder event = change == HEARTBEAT
+				? SseEmitter.event().comment("heartbeat")
+				: SseEmitter.event().name(EVENT_NAME).data(change, MediaType.APPLICATION_JSON);
+		synchronized (subscriber) {
+			subscriber.sendStartedAt = System.nanoTime();
+			subscriber.sending = true;
+		}
+		try {
+			subscriber.emitter.send(event);
+		} catch (IOException | IllegalStateException e) {
+			remove(subscriber);
+			subscriber.closed = true;
+		} finally {
+			synchronized (subscriber) {
+				subscriber.sending = false;
+				if (subscriber.stalled) {
+					resizeDispatcher(-1);
+				}
+			}
+		}
+	}
+
+	private static final class Subscriber {
+
+		private final SseEmitter emitter;
+		private final BlockingQueue<PostChangeDTO> queue;
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private volatile boolean closed;
+		private boolean sending;
+		private boolean stalled;
+		private long sendStartedAt;
+
+		private Subscriber(SseEmitter emitter, int capacity) {
+			this.emitter = emitter;
+			this.queue = new ArrayBlockingQueue<>(capacity);
+		}
+	}
+}
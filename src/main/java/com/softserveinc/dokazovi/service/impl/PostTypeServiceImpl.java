@@ -2,10 +2,12 @@ package com.softserveinc.dokazovi.service.impl;
 
 import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
 import com.softserveinc.dokazovi.mapper.PostTypeMapper;
+import com.softserveinc.dokazovi.repositories.AuthorFacetRepository;
 import com.softserveinc.dokazovi.repositories.PostTypeRepository;
 import com.softserveinc.dokazovi.service.PostTypeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,9 +17,11 @@ import java.util.stream.Collectors;
 public class PostTypeServiceImpl implements PostTypeService {
 
 	private final PostTypeRepository postTypeRepository;
+	private final AuthorFacetRepository authorFacetRepository;
 	private final PostTypeMapper postTypeMapper;
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<PostTypeDTO> findAll() {
 		return postTypeRepository.findAll()
 				.stream()
@@ -26,10 +30,11 @@ public class PostTypeServiceImpl implements PostTypeService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<PostTypeDTO> findAllPostTypesByUserId(Integer userId) {
-		return postTypeRepository.findAllPostTypesByUserId(userId)
+		return authorFacetRepository.findPostTypeFacetsByAuthorId(userId)
 				.stream()
-				.map(postTypeMapper::toPostTypeDTO)
+				.map(postTypeMapper::toAuthorPostTypeDTO)
 				.collect(Collectors.toList());
 	}
 }
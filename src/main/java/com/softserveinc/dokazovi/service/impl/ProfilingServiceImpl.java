@@ -0,0 +1,383 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.profiling.ProfilingHotSpotDTO;
+import com.softserveinc.dokazovi.dto.profiling.ProfilingRecordingDTO;
+import com.softserveinc.dokazovi.dto.profiling.ProfilingSummaryDTO;
+import com.softserveinc.dokazovi.exception.BadRequestException;
+import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
+import com.softserveinc.dokazovi.service.ProfilingService;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs Java Flight Recorder recordings of this node on demand.
+ *
+ * <p>One recording runs at a time, for at most {@code profiling.max-duration-seconds}, and is written to
+ * {@code profiling.directory} when it stops. Only the last {@code profiling.max-recordings} are kept, the
+ * older ones are closed and their files deleted. The summary reads the recording file back and counts the
+ * execution samples by the sampled method and the allocation samples by the allocating frame of the
+ * application or its libraries, skipping the JDK frames such as {@code Arrays.copyOf}. A recording evicted
+ * while it is downloaded or summarized is closed and deleted when the last reader releases it.</p>
+ */
+@Service
+public class ProfilingServiceImpl implements ProfilingService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProfilingServiceImpl.class);
+
+	private static final Set<String> SUPPORTED_SETTINGS = Set.of("default", "profile");
+	private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+	private static final String ALLOCATION_IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+	private static final String ALLOCATION_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+	private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+	private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final Map<Long, RecordingEntry> recordings = new LinkedHashMap<>();
+	private final Map<Long, RecordingEntry> evictedRecordings = new HashMap<>();
+
+	@Value("${profiling.directory:${java.io.tmpdir}/dokazovi-jfr}")
+	private String directory;
+
+	@Value("${profiling.max-duration-seconds:600}")
+	private int maxDurationSeconds;
+
+	@Value("${profiling.max-recordings:5}")
+	private int maxRecordings;
+
+	@PreDestroy
+	public synchronized void destroy() {
+		recordings.values().forEach(entry -> entry.recording.close());
+		recordings.clear();
+		evictedRecordings.values().forEach(entry -> entry.recording.close());
+		evictedRecordings.clear();
+	}
+
+	/**
+	 * Starts the recording that stops by itself after the given duration.
+	 *
+	 * @param settings        name of the JFR settings, "default" or "profile"
+	 * @param durationSeconds duration of the recording, at most {@code profiling.max-duration-seconds}
+	 * @return the started recording
+	 */
+	@Override
+	public synchronized ProfilingRecordingDTO startRecording(String settings, int durationSeconds) {
+		if (!SUPPORTED_SETTINGS.contains(settings)) {
+			throw new BadRequestException("Settings must be one of " + SUPPORTED_SETTINGS);
+		}
+		if (durationSeconds <= 0 || durationSeconds > maxDurationSeconds) {
+			throw new BadRequestException(String.format("Duration must be between 1 and %d seconds",
+					maxDurationSeconds));
+		}
+		if (recordings.values().stream().anyMatch(entry -> isActive(entry.recording))) {
+			throw new BadRequestException("Another recording is running, stop it first");
+		}
+
+		Recording recording;
+		try {
+			Path recordingDirectory = Files.createDirectories(Path.of(directory));
+			recording = new Recording(Configuration.getConfiguration(settings));
+			Path destination = recordingDirectory.resolve(String.format("dokazovi-%s-%d.jfr",
+					LocalDateTime.now().format(FILE_NAME_FORMAT), recording.getId()));
+			recording.setName(destination.getFileName().toString());
+			recording.setToDisk(true);
+			recording.setDestination(destination);
+			recording.setDuration(Duration.ofSeconds(durationSeconds));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (ParseException e) {
+			throw new IllegalStateException(e);
+		}
+		recording.start();
+		logger.info("Started profiling recording {} with {} settings for {} s", recording.getName(), settings,
+				durationSeconds);
+
+		recordings.put(recording.getId(), new RecordingEntry(recording, settings));
+		evictOldRecordings();
+		return toRecordingDTO(recordings.get(recording.getId()));
+	}
+
+	/**
+	 * Stops the recording before its duration is over and writes it to the file.
+	 *
+	 * @param recordingId id of the recording
+	 * @return the stopped recording
+	 */
+	@Override
+	public synchronized ProfilingRecordingDTO stopRecording(Long recordingId) {
+		RecordingEntry entry = getEntry(recordingId);
+		if (isActive(entry.recording)) {
+			entry.recording.stop();
+		}
+		return toRecordingDTO(entry);
+	}
+
+	@Override
+	public synchronized List<ProfilingRecordingDTO> findRecordings() {
+		return recordings.values().stream()
+				.map(this::toRecordingDTO)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Gets the file of the finished recording and keeps it from being deleted until it is released with
+	 * {@link #releaseRecordingFile(Long)}.
+	 *
+	 * @param recordingId id of the recording
+	 * @return path of the {@code .jfr} file
+	 */
+	@Override
+	public synchronized Path getRecordingFile(Long recordingId) {
+		RecordingEntry entry = getEntry(recordingId);
+		if (isActive(entry.recording)) {
+			throw new BadRequestException("The recording is still running");
+		}
+		Path destination = entry.recording.getDestination();
+		if (destination == null || !Files.exists(destination)) {
+			throw new ResourceNotFoundException("Recording file", "id", recordingId);
+		}
+		entry.readers++;
+		return destination;
+	}
+
+	/**
+	 * Releases the file got with {@link #getRecordingFile(Long)}, deleting it if the recording was evicted
+	 * while it was read.
+	 *
+	 * @param recordingId id of the recording
+	 */
+	@Override
+	public synchronized void releaseRecordingFile(Long recordingId) {
+		RecordingEntry entry = recordings.get(recordingId);
+		if (entry == null) {
+			entry = evictedRecordings.get(recordingId);
+		}
+		if (entry == null || entry.readers == 0) {
+			return;
+		}
+		entry.readers--;
+		if (entry.evicted && entry.readers == 0) {
+			evictedRecordings.remove(recordingId);
+			delete(entry.recording);
+		}
+	}
+
+	/**
+	 * Finds the methods where the most execution samples were taken and the frames that allocated the most
+	 * memory in the finished recording.
+	 *
+	 * @param recordingId id of the recording
+	 * @param top         number of the methods and the allocation sites to return
+	 * @return the summary of the recording
+	 */
+	@Override
+	public ProfilingSummaryDTO summarizeRecording(Long recordingId, int top) {
+		if (top <= 0) {
+			throw new BadRequestException("Top must be positive");
+		}
+		Path file = getRecordingFile(recordingId);
+		try {
+			return summarize(file, top);
+		} finally {
+			releaseRecordingFile(recordingId);
+		}
+	}
+
+	private ProfilingSummaryDTO summarize(Path file, int top) {
+		Map<String, HotSpot> hotMethods = new HashMap<>();
+		Map<String, HotSpot> allocationSites = new HashMap<>();
+		long executionSamples = 0;
+		long allocationSamples = 0;
+		try (RecordingFile recordingFile = new RecordingFile(file)) {
+			while (recordingFile.hasMoreEvents()) {
+				RecordedEvent event = recordingFile.readEvent();
+				String type = event.getEventType().getName();
+				if (EXECUTION_SAMPLE.equals(type)) {
+					executionSamples++;
+					RecordedFrame frame = topFrame(event.getStackTrace(), false);
+					if (frame != null) {
+						hotMethods.computeIfAbsent(toMethodName(frame), HotSpot::new).add(0);
+					}
+				} else if (ALLOCATION_IN_NEW_TLAB.equals(type) || ALLOCATION_OUTSIDE_TLAB.equals(type)) {
+					allocationSamples++;
+					RecordedFrame frame = topFrame(event.getStackTrace(), true);
+					if (frame != null) {
+						String site = toMethodName(frame) + ":" + frame.getLineNumber()
+								+ " " + event.getClass("objectClass").getName();
+						long bytes = event.hasField("tlabSize") ? event.getLong("tlabSize")
+								: event.getLong("allocationSize");
+						allocationSites.computeIfAbsent(site, HotSpot::new).add(bytes);
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return ProfilingSummaryDTO.builder()
+				.executionSampleCount(executionSamples)
+				.allocationSampleCount(allocationSamples)
+				.hotMethods(top(hotMethods, Comparator.comparingLong(HotSpot::getSamples), top))
+				.allocationSites(top(allocationSites, Comparator.comparingLong(HotSpot::getBytes), top))
+				.build();
+	}
+
+	private RecordingEntry getEntry(Long recordingId) {
+		RecordingEntry entry = recordings.get(recordingId);
+		if (entry == null) {
+			throw new ResourceNotFoundException("Recording", "id", recordingId);
+		}
+		return entry;
+	}
+
+	private void evictOldRecordings() {
+		while (recordings.size() > maxRecordings) {
+			Long oldestId = recordings.keySet().iterator().next();
+			RecordingEntry oldest = recordings.remove(oldestId);
+			// the file being read is deleted once the last reader releases it
+			oldest.evicted = true;
+			if (oldest.readers == 0) {
+				delete(oldest.recording);
+			} else {
+				evictedRecordings.put(oldestId, oldest);
+			}
+		}
+	}
+
+	private void delete(Recording recording) {
+		Path destination = recording.getDestination();
+		recording.close();
+		try {
+			if (destination != null) {
+				Files.deleteIfExists(destination);
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to delete the profiling recording {}", destination, e);
+		}
+	}
+
+	private boolean isActive(Recording recording) {
+		RecordingState state = recording.getState();
+		return state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+	}
+
+	private ProfilingRecordingDTO toRecordingDTO(RecordingEntry entry) {
+		Recording recording = entry.recording;
+		Path destination = recording.getDestination();
+		Long fileSize = null;
+		if (!isActive(recording) && destination != null && Files.exists(destination)) {
+			try {
+				fileSize = Files.size(destination);
+			} catch (IOException e) {
+				logger.warn("Failed to read the size of the profiling recording {}", destination, e);
+			}
+		}
+		return ProfilingRecordingDTO.builder()
+				.id(recording.getId())
+				.name(recording.getName())
+				.settings(entry.settings)
+				.state(recording.getState().name())
+				.startedAt(recording.getStartTime() == null ? null : Timestamp.from(recording.getStartTime()))
+				.durationSeconds(recording.getDuration() == null ? null : recording.getDuration().getSeconds())
+				.fileSize(fileSize)
+				.build();
+	}
+
+	/**
+	 * Gets the frame the sample is attributed to: the top one, or for an allocation the top one outside of the
+	 * JDK, so the site is the code that asked for the memory rather than the collection that grew.
+	 */
+	private static RecordedFrame topFrame(RecordedStackTrace stackTrace, boolean skipJdkFrames) {
+		if (stackTrace == null) {
+			return null;
+		}
+		List<RecordedFrame> frames = stackTrace.getFrames();
+		for (RecordedFrame frame : frames) {
+			if (frame.isJavaFrame() && (!skipJdkFrames || !isJdkType(frame.getMethod().getType().getName()))) {
+				return frame;
+			}
+		}
+		return frames.isEmpty() ? null : frames.get(0);
+	}
+
+	private static boolean isJdkType(String typeName) {
+		return JDK_PACKAGES.stream().anyMatch(typeName::startsWith);
+	}
+
+	private static String toMethodName(RecordedFrame frame) {
+		return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+	}
+
+	private static List<ProfilingHotSpotDTO> top(Map<String, HotSpot> hotSpots, Comparator<HotSpot> order, int top) {
+		return hotSpots.values().stream()
+				.sorted(order.reversed())
+				.limit(top)
+				.map(hotSpot -> ProfilingHotSpotDTO.builder()
+						.location(hotSpot.location)
+						.samples(hotSpot.samples)
+						.bytes(hotSpot.bytes)
+						.build())
+				.collect(Collectors.toList());
+	}
+
+	private static final class RecordingEntry {
+
+		private final Recording recording;
+		private final String settings;
+		private int readers;
+		private boolean evicted;
+
+		private RecordingEntry(Recording recording, String settings) {
+			this.recording = recording;
+			this.settings = settings;
+		}
+	}
+
+	private static final class HotSpot {
+
+		private final String location;
+		private long samples;
+		private long bytes;
+
+		private HotSpot(String location) {
+			this.location = location;
+		}
+
+		private void add(long allocatedBytes) {
+			samples++;
+			bytes += allocatedBytes;
+		}
+
+		private long getSamples() {
+			return samples;
+		}
+
+		private long getBytes() {
+			return bytes;
+		}
+	}
+}
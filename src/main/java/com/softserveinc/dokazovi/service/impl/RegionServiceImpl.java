@@ -4,11 +4,12 @@ import com.softserveinc.dokazovi.dto.region.RegionDTO;
 import com.softserveinc.dokazovi.mapper.RegionMapper;
 import com.softserveinc.dokazovi.repositories.RegionRepository;
 import com.softserveinc.dokazovi.service.RegionService;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +25,7 @@ public class RegionServiceImpl implements RegionService {
 
 	private final RegionRepository regionRepository;
 	private final RegionMapper regionMapper;
+	private final ScheduledLockService scheduledLockService;
 
 	/**
 	 * Gets all regions.
@@ -31,6 +33,7 @@ public class RegionServiceImpl implements RegionService {
 	 * @return all found regions
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<RegionDTO> findAllRegions() {
 		return regionRepository.findAll().stream()
 				.map(regionMapper::toRegionDTO)
@@ -39,12 +42,12 @@ public class RegionServiceImpl implements RegionService {
 
 	/**
 	 * Updates the region status depending on the availability of doctors in it.
-	 * Runs every four hours
+	 * Runs every four hours on one node of the cluster.
 	 */
 	@Override
 	@Transactional
 	@Scheduled(cron = "0 0 */4 * * *")
 	public void updateRegionsStatus() {
-		regionRepository.updateRegionsStatus();
+		scheduledLockService.runExclusively("updateRegionsStatus", regionRepository::updateRegionsStatus);
 	}
 }
@@ -0,0 +1,142 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.scheduling.ScheduledJobStatusDTO;
+import com.softserveinc.dokazovi.entity.ScheduledLockEntity;
+import com.softserveinc.dokazovi.repositories.ScheduledLockRepository;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * The ScheduledLockServiceImpl runs a scheduled job on one node of the cluster at a time.
+ *
+ * <p>Before the run the node takes the lease of the job in the scheduled locks table, the nodes that find it
+ * taken skip the run. The lease is given back after the run with its duration and the number of the updated
+ * rows, or the error. When the job runs in a transaction, the outcome is recorded once the transaction
+ * completes, so a run rolled back on commit is not recorded as a success. A node that dies during the run
+ * holds the lease until {@code scheduling.lock.lease-ms} passes, so the lease must be longer than the longest
+ * run of a job.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduledLockServiceImpl implements ScheduledLockService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ScheduledLockServiceImpl.class);
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	private final ScheduledLockRepository scheduledLockRepository;
+
+	@Value("${scheduling.lock.node-id:}")
+	private String nodeId;
+
+	@Value("${scheduling.lock.lease-ms:600000}")
+	private long leaseMs;
+
+	@Value("${scheduling.lock.min-hold-ms:60000}")
+	private long minHoldMs;
+
+	@PostConstruct
+	public void init() {
+		if (nodeId == null || nodeId.isBlank()) {
+			nodeId = ManagementFactory.getRuntimeMXBean().getName();
+		}
+	}
+
+	/**
+	 * Runs the job if no other node runs it. The job runs in the transaction of the caller, the lease is taken
+	 * and given back in transactions of their own, the latter after the transaction of the caller completes.
+	 *
+	 * @param jobName name of the job, the same on every node
+	 * @param job     the job, returns the number of the rows it updated
+	 * @return true if the job was run on this node, false if it was skipped
+	 */
+	@Override
+	public boolean runExclusively(String jobName, IntSupplier job) {
+		if (scheduledLockRepository.tryAcquire(jobName, nodeId, leaseMs) == 0) {
+			logger.debug("Skipped {}, it is run by another node", jobName);
+			return false;
+		}
+		long startedAt = System.nanoTime();
+		int rowCount;
+		try {
+			rowCount = job.getAsInt();
+		} catch (RuntimeException e) {
+			scheduledLockRepository.releaseAfterFailure(jobName, nodeId, minHoldMs, elapsedMs(startedAt),
+					truncate(e.toString()));
+			throw e;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			releaseAfterSuccess(jobName, startedAt, rowCount);
+			return true;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status == TransactionSynchronization.STATUS_COMMITTED) {
+					releaseAfterSuccess(jobName, startedAt, rowCount);
+				} else {
+					scheduledLockRepository.releaseAfterFailure(jobName, nodeId, minHoldMs, elapsedMs(startedAt),
+							"Transaction rolled back");
+				}
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * Gets the leases of the jobs and the outcomes of their last runs.
+	 *
+	 * @return the statuses of the jobs run at least once, by the job name
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<ScheduledJobStatusDTO> findJobStatuses() {
+		return scheduledLockRepository.findAll(Sort.by("jobName")).stream()
+				.map(this::toScheduledJobStatusDTO)
+				.collect(Collectors.toList());
+	}
+
+	private void releaseAfterSuccess(String jobName, long startedAt, int rowCount) {
+		long durationMs = elapsedMs(startedAt);
+		scheduledLockRepository.releaseAfterSuccess(jobName, nodeId, minHoldMs, durationMs, rowCount);
+		logger.info("Ran {} in {} ms, {} rows updated", jobName, durationMs, rowCount);
+	}
+
+	private ScheduledJobStatusDTO toScheduledJobStatusDTO(ScheduledLockEntity lock) {
+		boolean running = lock.getLastFinishedAt() == null || lock.getLastFinishedAt().before(lock.getLockedAt());
+		return ScheduledJobStatusDTO.builder()
+				.jobName(lock.getJobName())
+				.running(running && lock.getLockedUntil().getTime() > System.currentTimeMillis())
+				.lockedBy(lock.getLockedBy())
+				.lockedAt(lock.getLockedAt())
+				.lockedUntil(lock.getLockedUntil())
+				.lastFinishedAt(lock.getLastFinishedAt())
+				.lastDurationMs(lock.getLastDurationMs())
+				.lastRowCount(lock.getLastRowCount())
+				.lastError(lock.getLastError())
+				.build();
+	}
+
+	private static long elapsedMs(long startedAt) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+	}
+
+	private static String truncate(String error) {
+		return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+	}
+}
@@ -5,10 +5,11 @@ import com.softserveinc.dokazovi.dto.tag.TagSaveDTO;
 import com.softserveinc.dokazovi.entity.TagEntity;
 import com.softserveinc.dokazovi.mapper.TagMapper;
 import com.softserveinc.dokazovi.repositories.TagRepository;
+import com.softserveinc.dokazovi.service.CacheInvalidationService;
 import com.softserveinc.dokazovi.service.TagService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -19,13 +20,16 @@ public class TagServiceImpl implements TagService {
 
 	private final TagRepository tagRepository;
 	private final TagMapper tagMapper;
+	private final CacheInvalidationService cacheInvalidationService;
 
-	@CacheEvict(value = "tags", allEntries = true)
+	@Transactional
 	public TagDTO save(TagSaveDTO tagSaveDTO) {
 		TagEntity tagEntity = tagRepository.save(tagMapper.toTagEntity(tagSaveDTO));
+		cacheInvalidationService.evictAll(TagRepository.TAGS_CACHE);
 		return tagMapper.toTagDTO(tagEntity);
 	}
 
+	@Transactional(readOnly = true)
 	public List<TagDTO> findTagsByValue(String value, Integer limit) {
 		String filter = value.toLowerCase();
 		return tagRepository.findAll()
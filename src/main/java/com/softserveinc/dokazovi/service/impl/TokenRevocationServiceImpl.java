@@ -0,0 +1,107 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.config.AppProperties;
+import com.softserveinc.dokazovi.entity.RevokedTokenEntity;
+import com.softserveinc.dokazovi.entity.UserTokenRevocationEntity;
+import com.softserveinc.dokazovi.exception.BadRequestException;
+import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
+import com.softserveinc.dokazovi.repositories.RevokedTokenRepository;
+import com.softserveinc.dokazovi.repositories.UserRepository;
+import com.softserveinc.dokazovi.repositories.UserTokenRevocationRepository;
+import com.softserveinc.dokazovi.security.TokenDenylist;
+import com.softserveinc.dokazovi.security.TokenProvider;
+import com.softserveinc.dokazovi.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+
+/**
+ * The TokenRevocationServiceImpl is responsible for revoking access tokens before they expire.
+ *
+ * <p>The token id is stored in the revoked tokens table, from which the other nodes pick it up on their
+ * next sync, and is added to the denylist of this node at once. All the tokens of a user are revoked the
+ * same way by the time they must be issued after.</p>
+ */
+
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+	private static final int MAX_TOKEN_ID_LENGTH = 36;
+
+	private final RevokedTokenRepository revokedTokenRepository;
+	private final UserTokenRevocationRepository userTokenRevocationRepository;
+	private final UserRepository userRepository;
+	private final TokenProvider tokenProvider;
+	private final TokenDenylist tokenDenylist;
+	private final AppProperties appProperties;
+
+	/**
+	 * Revokes the token the user has logged in with.
+	 *
+	 * <p>The revocation is kept until the token expires. The tokens issued without an id can not be revoked.</p>
+	 *
+	 * @param token the access token
+	 */
+	@Override
+	public void revokeToken(String token) {
+		Claims claims;
+		try {
+			claims = tokenProvider.getClaimsFromToken(token);
+		} catch (JwtException | IllegalArgumentException e) {
+			throw new BadRequestException("Invalid access token", e);
+		}
+		if (claims.getId() == null) {
+			throw new BadRequestException("The access token has no id and can not be revoked");
+		}
+		revoke(claims.getId(), Integer.valueOf(claims.getSubject()), new Timestamp(claims.getExpiration().getTime()));
+	}
+
+	/**
+	 * Revokes the token with the given id. As the token itself is unknown, the revocation is kept
+	 * for the whole lifetime of a token.
+	 *
+	 * @param tokenId id ({@code jti}) of the token
+	 */
+	@Override
+	public void revokeTokenId(String tokenId) {
+		if (tokenId.length() > MAX_TOKEN_ID_LENGTH) {
+			throw new BadRequestException("Invalid token id");
+		}
+		long now = System.currentTimeMillis();
+		revoke(tokenId, null, new Timestamp(now + appProperties.getAuth().getTokenExpirationMsec()));
+	}
+
+	/**
+	 * Revokes all the tokens issued to the user until now, for example of a compromised account. The tokens
+	 * issued by the next login are accepted. The revocation is kept for the whole lifetime of a token.
+	 *
+	 * @param userId id of the user
+	 */
+	@Override
+	public void revokeUserTokens(Integer userId) {
+		if (!userRepository.existsById(userId)) {
+			throw new ResourceNotFoundException("User", "id", userId);
+		}
+		long now = System.currentTimeMillis();
+		userTokenRevocationRepository.save(UserTokenRevocationEntity.builder()
+				.userId(userId)
+				.revokedBefore(new Timestamp(now))
+				.expiresAt(new Timestamp(now + appProperties.getAuth().getTokenExpirationMsec()))
+				.build());
+		tokenDenylist.addUser(userId, now);
+	}
+
+	private void revoke(String tokenId, Integer userId, Timestamp expiresAt) {
+		revokedTokenRepository.save(RevokedTokenEntity.builder()
+				.tokenId(tokenId)
+				.userId(userId)
+				.revokedAt(new Timestamp(System.currentTimeMillis()))
+				.expiresAt(expiresAt)
+				.build());
+		tokenDenylist.add(tokenId);
+	}
+}
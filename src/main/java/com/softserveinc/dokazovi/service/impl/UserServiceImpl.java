@@ -1,25 +1,50 @@
 package com.softserveinc.dokazovi.service.impl;
 
+import com.softserveinc.dokazovi.dto.batch.BatchDTO;
+import com.softserveinc.dokazovi.dto.slice.SliceDTO;
+import com.softserveinc.dokazovi.dto.user.NearbyExpertDTO;
 import com.softserveinc.dokazovi.dto.user.UserDTO;
+import com.softserveinc.dokazovi.entity.CityEntity;
+import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.entity.DoctorEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.VerificationToken;
 import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.mapper.UserMapper;
+import com.softserveinc.dokazovi.pojo.FieldSelection;
 import com.softserveinc.dokazovi.pojo.UserSearchCriteria;
+import com.softserveinc.dokazovi.repositories.DoctorRepository;
+import com.softserveinc.dokazovi.repositories.ExpertRankingRepository;
 import com.softserveinc.dokazovi.repositories.UserRepository;
 import com.softserveinc.dokazovi.repositories.VerificationTokenRepository;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
 import com.softserveinc.dokazovi.service.UserService;
+import com.softserveinc.dokazovi.util.FieldSelectionHolder;
+import com.softserveinc.dokazovi.util.GeoIndex;
+import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
-import javax.transaction.Transactional;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * The UserServiceImpl is responsible for doing any required logic
@@ -35,10 +60,27 @@ public class UserServiceImpl implements UserService {
 	private final UserMapper userMapper;
 	private final VerificationTokenRepository tokenRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final DoctorRepository doctorRepository;
+	private final ExpertRankingRepository expertRankingRepository;
+	private final ScheduledLockService scheduledLockService;
+
+	@Value("${batch.max-ids:100}")
+	private int maxBatchIds;
+
+	@Value("${experts.nearest.max-limit:50}")
+	private int maxNearestExperts;
+
+	@Value("${experts.approximate-total.max-filters:1000}")
+	private int maxExpertCountFilters;
 
 	private static final String HAS_NO_DIRECTIONS = "hasNoDirections";
 	private static final String HAS_NO_REGIONS = "hasNoRegions";
 	private static final String HAS_NO_USERNAME = "hasNoUserName";
+	private static final double MAX_LATITUDE = 90;
+	private static final double MAX_LONGITUDE = 180;
+
+	private volatile GeoIndex<ExpertLocation> expertLocations = GeoIndex.empty();
+	private final Map<ExpertFilter, Long> expertCounts = new ConcurrentHashMap<>();
 
 	/**
 	 * Gets user by email.
@@ -58,6 +100,7 @@ public class UserServiceImpl implements UserService {
 	 * @return all found users
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public Page<UserEntity> findAll(Pageable pageable) {
 		return userRepository.findAll(pageable);
 	}
@@ -69,61 +112,284 @@ public class UserServiceImpl implements UserService {
 	 * @return found  doctor by id from user repository
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public UserDTO findExpertById(Integer userId) {
-		return userMapper.toUserDTO(userRepository.findById(userId).orElse(null));
+		return toUserDTO(userRepository.findById(userId).orElse(null));
+	}
+
+	/**
+	 * Gets the experts by ids with a single query. The result keeps the order of the requested ids
+	 * and marks the ids that were not found.
+	 *
+	 * @param userIds received from User controller, at most {@code batch.max-ids}
+	 * @return the found experts
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public BatchDTO<UserDTO> findExpertsByIds(List<Integer> userIds) {
+		if (userIds == null || userIds.isEmpty()) {
+			throw new BadRequestException("At least one id is required");
+		}
+		if (userIds.size() > maxBatchIds) {
+			throw new BadRequestException(String.format("At most %d ids can be requested at once", maxBatchIds));
+		}
+		Map<Integer, UserDTO> found = userRepository.findAllWithProfilesByIdIn(new HashSet<>(userIds)).stream()
+				.collect(Collectors.toMap(UserEntity::getId, this::toUserDTO));
+		return BatchDTO.inRequestOrder(userIds, found);
 	}
 
 	/**
 	 * Gets doctors by search criteria.
 	 * For example, if directions, regions and user name fields
-	 * are empty, the findDoctorsProfiles method without parameters is called
+	 * are empty, the page is read from the expert ranking, which cannot be sorted otherwise
 	 *
 	 * @param userSearchCriteria received from User controller
 	 * @param pageable received from User controller
 	 * @return found doctor by criteria
 	 */
 	@Override
-	@Transactional
+	@Transactional(readOnly = true)
 	public Page<UserDTO> findAllExperts(UserSearchCriteria userSearchCriteria, Pageable pageable) {
 
 		if (validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_REGIONS, HAS_NO_USERNAME)) {
-			return userRepository.findDoctorsProfiles(pageable).map(userMapper::toUserDTO);
+			List<UserEntity> experts = findRankedExperts(pageable, pageable.getPageSize());
+			return new PageImpl<>(experts, pageable, expertRankingRepository.countRanked()).map(this::toUserDTO);
 		}
 
 		List<String> userName = userSearchCriteria.getUserNameList();
 
 		if ((validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_REGIONS)) && userName.size() == 1) {
 			final String name = userName.get(0);
-			return userRepository.findDoctorsByName(name, pageable).map(userMapper::toUserDTO);
+			return userRepository.findDoctorsByName(name, pageable).map(this::toUserDTO);
 		}
 
 		if ((validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_REGIONS)) && userName.size() == 2) {
 			final String firstName = userName.get(0);
 			final String lastName = userName.get(1);
-			return userRepository.findDoctorsByName(firstName, lastName, pageable).map(userMapper::toUserDTO);
+			return userRepository.findDoctorsByName(firstName, lastName, pageable).map(this::toUserDTO);
 		}
 
 		if ((validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_USERNAME))) {
 			return userRepository.findDoctorsProfilesByRegionsIds(
 					userSearchCriteria.getRegions(), pageable)
-					.map(userMapper::toUserDTO);
+					.map(this::toUserDTO);
 		}
 
 		if ((validateParameters(userSearchCriteria, HAS_NO_REGIONS, HAS_NO_USERNAME))) {
 			return userRepository.findDoctorsProfilesByDirectionsIds(
 					userSearchCriteria.getDirections(), pageable)
-					.map(userMapper::toUserDTO);
+					.map(this::toUserDTO);
 		}
 
 		if ((validateParameters(userSearchCriteria, HAS_NO_USERNAME))) {
 			return userRepository
 					.findDoctorsProfiles(userSearchCriteria.getDirections(), userSearchCriteria.getRegions(), pageable)
-					.map(userMapper::toUserDTO);
+					.map(this::toUserDTO);
 		}
 
 		throw new EntityNotFoundException("Wrong search parameters");
 	}
 
+	/**
+	 * Gets the slice of experts depending on the parameters coming through the request,
+	 * in the same order as {@link #findAllExperts(UserSearchCriteria, Pageable)}.
+	 * Fetches one expert more than the page size to find out whether there is a next page,
+	 * instead of counting all the found experts.
+	 *
+	 * @param userSearchCriteria received from User controller
+	 * @param pageable           received from User controller
+	 * @param approximateTotal   whether to add the cached number of the found experts.
+	 *                           Searches by name have no approximate total
+	 * @return the slice of found experts
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public SliceDTO<UserDTO> findAllExpertsSlice(UserSearchCriteria userSearchCriteria, Pageable pageable,
+			boolean approximateTotal) {
+
+		if (validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_REGIONS, HAS_NO_USERNAME)) {
+			List<UserEntity> experts = findRankedExperts(pageable, pageable.getPageSize() + 1);
+			boolean hasNext = experts.size() > pageable.getPageSize();
+			Slice<UserEntity> slice = new SliceImpl<>(
+					hasNext ? experts.subList(0, pageable.getPageSize()) : experts, pageable, hasNext);
+			return SliceDTO.of(slice.map(this::toUserDTO),
+					approximateTotal ? expertRankingRepository.countRanked().longValue() : null);
+		}
+
+		List<String> userName = userSearchCriteria.getUserNameList();
+
+		if ((validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_REGIONS)) && userName.size() == 1) {
+			return SliceDTO.of(userRepository.findDoctorsSliceByName(userName.get(0), pageable)
+					.map(this::toUserDTO), null);
+		}
+
+		if ((validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_REGIONS)) && userName.size() == 2) {
+			return SliceDTO.of(userRepository.findDoctorsSliceByName(userName.get(0), userName.get(1), pageable)
+					.map(this::toUserDTO), null);
+		}
+
+		Set<Integer> directions = userSearchCriteria.getDirections();
+		Set<Integer> regions = userSearchCriteria.getRegions();
+
+		if ((validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_USERNAME))) {
+			return SliceDTO.of(userRepository.findDoctorsProfilesSliceByRegionsIds(regions, pageable)
+					.map(this::toUserDTO),
+					approximateTotal ? countExperts(new ExpertFilter(null, regions)) : null);
+		}
+
+		if ((validateParameters(userSearchCriteria, HAS_NO_REGIONS, HAS_NO_USERNAME))) {
+			return SliceDTO.of(userRepository.findDoctorsProfilesSliceByDirectionsIds(directions, pageable)
+					.map(this::toUserDTO),
+					approximateTotal ? countExperts(new ExpertFilter(directions, null)) : null);
+		}
+
+		if ((validateParameters(userSearchCriteria, HAS_NO_USERNAME))) {
+			return SliceDTO.of(userRepository.findDoctorsProfilesSlice(directions, regions, pageable)
+					.map(this::toUserDTO),
+					approximateTotal ? countExperts(new ExpertFilter(directions, regions)) : null);
+		}
+
+		throw new EntityNotFoundException("Wrong search parameters");
+	}
+
+	/**
+	 * Counts the experts of every remembered filter anew, so the requests keep reading the approximate totals
+	 * from memory.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	@Scheduled(fixedDelayString = "${experts.approximate-total.refresh-ms:300000}")
+	public void refreshApproximateExpertCounts() {
+		expertCounts.replaceAll((filter, count) -> filter.count(userRepository));
+	}
+
+	/**
+	 * Gets the number of the experts matching the filter, counted on the first request and then by the
+	 * scheduled refresh. The filters are kept as sorted ids, so the same ids in another order share the count.
+	 * At most {@code experts.approximate-total.max-filters} filters of at most {@code batch.max-ids} ids are
+	 * kept, the others are counted on every request.
+	 */
+	private long countExperts(ExpertFilter filter) {
+		Long count = expertCounts.get(filter);
+		if (count != null) {
+			return count;
+		}
+		long counted = filter.count(userRepository);
+		if (filter.size() <= maxBatchIds && expertCounts.size() < maxExpertCountFilters) {
+			expertCounts.putIfAbsent(filter, counted);
+		}
+		return counted;
+	}
+
+	/**
+	 * Renumbers the expert ranking that gives the default order of the expert directory, so it reflects
+	 * the current promotion levels, ratings and names. Readers see the previous ranking until the commit.
+	 */
+	@Override
+	@Transactional
+	public void refreshExpertRanking() {
+		rebuildExpertRanking();
+	}
+
+	/**
+	 * Renumbers the expert ranking on one node of the cluster.
+	 */
+	@Override
+	@Transactional
+	@Scheduled(fixedDelayString = "${experts.ranking.refresh-ms:300000}")
+	public void refreshExpertRankingOnSchedule() {
+		scheduledLockService.runExclusively("refreshExpertRanking", this::rebuildExpertRanking);
+	}
+
+	/**
+	 * Gets the experts nearest to the point, optionally with at least one of the directions.
+	 *
+	 * <p>The location of an expert is the city of the main institution. The search runs over the in-memory
+	 * index of the expert locations, only the found experts are read from the database.</p>
+	 *
+	 * @param latitude      latitude of the point, in degrees
+	 * @param longitude     longitude of the point, in degrees
+	 * @param radiusKm      maximum distance to the expert, in kilometers
+	 * @param directionsIds directions of the experts, any expert if empty
+	 * @param limit         maximum number of the experts, at most {@code experts.nearest.max-limit}
+	 * @return found experts from the nearest to the farthest
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<NearbyExpertDTO> findExpertsNear(double latitude, double longitude, double radiusKm,
+			Set<Integer> directionsIds, int limit) {
+		if (Math.abs(latitude) > MAX_LATITUDE || Math.abs(longitude) > MAX_LONGITUDE) {
+			throw new BadRequestException("Latitude must be within ±90 and longitude within ±180 degrees");
+		}
+		if (radiusKm <= 0) {
+			throw new BadRequestException("Radius must be positive");
+		}
+		if (limit < 1 || limit > maxNearestExperts) {
+			throw new BadRequestException(String.format("Limit must be between 1 and %d", maxNearestExperts));
+		}
+		Predicate<ExpertLocation> filter = CollectionUtils.isEmpty(directionsIds)
+				? location -> true
+				: location -> !Collections.disjoint(location.directionsIds, directionsIds);
+		List<GeoIndex.Neighbour<ExpertLocation>> neighbours =
+				expertLocations.nearest(latitude, longitude, limit, radiusKm, filter);
+		if (neighbours.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		Map<Integer, UserDTO> experts = userRepository.findAllWithProfilesByIdIn(neighbours.stream()
+				.map(neighbour -> neighbour.getItem().userId)
+				.collect(Collectors.toSet())).stream()
+				.collect(Collectors.toMap(UserEntity::getId, this::toUserDTO));
+		return neighbours.stream()
+				.filter(neighbour -> experts.containsKey(neighbour.getItem().userId))
+				.map(neighbour -> NearbyExpertDTO.builder()
+						.expert(experts.get(neighbour.getItem().userId))
+						.distanceKm(neighbour.getDistanceKm())
+						.build())
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Rebuilds the index of the expert locations from the cities of their main institutions.
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${experts.geo-index.refresh-ms:300000}")
+	public void refreshExpertLocations() {
+		List<ExpertLocation> locations = doctorRepository.findAllWithCityCoordinates().stream()
+				.map(ExpertLocation::new)
+				.collect(Collectors.toList());
+		expertLocations = GeoIndex.of(locations, location -> location.latitude, location -> location.longitude);
+	}
+
+	/**
+	 * Replaces the ranking under the table lock, so a refresh started meanwhile waits for the commit
+	 * instead of inserting the same positions.
+	 */
+	private int rebuildExpertRanking() {
+		expertRankingRepository.lockRanking();
+		expertRankingRepository.deleteAllInBatch();
+		return expertRankingRepository.insertRanking();
+	}
+
+	/**
+	 * Reads the page from the expert ranking, which has the only order of its own.
+	 */
+	private List<UserEntity> findRankedExperts(Pageable pageable, int count) {
+		if (pageable.getSort().isSorted()) {
+			throw new BadRequestException("Experts are ordered by the ranking unless filtered, sort is not supported");
+		}
+		long firstPosition = pageable.getOffset() + 1;
+		return userRepository.findDoctorsProfilesByRankingPositions(firstPosition, firstPosition + count - 1);
+	}
+
+	/**
+	 * Maps the expert with the fields requested by the current request only.
+	 */
+	private UserDTO toUserDTO(UserEntity userEntity) {
+		FieldSelection fields = FieldSelectionHolder.get();
+		return fields.isAll() ? userMapper.toUserDTO(userEntity) : userMapper.toUserDTO(userEntity, fields);
+	}
+
 	private boolean validateParameters(UserSearchCriteria userSearchCriteria, String... args) {
 
 		if (args.length == 3) {
@@ -160,14 +426,15 @@ public class UserServiceImpl implements UserService {
 	 * @return found doctor by directions
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public Page<UserDTO> findRandomExpertPreview(Set<Integer> directionsIds, Pageable pageable) {
 		if (CollectionUtils.isEmpty(directionsIds)) {
 			return userRepository.findRandomExperts(pageable)
-					.map(userMapper::toUserDTO);
+					.map(this::toUserDTO);
 		}
 
 		return userRepository.findRandomExpertsByDirectionsIdIn(directionsIds, pageable)
-				.map(userMapper::toUserDTO);
+				.map(this::toUserDTO);
 	}
 
 	/**
@@ -210,4 +477,54 @@ public class UserServiceImpl implements UserService {
 				.build();
 		tokenRepository.save(myToken);
 	}
+
+	/**
+	 * The location of an expert in the index of the expert locations.
+	 */
+	private static final class ExpertLocation {
+
+		private final Integer userId;
+		private final double latitude;
+		private final double longitude;
+		private final Set<Integer> directionsIds;
+
+		private ExpertLocation(DoctorEntity doctor) {
+			CityEntity city = doctor.getMainInstitution().getCity();
+			this.userId = doctor.getProfile().getId();
+			this.latitude = city.getLatitude();
+			this.longitude = city.getLongitude();
+			this.directionsIds = doctor.getDirections().stream()
+					.map(DirectionEntity::getId)
+					.collect(Collectors.toUnmodifiableSet());
+		}
+	}
+
+	/**
+	 * The directions and regions the approximate total of the experts is counted by, either may be absent.
+	 */
+	@EqualsAndHashCode
+	private static final class ExpertFilter {
+
+		private final Set<Integer> directionsIds;
+		private final Set<Integer> regionsIds;
+
+		private ExpertFilter(Set<Integer> directionsIds, Set<Integer> regionsIds) {
+			this.directionsIds = CollectionUtils.isEmpty(directionsIds) ? null : new TreeSet<>(directionsIds);
+			this.regionsIds = CollectionUtils.isEmpty(regionsIds) ? null : new TreeSet<>(regionsIds);
+		}
+
+		private int size() {
+			return (directionsIds == null ? 0 : directionsIds.size()) + (regionsIds == null ? 0 : regionsIds.size());
+		}
+
+		private long count(UserRepository userRepository) {
+			if (directionsIds == null) {
+				return userRepository.countDoctorsProfilesByRegionsIds(regionsIds);
+			}
+			if (regionsIds == null) {
+				return userRepository.countDoctorsProfilesByDirectionsIds(directionsIds);
+			}
+			return userRepository.countDoctorsProfiles(directionsIds, regionsIds);
+		}
+	}
 }
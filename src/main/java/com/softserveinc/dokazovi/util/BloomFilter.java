@@ -0,0 +1,90 @@
+package com.softserveinc.dokazovi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter of strings.
+ *
+ * <p>{@link #mightContain(String)} never returns false for an added value and returns true for a value that
+ * was not added with about the false positive probability the filter was sized for. The {@code k} bit
+ * positions of a value are derived from the two halves of its 64-bit FNV-1a hash. Adding and checking are
+ * lock-free and safe to call from many threads.</p>
+ */
+public class BloomFilter {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+	private static final double LN2 = Math.log(2);
+
+	private final AtomicLongArray words;
+	private final long bitCount;
+	private final int hashCount;
+
+	/**
+	 * Creates the filter that keeps the false positive probability for the expected number of values.
+	 *
+	 * @param expectedInsertions expected number of values
+	 * @param falsePositiveRate  false positive probability, between 0 and 1
+	 */
+	public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+		if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("Unsupported false positive rate " + falsePositiveRate);
+		}
+		int insertions = Math.max(1, expectedInsertions);
+		long bits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+		int wordCount = (int) Math.min(Integer.MAX_VALUE, (Math.max(bits, Long.SIZE) + Long.SIZE - 1) / Long.SIZE);
+		this.words = new AtomicLongArray(wordCount);
+		this.bitCount = (long) wordCount * Long.SIZE;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * LN2));
+	}
+
+	public void put(String value) {
+		long hash = hash(value);
+		int first = (int) hash;
+		int second = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			long bit = index(first + i * second);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current = words.get(word);
+			while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+				current = words.get(word);
+			}
+		}
+	}
+
+	public boolean mightContain(String value) {
+		long hash = hash(value);
+		int first = (int) hash;
+		int second = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			long bit = index(first + i * second);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public long getBitCount() {
+		return bitCount;
+	}
+
+	public int getHashCount() {
+		return hashCount;
+	}
+
+	private long index(int combinedHash) {
+		return (combinedHash & Integer.MAX_VALUE) % bitCount;
+	}
+
+	private static long hash(String value) {
+		long hash = FNV_OFFSET_BASIS;
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b & 0xff;
+			hash *= FNV_PRIME;
+		}
+		return hash;
+	}
+}
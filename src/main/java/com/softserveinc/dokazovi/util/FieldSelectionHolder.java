@@ -0,0 +1,33 @@
+package com.softserveinc.dokazovi.util;
+
+import com.softserveinc.dokazovi.pojo.FieldSelection;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Associates the fields requested by the client with the current thread, so the services can
+ * skip loading and mapping the associations nobody asked for.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FieldSelectionHolder {
+
+	private static final ThreadLocal<FieldSelection> SELECTION = new ThreadLocal<>();
+
+	/**
+	 * Gets the fields requested by the current request.
+	 *
+	 * @return the selection, {@link FieldSelection#ALL} outside of a request that limits the fields
+	 */
+	public static FieldSelection get() {
+		FieldSelection selection = SELECTION.get();
+		return selection != null ? selection : FieldSelection.ALL;
+	}
+
+	public static void set(FieldSelection selection) {
+		SELECTION.set(selection);
+	}
+
+	public static void reset() {
+		SELECTION.remove();
+	}
+}
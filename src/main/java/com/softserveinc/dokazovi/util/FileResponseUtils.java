@@ -0,0 +1,74 @@
+package com.softserveinc.dokazovi.util;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes files to the response body without copying them through the heap when the container allows it.
+ */
+public class FileResponseUtils {
+
+	private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	private FileResponseUtils() {
+	}
+
+	/**
+	 * Sends the whole file as the response body.
+	 *
+	 * <p>On Tomcat with sendfile support the transfer is handed over to the connector, which uses
+	 * {@code sendfile(2)} once the response is committed. Otherwise the file channel is transferred
+	 * into the response stream.</p>
+	 *
+	 * @param request  current request
+	 * @param response current response, headers must be set before the call
+	 * @param file     file to send
+	 * @throws IOException if the file cannot be read or the client went away
+	 */
+	public static void sendFile(HttpServletRequest request, HttpServletResponse response, Path file)
+			throws IOException {
+		long length = Files.size(file);
+		response.setContentLengthLong(length);
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+			request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+			request.setAttribute(SENDFILE_START, 0L);
+			request.setAttribute(SENDFILE_END, length);
+			return;
+		}
+		transferFile(response, file, length);
+	}
+
+	/**
+	 * Sends the whole file as the response body before returning, for the files that may be deleted once
+	 * the call is over and so cannot be left to the connector's {@code sendfile(2)}.
+	 *
+	 * @param response current response, headers must be set before the call
+	 * @param file     file to send
+	 * @throws IOException if the file cannot be read or the client went away
+	 */
+	public static void copyFile(HttpServletResponse response, Path file) throws IOException {
+		long length = Files.size(file);
+		response.setContentLengthLong(length);
+		transferFile(response, file, length);
+	}
+
+	private static void transferFile(HttpServletResponse response, Path file, long length) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+			long position = 0;
+			while (position < length) {
+				position += channel.transferTo(position, length - position, out);
+			}
+		}
+	}
+}
@@ -0,0 +1,222 @@
+package com.softserveinc.dokazovi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Immutable index of points on the Earth's surface for the nearest neighbour search.
+ *
+ * <p>Every point is stored as a unit vector in a balanced 3-d tree, so the straight-line distance between the
+ * vectors grows with the great-circle distance and there is no special case for the poles or the antimeridian.
+ * A search of {@code k} nearest points visits only the branches that can hold a point closer than the ones
+ * found so far, which is about {@code log n} nodes for the points spread over the country.</p>
+ *
+ * @param <T> type of the indexed item
+ */
+public final class GeoIndex<T> {
+
+	public static final double EARTH_RADIUS_KM = 6371.0088;
+
+	private static final int DIMENSIONS = 3;
+
+	private final List<T> items;
+	private final double[] vectors;
+
+	private GeoIndex(List<T> items, double[] vectors) {
+		this.items = items;
+		this.vectors = vectors;
+	}
+
+	/**
+	 * Builds the index of the items.
+	 *
+	 * @param items     items to index
+	 * @param latitude  latitude of an item, in degrees
+	 * @param longitude longitude of an item, in degrees
+	 * @param <T>       type of the item
+	 * @return the index
+	 */
+	public static <T> GeoIndex<T> of(List<T> items, ToDoubleFunction<T> latitude, ToDoubleFunction<T> longitude) {
+		int size = items.size();
+		double[] unordered = new double[size * DIMENSIONS];
+		for (int i = 0; i < size; i++) {
+			T item = items.get(i);
+			toVector(latitude.applyAsDouble(item), longitude.applyAsDouble(item), unordered, i * DIMENSIONS);
+		}
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		arrange(order, unordered, 0, size, 0);
+
+		List<T> treeItems = new ArrayList<>(size);
+		double[] treeVectors = new double[size * DIMENSIONS];
+		for (int i = 0; i < size; i++) {
+			treeItems.add(items.get(order[i]));
+			System.arraycopy(unordered, order[i] * DIMENSIONS, treeVectors, i * DIMENSIONS, DIMENSIONS);
+		}
+		return new GeoIndex<>(Collections.unmodifiableList(treeItems), treeVectors);
+	}
+
+	public static <T> GeoIndex<T> empty() {
+		return new GeoIndex<>(Collections.emptyList(), new double[0]);
+	}
+
+	public int size() {
+		return items.size();
+	}
+
+	/**
+	 * Finds the items nearest to the point.
+	 *
+	 * @param latitude      latitude of the point, in degrees
+	 * @param longitude     longitude of the point, in degrees
+	 * @param limit         maximum number of the items to find
+	 * @param maxDistanceKm items farther than this are skipped
+	 * @param filter        items that do not match the filter are skipped
+	 * @return the found items from the nearest to the farthest
+	 */
+	public List<Neighbour<T>> nearest(double latitude, double longitude, int limit, double maxDistanceKm,
+			Predicate<T> filter) {
+		if (limit <= 0 || items.isEmpty()) {
+			return Collections.emptyList();
+		}
+		double[] target = new double[DIMENSIONS];
+		toVector(latitude, longitude, target, 0);
+		Search search = new Search(target, limit, toSquaredChord(maxDistanceKm), filter);
+		search.visit(0, items.size(), 0);
+
+		Candidate[] found = search.candidates.toArray(new Candidate[0]);
+		Arrays.sort(found, Comparator.comparingDouble(candidate -> candidate.squaredChord));
+		List<Neighbour<T>> neighbours = new ArrayList<>(found.length);
+		for (Candidate candidate : found) {
+			neighbours.add(new Neighbour<>(items.get(candidate.node), toDistanceKm(candidate.squaredChord)));
+		}
+		return neighbours;
+	}
+
+	private static void arrange(Integer[] order, double[] vectors, int from, int to, int depth) {
+		if (to - from <= 1) {
+			return;
+		}
+		int axis = depth % DIMENSIONS;
+		Arrays.sort(order, from, to, Comparator.comparingDouble(i -> vectors[i * DIMENSIONS + axis]));
+		int middle = (from + to) >>> 1;
+		arrange(order, vectors, from, middle, depth + 1);
+		arrange(order, vectors, middle + 1, to, depth + 1);
+	}
+
+	private static void toVector(double latitude, double longitude, double[] vector, int offset) {
+		double phi = Math.toRadians(latitude);
+		double lambda = Math.toRadians(longitude);
+		double cosPhi = Math.cos(phi);
+		vector[offset] = cosPhi * Math.cos(lambda);
+		vector[offset + 1] = cosPhi * Math.sin(lambda);
+		vector[offset + 2] = Math.sin(phi);
+	}
+
+	private static double toSquaredChord(double distanceKm) {
+		double angle = Math.min(distanceKm / EARTH_RADIUS_KM, Math.PI);
+		double chord = 2 * Math.sin(angle / 2);
+		return chord * chord;
+	}
+
+	private static double toDistanceKm(double squaredChord) {
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(squaredChord) / 2));
+	}
+
+	/**
+	 * The found item and its great-circle distance from the point of the search.
+	 *
+	 * @param <T> type of the item
+	 */
+	public static final class Neighbour<T> {
+
+		private final T item;
+		private final double distanceKm;
+
+		private Neighbour(T item, double distanceKm) {
+			this.item = item;
+			this.distanceKm = distanceKm;
+		}
+
+		public T getItem() {
+			return item;
+		}
+
+		public double getDistanceKm() {
+			return distanceKm;
+		}
+	}
+
+	private static final class Candidate {
+
+		private final int node;
+		private final double squaredChord;
+
+		private Candidate(int node, double squaredChord) {
+			this.node = node;
+			this.squaredChord = squaredChord;
+		}
+	}
+
+	private final class Search {
+
+		private final double[] target;
+		private final int limit;
+		private final double maxSquaredChord;
+		private final Predicate<T> filter;
+		private final PriorityQueue<Candidate> candidates;
+
+		private Search(double[] target, int limit, double maxSquaredChord, Predicate<T> filter) {
+			this.target = target;
+			this.limit = limit;
+			this.maxSquaredChord = maxSquaredChord;
+			this.filter = filter;
+			this.candidates = new PriorityQueue<>(Comparator.comparingDouble(
+					(Candidate candidate) -> candidate.squaredChord).reversed());
+		}
+
+		private void visit(int from, int to, int depth) {
+			if (from >= to) {
+				return;
+			}
+			int node = (from + to) >>> 1;
+			int offset = node * DIMENSIONS;
+			double squaredChord = 0;
+			for (int i = 0; i < DIMENSIONS; i++) {
+				double difference = target[i] - vectors[offset + i];
+				squaredChord += difference * difference;
+			}
+			if (squaredChord <= bound() && filter.test(items.get(node))) {
+				candidates.add(new Candidate(node, squaredChord));
+				if (candidates.size() > limit) {
+					candidates.poll();
+				}
+			}
+
+			double split = target[depth % DIMENSIONS] - vectors[offset + depth % DIMENSIONS];
+			if (split < 0) {
+				visit(from, node, depth + 1);
+				if (split * split <= bound()) {
+					visit(node + 1, to, depth + 1);
+				}
+			} else {
+				visit(node + 1, to, depth + 1);
+				if (split * split <= bound()) {
+					visit(from, node, depth + 1);
+				}
+			}
+		}
+
+		private double bound() {
+			return candidates.size() < limit ? maxSquaredChord : candidates.peek().squaredChord;
+		}
+	}
+}
@@ -1,45 +1,62 @@
 package com.softserveinc.dokazovi.util;
 
 import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.service.MailOutboxService;
 import com.softserveinc.dokazovi.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
 
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.text.MessageFormat;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
 public class MailSenderUtil {
-    private final JavaMailSender javaMailSender;
+    private static final String VERIFICATION_TEMPLATE = "verificationMail.html";
+    private static final String SUBJECT = "DOKAZOVI";
     private final UserService userService;
+    private final MailOutboxService mailOutboxService;
+    private final Map<String, MailTemplate> templates = new ConcurrentHashMap<>();
     @Value("${host.url}")
     private String hostUrl;
 
-    public void sendMessage(UserEntity user) throws IOException, MessagingException {
+    /**
+     * Creates the verification token and puts the verification mail into the outbox
+     * within the same transaction. The mail itself is delivered in the background.
+     *
+     * @param user user who should confirm the email
+     */
+    @Transactional
+    public void sendMessage(UserEntity user) {
         String token = UUID.randomUUID().toString();
         userService.createVerificationToken(user, token);
         String confirmationUrl = hostUrl + "/api/auth/verification?token=" + token;
-        MimeMessage message = javaMailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "utf-8");
-        String template = readHtmlFile("verificationMail.html");
-        template = MessageFormat.format(template, confirmationUrl);
-        message.setContent(template, "text/html");
-        helper.setTo(user.getEmail());
-        helper.setSubject("DOKAZOVI");
-        javaMailSender.send(message);
+        String body = getTemplate(VERIFICATION_TEMPLATE).format(confirmationUrl);
+        mailOutboxService.enqueue(user.getEmail(), SUBJECT, body);
     }
 
     public String readHtmlFile(String fileName) throws IOException {
-        String file = "src/main/resources/template/" + fileName;
-        return Files.readString(Path.of(file));
+        try (InputStream template = new ClassPathResource("template/" + fileName).getInputStream()) {
+            return StreamUtils.copyToString(template, StandardCharsets.UTF_8);
+        }
+    }
+
+    private MailTemplate getTemplate(String fileName) {
+        return templates.computeIfAbsent(fileName, name -> {
+            try {
+                return MailTemplate.compile(readHtmlFile(name));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 }
@@ -0,0 +1,64 @@
+package com.softserveinc.dokazovi.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled mail template with numbered placeholders, e.g. {0}.
+ *
+ * <p>The source is split into literal fragments once, so rendering is a plain concatenation.
+ * Unlike {@link java.text.MessageFormat} the compiled template is immutable and may be shared
+ * between threads.</p>
+ */
+public final class MailTemplate {
+
+	private final String[] fragments;
+	private final int[] placeholders;
+
+	private MailTemplate(String[] fragments, int[] placeholders) {
+		this.fragments = fragments;
+		this.placeholders = placeholders;
+	}
+
+	public static MailTemplate compile(String source) {
+		List<String> fragments = new ArrayList<>();
+		List<Integer> placeholders = new ArrayList<>();
+		StringBuilder fragment = new StringBuilder();
+		int i = 0;
+		while (i < source.length()) {
+			int end = placeholderEnd(source, i);
+			if (end > 0) {
+				fragments.add(fragment.toString());
+				placeholders.add(Integer.parseInt(source.substring(i + 1, end)));
+				fragment.setLength(0);
+				i = end + 1;
+			} else {
+				fragment.append(source.charAt(i));
+				i++;
+			}
+		}
+		fragments.add(fragment.toString());
+		return new MailTemplate(
+				fragments.toArray(new String[0]),
+				placeholders.stream().mapToInt(Integer::intValue).toArray());
+	}
+
+	public String format(Object... args) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < placeholders.length; i++) {
+			result.append(fragments[i]).append(args[placeholders[i]]);
+		}
+		return result.append(fragments[placeholders.length]).toString();
+	}
+
+	private static int placeholderEnd(String source, int start) {
+		if (source.charAt(start) != '{') {
+			return -1;
+		}
+		int i = start + 1;
+		while (i < source.length() && Character.isDigit(source.charAt(i))) {
+			i++;
+		}
+		return i > start + 1 && i < source.length() && source.charAt(i) == '}' ? i : -1;
+	}
+}
@@ -0,0 +1,249 @@
+package com.softserveinc.dokazovi.util;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache of byte arrays kept outside of the Java heap.
+ *
+ * <p>Memory is allocated once as direct {@link ByteBuffer} slabs split into fixed-size pages. A value
+ * occupies as many pages as it needs, so there is no fragmentation and nothing for the GC to trace.
+ * Every value carries a version; a lookup with a different version is a miss.</p>
+ *
+ * <p>Values are read through a {@link Lease}. Pages of a value that is evicted while leased are reused
+ * only after the lease is closed.</p>
+ *
+ * @param <K> type of the key
+ */
+public class OffHeapCache<K> {
+
+	private static final int SLAB_SIZE = 16 * 1024 * 1024;
+
+	private final int pageSize;
+	private final int pagesPerSlab;
+	private final int pageCount;
+	private final ByteBuffer[] slabs;
+	private final int[] freePages;
+	private final Map<K, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private int freePageCount;
+	private long hitCount;
+	private long missCount;
+
+	public OffHeapCache(long capacity, int pageSize) {
+		long pages = capacity / pageSize;
+		if (pages < 1 || pages > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Unsupported cache capacity " + capacity);
+		}
+		this.pageSize = pageSize;
+		this.pageCount = (int) pages;
+		this.pagesPerSlab = Math.max(1, SLAB_SIZE / pageSize);
+		this.slabs = new ByteBuffer[(pageCount + pagesPerSlab - 1) / pagesPerSlab];
+		for (int i = 0; i < slabs.length; i++) {
+			int slabPages = Math.min(pagesPerSlab, pageCount - i * pagesPerSlab);
+			slabs[i] = ByteBuffer.allocateDirect(slabPages * pageSize);
+		}
+		this.freePages = new int[pageCount];
+		for (int i = 0; i < pageCount; i++) {
+			freePages[i] = pageCount - 1 - i;
+		}
+		this.freePageCount = pageCount;
+	}
+
+	/**
+	 * Leases the value stored under the key with the given version.
+	 *
+	 * @param key     key of the value
+	 * @param version expected version of the value
+	 * @return lease of the value that must be closed after reading, or null if there is no such value
+	 */
+	public synchronized Lease get(K key, long version) {
+		Entry entry = entries.get(key);
+		if (entry == null || entry.version != version) {
+			missCount++;
+			return null;
+		}
+		hitCount++;
+		entry.readers++;
+		return new Lease(entry);
+	}
+
+	/**
+	 * Stores the value, evicting the least recently used values when there is not enough free space.
+	 *
+	 * @param key     key of the value
+	 * @param version version of the value
+	 * @param value   value to store
+	 * @return false if the value is larger than the whole cache or its space is still leased
+	 */
+	public synchronized boolean put(K key, long version, byte[] value) {
+		int needed = (value.length + pageSize - 1) / pageSize;
+		if (needed > pageCount) {
+			return false;
+		}
+		invalidate(key);
+		Iterator<Entry> eldest = entries.values().iterator();
+		while (freePageCount < needed && eldest.hasNext()) {
+			Entry entry = eldest.next();
+			eldest.remove();
+			discard(entry);
+		}
+		if (freePageCount < needed) {
+			return false;
+		}
+
+		int[] pages = new int[needed];
+		for (int i = 0; i < needed; i++) {
+			pages[i] = freePages[--freePageCount];
+			int offset = i * pageSize;
+			page(pages[i]).put(value, offset, Math.min(pageSize, value.length - offset));
+		}
+		entries.put(key, new Entry(version, pages, value.length));
+		return true;
+	}
+
+	/**
+	 * Removes the value stored under the key.
+	 *
+	 * @param key key of the value
+	 */
+	public synchronized void invalidate(K key) {
+		Entry entry = entries.remove(key);
+		if (entry != null) {
+			discard(entry);
+		}
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	private void discard(Entry entry) {
+		entry.discarded = true;
+		if (entry.readers == 0) {
+			free(entry);
+		}
+	}
+
+	private synchronized void release(Entry entry) {
+		entry.readers--;
+		if (entry.discarded && entry.readers == 0) {
+			free(entry);
+		}
+	}
+
+	private void free(Entry entry) {
+		for (int page : entry.pages) {
+			freePages[freePageCount++] = page;
+		}
+	}
+
+	private ByteBuffer page(int page) {
+		ByteBuffer buffer = slabs[page / pagesPerSlab].duplicate();
+		int offset = (page % pagesPerSlab) * pageSize;
+		buffer.limit(offset + pageSize).position(offset);
+		return buffer;
+	}
+
+	private static final class Entry {
+		private final long version;
+		private final int[] pages;
+		private final int length;
+		private int readers;
+		private boolean discarded;
+
+		private Entry(long version, int[] pages, int length) {
+			this.version = version;
+			this.pages = pages;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * Read access to a cached value. The value stays intact until the lease is closed.
+	 */
+	public final class Lease implements AutoCloseable {
+
+		private final Entry entry;
+		private boolean closed;
+
+		private Lease(Entry entry) {
+			this.entry = entry;
+		}
+
+		public int getLength() {
+			return entry.length;
+		}
+
+		/**
+		 * Opens a stream over the value. Only one thread may read a lease at a time.
+		 *
+		 * @return stream of the value bytes
+		 */
+		public InputStream openStream() {
+			return new PageInputStream(entry);
+		}
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				release(entry);
+			}
+		}
+	}
+
+	private final class PageInputStream extends InputStream {
+
+		private final Entry entry;
+		private int pageIndex;
+		private ByteBuffer current;
+
+		private PageInputStream(Entry entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public int read() {
+			if (!nextPageIfNeeded()) {
+				return -1;
+			}
+			return current.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!nextPageIfNeeded()) {
+				return -1;
+			}
+			int read = Math.min(length, current.remaining());
+			current.get(bytes, offset, read);
+			return read;
+		}
+
+		private boolean nextPageIfNeeded() {
+			while (current == null || !current.hasRemaining()) {
+				if (pageIndex == entry.pages.length) {
+					return false;
+				}
+				int start = pageIndex * pageSize;
+				current = page(entry.pages[pageIndex++]);
+				current.limit(current.position() + Math.min(pageSize, entry.length - start));
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,19 @@
+CREATE TABLE MAIL_OUTBOX
+(
+    MAIL_ID         SERIAL    NOT NULL
+        CONSTRAINT MAIL_OUTBOX_PKEY
+            PRIMARY KEY,
+    RECIPIENT       VARCHAR   NOT NULL,
+    SUBJECT         VARCHAR,
+    BODY            TEXT,
+    STATUS          VARCHAR   NOT NULL DEFAULT 'PENDING',
+    ATTEMPTS        INTEGER   NOT NULL DEFAULT 0,
+    NEXT_ATTEMPT_AT TIMESTAMP NOT NULL DEFAULT NOW(),
+    LAST_ERROR      VARCHAR,
+    CREATED_AT      TIMESTAMP DEFAULT NOW(),
+    SENT_AT         TIMESTAMP
+);
+
+CREATE INDEX MAIL_OUTBOX_PENDING_IDX
+    ON MAIL_OUTBOX (NEXT_ATTEMPT_AT, MAIL_ID)
+    WHERE STATUS = 'PENDING';
@@ -0,0 +1,37 @@
+CREATE TABLE AUTHOR_FACETS
+(
+    AUTHOR_FACET_ID SERIAL  NOT NULL
+        CONSTRAINT AUTHOR_FACETS_PKEY
+            PRIMARY KEY,
+    AUTHOR_ID       INTEGER NOT NULL
+        CONSTRAINT AUTHOR_FACETS_AUTHOR_ID_FKEY
+            REFERENCES USERS,
+    DIRECTION_ID    INTEGER
+        CONSTRAINT AUTHOR_FACETS_DIRECTION_ID_FKEY
+            REFERENCES DIRECTIONS,
+    TYPE_ID         INTEGER
+        CONSTRAINT AUTHOR_FACETS_TYPE_ID_FKEY
+            REFERENCES POST_TYPES,
+    POST_COUNT      INTEGER NOT NULL,
+    CONSTRAINT AUTHOR_FACETS_ONE_FACET_CHECK
+        CHECK ((DIRECTION_ID IS NULL) <> (TYPE_ID IS NULL))
+);
+
+CREATE INDEX AUTHOR_FACETS_AUTHOR_ID_IDX
+    ON AUTHOR_FACETS (AUTHOR_ID);
+
+INSERT INTO AUTHOR_FACETS (AUTHOR_ID, DIRECTION_ID, POST_COUNT)
+SELECT P.AUTHOR_ID, PD.DIRECTION_ID, COUNT(DISTINCT P.POST_ID)
+FROM POSTS P
+         JOIN POSTS_DIRECTIONS PD ON PD.POST_ID = P.POST_ID
+WHERE P.STATUS = 'PUBLISHED'
+  AND P.AUTHOR_ID IS NOT NULL
+GROUP BY P.AUTHOR_ID, PD.DIRECTION_ID;
+
+INSERT INTO AUTHOR_FACETS (AUTHOR_ID, TYPE_ID, POST_COUNT)
+SELECT P.AUTHOR_ID, P.TYPE_ID, COUNT(*)
+FROM POSTS P
+WHERE P.STATUS = 'PUBLISHED'
+  AND P.AUTHOR_ID IS NOT NULL
+  AND P.TYPE_ID IS NOT NULL
+GROUP BY P.AUTHOR_ID, P.TYPE_ID;
@@ -0,0 +1,15 @@
+CREATE TABLE REVOKED_TOKENS
+(
+    JTI        VARCHAR(36) NOT NULL
+        CONSTRAINT REVOKED_TOKENS_PKEY
+            PRIMARY KEY,
+    USER_ID    INTEGER,
+    REVOKED_AT TIMESTAMP   NOT NULL DEFAULT NOW(),
+    EXPIRES_AT TIMESTAMP   NOT NULL
+);
+
+CREATE INDEX REVOKED_TOKENS_REVOKED_AT_IDX
+    ON REVOKED_TOKENS (REVOKED_AT);
+
+CREATE INDEX REVOKED_TOKENS_EXPIRES_AT_IDX
+    ON REVOKED_TOKENS (EXPIRES_AT);
@@ -0,0 +1,49 @@
+ALTER TABLE CITIES
+    ADD COLUMN LATITUDE  DOUBLE PRECISION,
+    ADD COLUMN LONGITUDE DOUBLE PRECISION;
+
+UPDATE CITIES C
+SET LATITUDE  = V.LATITUDE,
+    LONGITUDE = V.LONGITUDE
+FROM (VALUES ('Київ', 50.4501, 30.5234),
+             ('Харків', 49.9935, 36.2304),
+             ('Одеса', 46.4825, 30.7233),
+             ('Дніпро', 48.4647, 35.0462),
+             ('Донецьк', 48.0159, 37.8029),
+             ('Запоріжжя', 47.8388, 35.1396),
+             ('Львів', 49.8397, 24.0297),
+             ('Кривий Ріг', 47.9105, 33.3918),
+             ('Маріуполь', 47.0971, 37.5434),
+             ('Луганськ', 48.5740, 39.3078),
+             ('Вінниця', 49.2331, 28.4682),
+             ('Сімферополь', 44.9521, 34.1024),
+             ('Севастополь', 44.6166, 33.5254),
+             ('Херсон', 46.6354, 32.6169),
+             ('Полтава', 49.5883, 34.5514),
+             ('Чернігів', 51.4982, 31.2893),
+             ('Черкаси', 49.4444, 32.0598),
+             ('Хмельницький', 49.4229, 26.9871),
+             ('Чернівці', 48.2921, 25.9358),
+             ('Житомир', 50.2547, 28.6587),
+             ('Суми', 50.9077, 34.7981),
+             ('Рівне', 50.6199, 26.2516),
+             ('Івано-Франківськ', 48.9226, 24.7111),
+             ('Тернопіль', 49.5535, 25.5948),
+             ('Луцьк', 50.7472, 25.3254),
+             ('Ужгород', 48.6208, 22.2879),
+             ('Кропивницький', 48.5079, 32.2623),
+             ('Біла Церква', 49.7968, 30.1311),
+             ('Кременчук', 49.0659, 33.4204)) AS V (NAME, LATITUDE, LONGITUDE)
+WHERE C.NAME = V.NAME;
+
+UPDATE CITIES
+SET LATITUDE  = 46.9750,
+    LONGITUDE = 31.9946
+WHERE NAME = 'Миколаїв'
+  AND REGION_ID IN (SELECT REGION_ID FROM REGIONS WHERE NAME = 'Миколаївська область');
+
+UPDATE CITIES
+SET LATITUDE  = 49.5247,
+    LONGITUDE = 23.9813
+WHERE NAME = 'Миколаїв'
+  AND REGION_ID IN (SELECT REGION_ID FROM REGIONS WHERE NAME = 'Львівська область');
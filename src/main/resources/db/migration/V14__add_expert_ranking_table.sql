@@ -0,0 +1,17 @@
+CREATE TABLE EXPERT_RANKING
+(
+    POSITION INTEGER NOT NULL
+        CONSTRAINT EXPERT_RANKING_PKEY
+            PRIMARY KEY,
+    USER_ID  INTEGER NOT NULL
+        CONSTRAINT EXPERT_RANKING_USER_ID_KEY
+            UNIQUE
+        CONSTRAINT EXPERT_RANKING_USER_ID_FKEY
+            REFERENCES USERS
+);
+
+INSERT INTO EXPERT_RANKING (POSITION, USER_ID)
+SELECT ROW_NUMBER() OVER (ORDER BY D.PROMOTION_LEVEL DESC, D.RATING DESC, U.LAST_NAME, U.FIRST_NAME, U.USER_ID),
+       U.USER_ID
+FROM DOCTORS D
+         JOIN USERS U ON U.USER_ID = D.USER_ID;
@@ -0,0 +1,12 @@
+CREATE TABLE POST_CHANGES
+(
+    CHANGE_ID   BIGSERIAL NOT NULL
+        CONSTRAINT POST_CHANGES_PKEY
+            PRIMARY KEY,
+    POST_ID     INTEGER   NOT NULL,
+    CHANGE_TYPE VARCHAR   NOT NULL,
+    CHANGED_AT  TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX POST_CHANGES_CHANGED_AT_IDX
+    ON POST_CHANGES (CHANGED_AT);
@@ -0,0 +1,13 @@
+CREATE TABLE SCHEDULED_LOCKS
+(
+    JOB_NAME         VARCHAR   NOT NULL
+        CONSTRAINT SCHEDULED_LOCKS_PKEY
+            PRIMARY KEY,
+    LOCKED_UNTIL     TIMESTAMP NOT NULL,
+    LOCKED_AT        TIMESTAMP NOT NULL,
+    LOCKED_BY        VARCHAR   NOT NULL,
+    LAST_FINISHED_AT TIMESTAMP,
+    LAST_DURATION_MS BIGINT,
+    LAST_ROW_COUNT   INTEGER,
+    LAST_ERROR       VARCHAR
+);
@@ -0,0 +1,6 @@
+ALTER TABLE MAIL_OUTBOX
+    ADD COLUMN CLAIM_TOKEN VARCHAR;
+
+CREATE INDEX MAIL_OUTBOX_CLAIM_TOKEN_IDX
+    ON MAIL_OUTBOX (CLAIM_TOKEN)
+    WHERE STATUS = 'PENDING';
@@ -0,0 +1,16 @@
+DELETE
+FROM AUTHOR_FACETS F
+    USING AUTHOR_FACETS D
+WHERE F.AUTHOR_ID = D.AUTHOR_ID
+  AND (F.DIRECTION_ID = D.DIRECTION_ID OR F.TYPE_ID = D.TYPE_ID)
+  AND F.AUTHOR_FACET_ID > D.AUTHOR_FACET_ID;
+
+ALTER TABLE AUTHOR_FACETS
+    ADD CONSTRAINT AUTHOR_FACETS_AUTHOR_ID_DIRECTION_ID_KEY
+        UNIQUE (AUTHOR_ID, DIRECTION_ID);
+
+ALTER TABLE AUTHOR_FACETS
+    ADD CONSTRAINT AUTHOR_FACETS_AUTHOR_ID_TYPE_ID_KEY
+        UNIQUE (AUTHOR_ID, TYPE_ID);
+
+DROP INDEX AUTHOR_FACETS_AUTHOR_ID_IDX;
@@ -0,0 +1,20 @@
+ALTER TABLE POST_CHANGES
+    ADD COLUMN TX_ID BIGINT NOT NULL DEFAULT TXID_CURRENT();
+
+ALTER TABLE POST_CHANGES
+    ADD COLUMN FEED_POSITION BIGINT;
+
+UPDATE POST_CHANGES
+SET FEED_POSITION = CHANGE_ID;
+
+CREATE SEQUENCE POST_CHANGE_POSITION_SEQ;
+
+SELECT SETVAL('POST_CHANGE_POSITION_SEQ', COALESCE(MAX(CHANGE_ID), 0) + 1, FALSE)
+FROM POST_CHANGES;
+
+CREATE UNIQUE INDEX POST_CHANGES_FEED_POSITION_IDX
+    ON POST_CHANGES (FEED_POSITION);
+
+CREATE INDEX POST_CHANGES_UNPOSITIONED_IDX
+    ON POST_CHANGES (TX_ID, CHANGE_ID)
+    WHERE FEED_POSITION IS NULL;
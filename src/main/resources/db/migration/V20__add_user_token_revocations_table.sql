@@ -0,0 +1,16 @@
+CREATE TABLE USER_TOKEN_REVOCATIONS
+(
+    USER_ID        INTEGER   NOT NULL
+        CONSTRAINT USER_TOKEN_REVOCATIONS_PKEY
+            PRIMARY KEY
+        CONSTRAINT USER_TOKEN_REVOCATIONS_USER_ID_FKEY
+            REFERENCES USERS,
+    REVOKED_BEFORE TIMESTAMP NOT NULL,
+    EXPIRES_AT     TIMESTAMP NOT NULL
+);
+
+CREATE INDEX USER_TOKEN_REVOCATIONS_REVOKED_BEFORE_IDX
+    ON USER_TOKEN_REVOCATIONS (REVOKED_BEFORE);
+
+CREATE INDEX USER_TOKEN_REVOCATIONS_EXPIRES_AT_IDX
+    ON USER_TOKEN_REVOCATIONS (EXPIRES_AT);
@@ -0,0 +1,2 @@
+INSERT INTO public.role_permission (role_id, permissions)
+VALUES (1, 'MANAGE_SERVER');
@@ -0,0 +1,100 @@
+package com.softserveinc.dokazovi.config;
+
+import com.softserveinc.dokazovi.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+
+	private ReplicaRoutingDataSource routingDataSource;
+
+	@BeforeEach
+	void init() {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-0", mock(DataSource.class));
+		replicas.put("replica-1", mock(DataSource.class));
+		routingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class), replicas, 60_000);
+	}
+
+	@AfterEach
+	void clear() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void determineCurrentLookupKey_routesReadWriteTransactionToPrimary() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	void determineCurrentLookupKey_balancesReadOnlyTransactionsBetweenReplicas() {
+		readOnlyTransaction();
+
+		assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+		assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+		assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	void determineCurrentLookupKey_skipsLaggingReplica() {
+		readOnlyTransaction();
+		routingDataSource.markLagging("replica-0", true);
+
+		assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+		assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	void determineCurrentLookupKey_fallsBackToPrimary_whenAllReplicasLag() {
+		readOnlyTransaction();
+		routingDataSource.markLagging("replica-0", true);
+		routingDataSource.markLagging("replica-1", true);
+
+		assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+		routingDataSource.markLagging("replica-1", false);
+
+		assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	void determineCurrentLookupKey_keepsUserOnPrimary_afterWrite() {
+		authenticate(1);
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		routingDataSource.determineCurrentLookupKey();
+
+		readOnlyTransaction();
+
+		assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+		authenticate(2);
+
+		assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+	}
+
+	private void readOnlyTransaction() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+	}
+
+	private void authenticate(Integer userId) {
+		UserPrincipal principal = UserPrincipal.builder().id(userId).build();
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, null));
+	}
+}
@@ -0,0 +1,157 @@
+package com.softserveinc.dokazovi.controller;
+
+import com.softserveinc.dokazovi.security.BoundedPasswordEncoder;
+import com.softserveinc.dokazovi.service.CacheStatisticsService;
+import com.softserveinc.dokazovi.service.LoggingStatisticsService;
+import com.softserveinc.dokazovi.service.ProfilingService;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
+import com.softserveinc.dokazovi.service.TokenRevocationService;
+import com.softserveinc.dokazovi.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_CACHE_STATISTICS;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_EXPERT_RANKING_REFRESH;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_LOGGING_STATISTICS;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_PASSWORD_VERIFICATION_STATISTICS;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_PROFILING_RECORDINGS;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_PROFILING_RECORDING_FILE;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_PROFILING_RECORDING_STOP;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_PROFILING_RECORDING_SUMMARY;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_REVOKE_TOKEN;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_REVOKE_USER_TOKENS;
+import static com.softserveinc.dokazovi.controller.EndPoints.ADMIN_SCHEDULED_JOBS;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class AdminControllerTest {
+
+	private MockMvc mockMvc;
+
+	@InjectMocks
+	private AdminController adminController;
+	@Mock
+	private CacheStatisticsService cacheStatisticsService;
+	@Mock
+	private BoundedPasswordEncoder boundedPasswordEncoder;
+	@Mock
+	private TokenRevocationService tokenRevocationService;
+	@Mock
+	private UserService userService;
+	@Mock
+	private ProfilingService profilingService;
+	@Mock
+	private LoggingStatisticsService loggingStatisticsService;
+	@Mock
+	private ScheduledLockService scheduledLockService;
+
+	@BeforeEach
+	public void init() {
+		this.mockMvc = MockMvcBuilders
+				.standaloneSetup(adminController)
+				.build();
+	}
+
+	@Test
+	void getCacheStatistics() throws Exception {
+		mockMvc.perform(get(ADMIN + ADMIN_CACHE_STATISTICS))
+				.andExpect(status().isOk());
+		verify(cacheStatisticsService).findSecondLevelCacheStatistics();
+	}
+
+	@Test
+	void getPasswordVerificationStatistics() throws Exception {
+		mockMvc.perform(get(ADMIN + ADMIN_PASSWORD_VERIFICATION_STATISTICS))
+				.andExpect(status().isOk());
+		verify(boundedPasswordEncoder).getStatistics();
+	}
+
+	@Test
+	void getLoggingStatistics() throws Exception {
+		mockMvc.perform(get(ADMIN + ADMIN_LOGGING_STATISTICS))
+				.andExpect(status().isOk());
+		verify(loggingStatisticsService).findAsyncAppenderStatistics();
+	}
+
+	@Test
+	void getScheduledJobs() throws Exception {
+		mockMvc.perform(get(ADMIN + ADMIN_SCHEDULED_JOBS))
+				.andExpect(status().isOk());
+		verify(scheduledLockService).findJobStatuses();
+	}
+
+	@Test
+	void revokeToken() throws Exception {
+		String tokenId = "5a0b8f62-4f0e-4c2f-9b5e-2b7b1a4c9d11";
+		mockMvc.perform(post(ADMIN + ADMIN_REVOKE_TOKEN, tokenId))
+				.andExpect(status().isNoContent());
+		verify(tokenRevocationService).revokeTokenId(tokenId);
+	}
+
+	@Test
+	void revokeUserTokens() throws Exception {
+		mockMvc.perform(post(ADMIN + ADMIN_REVOKE_USER_TOKENS, 28))
+				.andExpect(status().isNoContent());
+		verify(tokenRevocationService).revokeUserTokens(28);
+	}
+
+	@Test
+	void refreshExpertRanking() throws Exception {
+		mockMvc.perform(post(ADMIN + ADMIN_EXPERT_RANKING_REFRESH))
+				.andExpect(status().isNoContent());
+		verify(userService).refreshExpertRanking();
+	}
+
+	@Test
+	void startProfilingRecording() throws Exception {
+		mockMvc.perform(post(ADMIN + ADMIN_PROFILING_RECORDINGS + "?settings=default&durationSeconds=30"))
+				.andExpect(status().isCreated());
+		verify(profilingService).startRecording("default", 30);
+	}
+
+	@Test
+	void stopProfilingRecording() throws Exception {
+		mockMvc.perform(post(ADMIN + ADMIN_PROFILING_RECORDING_STOP, 3L))
+				.andExpect(status().isOk());
+		verify(profilingService).stopRecording(3L);
+	}
+
+	@Test
+	void getProfilingRecordingSummary() throws Exception {
+		mockMvc.perform(get(ADMIN + ADMIN_PROFILING_RECORDING_SUMMARY, 3L))
+				.andExpect(status().isOk());
+		verify(profilingService).summarizeRecording(3L, 20);
+	}
+
+	@Test
+	void getProfilingRecordingFile_releasesFileAfterSending(@TempDir Path directory) throws Exception {
+		Path file = Files.write(directory.resolve("recording.jfr"), new byte[]{1, 2, 3});
+		when(profilingService.getRecordingFile(3L)).thenReturn(file);
+
+		mockMvc.perform(get(ADMIN + ADMIN_PROFILING_RECORDING_FILE, 3L))
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(new byte[]{1, 2, 3}));
+
+		InOrder inOrder = inOrder(profilingService);
+		inOrder.verify(profilingService).getRecordingFile(3L);
+		inOrder.verify(profilingService).releaseRecordingFile(3L);
+	}
+}
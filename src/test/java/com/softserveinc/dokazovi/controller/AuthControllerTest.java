@@ -2,9 +2,12 @@ package com.softserveinc.dokazovi.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.softserveinc.dokazovi.dto.payload.LoginRequest;
-import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.exception.TooManyRequestsException;
+import com.softserveinc.dokazovi.exception.handler.CustomRestExceptionHandler;
 import com.softserveinc.dokazovi.security.TokenProvider;
+import com.softserveinc.dokazovi.security.UserPrincipal;
 import com.softserveinc.dokazovi.service.ProviderService;
+import com.softserveinc.dokazovi.service.TokenRevocationService;
 import com.softserveinc.dokazovi.service.UserService;
 import com.softserveinc.dokazovi.util.MailSenderUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -26,11 +30,14 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import static com.softserveinc.dokazovi.controller.EndPoints.AUTH;
 import static com.softserveinc.dokazovi.controller.EndPoints.AUTH_LOGIN;
+import static com.softserveinc.dokazovi.controller.EndPoints.AUTH_LOGOUT;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +55,8 @@ class AuthControllerTest {
     private ProviderService providerService;
     @Mock
     private UserService userService;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
     @InjectMocks
     private AuthController authController;
 
@@ -56,44 +65,88 @@ class AuthControllerTest {
         this.mockMvc = MockMvcBuilders
                 .standaloneSetup(authController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setControllerAdvice(new CustomRestExceptionHandler())
                 .build();
     }
 
     @Test
     void loginUser() throws Exception {
-        String email = "user@mail.com";
-        String password = "user";
-        LoginRequest loginRequest = new LoginRequest();
-        loginRequest.setEmail(email);
-        loginRequest.setPassword(password);
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getEmail(),
-                        loginRequest.getPassword()
-                )
-        );
+        LoginRequest loginRequest = loginRequest();
         String token = "950c9760-805e-449c-a966-2d0d5ebd86f4";
         String uri = AUTH + AUTH_LOGIN;
-        UserEntity user = UserEntity.builder()
-                .email(email)
-                .password(password)
-                .enabled(true)
-                .build();
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(authentication);
+                .thenReturn(authentication(true));
         when(tokenProvider.createToken(any(Authentication.class))).thenReturn(token);
-        when(userService.findByEmail(anyString())).thenReturn(user);
         mockMvc.perform(MockMvcRequestBuilders.post(uri)
                 .content(asJsonString(loginRequest))
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
-        verify(authenticationManager, times(2))
+        verify(authenticationManager, times(1))
                 .authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userService, times(1))
+        verify(userService, never())
+                .findByEmail(anyString());
+    }
+
+    @Test
+    void loginUser_WhenEmailIsNotConfirmed_BadRequest() throws Exception {
+        String uri = AUTH + AUTH_LOGIN;
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(authentication(false));
+        mockMvc.perform(MockMvcRequestBuilders.post(uri)
+                .content(asJsonString(loginRequest()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(userService, never())
                 .findByEmail(anyString());
     }
 
+    @Test
+    void loginUser_WhenPasswordPoolIsSaturated_TooManyRequests() throws Exception {
+        String uri = AUTH + AUTH_LOGIN;
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new TooManyRequestsException("saturated"));
+        mockMvc.perform(MockMvcRequestBuilders.post(uri)
+                .content(asJsonString(loginRequest()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void logout() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post(AUTH + AUTH_LOGOUT)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"))
+                .andExpect(status().isNoContent());
+        verify(tokenRevocationService).revokeToken("token");
+    }
+
+    @Test
+    void logout_WhenNotBearerToken_BadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post(AUTH + AUTH_LOGOUT)
+                .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjp1c2Vy"))
+                .andExpect(status().isBadRequest());
+        verify(tokenRevocationService, never()).revokeToken(anyString());
+    }
+
+    private LoginRequest loginRequest() {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("user@mail.com");
+        loginRequest.setPassword("user");
+        return loginRequest;
+    }
+
+    private Authentication authentication(boolean emailVerified) {
+        UserPrincipal userPrincipal = UserPrincipal.builder()
+                .id(1)
+                .email("user@mail.com")
+                .emailVerified(emailVerified)
+                .build();
+        return new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
+    }
+
     public static String asJsonString(final Object obj) {
         try {
             return new ObjectMapper().writeValueAsString(obj);
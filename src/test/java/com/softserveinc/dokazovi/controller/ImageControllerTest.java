@@ -0,0 +1,83 @@
+package com.softserveinc.dokazovi.controller;
+
+import com.softserveinc.dokazovi.dto.image.ImageDTO;
+import com.softserveinc.dokazovi.service.ImageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ImageControllerTest {
+
+	@TempDir
+	Path directory;
+
+	private MockMvc mockMvc;
+
+	@InjectMocks
+	private ImageController imageController;
+	@Mock
+	private ImageService imageService;
+
+	@BeforeEach
+	public void init() {
+		this.mockMvc = MockMvcBuilders
+				.standaloneSetup(imageController)
+				.addPlaceholderValue("url.assets.path", "assets")
+				.build();
+		ReflectionTestUtils.setField(imageController, "derivativeMaxAgeSeconds", 86400L);
+	}
+
+	@Test
+	void getImageDerivative() throws Exception {
+		Path derivative = Files.write(directory.resolve("abc_250x250.png"), new byte[]{1, 2, 3});
+		when(imageService.getDerivative("images/avatar.png", 250, 250)).thenReturn(derivative);
+
+		mockMvc.perform(get("/assets/img/250x250/images/avatar.png"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", "image/png"))
+				.andExpect(header().string("Cache-Control", "max-age=86400, public"))
+				.andExpect(header().string("ETag", "\"abc_250x250.png\""))
+				.andExpect(content().bytes(new byte[]{1, 2, 3}));
+	}
+
+	@Test
+	void getImageDerivative_whenETagMatches_thenNotModified() throws Exception {
+		Path derivative = Files.write(directory.resolve("abc_250x250.png"), new byte[]{1, 2, 3});
+		when(imageService.getDerivative("images/avatar.png", 250, 250)).thenReturn(derivative);
+
+		mockMvc.perform(get("/assets/img/250x250/images/avatar.png").header("If-None-Match", "\"abc_250x250.png\""))
+				.andExpect(status().isNotModified())
+				.andExpect(content().bytes(new byte[0]));
+	}
+
+	@Test
+	void uploadImage() throws Exception {
+		MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", new byte[]{1, 2, 3});
+		when(imageService.upload(any())).thenReturn(ImageDTO.builder().url("/assets/images/ab/abc.png").build());
+
+		mockMvc.perform(multipart("/assets/img").file(file))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.url").value("/assets/images/ab/abc.png"));
+	}
+}
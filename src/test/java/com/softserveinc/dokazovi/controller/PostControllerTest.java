@@ -1,15 +1,24 @@
 package com.softserveinc.dokazovi.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.softserveinc.dokazovi.config.FieldSelectionInterceptor;
+import com.softserveinc.dokazovi.dto.batch.BatchDTO;
+import com.softserveinc.dokazovi.dto.post.PostChangesDTO;
 import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.slice.SliceDTO;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
 import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
+import com.softserveinc.dokazovi.exception.TooManyRequestsException;
+import com.softserveinc.dokazovi.exception.handler.CustomRestExceptionHandler;
 import com.softserveinc.dokazovi.security.UserPrincipal;
 import com.softserveinc.dokazovi.service.PostService;
+import com.softserveinc.dokazovi.service.PostStreamService;
 import com.softserveinc.dokazovi.service.PostTypeService;
+import com.softserveinc.dokazovi.util.OffHeapCache;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -20,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -29,16 +39,25 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.Validator;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.softserveinc.dokazovi.controller.EndPoints.POST;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_ALL_POSTS;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_BATCH;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_CHANGES;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_FEED;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_GET_POST_BY_AUTHOR_ID_AND_DIRECTIONS;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_IMPORTANT;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST;
@@ -47,16 +66,23 @@ import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_EXPE
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_POST_TYPES_AND_ORIGINS;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_SET_IMPORTANT;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_SET_UNIMPORTANT;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_STREAM;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_TYPE;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_VIEW_COUNT;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -73,7 +99,17 @@ class PostControllerTest {
 	@Mock
 	private PostTypeService postTypeService;
 	@Mock
+	private PostStreamService postStreamService;
+	@Mock
 	private Validator validator;
+	@Spy
+	private OffHeapCache<Integer> postResponseCache = new OffHeapCache<>(1 << 20, 4096);
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+	@Spy
+	private MappingJackson2CborHttpMessageConverter cborConverter = new MappingJackson2CborHttpMessageConverter();
+	@Spy
+	private MappingJackson2SmileHttpMessageConverter smileConverter = new MappingJackson2SmileHttpMessageConverter();
 
 	@BeforeEach
 	public void init() {
@@ -81,6 +117,7 @@ class PostControllerTest {
 				.standaloneSetup(postController)
 				.setValidator(validator)
 				.setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+				.addInterceptors(new FieldSelectionInterceptor())
 				.build();
 	}
 
@@ -109,6 +146,119 @@ class PostControllerTest {
 		verify(postService).findPostById(eq(notExistingPostId));
 	}
 
+	@Test
+	void getPostById_WhenCached_DoesNotLoadPost() throws Exception {
+		Integer postId = 1;
+		String uri = POST + "/" + postId;
+		Timestamp modifiedAt = Timestamp.valueOf("2021-03-01 10:00:00");
+		PostDTO postDTO = PostDTO.builder()
+				.id(postId)
+				.title("title")
+				.modifiedAt(modifiedAt)
+				.build();
+
+		when(postService.findPostModifiedAt(postId)).thenReturn(modifiedAt);
+		when(postService.findPostById(postId)).thenReturn(postDTO);
+		mockMvc.perform(get(uri))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.title").value("title"));
+		mockMvc.perform(get(uri))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.title").value("title"));
+		mockMvc.perform(get(uri).header("Accept-Encoding", "gzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Encoding", "gzip"));
+		mockMvc.perform(get(uri).header("Accept-Encoding", "br, gzip;q=0"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("Content-Encoding"))
+				.andExpect(jsonPath("$.title").value("title"));
+		mockMvc.perform(get(uri).header("Accept-Encoding", "x-notgzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("Content-Encoding"));
+		mockMvc.perform(get(uri).header("Accept-Encoding", "identity;q=0.5, *;q=0.1"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Encoding", "gzip"));
+
+		verify(postService, times(1)).findPostById(postId);
+	}
+
+	@Test
+	void getPostById_WhenFieldsRequested_BypassesCache() throws Exception {
+		Integer postId = 1;
+		String uri = POST + "/" + postId;
+		PostDTO postDTO = PostDTO.builder()
+				.id(postId)
+				.title("title")
+				.build();
+
+		when(postService.findPostById(postId)).thenReturn(postDTO);
+		mockMvc.perform(get(uri).param("fields", "title"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.title").value("title"));
+		mockMvc.perform(get(uri).param("fields", "title"))
+				.andExpect(status().isOk());
+
+		verify(postService, times(2)).findPostById(postId);
+		verify(postService, never()).findPostModifiedAt(any());
+	}
+
+	@Test
+	void getPostsByIds_isOk() throws Exception {
+		BatchDTO<PostDTO> batch = BatchDTO.inRequestOrder(List.of(2, 1),
+				Map.of(1, PostDTO.builder().id(1).build()));
+		when(postService.findPostsByIds(List.of(2, 1))).thenReturn(batch);
+
+		mockMvc.perform(get(POST + POST_BATCH).param("ids", "2,1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0]").isEmpty())
+				.andExpect(jsonPath("$.items[1].id").value(1))
+				.andExpect(jsonPath("$.missingIds[0]").value(2));
+	}
+
+	@Test
+	void getPostById_WhenCborAccepted_WritesCbor() throws Exception {
+		Integer postId = 1;
+		PostDTO postDTO = PostDTO.builder()
+				.id(postId)
+				.title("title")
+				.build();
+
+		when(postService.findPostById(postId)).thenReturn(postDTO);
+		byte[] body = mockMvc.perform(get(POST + "/" + postId).accept("application/cbor"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", "application/cbor"))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		Assertions.assertEquals(postDTO, new ObjectMapper(new CBORFactory()).readValue(body, PostDTO.class));
+	}
+
+	@Test
+	void getPostById_WhenJsonPreferred_WritesJson() throws Exception {
+		Integer postId = 1;
+		when(postService.findPostById(postId)).thenReturn(PostDTO.builder().id(postId).build());
+
+		mockMvc.perform(get(POST + "/" + postId).header("Accept", "application/json, application/cbor;q=0.5"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", "application/json"));
+	}
+
+	@Test
+	void getPostById_WhenModified_LoadsPostAgain() throws Exception {
+		Integer postId = 1;
+		String uri = POST + "/" + postId;
+		Timestamp modifiedAt = Timestamp.valueOf("2021-03-01 10:00:00");
+		Timestamp updatedAt = Timestamp.valueOf("2021-03-02 10:00:00");
+
+		when(postService.findPostModifiedAt(postId)).thenReturn(modifiedAt, updatedAt);
+		when(postService.findPostById(postId)).thenReturn(
+				PostDTO.builder().id(postId).title("old").modifiedAt(modifiedAt).build(),
+				PostDTO.builder().id(postId).title("new").modifiedAt(updatedAt).build());
+		mockMvc.perform(get(uri)).andExpect(jsonPath("$.title").value("old"));
+		mockMvc.perform(get(uri)).andExpect(jsonPath("$.title").value("new"));
+
+		verify(postService, times(2)).findPostById(postId);
+	}
+
 	@Test
 	void savePost() throws Exception {
 		String content = "{\n"
@@ -514,4 +664,57 @@ class PostControllerTest {
 		verify(postService).getPostViewCount(any(String.class));
 	}
 
+	@Test
+	void findPostChanges_passesCursorAndLimit() throws Exception {
+		when(postService.findChanges(42L, 10)).thenReturn(PostChangesDTO.builder()
+				.changes(List.of())
+				.cursor(42L)
+				.build());
+
+		mockMvc.perform(get(POST + POST_CHANGES + "?since=42&limit=10"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.cursor").value(42));
+
+		verify(postService).findChanges(42L, 10);
+	}
+
+	@Test
+	void findFeed_passesDirectionsAndTypes() throws Exception {
+		when(postService.findFeed(eq(Set.of(1, 2)), eq(Set.of(3)), any(Pageable.class)))
+				.thenReturn(SliceDTO.<PostDTO>builder()
+						.content(List.of(PostDTO.builder().id(7).build()))
+						.hasNext(true)
+						.build());
+
+		mockMvc.perform(get(POST + POST_FEED + "?directions=1,2&types=3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].id").value(7))
+				.andExpect(jsonPath("$.hasNext").value(true));
+	}
+
+	@Test
+	void streamPostChanges_startsAsyncResponse() throws Exception {
+		when(postStreamService.subscribe()).thenReturn(new SseEmitter());
+
+		mockMvc.perform(get(POST + POST_STREAM).accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(status().isOk())
+				.andExpect(request().asyncStarted());
+
+		verify(postStreamService).subscribe();
+	}
+
+	@Test
+	void streamPostChanges_whenAtCapacity_thenTooManyRequestsWithoutBody() throws Exception {
+		when(postStreamService.subscribe()).thenThrow(new TooManyRequestsException("Too many subscribers"));
+		MockMvc mockMvcWithAdvice = MockMvcBuilders
+				.standaloneSetup(postController)
+				.setControllerAdvice(new CustomRestExceptionHandler())
+				.build();
+
+		mockMvcWithAdvice.perform(get(POST + POST_STREAM).accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+				.andExpect(content().string(""));
+	}
+
 }
@@ -1,8 +1,10 @@
 package com.softserveinc.dokazovi.controller;
 
+import com.softserveinc.dokazovi.dto.user.ExpertProfileDTO;
 import com.softserveinc.dokazovi.dto.user.UserDTO;
 import com.softserveinc.dokazovi.pojo.UserSearchCriteria;
 import com.softserveinc.dokazovi.security.UserPrincipal;
+import com.softserveinc.dokazovi.service.ExpertProfileService;
 import com.softserveinc.dokazovi.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +24,8 @@ import java.util.Set;
 
 import static com.softserveinc.dokazovi.controller.EndPoints.USER;
 import static com.softserveinc.dokazovi.controller.EndPoints.USER_ALL_EXPERTS;
+import static com.softserveinc.dokazovi.controller.EndPoints.USER_ALL_EXPERTS_SLICE;
+import static com.softserveinc.dokazovi.controller.EndPoints.USER_EXPERTS_NEAR;
 import static com.softserveinc.dokazovi.controller.EndPoints.USER_GET_CURRENT_USER;
 import static com.softserveinc.dokazovi.controller.EndPoints.USER_RANDOM_EXPERTS;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,6 +45,8 @@ class UserControllerTest {
 	UserPrincipal userPrincipal;
 	@Mock
 	private UserService userService;
+	@Mock
+	private ExpertProfileService expertProfileService;
 	@InjectMocks
 	private UserController userController;
 
@@ -115,6 +121,27 @@ class UserControllerTest {
 		verify(userService).findAllExperts(userSearchCriteria, pageable);
 	}
 
+	@Test
+	void getAllExpertsSlice_FilteredByDirections_WithApproximateTotal_isOk() throws Exception {
+		String uri = USER + USER_ALL_EXPERTS_SLICE + "?page=1&directions=1,4&approximateTotal=true";
+
+		UserSearchCriteria userSearchCriteria = new UserSearchCriteria();
+		userSearchCriteria.setDirections(Set.of(1, 4));
+
+		mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+		verify(userService).findAllExpertsSlice(userSearchCriteria, PageRequest.of(1, 6), true);
+	}
+
+	@Test
+	void getExpertsNear_FilteredByDirections_isOk() throws Exception {
+		String uri = USER + USER_EXPERTS_NEAR + "?lat=50.45&lon=30.52&radiusKm=20&directions=1,4";
+
+		mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+		verify(userService).findExpertsNear(50.45, 30.52, 20, Set.of(1, 4), 10);
+	}
+
 	@Test
 	void getAllExpertsByDirectionsAndByRegions_FilteredByRegionsOnly_isOk() throws Exception {
 		String uri = USER + USER_ALL_EXPERTS + "/?page=0&regions=1,4,6";
@@ -194,4 +221,24 @@ class UserControllerTest {
 		when(userPrincipal.getId()).thenReturn(9);
 		mockMvc.perform(get(uri)).andExpect(status().isNotFound());
 	}
+
+	@Test
+	void getExpertProfile_WhenExists_isOk() throws Exception {
+		Integer userId = 1;
+		ExpertProfileDTO profile = ExpertProfileDTO.builder()
+				.expert(UserDTO.builder().id(userId).build())
+				.build();
+
+		when(expertProfileService.findExpertProfile(eq(userId), any(Pageable.class))).thenReturn(profile);
+		mockMvc.perform(get(USER + "/" + userId + "/profile")).andExpect(status().isOk());
+
+		verify(expertProfileService).findExpertProfile(eq(userId), any(Pageable.class));
+	}
+
+	@Test
+	void getExpertProfile_WhenNotExists_NotFound() throws Exception {
+		when(expertProfileService.findExpertProfile(any(Integer.class), any(Pageable.class))).thenReturn(null);
+
+		mockMvc.perform(get(USER + "/2/profile")).andExpect(status().isNotFound());
+	}
 }
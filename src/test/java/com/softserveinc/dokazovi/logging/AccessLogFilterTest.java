@@ -0,0 +1,64 @@
+package com.softserveinc.dokazovi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AccessLogFilterTest {
+
+	private final AccessLogFilter accessLogFilter = new AccessLogFilter();
+	private final Logger accessLogger = (Logger) LoggerFactory.getLogger("access-log");
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+	@BeforeEach
+	void init() {
+		appender.start();
+		accessLogger.addAppender(appender);
+		accessLogger.setLevel(Level.INFO);
+	}
+
+	@AfterEach
+	void destroy() {
+		accessLogger.detachAppender(appender);
+		accessLogger.setLevel(null);
+	}
+
+	@Test
+	void doFilter_logsRouteStatusSqlCountAndUser() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/post/42");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (servletRequest, servletResponse) -> {
+			new SqlStatementCounter().inspect("select 1");
+			new SqlStatementCounter().inspect("select 2");
+			servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/post/{postId}");
+			servletRequest.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, 7);
+			((MockHttpServletResponse) servletResponse).setStatus(404);
+		};
+
+		accessLogFilter.doFilter(request, response, chain);
+
+		assertEquals(1, appender.list.size());
+		Map<String, String> fields = appender.list.get(0).getMDCPropertyMap();
+		assertEquals("GET", fields.get("method"));
+		assertEquals("/post/{postId}", fields.get("route"));
+		assertEquals("404", fields.get("status"));
+		assertEquals("2", fields.get("sqlCount"));
+		assertEquals("7", fields.get("userId"));
+		assertNull(MDC.get("route"));
+	}
+}
@@ -0,0 +1,41 @@
+package com.softserveinc.dokazovi.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonLogEncoderTest {
+
+	private final JsonLogEncoder encoder = new JsonLogEncoder();
+
+	@Test
+	void encode_writesOneJsonLineWithMdcFields() throws Exception {
+		LoggerContext context = new LoggerContext();
+		LoggingEvent event = new LoggingEvent(getClass().getName(), context.getLogger("access-log"), Level.INFO,
+				"GET {} \"quoted\"", new IllegalStateException("failed"), new Object[]{"/post/{postId}"});
+		event.setMDCPropertyMap(Map.of("status", "200", "sqlCount", "3"));
+
+		String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+		JsonNode json = new ObjectMapper().readTree(line);
+
+		assertTrue(line.endsWith("\n"));
+		assertEquals(1, line.split("\n").length);
+		assertEquals("INFO", json.get("level").asText());
+		assertEquals("access-log", json.get("logger").asText());
+		assertEquals("GET /post/{postId} \"quoted\"", json.get("message").asText());
+		assertEquals("200", json.get("status").asText());
+		assertEquals("3", json.get("sqlCount").asText());
+		assertTrue(json.get("stack_trace").asText().contains("IllegalStateException: failed"));
+		assertFalse(event.hasCallerData());
+	}
+}
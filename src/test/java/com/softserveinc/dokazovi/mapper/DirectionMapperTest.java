@@ -1,6 +1,7 @@
 package com.softserveinc.dokazovi.mapper;
 
 import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.entity.AuthorFacetEntity;
 import com.softserveinc.dokazovi.entity.DirectionEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,4 +33,21 @@ class DirectionMapperTest {
 		assertEquals(directionDTO.getLabel(), directionEntity.getLabel());
 		assertEquals(directionDTO.getColor(), directionEntity.getColor());
 	}
+
+	@Test
+	void toAuthorDirectionDTO_whenMaps_thenCorrect() {
+		AuthorFacetEntity facet = AuthorFacetEntity.builder()
+				.id(10)
+				.authorId(3)
+				.direction(directionEntity)
+				.postCount(7)
+				.build();
+
+		DirectionDTO directionDTO = mapper.toAuthorDirectionDTO(facet);
+
+		assertEquals(directionEntity.getId(), directionDTO.getId());
+		assertEquals(directionEntity.getName(), directionDTO.getName());
+		assertEquals(directionEntity.getColor(), directionDTO.getColor());
+		assertEquals(7, directionDTO.getPostCount());
+	}
 }
@@ -9,6 +9,7 @@ import com.softserveinc.dokazovi.entity.InstitutionEntity;
 import com.softserveinc.dokazovi.entity.PostEntity;
 import com.softserveinc.dokazovi.entity.PostTypeEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.pojo.FieldSelection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -17,6 +18,10 @@ import java.sql.Timestamp;
 import java.util.HashSet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 class PostMapperTest {
 
@@ -103,6 +108,32 @@ class PostMapperTest {
 		assertEquals(postDTO.getModifiedAt(), post.getModifiedAt());
 	}
 
+	@Test
+	void toPostDTO_whenFieldsSelected_doesNotTouchUnrequestedAssociations() {
+		PostEntity spyPost = spy(post);
+
+		PostDTO postDTO = postMapper.toPostDTO(spyPost, FieldSelection.parse("title,type"));
+
+		assertEquals(post.getId(), postDTO.getId());
+		assertEquals(post.getTitle(), postDTO.getTitle());
+		assertEquals(type.getName(), postDTO.getType().getName());
+		assertNull(postDTO.getContent());
+		assertNull(postDTO.getAuthor());
+		assertNull(postDTO.getDirections());
+		verify(spyPost, never()).getAuthor();
+		verify(spyPost, never()).getDirections();
+		verify(spyPost, never()).getTags();
+		verify(spyPost, never()).getOrigins();
+	}
+
+	@Test
+	void toPostDTO_whenAllFieldsSelected_mapsAuthor() {
+		PostDTO postDTO = postMapper.toPostDTO(post, FieldSelection.ALL);
+
+		assertEquals(author.getId(), postDTO.getAuthor().getId());
+		assertEquals(post.getContent(), postDTO.getContent());
+	}
+
 	@Test
 	void toLatestExpertPostDTO_whenMaps_thenCorrect() {
 		LatestUserPostDTO latestUserPostDTO = postMapper.toLatestExpertPostDTO(post);
@@ -0,0 +1,65 @@
+package com.softserveinc.dokazovi.pojo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.softserveinc.dokazovi.config.FieldSelectionConfig;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldSelectionTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.addMixIn(PostDTO.class, FieldSelectionConfig.FieldSelectionMixIn.class)
+			.setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+
+	private final PostDTO post = PostDTO.builder()
+			.id(1)
+			.title("title")
+			.content("content")
+			.build();
+
+	@Test
+	void parse_whenNoFields_thenAll() {
+		assertSame(FieldSelection.ALL, FieldSelection.parse(null));
+		assertSame(FieldSelection.ALL, FieldSelection.parse(" "));
+		assertSame(FieldSelection.ALL, FieldSelection.parse(" , ,"));
+		assertTrue(FieldSelection.ALL.includes("content"));
+	}
+
+	@Test
+	void parse_whenFieldsListed_thenIncludesThemAndId() {
+		FieldSelection fields = FieldSelection.parse(" title, author ,");
+
+		assertEquals(Set.of("id", "title", "author"), fields.getFields());
+		assertTrue(fields.includes("author"));
+		assertFalse(fields.includes("content"));
+		assertFalse(fields.isAll());
+	}
+
+	@Test
+	void toFilterProvider_whenFieldsListed_thenWritesOnlyThem() throws Exception {
+		JsonNode json = objectMapper.readTree(objectMapper.writer(FieldSelection.parse("title").toFilterProvider())
+				.writeValueAsString(post));
+
+		Set<String> names = new HashSet<>();
+		json.fieldNames().forEachRemaining(names::add);
+		assertEquals(Set.of("id", "title"), names);
+	}
+
+	@Test
+	void withoutFilters_thenWritesAllFields() throws Exception {
+		JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(post));
+
+		assertTrue(json.has("content"));
+		assertTrue(json.has("author"));
+	}
+}
@@ -0,0 +1,40 @@
+package com.softserveinc.dokazovi.pojo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PostListingKeyTest {
+
+	@Test
+	void of_whenIdsInDifferentOrderOrRepeated_thenEqual() {
+		PostListingKey key = PostListingKey.of("allPosts", PageRequest.of(0, 10), List.of(3, 1), null);
+		PostListingKey same = PostListingKey.of("allPosts", PageRequest.of(0, 10), List.of(1, 3, 3), null);
+
+		assertEquals(key, same);
+		assertEquals(key.hashCode(), same.hashCode());
+		assertEquals(List.of(1, 3), key.getFilters().get(0));
+	}
+
+	@Test
+	void of_whenNullOrEmptyFilter_thenNotEqual() {
+		assertNotEquals(
+				PostListingKey.of("allPosts", PageRequest.of(0, 10), (Object) null),
+				PostListingKey.of("allPosts", PageRequest.of(0, 10), Set.of()));
+	}
+
+	@Test
+	void of_whenPageSortOrQueryDiffer_thenNotEqual() {
+		PostListingKey key = PostListingKey.of("byExpert", PageRequest.of(0, 10), 1);
+
+		assertNotEquals(key, PostListingKey.of("byExpert", PageRequest.of(1, 10), 1));
+		assertNotEquals(key, PostListingKey.of("byExpert", PageRequest.of(0, 10, Sort.by("title")), 1));
+		assertNotEquals(key, PostListingKey.of("byDirection", PageRequest.of(0, 10), 1));
+	}
+}
@@ -0,0 +1,110 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.entity.OriginEntity;
+import com.softserveinc.dokazovi.entity.PostEntity;
+import com.softserveinc.dokazovi.entity.PostTypeEntity;
+import com.softserveinc.dokazovi.entity.TagEntity;
+import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class PostRepositorySecondLevelCacheTest {
+
+	private static final int POSTS_COUNT = 3;
+
+	@Autowired
+	private TestEntityManager entityManager;
+	@Autowired
+	private PostRepository postRepository;
+
+	private EntityManagerFactory entityManagerFactory;
+	private Statistics statistics;
+
+	@BeforeEach
+	void init() {
+		PostTypeEntity type = entityManager.persist(PostTypeEntity.builder().name("Стаття").build());
+		OriginEntity origin = entityManager.persist(OriginEntity.builder().name("Думка експерта").build());
+		DirectionEntity direction = entityManager.persist(DirectionEntity.builder().name("covid-19").build());
+		TagEntity tag = entityManager.persist(TagEntity.builder().tag("вакцина").build());
+		for (int i = 0; i < POSTS_COUNT; i++) {
+			entityManager.persist(PostEntity.builder()
+					.title("title " + i)
+					.content("content " + i)
+					.status(PostStatus.PUBLISHED)
+					.type(type)
+					.origins(Set.of(origin))
+					.directions(Set.of(direction))
+					.tags(Set.of(tag))
+					.build());
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		entityManagerFactory = entityManager.getEntityManager().getEntityManagerFactory();
+		entityManagerFactory.getCache().evictAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void findAll_loadsReferenceDataFromDatabaseOnlyOnce() {
+		loadPostsPage();
+
+		assertEquals(1, statistics.getEntityStatistics(PostTypeEntity.class.getName()).getLoadCount());
+		assertEquals(POSTS_COUNT, statistics.getCollectionStatistics(collectionRole("directions")).getLoadCount());
+
+		entityManager.clear();
+		statistics.clear();
+		loadPostsPage();
+
+		assertEquals(0, statistics.getEntityStatistics(PostTypeEntity.class.getName()).getLoadCount());
+		assertEquals(0, statistics.getEntityStatistics(OriginEntity.class.getName()).getLoadCount());
+		assertEquals(0, statistics.getEntityStatistics(DirectionEntity.class.getName()).getLoadCount());
+		assertEquals(0, statistics.getCollectionStatistics(collectionRole("directions")).getLoadCount());
+		assertEquals(0, statistics.getCollectionStatistics(collectionRole("origins")).getLoadCount());
+		assertEquals(0, statistics.getCollectionStatistics(collectionRole("tags")).getLoadCount());
+		assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void findAll_doesNotLoadAssociationsUntilTheyAreRead() {
+		assertEquals(POSTS_COUNT, postRepository.findAll(PageRequest.of(0, 10)).getNumberOfElements());
+
+		assertEquals(0, statistics.getEntityStatistics(PostTypeEntity.class.getName()).getLoadCount());
+		assertEquals(0, statistics.getCollectionStatistics(collectionRole("directions")).getLoadCount());
+		assertEquals(0, statistics.getCollectionStatistics(collectionRole("origins")).getLoadCount());
+		assertEquals(0, statistics.getCollectionStatistics(collectionRole("tags")).getLoadCount());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	private void loadPostsPage() {
+		Page<PostEntity> posts = postRepository.findAll(PageRequest.of(0, 10));
+		assertEquals(POSTS_COUNT, posts.getNumberOfElements());
+		posts.forEach(post -> {
+			assertEquals("Стаття", post.getType().getName());
+			assertEquals(1, post.getDirections().size());
+			assertEquals(1, post.getOrigins().size());
+			assertEquals(1, post.getTags().size());
+		});
+	}
+
+	private String collectionRole(String field) {
+		return PostEntity.class.getName() + "." + field;
+	}
+}
@@ -0,0 +1,81 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+	private BoundedPasswordEncoder passwordEncoder;
+
+	@BeforeEach
+	void init() {
+		passwordEncoder = new BoundedPasswordEncoder();
+		ReflectionTestUtils.setField(passwordEncoder, "poolSize", 1);
+		ReflectionTestUtils.setField(passwordEncoder, "queueCapacity", 1);
+		ReflectionTestUtils.setField(passwordEncoder, "maxWaitMs", 10000L);
+		passwordEncoder.init();
+	}
+
+	@AfterEach
+	void destroy() {
+		passwordEncoder.destroy();
+	}
+
+	@Test
+	void matches_whenEncodedByTheSameEncoder_thenTrue() {
+		String encoded = passwordEncoder.encode("password");
+
+		assertTrue(passwordEncoder.matches("password", encoded));
+		assertFalse(passwordEncoder.matches("wrong", encoded));
+		assertEquals(0, passwordEncoder.getStatistics().getRejectedCount());
+	}
+
+	@Test
+	void matches_whenPoolIsSaturated_thenTooManyRequests() {
+		ThreadPoolExecutor pool = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordEncoder, "pool");
+		CountDownLatch release = new CountDownLatch(1);
+		pool.execute(() -> awaitQuietly(release));
+		pool.execute(() -> awaitQuietly(release));
+
+		try {
+			assertThrows(TooManyRequestsException.class, () -> passwordEncoder.matches("password", "$2a$10$x"));
+			assertEquals(1, passwordEncoder.getStatistics().getRejectedCount());
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	void matches_whenWaitRunsOut_thenTooManyRequests() {
+		ReflectionTestUtils.setField(passwordEncoder, "maxWaitMs", 50L);
+		ThreadPoolExecutor pool = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordEncoder, "pool");
+		CountDownLatch release = new CountDownLatch(1);
+		pool.execute(() -> awaitQuietly(release));
+
+		try {
+			assertThrows(TooManyRequestsException.class, () -> passwordEncoder.matches("password", "$2a$10$x"));
+			assertEquals(1, passwordEncoder.getStatistics().getRejectedCount());
+		} finally {
+			release.countDown();
+		}
+	}
+
+	private void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.entity.UserTokenRevocationEntity;
+import com.softserveinc.dokazovi.repositories.RevokedTokenRepository;
+import com.softserveinc.dokazovi.repositories.UserTokenRevocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenDenylistTest {
+
+	@Mock
+	private RevokedTokenRepository revokedTokenRepository;
+	@Mock
+	private UserTokenRevocationRepository userTokenRevocationRepository;
+	@InjectMocks
+	private TokenDenylist tokenDenylist;
+
+	@BeforeEach
+	void init() {
+		ReflectionTestUtils.setField(tokenDenylist, "expectedTokens", 4);
+		ReflectionTestUtils.setField(tokenDenylist, "falsePositiveRate", 0.001);
+		ReflectionTestUtils.setField(tokenDenylist, "syncOverlapMs", 60000L);
+	}
+
+	@Test
+	void isRevoked_whenLoadedAtStartup_thenTrue() {
+		when(revokedTokenRepository.findTokenIdsByExpiresAtAfter(any(Timestamp.class)))
+				.thenReturn(List.of("revoked"));
+
+		tokenDenylist.init();
+
+		assertTrue(tokenDenylist.isRevoked("revoked"));
+		assertFalse(tokenDenylist.isRevoked("active"));
+		assertFalse(tokenDenylist.isRevoked(null));
+	}
+
+	@Test
+	void isRevoked_whenAddedLocally_thenTrue() {
+		tokenDenylist.init();
+
+		tokenDenylist.add("revoked");
+
+		assertTrue(tokenDenylist.isRevoked("revoked"));
+	}
+
+	@Test
+	void sync_addsTokensRevokedOnOtherNodes() {
+		tokenDenylist.init();
+		when(revokedTokenRepository.findTokenIdsByRevokedAtGreaterThanEqual(any(Timestamp.class)))
+				.thenReturn(List.of("first", "second"));
+
+		tokenDenylist.sync();
+
+		assertTrue(tokenDenylist.isRevoked("first"));
+		assertTrue(tokenDenylist.isRevoked("second"));
+		verify(revokedTokenRepository, times(1)).findTokenIdsByExpiresAtAfter(any(Timestamp.class));
+	}
+
+	@Test
+	void sync_whenFilterIsFull_thenRebuilds() {
+		tokenDenylist.init();
+		when(revokedTokenRepository.findTokenIdsByRevokedAtGreaterThanEqual(any(Timestamp.class)))
+				.thenReturn(List.of("1", "2", "3", "4", "5"));
+		when(revokedTokenRepository.findTokenIdsByExpiresAtAfter(any(Timestamp.class)))
+				.thenReturn(List.of("1", "2", "3", "4", "5"));
+
+		tokenDenylist.sync();
+
+		assertTrue(tokenDenylist.isRevoked("5"));
+		verify(revokedTokenRepository, times(2)).findTokenIdsByExpiresAtAfter(any(Timestamp.class));
+	}
+
+	@Test
+	void isRevoked_whenUserTokensRevoked_thenTokensIssuedUntilThenRevoked() {
+		when(userTokenRevocationRepository.findAllByExpiresAtAfter(any(Timestamp.class)))
+				.thenReturn(List.of(revocation(28, 5000)));
+
+		tokenDenylist.init();
+
+		assertTrue(tokenDenylist.isRevoked(28, new Date(4000)));
+		assertTrue(tokenDenylist.isRevoked(28, new Date(5000)));
+		assertTrue(tokenDenylist.isRevoked(28, null));
+		assertFalse(tokenDenylist.isRevoked(28, new Date(6000)));
+		assertFalse(tokenDenylist.isRevoked(29, new Date(4000)));
+		assertFalse(tokenDenylist.isRevoked(null, new Date(4000)));
+	}
+
+	@Test
+	void sync_addsUserRevocationsMadeOnOtherNodes() {
+		tokenDenylist.init();
+		tokenDenylist.addUser(28, 1000);
+		when(userTokenRevocationRepository.findAllByRevokedBeforeGreaterThanEqual(any(Timestamp.class)))
+				.thenReturn(List.of(revocation(28, 5000)));
+
+		tokenDenylist.sync();
+
+		assertTrue(tokenDenylist.isRevoked(28, new Date(4000)));
+	}
+
+	@Test
+	void purgeExpired_deletesExpiredAndForgetsThem() {
+		tokenDenylist.init();
+		tokenDenylist.add("expired");
+
+		tokenDenylist.purgeExpired();
+
+		verify(revokedTokenRepository).deleteAllExpired(any(Timestamp.class));
+		verify(userTokenRevocationRepository).deleteAllExpired(any(Timestamp.class));
+		assertFalse(tokenDenylist.isRevoked("expired"));
+	}
+
+	private UserTokenRevocationEntity revocation(Integer userId, long revokedBefore) {
+		return UserTokenRevocationEntity.builder()
+				.userId(userId)
+				.revokedBefore(new Timestamp(revokedBefore))
+				.expiresAt(new Timestamp(System.currentTimeMillis() + 60000))
+				.build();
+	}
+}
@@ -15,6 +15,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,6 +61,20 @@ class TokenProviderTest {
 		assertEquals(expectedId.toString(), actualId);
 	}
 
+	@Test
+	void createToken_setsUniqueTokenId() {
+		UserPrincipal userPrincipal = UserPrincipal.builder()
+				.id(28)
+				.email("test@test.com")
+				.password("test")
+				.build();
+		when(authentication.getPrincipal()).thenReturn(userPrincipal);
+		String firstId = tokenProvider.getClaimsFromToken(tokenProvider.createToken(authentication)).getId();
+		String secondId = tokenProvider.getClaimsFromToken(tokenProvider.createToken(authentication)).getId();
+		assertNotNull(firstId);
+		assertNotEquals(firstId, secondId);
+	}
+
 	@Test
 	void getUserIdFromToken() {
 		Integer actualId = tokenProvider.getUserIdFromToken(validToken);
@@ -0,0 +1,105 @@
+package com.softserveinc.dokazovi.security.oauth2;
+
+import com.softserveinc.dokazovi.config.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.util.SerializationUtils;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OAuth2CookieCodecTest {
+
+	private OAuth2CookieCodec codec;
+	private OAuth2AuthorizationRequest authorizationRequest;
+
+	@BeforeEach
+	void init() {
+		AppProperties appProperties = new AppProperties();
+		appProperties.getAuth().setTokenSecret("926D96C90030DD58429D2751AC1BDBBC");
+		codec = new OAuth2CookieCodec(appProperties);
+
+		authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+				.authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+				.clientId("client-id")
+				.redirectUri("http://localhost:8080/login/oauth2/code/google")
+				.scopes(Set.of("email", "profile"))
+				.state("d3Ny0qfZB0y5GF8DwJzVqPA0kS0_tsQ0AqrZQ6AJnTk=")
+				.additionalParameters(Map.of("nonce", "nonce-hash"))
+				.attributes(Map.of("registration_id", "google", "nonce", "nonce-value"))
+				.build();
+	}
+
+	@Test
+	void decodeAuthorizationRequest_whenEncoded_thenSameRequest() {
+		String cookieValue = codec.encodeAuthorizationRequest(authorizationRequest);
+
+		OAuth2AuthorizationRequest decoded = codec.decodeAuthorizationRequest(cookieValue).orElseThrow();
+
+		assertEquals(authorizationRequest.getGrantType(), decoded.getGrantType());
+		assertEquals(authorizationRequest.getAuthorizationUri(), decoded.getAuthorizationUri());
+		assertEquals(authorizationRequest.getClientId(), decoded.getClientId());
+		assertEquals(authorizationRequest.getRedirectUri(), decoded.getRedirectUri());
+		assertEquals(authorizationRequest.getScopes(), decoded.getScopes());
+		assertEquals(authorizationRequest.getState(), decoded.getState());
+		assertEquals(authorizationRequest.getAdditionalParameters(), decoded.getAdditionalParameters());
+		assertEquals(authorizationRequest.getAttributes(), decoded.getAttributes());
+		assertEquals(authorizationRequest.getAuthorizationRequestUri(), decoded.getAuthorizationRequestUri());
+	}
+
+	@Test
+	void encodeAuthorizationRequest_isSmallerThanJavaSerialization() {
+		String legacyValue = Base64.getUrlEncoder().encodeToString(SerializationUtils.serialize(authorizationRequest));
+
+		assertTrue(codec.encodeAuthorizationRequest(authorizationRequest).length() < legacyValue.length() / 2);
+	}
+
+	@Test
+	void decodeAuthorizationRequest_whenTampered_thenEmpty() {
+		String cookieValue = codec.encodeAuthorizationRequest(authorizationRequest);
+		String tampered = cookieValue.substring(0, 10)
+				+ (cookieValue.charAt(10) == 'A' ? 'B' : 'A')
+				+ cookieValue.substring(11);
+
+		assertEquals(Optional.empty(), codec.decodeAuthorizationRequest(tampered));
+	}
+
+	@Test
+	void decodeAuthorizationRequest_whenJavaSerialized_thenEmpty() {
+		String legacyValue = Base64.getUrlEncoder().encodeToString(SerializationUtils.serialize(authorizationRequest));
+
+		assertEquals(Optional.empty(), codec.decodeAuthorizationRequest(legacyValue));
+		assertEquals(Optional.empty(), codec.decodeAuthorizationRequest("1."));
+		assertEquals(Optional.empty(), codec.decodeAuthorizationRequest("1.e30.%%%"));
+	}
+
+	@Test
+	void decodeAuthorizationRequest_whenSignedWithAnotherSecret_thenEmpty() {
+		AppProperties appProperties = new AppProperties();
+		appProperties.getAuth().setTokenSecret("another secret");
+		String cookieValue = new OAuth2CookieCodec(appProperties).encodeAuthorizationRequest(authorizationRequest);
+
+		assertEquals(Optional.empty(), codec.decodeAuthorizationRequest(cookieValue));
+	}
+
+	@Test
+	void decodeRedirectUri_whenEncoded_thenSameUri() {
+		String redirectUri = "http://localhost:3000/oauth2/redirect";
+
+		assertEquals(Optional.of(redirectUri), codec.decodeRedirectUri(codec.encodeRedirectUri(redirectUri)));
+	}
+
+	@Test
+	void decodeRedirectUri_whenPlainOrFromAnotherCookie_thenEmpty() {
+		String otherCookieValue = codec.encodeAuthorizationRequest(authorizationRequest);
+
+		assertEquals(Optional.empty(), codec.decodeRedirectUri("http://localhost:3000/oauth2/redirect"));
+		assertEquals(Optional.empty(), codec.decodeRedirectUri(otherCookieValue));
+	}
+}
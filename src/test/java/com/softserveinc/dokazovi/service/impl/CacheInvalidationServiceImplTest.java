@@ -0,0 +1,101 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserveinc.dokazovi.dto.cache.CacheInvalidationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationServiceImplTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final CacheManager cacheManager = new ConcurrentMapCacheManager("tags", "posts");
+
+	private CacheInvalidationServiceImpl cacheInvalidationService;
+
+	@BeforeEach
+	void init() {
+		cacheInvalidationService = new CacheInvalidationServiceImpl(
+				cacheManager, jdbcTemplate, objectMapper, eventPublisher);
+		ReflectionTestUtils.setField(cacheInvalidationService, "channel", "cache_invalidation");
+		cacheManager.getCache("tags").put("all", "tags");
+		cacheManager.getCache("posts").put("1", "post 1");
+		cacheManager.getCache("posts").put("2", "post 2");
+	}
+
+	@Test
+	void evict_whenEnabled_thenNotifiesAndEvictsLocallyAfterCommit() throws Exception {
+		ReflectionTestUtils.setField(cacheInvalidationService, "enabled", true);
+		ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<CacheInvalidationDTO> event = ArgumentCaptor.forClass(CacheInvalidationDTO.class);
+
+		cacheInvalidationService.evict("posts", "1");
+
+		verify(jdbcTemplate).queryForRowSet(eq("SELECT pg_notify(?, ?)"), eq("cache_invalidation"), payload.capture());
+		CacheInvalidationDTO sent = objectMapper.readValue(payload.getValue(), CacheInvalidationDTO.class);
+		assertEquals("posts", sent.getCache());
+		assertEquals("1", sent.getKey());
+		verify(eventPublisher).publishEvent(event.capture());
+		assertNotNull(cacheManager.getCache("posts").get("1"));
+
+		cacheInvalidationService.onCacheInvalidation(event.getValue());
+
+		assertNull(cacheManager.getCache("posts").get("1"));
+		assertNotNull(cacheManager.getCache("posts").get("2"));
+	}
+
+	@Test
+	void evictAll_whenDisabled_thenOnlyEvictsLocally() {
+		cacheInvalidationService.evictAll("tags");
+
+		verify(jdbcTemplate, never()).queryForRowSet(anyString(), eq("cache_invalidation"), anyString());
+		verify(eventPublisher).publishEvent(CacheInvalidationDTO.builder()
+				.node((String) ReflectionTestUtils.getField(cacheInvalidationService, "nodeId"))
+				.cache("tags")
+				.build());
+	}
+
+	@Test
+	void applyRemote_whenSentByAnotherNode_thenEvicts() {
+		cacheInvalidationService.applyRemote("{\"node\":\"other\",\"cache\":\"tags\"}");
+
+		assertNull(cacheManager.getCache("tags").get("all"));
+	}
+
+	@Test
+	void applyRemote_whenMalformed_thenSkips() {
+		cacheInvalidationService.applyRemote("not json");
+
+		assertNotNull(cacheManager.getCache("tags").get("all"));
+	}
+
+	@Test
+	void clearLocalCaches_clearsEveryCache() {
+		cacheInvalidationService.clearLocalCaches();
+
+		assertNull(cacheManager.getCache("tags").get("all"));
+		assertNull(cacheManager.getCache("posts").get("2"));
+	}
+}
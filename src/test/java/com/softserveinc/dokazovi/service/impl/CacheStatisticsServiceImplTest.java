@@ -0,0 +1,59 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.statistics.CacheRegionStatisticsDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheStatisticsServiceImplTest {
+
+	@Mock
+	private EntityManagerFactory entityManagerFactory;
+	@Mock
+	private SessionFactory sessionFactory;
+	@Mock
+	private Statistics statistics;
+	@Mock
+	private CacheRegionStatistics directionRegion;
+	@Mock
+	private CacheRegionStatistics originRegion;
+	@InjectMocks
+	private CacheStatisticsServiceImpl cacheStatisticsService;
+
+	@Test
+	void findSecondLevelCacheStatistics() {
+		when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+		when(sessionFactory.getStatistics()).thenReturn(statistics);
+		when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"origin", "direction"});
+		when(statistics.getDomainDataRegionStatistics("direction")).thenReturn(directionRegion);
+		when(statistics.getDomainDataRegionStatistics("origin")).thenReturn(originRegion);
+		when(directionRegion.getHitCount()).thenReturn(10L);
+		when(directionRegion.getMissCount()).thenReturn(2L);
+		when(directionRegion.getPutCount()).thenReturn(2L);
+		when(directionRegion.getElementCountInMemory()).thenReturn(2L);
+
+		List<CacheRegionStatisticsDTO> regions = cacheStatisticsService.findSecondLevelCacheStatistics();
+
+		assertEquals(2, regions.size());
+		assertEquals(CacheRegionStatisticsDTO.builder()
+				.region("direction")
+				.hitCount(10L)
+				.missCount(2L)
+				.putCount(2L)
+				.elementCountInMemory(2L)
+				.build(), regions.get(0));
+		assertEquals("origin", regions.get(1).getRegion());
+	}
+}
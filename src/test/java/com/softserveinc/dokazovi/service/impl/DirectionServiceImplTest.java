@@ -1,8 +1,11 @@
 package com.softserveinc.dokazovi.service.impl;
 
+import com.softserveinc.dokazovi.entity.AuthorFacetEntity;
 import com.softserveinc.dokazovi.entity.DirectionEntity;
 import com.softserveinc.dokazovi.mapper.DirectionMapper;
+import com.softserveinc.dokazovi.repositories.AuthorFacetRepository;
 import com.softserveinc.dokazovi.repositories.DirectionRepository;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,8 +13,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.function.IntSupplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -22,7 +27,11 @@ class DirectionServiceImplTest {
 	@Mock
 	private DirectionRepository directionRepository;
 	@Mock
+	private AuthorFacetRepository authorFacetRepository;
+	@Mock
 	private DirectionMapper directionMapper;
+	@Mock
+	private ScheduledLockService scheduledLockService;
 	@InjectMocks
 	private DirectionServiceImpl directionService;
 
@@ -38,16 +47,21 @@ class DirectionServiceImplTest {
 
 	@Test
 	void findAllDirectionsByUserId() {
-		List<DirectionEntity> directions = List.of(new DirectionEntity(), new DirectionEntity());
+		List<AuthorFacetEntity> facets = List.of(new AuthorFacetEntity(), new AuthorFacetEntity());
 
-		when(directionRepository.findAllDirectionsByUserId(1)).thenReturn(directions);
+		when(authorFacetRepository.findDirectionFacetsByAuthorId(1)).thenReturn(facets);
 		directionService.findAllDirectionsByUserId(1);
 
-		verify(directionMapper, times(directions.size())).toDirectionDTO(any(DirectionEntity.class));
+		verify(directionMapper, times(facets.size())).toAuthorDirectionDTO(any(AuthorFacetEntity.class));
 	}
 
 	@Test
 	void updateDirectionsHasDoctorsStatusTest() {
+		when(scheduledLockService.runExclusively(eq("updateDirectionsHasDoctorsStatus"), any()))
+				.thenAnswer(invocation -> {
+					invocation.<IntSupplier>getArgument(1).getAsInt();
+					return true;
+				});
 		directionService.updateDirectionsHasDoctorsStatus();
 		verify(directionRepository, times(1))
 				.updateDirectionsHasDoctorsStatus();
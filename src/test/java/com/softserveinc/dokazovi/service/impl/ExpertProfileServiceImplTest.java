@@ -0,0 +1,109 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.dto.user.ExpertProfileDTO;
+import com.softserveinc.dokazovi.dto.user.UserDTO;
+import com.softserveinc.dokazovi.exception.EntityNotFoundException;
+import com.softserveinc.dokazovi.service.DirectionService;
+import com.softserveinc.dokazovi.service.PostService;
+import com.softserveinc.dokazovi.service.PostTypeService;
+import com.softserveinc.dokazovi.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExpertProfileServiceImplTest {
+
+	private static final Integer USER_ID = 1;
+
+	private final Pageable pageable = PageRequest.of(0, 10);
+
+	@Mock
+	private UserService userService;
+	@Mock
+	private DirectionService directionService;
+	@Mock
+	private PostTypeService postTypeService;
+	@Mock
+	private PostService postService;
+	@InjectMocks
+	private ExpertProfileServiceImpl expertProfileService;
+
+	@BeforeEach
+	void init() {
+		ReflectionTestUtils.setField(expertProfileService, "poolSize", 4);
+		ReflectionTestUtils.setField(expertProfileService, "queueCapacity", 10);
+		expertProfileService.init();
+	}
+
+	@AfterEach
+	void destroy() {
+		expertProfileService.destroy();
+	}
+
+	@Test
+	void findExpertProfile_runsLookupsConcurrently() {
+		CountDownLatch allStarted = new CountDownLatch(4);
+		UserDTO expert = UserDTO.builder().id(USER_ID).build();
+		List<DirectionDTO> directions = List.of(DirectionDTO.builder().id(2).build());
+		List<PostTypeDTO> postTypes = List.of(PostTypeDTO.builder().id(3).build());
+		Page<PostDTO> latestPosts = new PageImpl<>(List.of(PostDTO.builder().id(4).build()));
+
+		when(userService.findExpertById(USER_ID)).thenAnswer(invocation -> awaitAll(allStarted, expert));
+		when(directionService.findAllDirectionsByUserId(USER_ID))
+				.thenAnswer(invocation -> awaitAll(allStarted, directions));
+		when(postTypeService.findAllPostTypesByUserId(USER_ID))
+				.thenAnswer(invocation -> awaitAll(allStarted, postTypes));
+		when(postService.findAllByExpertAndTypeAndDirections(USER_ID, null, null, pageable))
+				.thenAnswer(invocation -> awaitAll(allStarted, latestPosts));
+
+		ExpertProfileDTO profile = expertProfileService.findExpertProfile(USER_ID, pageable);
+
+		assertEquals(expert, profile.getExpert());
+		assertEquals(directions, profile.getDirections());
+		assertEquals(postTypes, profile.getPostTypes());
+		assertEquals(latestPosts, profile.getLatestPosts());
+	}
+
+	@Test
+	void findExpertProfile_whenNoExpert_returnsNull() {
+		when(userService.findExpertById(USER_ID)).thenReturn(null);
+
+		assertNull(expertProfileService.findExpertProfile(USER_ID, pageable));
+	}
+
+	@Test
+	void findExpertProfile_whenLookupFails_rethrowsCause() {
+		when(directionService.findAllDirectionsByUserId(USER_ID)).thenThrow(new EntityNotFoundException("failed"));
+
+		assertThrows(EntityNotFoundException.class, () -> expertProfileService.findExpertProfile(USER_ID, pageable));
+	}
+
+	private <T> T awaitAll(CountDownLatch allStarted, T result) throws InterruptedException {
+		allStarted.countDown();
+		assertTrue(allStarted.await(5, TimeUnit.SECONDS), "lookups did not run concurrently");
+		return result;
+	}
+}
@@ -0,0 +1,165 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.image.ImageDTO;
+import com.softserveinc.dokazovi.exception.BadRequestException;
+import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageServiceImplTest {
+
+	@TempDir
+	Path root;
+
+	private Path derivatives;
+	private ImageServiceImpl imageService;
+
+	@BeforeEach
+	void init() throws IOException {
+		derivatives = root.resolve("derivatives");
+		imageService = new ImageServiceImpl();
+		ReflectionTestUtils.setField(imageService, "fsRoot", root.toString());
+		ReflectionTestUtils.setField(imageService, "fsImages", root.resolve("images").toString());
+		ReflectionTestUtils.setField(imageService, "urlAssetsPath", "assets");
+		ReflectionTestUtils.setField(imageService, "fsDerivatives", derivatives.toString());
+		ReflectionTestUtils.setField(imageService, "allowedSizes", Set.of("100x100", "50x20"));
+
+		Files.createDirectories(root.resolve("images"));
+		ImageIO.write(new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB), "png",
+				root.resolve("images/avatar.png").toFile());
+	}
+
+	@Test
+	void getDerivative_resizesImage() throws IOException {
+		Path derivative = imageService.getDerivative("images/avatar.png", 50, 20);
+
+		BufferedImage image = ImageIO.read(derivative.toFile());
+		assertEquals(50, image.getWidth());
+		assertEquals(20, image.getHeight());
+		assertTrue(derivative.startsWith(derivatives));
+		assertTrue(derivative.getFileName().toString().endsWith("_50x20.png"));
+	}
+
+	@Test
+	void getDerivative_reusesDerivative_forSameContent() throws IOException {
+		Files.copy(root.resolve("images/avatar.png"), root.resolve("images/copy.png"));
+
+		Path derivative = imageService.getDerivative("images/avatar.png", 100, 100);
+
+		assertEquals(derivative, imageService.getDerivative("images/avatar.png", 100, 100));
+		assertEquals(derivative, imageService.getDerivative("images/copy.png", 100, 100));
+	}
+
+	@Test
+	void getDerivative_whenOriginalReplaced_thenReplacesRememberedDerivative() throws IOException {
+		Path original = root.resolve("images/avatar.png");
+		Path first = imageService.getDerivative("images/avatar.png", 100, 100);
+		ImageIO.write(new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB), "png", original.toFile());
+		Files.setLastModifiedTime(original, FileTime.fromMillis(Files.getLastModifiedTime(original).toMillis() + 1000));
+
+		Path second = imageService.getDerivative("images/avatar.png", 100, 100);
+
+		assertNotEquals(first, second);
+		assertEquals(1, ((Map<?, ?>) ReflectionTestUtils.getField(imageService, "derivatives")).size());
+	}
+
+	@Test
+	void getDerivative_resizesOnce_forConcurrentRequests() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<Path>> requests = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				requests.add(() -> imageService.getDerivative("images/avatar.png", 100, 100));
+			}
+			Set<Path> results = new HashSet<>();
+			for (Future<Path> result : executor.invokeAll(requests)) {
+				results.add(result.get());
+			}
+			assertEquals(1, results.size());
+		} finally {
+			executor.shutdown();
+		}
+		try (Stream<Path> files = Files.walk(derivatives)) {
+			assertEquals(1, files.filter(Files::isRegularFile).collect(Collectors.toList()).size());
+		}
+	}
+
+	@Test
+	void getDerivative_rejectsUnsupportedSize() {
+		assertThrows(BadRequestException.class,
+				() -> imageService.getDerivative("images/avatar.png", 4000, 4000));
+	}
+
+	@Test
+	void getDerivative_rejectsPathOutsideRoot() {
+		assertThrows(ResourceNotFoundException.class,
+				() -> imageService.getDerivative("../avatar.png", 100, 100));
+		assertThrows(ResourceNotFoundException.class,
+				() -> imageService.getDerivative("images/missing.png", 100, 100));
+	}
+
+	@Test
+	void upload_storesImageUnderContentHash() throws IOException {
+		byte[] content = Files.readAllBytes(root.resolve("images/avatar.png"));
+
+		ImageDTO first = imageService.upload(new MockMultipartFile("file", "a.png", "image/png", content));
+		ImageDTO second = imageService.upload(new MockMultipartFile("file", "b.png", "image/png", content));
+
+		assertEquals(first, second);
+		assertTrue(first.getUrl().startsWith("/assets/images/"));
+		assertTrue(first.getUrl().endsWith(".png"));
+		Path stored = root.resolve(first.getUrl().substring("/assets/".length()));
+		try (Stream<Path> files = Files.list(stored.getParent())) {
+			assertEquals(List.of(stored), files.collect(Collectors.toList()));
+		}
+		try (Stream<Path> files = Files.list(root.resolve("images"))) {
+			assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+		}
+	}
+
+	@Test
+	void upload_rejectsNotImage() {
+		MockMultipartFile file = new MockMultipartFile("file", "a.txt", "text/plain", new byte[]{1});
+
+		assertThrows(BadRequestException.class, () -> imageService.upload(file));
+	}
+
+	@Test
+	void upload_rejectsContentNotMatchingType() throws IOException {
+		MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png",
+				"<script>alert(1)</script>".getBytes(StandardCharsets.UTF_8));
+
+		assertThrows(BadRequestException.class, () -> imageService.upload(file));
+		try (Stream<Path> files = Files.walk(root.resolve("images"))) {
+			assertEquals(List.of(root.resolve("images/avatar.png")),
+					files.filter(Files::isRegularFile).collect(Collectors.toList()));
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.entity.MailOutboxEntity;
+import com.softserveinc.dokazovi.entity.enumerations.MailStatus;
+import com.softserveinc.dokazovi.repositories.MailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxServiceImplTest {
+
+	@Mock
+	private MailOutboxRepository mailOutboxRepository;
+	@Mock
+	private JavaMailSender javaMailSender;
+
+	@InjectMocks
+	private MailOutboxServiceImpl mailOutboxService;
+
+	@BeforeEach
+	void init() {
+		ReflectionTestUtils.setField(mailOutboxService, "batchSize", 10);
+		ReflectionTestUtils.setField(mailOutboxService, "maxAttempts", 3);
+		ReflectionTestUtils.setField(mailOutboxService, "initialBackoffMs", 1000L);
+		ReflectionTestUtils.setField(mailOutboxService, "maxBackoffMs", 60000L);
+		ReflectionTestUtils.setField(mailOutboxService, "claimMs", 300000L);
+	}
+
+	@Test
+	void enqueue_savesPendingMessage() {
+		mailOutboxService.enqueue("user@mail.com", "subject", "body");
+
+		ArgumentCaptor<MailOutboxEntity> captor = ArgumentCaptor.forClass(MailOutboxEntity.class);
+		verify(mailOutboxRepository).save(captor.capture());
+		assertEquals(MailStatus.PENDING, captor.getValue().getStatus());
+		assertEquals(0, captor.getValue().getAttempts());
+		assertEquals("user@mail.com", captor.getValue().getRecipient());
+		assertNotNull(captor.getValue().getNextAttemptAt());
+	}
+
+	@Test
+	void dispatchPendingMessages_doesNothing_whenNothingClaimed() {
+		when(mailOutboxRepository.claimDueMessages(anyString(), eq(10), eq(300000L))).thenReturn(0);
+
+		mailOutboxService.dispatchPendingMessages();
+
+		verify(mailOutboxRepository, never()).findAllByClaimTokenOrderByIdAsc(anyString());
+		verify(javaMailSender, never()).send((MimeMessage[]) any());
+	}
+
+	@Test
+	void dispatchPendingMessages_sendsBatchOverOneCall() {
+		List<MailOutboxEntity> batch = List.of(pending(1, 0), pending(2, 0));
+		givenClaimed(batch);
+		when(javaMailSender.createMimeMessage())
+				.thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+
+		mailOutboxService.dispatchPendingMessages();
+
+		verify(javaMailSender, times(1)).send((MimeMessage[]) any());
+		verify(mailOutboxRepository).saveAll(batch);
+		batch.forEach(mail -> {
+			assertEquals(MailStatus.SENT, mail.getStatus());
+			assertNotNull(mail.getSentAt());
+		});
+	}
+
+	@Test
+	void dispatchPendingMessages_reschedulesFailedMessages() {
+		MailOutboxEntity retried = pending(1, 0);
+		MailOutboxEntity exhausted = pending(2, 2);
+		List<MailOutboxEntity> batch = List.of(retried, exhausted);
+		givenClaimed(batch);
+		when(javaMailSender.createMimeMessage())
+				.thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+		doThrow(new MailAuthenticationException("Authentication failed"))
+				.when(javaMailSender).send((MimeMessage[]) any());
+
+		mailOutboxService.dispatchPendingMessages();
+
+		assertEquals(MailStatus.PENDING, retried.getStatus());
+		assertEquals(1, retried.getAttempts());
+		assertTrue(retried.getNextAttemptAt().after(Timestamp.valueOf(LocalDateTime.now())));
+		assertEquals(MailStatus.FAILED, exhausted.getStatus());
+		assertEquals(3, exhausted.getAttempts());
+		verify(mailOutboxRepository).saveAll(batch);
+	}
+
+	@Test
+	void dispatchPendingMessages_retriesOnlyRejectedMessages() {
+		MailOutboxEntity sent = pending(1, 0);
+		MailOutboxEntity rejected = pending(2, 0);
+		List<MailOutboxEntity> batch = List.of(sent, rejected);
+		givenClaimed(batch);
+		when(javaMailSender.createMimeMessage())
+				.thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+		doAnswer(invocation -> {
+			MimeMessage second = invocation.getArgument(1);
+			Map<Object, Exception> failed = Map.of(second, new IllegalStateException("rejected"));
+			throw new MailSendException(failed);
+		}).when(javaMailSender).send((MimeMessage[]) any());
+
+		mailOutboxService.dispatchPendingMessages();
+
+		assertEquals(1, batch.stream().filter(mail -> mail.getStatus() == MailStatus.SENT).count());
+		assertEquals(1, batch.stream().filter(mail -> mail.getAttempts() == 1).count());
+	}
+
+	@Test
+	void dispatchPendingMessages_sendsOnlyMessagesOfItsClaim() {
+		ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+		when(mailOutboxRepository.claimDueMessages(claimToken.capture(), eq(10), eq(300000L))).thenReturn(1);
+		when(mailOutboxRepository.findAllByClaimTokenOrderByIdAsc(anyString())).thenReturn(Collections.emptyList());
+
+		mailOutboxService.dispatchPendingMessages();
+
+		verify(mailOutboxRepository).findAllByClaimTokenOrderByIdAsc(claimToken.getValue());
+	}
+
+	private void givenClaimed(List<MailOutboxEntity> batch) {
+		when(mailOutboxRepository.claimDueMessages(anyString(), eq(10), eq(300000L))).thenReturn(batch.size());
+		when(mailOutboxRepository.findAllByClaimTokenOrderByIdAsc(anyString())).thenReturn(batch);
+	}
+
+	private MailOutboxEntity pending(Integer id, Integer attempts) {
+		return MailOutboxEntity.builder()
+				.id(id)
+				.recipient("user" + id + "@mail.com")
+				.subject("subject")
+				.body("<p>body</p>")
+				.status(MailStatus.PENDING)
+				.attempts(attempts)
+				.nextAttemptAt(Timestamp.valueOf(LocalDateTime.now()))
+				.build();
+	}
+}
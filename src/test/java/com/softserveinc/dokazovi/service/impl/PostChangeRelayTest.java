@@ -0,0 +1,104 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import com.softserveinc.dokazovi.entity.PostChangeEntity;
+import com.softserveinc.dokazovi.entity.enumerations.PostChangeType;
+import com.softserveinc.dokazovi.repositories.PostChangeRepository;
+import com.softserveinc.dokazovi.service.PostStreamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostChangeRelayTest {
+
+	@Mock
+	private PostChangeRepository postChangeRepository;
+	@Mock
+	private PostStreamService postStreamService;
+	@Mock
+	private PostListingCache postListingCache;
+	@Mock
+	private PostFeedIndex postFeedIndex;
+
+	@InjectMocks
+	private PostChangeRelay postChangeRelay;
+
+	@BeforeEach
+	void init() {
+		ReflectionTestUtils.setField(postChangeRelay, "batchSize", 2);
+	}
+
+	@Test
+	void relay_firstRunStartsFromLatestChange() {
+		when(postChangeRepository.findMaxPosition()).thenReturn(40L);
+
+		postChangeRelay.relay();
+
+		verify(postChangeRepository, never()).findAllAfter(anyLong(), any(Pageable.class));
+		assertEquals(40L, ReflectionTestUtils.getField(postChangeRelay, "cursor"));
+	}
+
+	@Test
+	void relay_handsChangesToStreamInFeedOrder() {
+		ReflectionTestUtils.setField(postChangeRelay, "cursor", 10L);
+		when(postChangeRepository.findMinPosition()).thenReturn(1L);
+		when(postChangeRepository.findAllAfter(10L, PageRequest.of(0, 2)))
+				.thenReturn(List.of(change(11L, 3), change(12L, 5)));
+		when(postChangeRepository.findAllAfter(12L, PageRequest.of(0, 2)))
+				.thenReturn(List.of(change(13L, 3)));
+
+		postChangeRelay.relay();
+
+		ArgumentCaptor<PostChangeDTO> relayed = ArgumentCaptor.forClass(PostChangeDTO.class);
+		verify(postStreamService, times(3)).publish(relayed.capture());
+		verify(postListingCache, times(3)).onPostChange(any(PostChangeDTO.class));
+		verify(postFeedIndex, times(3)).onPostChange(any(PostChangeDTO.class));
+		assertEquals(List.of(11L, 12L, 13L), relayed.getAllValues().stream()
+				.map(PostChangeDTO::getSequence)
+				.collect(Collectors.toList()));
+		assertEquals(13L, ReflectionTestUtils.getField(postChangeRelay, "cursor"));
+	}
+
+	@Test
+	void relay_whenUnrelayedChangesArePurged_thenResets() {
+		ReflectionTestUtils.setField(postChangeRelay, "cursor", 10L);
+		when(postChangeRepository.findMinPosition()).thenReturn(50L);
+		when(postChangeRepository.findMaxPosition()).thenReturn(70L);
+
+		postChangeRelay.relay();
+
+		verify(postStreamService).disconnectAll();
+		verify(postListingCache).onPostChange(PostChangeDTO.builder().build());
+		verify(postFeedIndex).onPostChange(PostChangeDTO.builder().build());
+		verify(postStreamService, never()).publish(any(PostChangeDTO.class));
+		assertEquals(70L, ReflectionTestUtils.getField(postChangeRelay, "cursor"));
+	}
+
+	private PostChangeEntity change(Long position, Integer postId) {
+		return PostChangeEntity.builder()
+				.id(position + 100)
+				.feedPosition(position)
+				.postId(postId)
+				.type(PostChangeType.UPDATED)
+				.build();
+	}
+}
@@ -0,0 +1,154 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import com.softserveinc.dokazovi.entity.enumerations.PostChangeType;
+import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.pojo.PostFeedEntry;
+import com.softserveinc.dokazovi.repositories.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostFeedIndexTest {
+
+	@Mock
+	private PostRepository postRepository;
+
+	@InjectMocks
+	private PostFeedIndex postFeedIndex;
+
+	@BeforeEach
+	void init() {
+		ReflectionTestUtils.setField(postFeedIndex, "capacity", 3);
+	}
+
+	@Test
+	void findPage_mergesDirectionsLatestFirstAndTakesSharedPostOnce() {
+		givenDirection(1, List.of(entry(1, 5, 1, 50), entry(1, 3, 1, 30), entry(1, 1, 2, 10)));
+		givenDirection(2, List.of(entry(2, 5, 1, 50), entry(2, 4, 2, 40), entry(2, 2, 1, 20)));
+
+		PostFeedIndex.FeedPage page = postFeedIndex.findPage(Set.of(1, 2), null, 0, 3);
+
+		assertEquals(List.of(5, 4, 3), page.getPostIds());
+		assertTrue(page.hasNext());
+	}
+
+	@Test
+	void findPage_whenTypesSet_thenSkipsOtherTypesAndAppliesOffset() {
+		givenDirection(1, List.of(entry(1, 3, 1, 30), entry(1, 1, 2, 10)));
+		givenDirection(2, List.of(entry(2, 4, 2, 40), entry(2, 2, 2, 20)));
+
+		PostFeedIndex.FeedPage page = postFeedIndex.findPage(Set.of(1, 2), Set.of(2), 1, 5);
+
+		assertEquals(List.of(2, 1), page.getPostIds());
+		assertFalse(page.hasNext());
+	}
+
+	@Test
+	void findPage_whenDirectionHasMorePostsThanKept_thenStopsAtItsEnd() {
+		givenDirection(1, List.of(entry(1, 9, 1, 90), entry(1, 8, 1, 80), entry(1, 7, 1, 70)));
+		givenDirection(2, List.of(entry(2, 2, 1, 20)));
+
+		PostFeedIndex.FeedPage page = postFeedIndex.findPage(Set.of(1, 2), null, 0, 10);
+
+		assertEquals(List.of(9, 8, 7), page.getPostIds());
+		assertFalse(page.hasNext());
+	}
+
+	@Test
+	void findPage_loadsDirectionOnce() {
+		givenDirection(1, List.of(entry(1, 1, 1, 10)));
+
+		postFeedIndex.findPage(Set.of(1), null, 0, 3);
+		postFeedIndex.findPage(Set.of(1), null, 0, 3);
+
+		verify(postRepository, times(1))
+				.findFeedEntriesByDirectionId(1, PostStatus.PUBLISHED, PageRequest.of(0, 3));
+	}
+
+	@Test
+	void onPostChange_movesPostBetweenLoadedDirections() {
+		givenDirection(1, List.of(entry(1, 3, 1, 30), entry(1, 1, 1, 10)));
+		givenDirection(2, List.of(entry(2, 2, 1, 20)));
+		postFeedIndex.findPage(Set.of(1, 2), null, 0, 3);
+		when(postRepository.findFeedEntriesByPostId(3, PostStatus.PUBLISHED))
+				.thenReturn(List.of(entry(2, 3, 1, 30)));
+
+		postFeedIndex.onPostChange(PostChangeDTO.builder().postId(3).type(PostChangeType.UPDATED).build());
+
+		assertEquals(List.of(1), postFeedIndex.findPage(Set.of(1), null, 0, 3).getPostIds());
+		assertEquals(List.of(3, 2), postFeedIndex.findPage(Set.of(2), null, 0, 3).getPostIds());
+	}
+
+	@Test
+	void onPostChange_whenPostArchived_thenRemovesIt() {
+		givenDirection(1, List.of(entry(1, 3, 1, 30), entry(1, 1, 1, 10)));
+		postFeedIndex.findPage(Set.of(1), null, 0, 3);
+		when(postRepository.findFeedEntriesByPostId(3, PostStatus.PUBLISHED)).thenReturn(List.of());
+
+		postFeedIndex.onPostChange(PostChangeDTO.builder().postId(3).type(PostChangeType.ARCHIVED).build());
+
+		assertEquals(List.of(1), postFeedIndex.findPage(Set.of(1), null, 0, 3).getPostIds());
+	}
+
+	private void givenDirection(int directionId, List<PostFeedEntry> entries) {
+		when(postRepository.findFeedEntriesByDirectionId(directionId, PostStatus.PUBLISHED, PageRequest.of(0, 3)))
+				.thenReturn(entries);
+	}
+
+	private static PostFeedEntry entry(int directionId, int postId, int typeId, long publishedAt) {
+		return new TestEntry(directionId, postId, typeId, new Timestamp(publishedAt));
+	}
+
+	private static final class TestEntry implements PostFeedEntry {
+
+		private final Integer directionId;
+		private final Integer postId;
+		private final Integer typeId;
+		private final Timestamp publishedAt;
+
+		private TestEntry(Integer directionId, Integer postId, Integer typeId, Timestamp publishedAt) {
+			this.directionId = directionId;
+			this.postId = postId;
+			this.typeId = typeId;
+			this.publishedAt = publishedAt;
+		}
+
+		@Override
+		public Integer getDirectionId() {
+			return directionId;
+		}
+
+		@Override
+		public Integer getPostId() {
+			return postId;
+		}
+
+		@Override
+		public Integer getTypeId() {
+			return typeId;
+		}
+
+		@Override
+		public Timestamp getPublishedAt() {
+			return publishedAt;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
+import com.softserveinc.dokazovi.entity.enumerations.PostChangeType;
+import com.softserveinc.dokazovi.pojo.PostListingKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PostListingCacheTest {
+
+	private final PostListingKey key = PostListingKey.of("allPosts", PageRequest.of(0, 10), List.of(1, 2));
+	private final PostListingCache.PostIdPage page = new PostListingCache.PostIdPage(List.of(5, 4), 2);
+	private final PostDTO post = PostDTO.builder().id(5).build();
+
+	private PostListingCache cache;
+
+	@BeforeEach
+	void init() {
+		cache = new PostListingCache();
+		ReflectionTestUtils.setField(cache, "maxPages", 100L);
+		ReflectionTestUtils.setField(cache, "maxPosts", 100L);
+		ReflectionTestUtils.setField(cache, "ttlMs", 60000L);
+		cache.init();
+	}
+
+	@Test
+	void getPage_whenPutInCurrentEpoch_thenFound() {
+		long epoch = cache.getEpoch();
+		cache.putPage(epoch, key, page);
+		cache.putPost(epoch, post);
+
+		assertSame(page, cache.getPage(epoch, PostListingKey.of("allPosts", PageRequest.of(0, 10), List.of(2, 1))));
+		assertSame(post, cache.getPost(5));
+	}
+
+	@Test
+	void onPostChange_thenPagesOfOldEpochUnreachableAndPostEvicted() {
+		long epoch = cache.getEpoch();
+		cache.putPage(epoch, key, page);
+		cache.putPost(epoch, post);
+
+		cache.onPostChange(PostChangeDTO.builder().postId(5).type(PostChangeType.UPDATED).build());
+
+		assertEquals(epoch + 1, cache.getEpoch());
+		assertNull(cache.getPage(cache.getEpoch(), key));
+		assertNull(cache.getPost(5));
+	}
+
+	@Test
+	void put_whenEpochChangedDuringQuery_thenNotStored() {
+		long epoch = cache.getEpoch();
+		cache.onPostChange(PostChangeDTO.builder().postId(9).type(PostChangeType.UPDATED).build());
+
+		cache.putPage(epoch, key, page);
+		cache.putPost(epoch, post);
+
+		assertNull(cache.getPage(epoch, key));
+		assertNull(cache.getPost(5));
+	}
+
+	@Test
+	void onPostChange_whenNoPost_thenEvictsAllPosts() {
+		long epoch = cache.getEpoch();
+		cache.putPost(epoch, post);
+
+		cache.onPostChange(PostChangeDTO.builder().build());
+
+		assertNull(cache.getPost(5));
+	}
+}
@@ -4,54 +4,76 @@ import com.softserveinc.dokazovi.analytics.GoogleAnalytics;
 import com.softserveinc.dokazovi.annotations.DirectionExists;
 import com.softserveinc.dokazovi.annotations.OriginExists;
 import com.softserveinc.dokazovi.annotations.TagExists;
+import com.softserveinc.dokazovi.dto.batch.BatchDTO;
 import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
 import com.softserveinc.dokazovi.dto.direction.DirectionDTOForSavingPost;
 import com.softserveinc.dokazovi.dto.origin.OriginDTOForSavingPost;
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import com.softserveinc.dokazovi.dto.post.PostChangesDTO;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
 import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
 import com.softserveinc.dokazovi.dto.post.PostTypeIdOnlyDTO;
+import com.softserveinc.dokazovi.dto.slice.SliceDTO;
 import com.softserveinc.dokazovi.dto.tag.TagDTO;
 import com.softserveinc.dokazovi.entity.DirectionEntity;
 import com.softserveinc.dokazovi.entity.DoctorEntity;
+import com.softserveinc.dokazovi.entity.PostChangeEntity;
 import com.softserveinc.dokazovi.entity.PostEntity;
 import com.softserveinc.dokazovi.entity.RoleEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.entity.enumerations.PostChangeType;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
 import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
 import com.softserveinc.dokazovi.entity.enumerations.UserStatus;
+import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.exception.ForbiddenPermissionsException;
 import com.softserveinc.dokazovi.mapper.PostMapper;
+import com.softserveinc.dokazovi.repositories.AuthorFacetRepository;
 import com.softserveinc.dokazovi.repositories.DirectionRepository;
 import com.softserveinc.dokazovi.repositories.DoctorRepository;
+import com.softserveinc.dokazovi.repositories.PostChangeRepository;
 import com.softserveinc.dokazovi.repositories.PostRepository;
 import com.softserveinc.dokazovi.repositories.UserRepository;
 import com.softserveinc.dokazovi.security.UserPrincipal;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntSupplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -68,8 +90,20 @@ class PostServiceImplTest {
 	@Mock
 	private DirectionRepository directionRepository;
 	@Mock
+	private AuthorFacetRepository authorFacetRepository;
+	@Mock
 	private PostMapper postMapper;
 	@Mock
+	private PostChangeRepository postChangeRepository;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	@Mock
+	private PostListingCache postListingCache;
+	@Mock
+	private PostFeedIndex postFeedIndex;
+	@Mock
+	private ScheduledLockService scheduledLockService;
+	@Mock
 	private Pageable pageable;
 
 	@InjectMocks
@@ -100,6 +134,31 @@ class PostServiceImplTest {
 				.build();
 	}
 
+	@Test
+	void findPostsByIds_keepsRequestOrderAndMarksMisses() {
+		ReflectionTestUtils.setField(postService, "maxBatchIds", 10);
+		PostEntity first = PostEntity.builder().id(1).build();
+		PostEntity third = PostEntity.builder().id(3).build();
+		PostDTO firstDTO = PostDTO.builder().id(1).build();
+		PostDTO thirdDTO = PostDTO.builder().id(3).build();
+		when(postRepository.findAllWithAuthorsByIdIn(Set.of(1, 2, 3))).thenReturn(List.of(first, third));
+		when(postMapper.toPostDTO(first)).thenReturn(firstDTO);
+		when(postMapper.toPostDTO(third)).thenReturn(thirdDTO);
+
+		BatchDTO<PostDTO> batch = postService.findPostsByIds(List.of(3, 2, 1));
+
+		assertEquals(Arrays.asList(thirdDTO, null, firstDTO), batch.getItems());
+		assertEquals(Set.of(2), batch.getMissingIds());
+	}
+
+	@Test
+	void findPostsByIds_whenTooManyIds_throwsBadRequest() {
+		ReflectionTestUtils.setField(postService, "maxBatchIds", 2);
+
+		assertThrows(BadRequestException.class, () -> postService.findPostsByIds(List.of(1, 2, 3)));
+		assertThrows(BadRequestException.class, () -> postService.findPostsByIds(List.of()));
+	}
+
 	@Test
 	void findPostById() {
 		Integer id = 1;
@@ -395,6 +454,42 @@ class PostServiceImplTest {
 		verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
 	}
 
+	@Test
+	void findAllPosts_whenPageCached_thenHydratesFromPostCacheAndLoadsMisses() {
+		Pageable page = PageRequest.of(0, 3);
+		PostDTO firstDTO = PostDTO.builder().id(1).build();
+		PostDTO thirdDTO = PostDTO.builder().id(3).build();
+		PostEntity third = PostEntity.builder().id(3).build();
+		when(postListingCache.getEpoch()).thenReturn(7L);
+		when(postListingCache.getPage(eq(7L), any()))
+				.thenReturn(new PostListingCache.PostIdPage(List.of(3, 2, 1), 10));
+		when(postListingCache.getPost(1)).thenReturn(firstDTO);
+		when(postRepository.findAllWithAuthorsByIdIn(Set.of(2, 3))).thenReturn(List.of(third));
+		when(postMapper.toPostDTO(third)).thenReturn(thirdDTO);
+
+		Page<PostDTO> posts = postService.findAllByDirectionsAndByPostTypesAndByOrigins(null, null, null, page);
+
+		assertEquals(List.of(thirdDTO, firstDTO), posts.getContent());
+		assertEquals(10, posts.getTotalElements());
+		verify(postListingCache).putPost(7L, thirdDTO);
+		verify(postRepository, times(0)).findAll(any(Pageable.class));
+	}
+
+	@Test
+	void findAllPosts_whenPageNotCached_thenCachesPostIds() {
+		Pageable page = PageRequest.of(0, 2);
+		PostEntity first = PostEntity.builder().id(1).build();
+		PostEntity second = PostEntity.builder().id(2).build();
+		when(postRepository.findAll(page)).thenReturn(new PageImpl<>(List.of(first, second), page, 5));
+		ArgumentCaptor<PostListingCache.PostIdPage> captor = ArgumentCaptor.forClass(PostListingCache.PostIdPage.class);
+
+		postService.findAllByDirectionsAndByPostTypesAndByOrigins(null, null, null, page);
+
+		verify(postListingCache).putPage(eq(0L), any(), captor.capture());
+		assertEquals(List.of(1, 2), captor.getValue().getPostIds());
+		assertEquals(5, captor.getValue().getTotal());
+	}
+
 	@Test
 	void findAllPosts_WhenIdsAreWrong_ReturnEmptyPage() {
 		Set<Integer> typesIds = Set.of(1220, 1999);
@@ -524,6 +619,13 @@ class PostServiceImplTest {
 
 		when(postRepository.findById(any(Integer.class))).thenReturn(Optional.of(postEntity));
 		Assertions.assertThat(postService.archivePostById(userPrincipal, id)).isTrue();
+
+		ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+		verify(eventPublisher).publishEvent(event.capture());
+		Assertions.assertThat(event.getValue()).isInstanceOfSatisfying(PostChangeDTO.class, change -> {
+			assertEquals(id, change.getPostId());
+			assertEquals(PostChangeType.ARCHIVED, change.getType());
+		});
 	}
 
 	@Test
@@ -569,6 +671,10 @@ class PostServiceImplTest {
 
 		when(postRepository.findById(any(Integer.class))).thenReturn(Optional.of(postEntity));
 		Assertions.assertThat(postService.archivePostById(userPrincipal, id)).isTrue();
+		verify(authorFacetRepository).lockAuthor(38);
+		verify(authorFacetRepository).upsertDirectionFacets(38);
+		verify(authorFacetRepository).upsertPostTypeFacets(38);
+		verify(authorFacetRepository).deleteStaleFacets(38);
 	}
 
 	@Test
@@ -641,6 +747,45 @@ class PostServiceImplTest {
 		Assertions.assertThat(postService.updatePostById(userPrincipal, dto)).isTrue();
 	}
 
+	@Test
+	void updatePostById_WhenAuthorChanged_thenLocksAuthorsInIdOrder() {
+		Set<RolePermission> permissions = new HashSet<>();
+		permissions.add(RolePermission.UPDATE_POST);
+
+		RoleEntity roleEntity = new RoleEntity();
+		roleEntity.setId(1);
+		roleEntity.setName("Administrator");
+		roleEntity.setPermissions(permissions);
+
+		UserPrincipal userPrincipal = UserPrincipal.builder()
+				.id(27)
+				.email("admin@mail.com")
+				.role(roleEntity)
+				.build();
+
+		PostSaveFromUserDTO dto = PostSaveFromUserDTO.builder()
+				.id(1)
+				.title("title")
+				.authorId(30)
+				.build();
+
+		PostEntity postEntity = PostEntity
+				.builder()
+				.id(1)
+				.author(UserEntity.builder().id(40).build())
+				.build();
+
+		when(postMapper.updatePostEntityFromDTO(dto, postEntity)).thenReturn(postEntity);
+		when(postRepository.findById(any(Integer.class))).thenReturn(Optional.of(postEntity));
+		Assertions.assertThat(postService.updatePostById(userPrincipal, dto)).isTrue();
+
+		InOrder inOrder = inOrder(authorFacetRepository);
+		inOrder.verify(authorFacetRepository).lockAuthor(30);
+		inOrder.verify(authorFacetRepository).lockAuthor(40);
+		inOrder.verify(authorFacetRepository).upsertDirectionFacets(30);
+		inOrder.verify(authorFacetRepository).upsertDirectionFacets(40);
+	}
+
 	@Test
 	void updatePostById_WhenExists_isOk_DoctorRole() {
 		Set<RolePermission> permissions = new HashSet<>();
@@ -904,6 +1049,7 @@ class PostServiceImplTest {
 	void setPostsAsImportant() {
 		Set<Integer> postIds = Set.of(2, 4, 9);
 		Assertions.assertThat(postService.setPostsAsImportant(postIds));
+		verify(postChangeRepository, times(3)).save(any(PostChangeEntity.class));
 	}
 
 	@Test
@@ -912,6 +1058,135 @@ class PostServiceImplTest {
 		Assertions.assertThat(postService.setPostsAsUnimportant(postIds));
 	}
 
+	@Test
+	void findChanges_returnsChangesAfterCursor() {
+		ReflectionTestUtils.setField(postService, "maxChangesLimit", 100);
+		PostChangeEntity first = PostChangeEntity.builder().id(21L).feedPosition(11L).postId(1)
+				.type(PostChangeType.PUBLISHED).build();
+		PostChangeEntity second = PostChangeEntity.builder().id(19L).feedPosition(12L).postId(2)
+				.type(PostChangeType.ARCHIVED).build();
+		PostChangeEntity third = PostChangeEntity.builder().id(22L).feedPosition(14L).postId(1)
+				.type(PostChangeType.UPDATED).build();
+		when(postChangeRepository.findMinPosition()).thenReturn(5L);
+		when(postChangeRepository.findMaxPosition()).thenReturn(14L);
+		when(postChangeRepository.findAllAfter(10L, PageRequest.of(0, 3))).thenReturn(List.of(first, second, third));
+
+		PostChangesDTO changes = postService.findChanges(10L, 2);
+
+		assertEquals(2, changes.getChanges().size());
+		assertEquals(PostChangeType.ARCHIVED, changes.getChanges().get(1).getType());
+		assertEquals(12L, changes.getCursor());
+		assertTrue(changes.isHasMore());
+	}
+
+	@Test
+	void findChanges_whenCursorIsPurged_requiresResync() {
+		ReflectionTestUtils.setField(postService, "maxChangesLimit", 100);
+		when(postChangeRepository.findMinPosition()).thenReturn(50L);
+		when(postChangeRepository.findMaxPosition()).thenReturn(70L);
+
+		PostChangesDTO changes = postService.findChanges(10L, 100);
+
+		assertTrue(changes.isResyncRequired());
+		assertTrue(changes.getChanges().isEmpty());
+		assertEquals(70L, changes.getCursor());
+	}
+
+	@Test
+	void findChanges_whenCursorIsAheadOfLatestChange_thenReturnsNoChangesAndSameCursor() {
+		ReflectionTestUtils.setField(postService, "maxChangesLimit", 100);
+		when(postChangeRepository.findMinPosition()).thenReturn(5L);
+		when(postChangeRepository.findMaxPosition()).thenReturn(8L);
+
+		PostChangesDTO changes = postService.findChanges(10L, 100);
+
+		assertFalse(changes.isResyncRequired());
+		assertTrue(changes.getChanges().isEmpty());
+		assertEquals(10L, changes.getCursor());
+		verify(postChangeRepository, never()).findAllAfter(any(Long.class), any(Pageable.class));
+	}
+
+	@Test
+	void assignChangePositions_whenLockedByAnotherNode_thenSkips() {
+		when(postChangeRepository.tryLockPositions()).thenReturn(false);
+
+		postService.assignChangePositions();
+
+		verify(postChangeRepository, never()).assignPositions(anyInt());
+	}
+
+	@Test
+	void purgeExpiredChanges_runsOnOneNode() {
+		ReflectionTestUtils.setField(postService, "changesRetentionDays", 30);
+		when(postChangeRepository.deleteAllByChangedAtBefore(any(Timestamp.class))).thenReturn(4);
+		when(scheduledLockService.runExclusively(eq("purgeExpiredChanges"), any()))
+				.thenAnswer(invocation -> {
+					assertEquals(4, invocation.<IntSupplier>getArgument(1).getAsInt());
+					return true;
+				});
+
+		postService.purgeExpiredChanges();
+
+		verify(postChangeRepository).deleteAllByChangedAtBefore(any(Timestamp.class));
+	}
+
+	@Test
+	void findChanges_whenLimitIsTooBig_throwsBadRequest() {
+		ReflectionTestUtils.setField(postService, "maxChangesLimit", 100);
+
+		assertThrows(BadRequestException.class, () -> postService.findChanges(0L, 101));
+	}
+
+	@Test
+	void findFeed_hydratesMergedPostIdsInOrder() {
+		ReflectionTestUtils.setField(postService, "maxFeedDirections", 5);
+		Pageable page = PageRequest.of(1, 2);
+		PostDTO firstDTO = PostDTO.builder().id(4).build();
+		PostDTO secondDTO = PostDTO.builder().id(9).build();
+		when(postFeedIndex.findPage(Set.of(1, 2), null, 2L, 2))
+				.thenReturn(new PostFeedIndex.FeedPage(List.of(9, 4), true));
+		when(postListingCache.getPost(4)).thenReturn(firstDTO);
+		when(postListingCache.getPost(9)).thenReturn(secondDTO);
+
+		SliceDTO<PostDTO> feed = postService.findFeed(Set.of(1, 2), null, page);
+
+		assertEquals(List.of(secondDTO, firstDTO), feed.getContent());
+		assertTrue(feed.isHasNext());
+		assertEquals(1, feed.getNumber());
+	}
+
+	@Test
+	void findFeed_whenLoadedPostIsNotPublished_thenSkipsIt() {
+		ReflectionTestUtils.setField(postService, "maxFeedDirections", 5);
+		Pageable page = PageRequest.of(0, 2);
+		PostEntity published = PostEntity.builder().id(4).status(PostStatus.PUBLISHED).build();
+		PostEntity archived = PostEntity.builder().id(9).status(PostStatus.ARCHIVED).build();
+		PostDTO publishedDTO = PostDTO.builder().id(4).build();
+		when(postFeedIndex.findPage(Set.of(1), null, 0L, 2))
+				.thenReturn(new PostFeedIndex.FeedPage(List.of(9, 4), false));
+		when(postRepository.findAllWithAuthorsByIdIn(Set.of(4, 9))).thenReturn(List.of(published, archived));
+		when(postMapper.toPostDTO(published)).thenReturn(publishedDTO);
+
+		SliceDTO<PostDTO> feed = postService.findFeed(Set.of(1), null, page);
+
+		assertEquals(List.of(publishedDTO), feed.getContent());
+	}
+
+	@Test
+	void findFeed_whenNoDirections_throwsBadRequest() {
+		Set<Integer> directions = Set.of();
+
+		assertThrows(BadRequestException.class, () -> postService.findFeed(directions, null, pageable));
+	}
+
+	@Test
+	void findFeed_whenTooManyDirections_throwsBadRequest() {
+		ReflectionTestUtils.setField(postService, "maxFeedDirections", 2);
+		Set<Integer> directions = Set.of(1, 2, 3);
+
+		assertThrows(BadRequestException.class, () -> postService.findFeed(directions, null, pageable));
+	}
+
 	@Test
 	void getPostViewCount() {
 		when(googleAnalytics.getPostViewCount("some")).thenReturn(1);
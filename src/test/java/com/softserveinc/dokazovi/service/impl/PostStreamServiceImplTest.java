@@ -0,0 +1,142 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.post.PostChangeDTO;
+import com.softserveinc.dokazovi.entity.enumerations.PostChangeType;
+import com.softserveinc.dokazovi.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostStreamServiceImplTest {
+
+	private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+	private PostStreamServiceImpl postStreamService;
+
+	@BeforeEach
+	void init() {
+		postStreamService = new PostStreamServiceImpl() {
+			@Override
+			SseEmitter createEmitter() {
+				return emitters.isEmpty() ? super.createEmitter() : emitters.poll();
+			}
+		};
+		ReflectionTestUtils.setField(postStreamService, "timeoutMs", 60000L);
+		ReflectionTestUtils.setField(postStreamService, "maxSubscribers", 2);
+		ReflectionTestUtils.setField(postStreamService, "subscriberBuffer", 2);
+		ReflectionTestUtils.setField(postStreamService, "poolSize", 1);
+		ReflectionTestUtils.setField(postStreamService, "sendTimeoutMs", 50L);
+		postStreamService.init();
+	}
+
+	@AfterEach
+	void destroy() {
+		postStreamService.destroy();
+	}
+
+	@Test
+	void subscribe_whenAtCapacity_thenTooManyRequests() {
+		assertNotNull(postStreamService.subscribe());
+		assertNotNull(postStreamService.subscribe());
+
+		assertThrows(TooManyRequestsException.class, () -> postStreamService.subscribe());
+		assertEquals(2, postStreamService.getSubscriberCount());
+	}
+
+	@Test
+	void disconnectAll_releasesSubscriberSlots() {
+		postStreamService.subscribe();
+		postStreamService.subscribe();
+
+		postStreamService.disconnectAll();
+
+		assertEquals(0, postStreamService.getSubscriberCount());
+		assertNotNull(postStreamService.subscribe());
+		assertNotNull(postStreamService.subscribe());
+	}
+
+	@Test
+	void publish_whenSubscriberFallsBehind_thenDropsIt() {
+		ExecutorService dispatcher = (ExecutorService) ReflectionTestUtils.getField(postStreamService, "dispatcher");
+		CountDownLatch release = new CountDownLatch(1);
+		dispatcher.execute(() -> awaitQuietly(release));
+		postStreamService.subscribe();
+
+		try {
+			postStreamService.publish(change(1));
+			postStreamService.publish(change(2));
+			assertEquals(1, postStreamService.getSubscriberCount());
+
+			postStreamService.publish(change(3));
+			assertEquals(0, postStreamService.getSubscriberCount());
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	void sendHeartbeat_whenWriteIsStuck_thenDropsSubscriberAndServesOthers() throws InterruptedException {
+		ReflectionTestUtils.setField(postStreamService, "subscriberBuffer", 4);
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch received = new CountDownLatch(3);
+		emitters.add(new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder builder) throws IOException {
+				sending.countDown();
+				awaitQuietly(release);
+				throw new IOException("Broken pipe");
+			}
+		});
+		emitters.add(new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder builder) {
+				received.countDown();
+			}
+		});
+		postStreamService.subscribe();
+		postStreamService.subscribe();
+
+		try {
+			postStreamService.publish(change(1));
+			assertTrue(sending.await(5, TimeUnit.SECONDS));
+			postStreamService.publish(change(2));
+			Thread.sleep(100);
+
+			postStreamService.sendHeartbeat();
+
+			assertTrue(received.await(5, TimeUnit.SECONDS));
+			assertEquals(1, postStreamService.getSubscriberCount());
+		} finally {
+			release.countDown();
+		}
+	}
+
+	private PostChangeDTO change(Integer postId) {
+		return PostChangeDTO.builder()
+				.postId(postId)
+				.type(PostChangeType.PUBLISHED)
+				.build();
+	}
+
+	private void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
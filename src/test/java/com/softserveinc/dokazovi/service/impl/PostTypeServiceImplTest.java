@@ -1,7 +1,9 @@
 package com.softserveinc.dokazovi.service.impl;
 
+import com.softserveinc.dokazovi.entity.AuthorFacetEntity;
 import com.softserveinc.dokazovi.entity.PostTypeEntity;
 import com.softserveinc.dokazovi.mapper.PostTypeMapper;
+import com.softserveinc.dokazovi.repositories.AuthorFacetRepository;
 import com.softserveinc.dokazovi.repositories.PostTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +25,9 @@ class PostTypeServiceImplTest {
 	@Mock
 	private PostTypeRepository postTypeRepository;
 
+	@Mock
+	private AuthorFacetRepository authorFacetRepository;
+
 	@Mock
 	private PostTypeMapper postTypeMapper;
 
@@ -45,8 +50,9 @@ class PostTypeServiceImplTest {
 
 	@Test
 	void findAllPostTypesByUserId() {
-		when(postTypeRepository.findAllPostTypesByUserId(2)).thenReturn(postTypeEntities);
+		List<AuthorFacetEntity> facets = List.of(new AuthorFacetEntity(), new AuthorFacetEntity());
+		when(authorFacetRepository.findPostTypeFacetsByAuthorId(2)).thenReturn(facets);
 		postTypeService.findAllPostTypesByUserId(2);
-		verify(postTypeMapper, times(postTypeEntities.size())).toPostTypeDTO(any(PostTypeEntity.class));
+		verify(postTypeMapper, times(facets.size())).toAuthorPostTypeDTO(any(AuthorFacetEntity.class));
 	}
 }
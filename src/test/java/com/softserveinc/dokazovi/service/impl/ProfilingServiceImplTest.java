@@ -0,0 +1,96 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.profiling.ProfilingRecordingDTO;
+import com.softserveinc.dokazovi.dto.profiling.ProfilingSummaryDTO;
+import com.softserveinc.dokazovi.exception.BadRequestException;
+import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfilingServiceImplTest {
+
+	@TempDir
+	private Path directory;
+
+	private ProfilingServiceImpl profilingService;
+
+	@BeforeEach
+	void init() {
+		profilingService = new ProfilingServiceImpl();
+		ReflectionTestUtils.setField(profilingService, "directory", directory.toString());
+		ReflectionTestUtils.setField(profilingService, "maxDurationSeconds", 60);
+		ReflectionTestUtils.setField(profilingService, "maxRecordings", 2);
+	}
+
+	@AfterEach
+	void destroy() {
+		profilingService.destroy();
+	}
+
+	@Test
+	void startRecording_whenStopped_thenWritesFileAndSummary() {
+		ProfilingRecordingDTO started = profilingService.startRecording("default", 30);
+
+		assertThrows(BadRequestException.class, () -> profilingService.startRecording("default", 30));
+		assertThrows(BadRequestException.class, () -> profilingService.getRecordingFile(started.getId()));
+
+		ProfilingRecordingDTO stopped = profilingService.stopRecording(started.getId());
+		Path file = profilingService.getRecordingFile(started.getId());
+		profilingService.releaseRecordingFile(started.getId());
+		ProfilingSummaryDTO summary = profilingService.summarizeRecording(started.getId(), 5);
+
+		assertTrue(Files.exists(file));
+		assertEquals(directory, file.getParent());
+		assertNotNull(stopped.getFileSize());
+		assertTrue(summary.getHotMethods().size() <= 5);
+		assertTrue(summary.getAllocationSites().size() <= 5);
+	}
+
+	@Test
+	void startRecording_whenMoreThanKept_thenDeletesOldest() {
+		Long firstId = profilingService.startRecording("default", 30).getId();
+		profilingService.stopRecording(firstId);
+		Path firstFile = profilingService.getRecordingFile(firstId);
+		profilingService.releaseRecordingFile(firstId);
+		profilingService.stopRecording(profilingService.startRecording("default", 30).getId());
+		profilingService.stopRecording(profilingService.startRecording("default", 30).getId());
+
+		assertEquals(2, profilingService.findRecordings().size());
+		assertTrue(Files.notExists(firstFile));
+		assertThrows(ResourceNotFoundException.class, () -> profilingService.getRecordingFile(firstId));
+	}
+
+	@Test
+	void startRecording_whenOldestIsBeingRead_thenDeletesItOnRelease() {
+		Long firstId = profilingService.startRecording("default", 30).getId();
+		profilingService.stopRecording(firstId);
+		Path firstFile = profilingService.getRecordingFile(firstId);
+		profilingService.stopRecording(profilingService.startRecording("default", 30).getId());
+		profilingService.stopRecording(profilingService.startRecording("default", 30).getId());
+
+		assertEquals(2, profilingService.findRecordings().size());
+		assertTrue(Files.exists(firstFile));
+
+		profilingService.releaseRecordingFile(firstId);
+
+		assertTrue(Files.notExists(firstFile));
+	}
+
+	@Test
+	void startRecording_whenInvalidArguments_thenBadRequest() {
+		assertThrows(BadRequestException.class, () -> profilingService.startRecording("custom", 30));
+		assertThrows(BadRequestException.class, () -> profilingService.startRecording("default", 0));
+		assertThrows(BadRequestException.class, () -> profilingService.startRecording("default", 61));
+	}
+}
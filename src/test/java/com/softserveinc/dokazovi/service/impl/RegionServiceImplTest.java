@@ -3,6 +3,7 @@ package com.softserveinc.dokazovi.service.impl;
 import com.softserveinc.dokazovi.entity.RegionEntity;
 import com.softserveinc.dokazovi.mapper.RegionMapper;
 import com.softserveinc.dokazovi.repositories.RegionRepository;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -10,8 +11,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.function.IntSupplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,6 +27,8 @@ class RegionServiceImplTest {
 	@Mock
 	private RegionMapper regionMapper;
 	@Mock
+	private ScheduledLockService scheduledLockService;
+	@Mock
 	private RegionServiceImpl regionServiceMock;
 	@InjectMocks
 	private RegionServiceImpl regionService;
@@ -40,6 +45,11 @@ class RegionServiceImplTest {
 
 	@Test
 	void updateRegionsStatus() {
+		when(scheduledLockService.runExclusively(eq("updateRegionsStatus"), any()))
+				.thenAnswer(invocation -> {
+					invocation.<IntSupplier>getArgument(1).getAsInt();
+					return true;
+				});
 
 		regionService.updateRegionsStatus();
 
@@ -0,0 +1,141 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.dto.scheduling.ScheduledJobStatusDTO;
+import com.softserveinc.dokazovi.entity.ScheduledLockEntity;
+import com.softserveinc.dokazovi.repositories.ScheduledLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledLockServiceImplTest {
+
+	@Mock
+	private ScheduledLockRepository scheduledLockRepository;
+
+	@InjectMocks
+	private ScheduledLockServiceImpl scheduledLockService;
+
+	@BeforeEach
+	void init() {
+		ReflectionTestUtils.setField(scheduledLockService, "nodeId", "node-1");
+		ReflectionTestUtils.setField(scheduledLockService, "leaseMs", 600000L);
+		ReflectionTestUtils.setField(scheduledLockService, "minHoldMs", 60000L);
+	}
+
+	@Test
+	void runExclusively_whenLeaseTaken_thenRunsJobAndRecordsRows() {
+		when(scheduledLockRepository.tryAcquire("job", "node-1", 600000L)).thenReturn(1);
+
+		assertTrue(scheduledLockService.runExclusively("job", () -> 7));
+
+		verify(scheduledLockRepository).releaseAfterSuccess(eq("job"), eq("node-1"), eq(60000L), anyLong(), eq(7));
+	}
+
+	@Test
+	void runExclusively_whenInTransaction_thenRecordsOutcomeAfterCompletion() {
+		when(scheduledLockRepository.tryAcquire("job", "node-1", 600000L)).thenReturn(1);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			assertTrue(scheduledLockService.runExclusively("job", () -> 7));
+			verify(scheduledLockRepository, never())
+					.releaseAfterSuccess(anyString(), anyString(), anyLong(), anyLong(), anyInt());
+
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(synchronization -> synchronization.afterCompletion(
+							TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		verify(scheduledLockRepository).releaseAfterFailure(eq("job"), eq("node-1"), eq(60000L), anyLong(),
+				contains("rolled back"));
+		verify(scheduledLockRepository, never())
+				.releaseAfterSuccess(anyString(), anyString(), anyLong(), anyLong(), anyInt());
+	}
+
+	@Test
+	void runExclusively_whenLeaseHeldByAnotherNode_thenSkipsJob() {
+		when(scheduledLockRepository.tryAcquire("job", "node-1", 600000L)).thenReturn(0);
+
+		assertFalse(scheduledLockService.runExclusively("job", () -> {
+			throw new AssertionError("must not run");
+		}));
+
+		verify(scheduledLockRepository, never())
+				.releaseAfterSuccess(anyString(), anyString(), anyLong(), anyLong(), anyInt());
+	}
+
+	@Test
+	void runExclusively_whenJobFails_thenRecordsErrorAndRethrows() {
+		when(scheduledLockRepository.tryAcquire("job", "node-1", 600000L)).thenReturn(1);
+
+		assertThrows(IllegalStateException.class, () -> scheduledLockService.runExclusively("job", () -> {
+			throw new IllegalStateException("deadlock detected");
+		}));
+
+		verify(scheduledLockRepository).releaseAfterFailure(eq("job"), eq("node-1"), eq(60000L), anyLong(),
+				contains("deadlock detected"));
+	}
+
+	@Test
+	void init_whenNodeIdNotSet_thenUsesProcessName() {
+		ReflectionTestUtils.setField(scheduledLockService, "nodeId", "");
+
+		scheduledLockService.init();
+
+		assertFalse(((String) ReflectionTestUtils.getField(scheduledLockService, "nodeId")).isBlank());
+	}
+
+	@Test
+	void findJobStatuses_marksLeaseTakenAfterLastRunAsRunning() {
+		long now = System.currentTimeMillis();
+		ScheduledLockEntity running = ScheduledLockEntity.builder()
+				.jobName("a")
+				.lockedBy("node-1")
+				.lockedAt(new Timestamp(now - 1000))
+				.lockedUntil(new Timestamp(now + 600000))
+				.lastFinishedAt(new Timestamp(now - 3600000))
+				.build();
+		ScheduledLockEntity finished = ScheduledLockEntity.builder()
+				.jobName("b")
+				.lockedBy("node-2")
+				.lockedAt(new Timestamp(now - 3600000))
+				.lockedUntil(new Timestamp(now - 3540000))
+				.lastFinishedAt(new Timestamp(now - 3599000))
+				.lastDurationMs(1000L)
+				.lastRowCount(12)
+				.build();
+		when(scheduledLockRepository.findAll(Sort.by("jobName"))).thenReturn(List.of(running, finished));
+
+		List<ScheduledJobStatusDTO> statuses = scheduledLockService.findJobStatuses();
+
+		assertTrue(statuses.get(0).isRunning());
+		assertFalse(statuses.get(1).isRunning());
+		assertEquals(12, statuses.get(1).getLastRowCount());
+		assertEquals("node-2", statuses.get(1).getLockedBy());
+	}
+}
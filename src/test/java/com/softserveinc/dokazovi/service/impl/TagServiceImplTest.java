@@ -5,6 +5,7 @@ import com.softserveinc.dokazovi.dto.tag.TagSaveDTO;
 import com.softserveinc.dokazovi.entity.TagEntity;
 import com.softserveinc.dokazovi.mapper.TagMapper;
 import com.softserveinc.dokazovi.repositories.TagRepository;
+import com.softserveinc.dokazovi.service.CacheInvalidationService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -26,6 +27,8 @@ class TagServiceImplTest {
 	private TagRepository tagRepository;
 	@Mock
 	private TagMapper tagMapper;
+	@Mock
+	private CacheInvalidationService cacheInvalidationService;
 	@InjectMocks
 	private TagServiceImpl tagService;
 
@@ -39,6 +42,7 @@ class TagServiceImplTest {
 		verify(tagMapper, times(1)).toTagEntity(any(TagSaveDTO.class));
 		verify(tagRepository, times(1)).save(any(TagEntity.class));
 		verify(tagMapper, times(1)).toTagDTO(any(TagEntity.class));
+		verify(cacheInvalidationService).evictAll(TagRepository.TAGS_CACHE);
 	}
 
 	@Test
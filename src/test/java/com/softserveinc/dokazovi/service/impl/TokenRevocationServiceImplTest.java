@@ -0,0 +1,135 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.config.AppProperties;
+import com.softserveinc.dokazovi.entity.RevokedTokenEntity;
+import com.softserveinc.dokazovi.entity.UserTokenRevocationEntity;
+import com.softserveinc.dokazovi.exception.BadRequestException;
+import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
+import com.softserveinc.dokazovi.repositories.RevokedTokenRepository;
+import com.softserveinc.dokazovi.repositories.UserRepository;
+import com.softserveinc.dokazovi.repositories.UserTokenRevocationRepository;
+import com.softserveinc.dokazovi.security.TokenDenylist;
+import com.softserveinc.dokazovi.security.TokenProvider;
+import com.softserveinc.dokazovi.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceImplTest {
+
+	private static final String SECRET = "926D96C90030DD58429D2751AC1BDBBC";
+
+	@Mock
+	private RevokedTokenRepository revokedTokenRepository;
+	@Mock
+	private UserTokenRevocationRepository userTokenRevocationRepository;
+	@Mock
+	private UserRepository userRepository;
+	@Mock
+	private TokenDenylist tokenDenylist;
+
+	private TokenProvider tokenProvider;
+	private TokenRevocationServiceImpl tokenRevocationService;
+
+	@BeforeEach
+	void init() {
+		AppProperties appProperties = new AppProperties();
+		appProperties.getAuth().setTokenSecret(SECRET);
+		appProperties.getAuth().setTokenExpirationMsec(864000000L);
+		tokenProvider = new TokenProvider(appProperties);
+		tokenRevocationService = new TokenRevocationServiceImpl(revokedTokenRepository,
+				userTokenRevocationRepository, userRepository, tokenProvider, tokenDenylist, appProperties);
+	}
+
+	@Test
+	void revokeToken_storesTokenIdUntilExpiration() {
+		UserPrincipal userPrincipal = UserPrincipal.builder().id(28).email("test@test.com").build();
+		String token = tokenProvider.createToken(
+				new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities()));
+		Claims claims = tokenProvider.getClaimsFromToken(token);
+
+		tokenRevocationService.revokeToken(token);
+
+		ArgumentCaptor<RevokedTokenEntity> captor = ArgumentCaptor.forClass(RevokedTokenEntity.class);
+		verify(revokedTokenRepository).save(captor.capture());
+		assertEquals(claims.getId(), captor.getValue().getTokenId());
+		assertEquals(28, captor.getValue().getUserId());
+		assertEquals(claims.getExpiration().getTime(), captor.getValue().getExpiresAt().getTime());
+		verify(tokenDenylist).add(claims.getId());
+	}
+
+	@Test
+	void revokeToken_whenTokenIsInvalid_thenBadRequest() {
+		assertThrows(BadRequestException.class, () -> tokenRevocationService.revokeToken("invalid"));
+		verify(revokedTokenRepository, never()).save(any());
+	}
+
+	@Test
+	void revokeToken_whenTokenHasNoId_thenBadRequest() {
+		String token = Jwts.builder()
+				.setSubject("28")
+				.setExpiration(new Date(System.currentTimeMillis() + 60000))
+				.signWith(SignatureAlgorithm.HS512, SECRET)
+				.compact();
+
+		assertThrows(BadRequestException.class, () -> tokenRevocationService.revokeToken(token));
+		verify(tokenDenylist, never()).add(any());
+	}
+
+	@Test
+	void revokeTokenId_storesTokenIdForWholeTokenLifetime() {
+		String tokenId = "5a0b8f62-4f0e-4c2f-9b5e-2b7b1a4c9d11";
+		long before = System.currentTimeMillis();
+
+		tokenRevocationService.revokeTokenId(tokenId);
+
+		ArgumentCaptor<RevokedTokenEntity> captor = ArgumentCaptor.forClass(RevokedTokenEntity.class);
+		verify(revokedTokenRepository).save(captor.capture());
+		assertEquals(tokenId, captor.getValue().getTokenId());
+		assertTrue(captor.getValue().getExpiresAt().getTime() >= before + 864000000L);
+		verify(tokenDenylist).add(tokenId);
+	}
+
+	@Test
+	void revokeUserTokens_storesRevocationForWholeTokenLifetime() {
+		when(userRepository.existsById(28)).thenReturn(true);
+		long before = System.currentTimeMillis();
+
+		tokenRevocationService.revokeUserTokens(28);
+
+		ArgumentCaptor<UserTokenRevocationEntity> captor = ArgumentCaptor.forClass(UserTokenRevocationEntity.class);
+		verify(userTokenRevocationRepository).save(captor.capture());
+		long revokedBefore = captor.getValue().getRevokedBefore().getTime();
+		assertEquals(28, captor.getValue().getUserId());
+		assertTrue(revokedBefore >= before);
+		assertEquals(revokedBefore + 864000000L, captor.getValue().getExpiresAt().getTime());
+		verify(tokenDenylist).addUser(28, revokedBefore);
+	}
+
+	@Test
+	void revokeUserTokens_whenNoSuchUser_thenNotFound() {
+		assertThrows(ResourceNotFoundException.class, () -> tokenRevocationService.revokeUserTokens(28));
+		verify(userTokenRevocationRepository, never()).save(any());
+		verify(tokenDenylist, never()).addUser(anyInt(), anyLong());
+	}
+}
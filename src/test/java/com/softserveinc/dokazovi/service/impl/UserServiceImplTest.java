@@ -1,33 +1,61 @@
 package com.softserveinc.dokazovi.service.impl;
 
+import com.softserveinc.dokazovi.dto.batch.BatchDTO;
+import com.softserveinc.dokazovi.dto.slice.SliceDTO;
+import com.softserveinc.dokazovi.dto.user.NearbyExpertDTO;
+import com.softserveinc.dokazovi.dto.user.UserDTO;
+import com.softserveinc.dokazovi.entity.CityEntity;
+import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.entity.DoctorEntity;
+import com.softserveinc.dokazovi.entity.InstitutionEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.VerificationToken;
+import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.mapper.UserMapper;
 import com.softserveinc.dokazovi.pojo.UserSearchCriteria;
+import com.softserveinc.dokazovi.repositories.DoctorRepository;
+import com.softserveinc.dokazovi.repositories.ExpertRankingRepository;
 import com.softserveinc.dokazovi.repositories.UserRepository;
 import com.softserveinc.dokazovi.repositories.VerificationTokenRepository;
+import com.softserveinc.dokazovi.service.ScheduledLockService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -44,6 +72,12 @@ class UserServiceImplTest {
 	@Mock
 	private UserMapper userMapper;
 	@Mock
+	private DoctorRepository doctorRepository;
+	@Mock
+	private ExpertRankingRepository expertRankingRepository;
+	@Mock
+	private ScheduledLockService scheduledLockService;
+	@Mock
 	private Pageable pageable;
 	@InjectMocks
 	private UserServiceImpl userService;
@@ -63,6 +97,69 @@ class UserServiceImplTest {
 		verify(userMapper).toUserDTO(userEntity);
 	}
 
+	@Test
+	void findExpertsByIds_keepsRequestOrderAndMarksMisses() {
+		ReflectionTestUtils.setField(userService, "maxBatchIds", 10);
+		UserEntity first = UserEntity.builder().id(1).build();
+		UserEntity second = UserEntity.builder().id(2).build();
+		UserDTO firstDTO = UserDTO.builder().id(1).build();
+		UserDTO secondDTO = UserDTO.builder().id(2).build();
+		when(userRepository.findAllWithProfilesByIdIn(Set.of(1, 2, 5))).thenReturn(List.of(first, second));
+		when(userMapper.toUserDTO(first)).thenReturn(firstDTO);
+		when(userMapper.toUserDTO(second)).thenReturn(secondDTO);
+
+		BatchDTO<UserDTO> batch = userService.findExpertsByIds(List.of(2, 5, 1));
+
+		assertEquals(Arrays.asList(secondDTO, null, firstDTO), batch.getItems());
+		assertEquals(Set.of(5), batch.getMissingIds());
+	}
+
+	@Test
+	void findExpertsNear_returnsNearestFirstWithinRadiusAndDirections() {
+		ReflectionTestUtils.setField(userService, "maxNearestExperts", 10);
+		UserEntity kyivExpert = UserEntity.builder().id(1).build();
+		UserEntity lvivExpert = UserEntity.builder().id(2).build();
+		UserEntity kharkivExpert = UserEntity.builder().id(3).build();
+		when(doctorRepository.findAllWithCityCoordinates()).thenReturn(List.of(
+				doctor(kyivExpert, 50.4501, 30.5234, 1),
+				doctor(lvivExpert, 49.8397, 24.0297, 2),
+				doctor(kharkivExpert, 49.9935, 36.2304, 1)));
+		when(userRepository.findAllWithProfilesByIdIn(anySet()))
+				.thenAnswer(invocation -> List.of(kyivExpert, lvivExpert, kharkivExpert));
+		when(userMapper.toUserDTO(any(UserEntity.class)))
+				.thenAnswer(invocation -> UserDTO.builder().id(invocation.<UserEntity>getArgument(0).getId()).build());
+		userService.refreshExpertLocations();
+
+		List<NearbyExpertDTO> nearest = userService.findExpertsNear(50.45, 30.52, 1000, null, 2);
+		List<NearbyExpertDTO> withinRadius = userService.findExpertsNear(50.45, 30.52, 100, null, 10);
+		List<NearbyExpertDTO> byDirection = userService.findExpertsNear(50.45, 30.52, 1000, Set.of(2), 10);
+
+		assertEquals(List.of(1, 3), nearest.stream().map(expert -> expert.getExpert().getId())
+				.collect(Collectors.toList()));
+		assertTrue(nearest.get(1).getDistanceKm() > 400 && nearest.get(1).getDistanceKm() < 420);
+		assertEquals(1, withinRadius.size());
+		assertEquals(2, byDirection.get(0).getExpert().getId());
+	}
+
+	@Test
+	void findExpertsNear_whenCoordinatesAreInvalid_thenBadRequest() {
+		ReflectionTestUtils.setField(userService, "maxNearestExperts", 10);
+
+		assertThrows(BadRequestException.class, () -> userService.findExpertsNear(91, 30, 50, null, 10));
+		assertThrows(BadRequestException.class, () -> userService.findExpertsNear(50, 30, 0, null, 10));
+		assertThrows(BadRequestException.class, () -> userService.findExpertsNear(50, 30, 50, null, 11));
+		verify(userRepository, never()).findAllWithProfilesByIdIn(anySet());
+	}
+
+	private DoctorEntity doctor(UserEntity profile, double latitude, double longitude, Integer directionId) {
+		CityEntity city = CityEntity.builder().latitude(latitude).longitude(longitude).build();
+		return DoctorEntity.builder()
+				.profile(profile)
+				.mainInstitution(InstitutionEntity.builder().city(city).build())
+				.directions(Set.of(DirectionEntity.builder().id(directionId).build()))
+				.build();
+	}
+
 	@Test
 	void getRandomExpertPreview() {
 		Page<UserEntity> userEntityPage = new PageImpl<>(List.of(new UserEntity(), new UserEntity()));
@@ -94,13 +191,17 @@ class UserServiceImplTest {
 
 		userSearchCriteria.setDirections(set);
 		userSearchCriteria.setRegions(set);
+		Pageable pageRequest = PageRequest.of(2, 6);
 
-		Page<UserEntity> userEntityPage = Page.empty();
+		when(userRepository.findDoctorsProfilesByRankingPositions(13, 18))
+				.thenReturn(List.of(new UserEntity(), new UserEntity()));
+		when(expertRankingRepository.countRanked()).thenReturn(14);
 
-		when(userRepository.findDoctorsProfiles(pageable)).thenReturn(userEntityPage);
-
-		assertEquals(userEntityPage, userService.findAllExperts(userSearchCriteria, pageable));
+		Page<UserDTO> page = userService.findAllExperts(userSearchCriteria, pageRequest);
 
+		assertEquals(2, page.getNumberOfElements());
+		assertEquals(14, page.getTotalElements());
+		verify(userRepository, never()).findDoctorsProfiles(anySet(), anySet(), any(Pageable.class));
 	}
 
 	@Test
@@ -189,20 +290,134 @@ class UserServiceImplTest {
 		assertThrows(EntityNotFoundException.class, () -> userService.findAllExperts(userSearchCriteria, pageable));
 	}
 
+	@Test
+	void findAllExpertsSlice_NotFiltered_WithApproximateTotal() {
+		UserSearchCriteria userSearchCriteria = new UserSearchCriteria();
+		Pageable pageRequest = PageRequest.of(0, 2);
+
+		when(userRepository.findDoctorsProfilesByRankingPositions(1, 3))
+				.thenReturn(List.of(new UserEntity(), new UserEntity(), new UserEntity()));
+		when(expertRankingRepository.countRanked()).thenReturn(42);
+
+		SliceDTO<UserDTO> slice = userService.findAllExpertsSlice(userSearchCriteria, pageRequest, true);
+
+		assertEquals(2, slice.getContent().size());
+		assertTrue(slice.isHasNext());
+		assertEquals(42L, slice.getApproximateTotal());
+	}
+
+	@Test
+	void findAllExpertsSlice_NotFiltered_LastSlice() {
+		UserSearchCriteria userSearchCriteria = new UserSearchCriteria();
+		Pageable pageRequest = PageRequest.of(1, 2);
+
+		when(userRepository.findDoctorsProfilesByRankingPositions(3, 5))
+				.thenReturn(List.of(new UserEntity()));
+
+		SliceDTO<UserDTO> slice = userService.findAllExpertsSlice(userSearchCriteria, pageRequest, false);
+
+		assertEquals(1, slice.getContent().size());
+		assertFalse(slice.isHasNext());
+		assertNull(slice.getApproximateTotal());
+	}
+
+	@Test
+	void refreshExpertRanking_renumbersExpertsUnderLock() {
+		userService.refreshExpertRanking();
+
+		InOrder inOrder = inOrder(expertRankingRepository);
+		inOrder.verify(expertRankingRepository).lockRanking();
+		inOrder.verify(expertRankingRepository).deleteAllInBatch();
+		inOrder.verify(expertRankingRepository).insertRanking();
+	}
+
+	@Test
+	void refreshExpertRankingOnSchedule_runsOnOneNode() {
+		when(expertRankingRepository.insertRanking()).thenReturn(14);
+		when(scheduledLockService.runExclusively(eq("refreshExpertRanking"), any()))
+				.thenAnswer(invocation -> {
+					assertEquals(14, invocation.<IntSupplier>getArgument(1).getAsInt());
+					return true;
+				});
+
+		userService.refreshExpertRankingOnSchedule();
+
+		verify(expertRankingRepository).lockRanking();
+	}
+
+	@Test
+	void findAllExperts_NotFiltered_whenSorted_thenBadRequest() {
+		Pageable pageRequest = PageRequest.of(0, 6, Sort.by("rating"));
+
+		assertThrows(BadRequestException.class,
+				() -> userService.findAllExperts(new UserSearchCriteria(), pageRequest));
+		verify(userRepository, never()).findDoctorsProfilesByRankingPositions(anyLong(), anyLong());
+	}
+
+	@Test
+	void findAllExpertsSlice_ByDirections_WithoutApproximateTotal() {
+		UserSearchCriteria userSearchCriteria = new UserSearchCriteria();
+		userSearchCriteria.setDirections(Set.of(1));
+		Pageable pageRequest = PageRequest.of(1, 2);
+		Slice<UserEntity> userEntitySlice = new SliceImpl<>(List.of(new UserEntity()), pageRequest, false);
+
+		when(userRepository.findDoctorsProfilesSliceByDirectionsIds(Set.of(1), pageRequest))
+				.thenReturn(userEntitySlice);
+
+		SliceDTO<UserDTO> slice = userService.findAllExpertsSlice(userSearchCriteria, pageRequest, false);
+
+		assertEquals(1, slice.getNumber());
+		assertFalse(slice.isHasNext());
+		assertNull(slice.getApproximateTotal());
+		verify(userRepository, never()).countDoctorsProfilesByDirectionsIds(anySet());
+	}
+
+	@Test
+	void findAllExpertsSlice_ByRegions_WithApproximateTotal_thenCountsOnceAndRefreshesCount() {
+		ReflectionTestUtils.setField(userService, "maxBatchIds", 10);
+		ReflectionTestUtils.setField(userService, "maxExpertCountFilters", 10);
+		UserSearchCriteria firstCriteria = new UserSearchCriteria();
+		firstCriteria.setRegions(new LinkedHashSet<>(List.of(2, 1)));
+		UserSearchCriteria secondCriteria = new UserSearchCriteria();
+		secondCriteria.setRegions(new LinkedHashSet<>(List.of(1, 2)));
+		Pageable pageRequest = PageRequest.of(0, 2);
+		when(userRepository.findDoctorsProfilesSliceByRegionsIds(anySet(), eq(pageRequest)))
+				.thenReturn(new SliceImpl<>(List.of(), pageRequest, false));
+		when(userRepository.countDoctorsProfilesByRegionsIds(Set.of(1, 2))).thenReturn(7L, 9L);
+
+		assertEquals(7L, userService.findAllExpertsSlice(firstCriteria, pageRequest, true).getApproximateTotal());
+		assertEquals(7L, userService.findAllExpertsSlice(secondCriteria, pageRequest, true).getApproximateTotal());
+		userService.refreshApproximateExpertCounts();
+
+		assertEquals(9L, userService.findAllExpertsSlice(firstCriteria, pageRequest, true).getApproximateTotal());
+		verify(userRepository, times(2)).countDoctorsProfilesByRegionsIds(Set.of(1, 2));
+	}
+
+	@Test
+	void findAllExpertsSlice_ByOtherConditions() {
+		UserSearchCriteria userSearchCriteria = new UserSearchCriteria();
+		userSearchCriteria.setDirections(Set.of(1));
+		userSearchCriteria.setUserName("Name");
+
+		assertThrows(EntityNotFoundException.class,
+				() -> userService.findAllExpertsSlice(userSearchCriteria, pageable, true));
+	}
+
 	@Test
 	void findAllExpertsByDirectionsAndRegions_NotFiltered() {
-		Page<UserEntity> userEntityPage = new PageImpl<>(List.of(new UserEntity(), new UserEntity()));
+		List<UserEntity> userEntities = List.of(new UserEntity(), new UserEntity());
 
 		Set<Integer> set = new HashSet<>();
 		UserSearchCriteria userSearchCriteria = new UserSearchCriteria();
 		userSearchCriteria.setDirections(set);
 		userSearchCriteria.setRegions(set);
 
-		when(userRepository.findDoctorsProfiles(any(Pageable.class)))
-				.thenReturn(userEntityPage);
+		when(userRepository.findDoctorsProfilesByRankingPositions(1, 12))
+				.thenReturn(userEntities);
+		when(expertRankingRepository.countRanked()).thenReturn(2);
 
-		userService.findAllExperts(userSearchCriteria, pageable);
-		verify(userMapper, times(userEntityPage.getNumberOfElements())).toUserDTO(any(UserEntity.class));
+		userService.findAllExperts(userSearchCriteria, PageRequest.of(0, 12));
+		verify(userMapper, times(userEntities.size())).toUserDTO(any(UserEntity.class));
 	}
 
 	@Test
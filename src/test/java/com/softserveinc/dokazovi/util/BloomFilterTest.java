@@ -0,0 +1,43 @@
+package com.softserveinc.dokazovi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+	@Test
+	void mightContain_whenPut_thenTrue() {
+		BloomFilter filter = new BloomFilter(1000, 0.01);
+		for (int i = 0; i < 1000; i++) {
+			filter.put("token-" + i);
+		}
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(filter.mightContain("token-" + i));
+		}
+	}
+
+	@Test
+	void mightContain_whenNotPut_thenFalsePositivesAreRare() {
+		BloomFilter filter = new BloomFilter(1000, 0.01);
+		for (int i = 0; i < 1000; i++) {
+			filter.put(UUID.randomUUID().toString());
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 10000; i++) {
+			if (filter.mightContain(UUID.randomUUID().toString())) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+	}
+
+	@Test
+	void constructor_whenRateIsOutOfRange_thenThrows() {
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 0));
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1));
+	}
+}
@@ -0,0 +1,70 @@
+package com.softserveinc.dokazovi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoIndexTest {
+
+	@Test
+	void nearest_isSameAsFullScan() {
+		Random random = new Random(42);
+		List<double[]> points = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			points.add(new double[]{44 + random.nextDouble() * 8, 22 + random.nextDouble() * 18, i});
+		}
+		GeoIndex<double[]> index = GeoIndex.of(points, point -> point[0], point -> point[1]);
+
+		for (int i = 0; i < 50; i++) {
+			double latitude = 44 + random.nextDouble() * 8;
+			double longitude = 22 + random.nextDouble() * 18;
+			List<double[]> expected = points.stream()
+					.filter(point -> point[2] % 3 != 0)
+					.filter(point -> haversineKm(latitude, longitude, point[0], point[1]) <= 150)
+					.sorted(Comparator.comparingDouble(point -> haversineKm(latitude, longitude, point[0], point[1])))
+					.limit(7)
+					.collect(Collectors.toList());
+
+			List<GeoIndex.Neighbour<double[]>> actual =
+					index.nearest(latitude, longitude, 7, 150, point -> point[2] % 3 != 0);
+
+			assertEquals(expected, actual.stream().map(GeoIndex.Neighbour::getItem).collect(Collectors.toList()));
+			for (GeoIndex.Neighbour<double[]> neighbour : actual) {
+				double distance = haversineKm(latitude, longitude, neighbour.getItem()[0], neighbour.getItem()[1]);
+				assertEquals(distance, neighbour.getDistanceKm(), 1e-6);
+			}
+		}
+	}
+
+	@Test
+	void nearest_acrossAntimeridian() {
+		List<double[]> points = List.of(new double[]{0, 179.9}, new double[]{0, 170});
+		GeoIndex<double[]> index = GeoIndex.of(points, point -> point[0], point -> point[1]);
+
+		List<GeoIndex.Neighbour<double[]>> nearest = index.nearest(0, -179.9, 1, 100, point -> true);
+
+		assertEquals(1, nearest.size());
+		assertEquals(179.9, nearest.get(0).getItem()[1]);
+		assertTrue(nearest.get(0).getDistanceKm() < 23);
+	}
+
+	@Test
+	void nearest_whenEmpty_thenNothing() {
+		assertTrue(GeoIndex.<double[]>empty().nearest(50, 30, 5, 100, point -> true).isEmpty());
+	}
+
+	private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLon = Math.toRadians(lon2 - lon1);
+		double a = Math.pow(Math.sin(dLat / 2), 2)
+				+ Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+		return 2 * GeoIndex.EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+	}
+}
@@ -1,32 +1,32 @@
 package com.softserveinc.dokazovi.util;
 
 import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.service.MailOutboxService;
 import com.softserveinc.dokazovi.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.javamail.JavaMailSender;
 
 import javax.mail.MessagingException;
-import javax.mail.Session;
-import javax.mail.internet.MimeMessage;
 import java.io.IOException;
-import java.util.Properties;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class MailSenderUtilTest {
     @Mock
-    private JavaMailSender javaMailSender;
+    private MailOutboxService mailOutboxService;
     @Mock
     private UserService userService;
     @InjectMocks
@@ -34,10 +34,7 @@ class MailSenderUtilTest {
 
     @Test
     void sendMessage() throws IOException, MessagingException {
-        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
         doNothing().when(userService).createVerificationToken(any(UserEntity.class), anyString());
-        when(javaMailSender.createMimeMessage()).thenReturn(message);
-        doNothing().when(javaMailSender).send(any(MimeMessage.class));
         String email = "user@mail.com";
         String password = "user";
         UserEntity user = UserEntity.builder()
@@ -45,9 +42,12 @@ class MailSenderUtilTest {
                 .password(password)
                 .build();
         mailSender.sendMessage(user);
-        verify(userService, times(1)).createVerificationToken(any(UserEntity.class), anyString());
-        verify(javaMailSender, times(1)).createMimeMessage();
-        verify(javaMailSender, times(1)).send(any(MimeMessage.class));
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(userService, times(1)).createVerificationToken(any(UserEntity.class), token.capture());
+        verify(mailOutboxService, times(1)).enqueue(eq(email), eq("DOKAZOVI"), body.capture());
+        assertTrue(body.getValue().contains("/api/auth/verification?token=" + token.getValue()));
+        assertFalse(body.getValue().contains("{0}"));
     }
 
     @Test
@@ -56,4 +56,10 @@ class MailSenderUtilTest {
         String result = mailSender.readHtmlFile(fileName);
         assertTrue(result.contains("table"));
     }
+
+    @Test
+    void compileTemplate() {
+        MailTemplate template = MailTemplate.compile("<a href=\"{0}\">{1}</a> {0} {x} {");
+        assertEquals("<a href=\"url\">text</a> url {x} {", template.format("url", "text"));
+    }
 }
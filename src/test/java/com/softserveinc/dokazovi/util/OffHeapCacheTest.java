@@ -0,0 +1,93 @@
+package com.softserveinc.dokazovi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapCacheTest {
+
+	private static final int PAGE_SIZE = 16;
+
+	private final OffHeapCache<Integer> cache = new OffHeapCache<>(4 * PAGE_SIZE, PAGE_SIZE);
+
+	@Test
+	void get_returnsStoredValue_spanningSeveralPages() throws IOException {
+		byte[] value = bytes(40, 7);
+
+		assertTrue(cache.put(1, 10L, value));
+
+		assertArrayEquals(value, read(1, 10L));
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	void get_missesOnOtherVersion() {
+		cache.put(1, 10L, bytes(8, 1));
+
+		assertNull(cache.get(1, 11L));
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	void put_evictsLeastRecentlyUsed() throws IOException {
+		cache.put(1, 0L, bytes(PAGE_SIZE * 2, 1));
+		cache.put(2, 0L, bytes(PAGE_SIZE * 2, 2));
+		read(1, 0L);
+
+		assertTrue(cache.put(3, 0L, bytes(PAGE_SIZE, 3)));
+
+		assertNull(cache.get(2, 0L));
+		assertArrayEquals(bytes(PAGE_SIZE * 2, 1), read(1, 0L));
+		assertArrayEquals(bytes(PAGE_SIZE, 3), read(3, 0L));
+	}
+
+	@Test
+	void put_rejectsValueLargerThanCache() {
+		assertFalse(cache.put(1, 0L, bytes(PAGE_SIZE * 5, 1)));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void put_keepsLeasedValueIntact() throws IOException {
+		byte[] value = bytes(PAGE_SIZE * 4, 1);
+		cache.put(1, 0L, value);
+
+		try (OffHeapCache<Integer>.Lease lease = cache.get(1, 0L)) {
+			assertNotNull(lease);
+			assertFalse(cache.put(2, 0L, bytes(PAGE_SIZE, 2)));
+			assertArrayEquals(value, lease.openStream().readAllBytes());
+		}
+
+		assertTrue(cache.put(2, 0L, bytes(PAGE_SIZE, 2)));
+	}
+
+	@Test
+	void invalidate_removesValue() {
+		cache.put(1, 0L, bytes(8, 1));
+
+		cache.invalidate(1);
+
+		assertNull(cache.get(1, 0L));
+	}
+
+	private byte[] read(Integer key, long version) throws IOException {
+		try (OffHeapCache<Integer>.Lease lease = cache.get(key, version)) {
+			return lease.openStream().readAllBytes();
+		}
+	}
+
+	private byte[] bytes(int length, int seed) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) (seed + i);
+		}
+		return bytes;
+	}
+}